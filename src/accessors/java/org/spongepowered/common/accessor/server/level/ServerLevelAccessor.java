@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.accessor.server.level;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.Mixin;
@@ -44,6 +45,8 @@ public interface ServerLevelAccessor {
         throw new UntransformedAccessorError();
     }
 
+    @Accessor("entitiesById") Int2ObjectMap<Entity> accessor$entitiesById();
+
     @Accessor("tickingEntities") boolean accessor$tickingEntities();
 
     @Accessor("toAddAfterTick") Queue<Entity> accessor$toAddAfterTick();
@@ -54,4 +54,8 @@ public final class CommandsCategory {
     @Comment("Defines how Sponge should act when a user tries to access a command they do not have\n"
                      + "permission for")
     public final CommandsHiddenCategory commandsHidden = new CommandsHiddenCategory();
+
+    @Setting
+    @Comment("Configuration options related to tab completion of commands")
+    public final CommandsCompletionCategory completion = new CommandsCompletionCategory();
 }
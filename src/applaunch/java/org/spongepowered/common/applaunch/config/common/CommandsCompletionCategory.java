@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public final class CommandsCompletionCategory {
+
+    @Setting("off-thread")
+    @Comment("If this is true, tab completion requests are computed on a dedicated pool instead of the\n"
+             + "server thread. Commands containing parameters that read world state are still completed on\n"
+             + "the server thread. Only Minecraft and Sponge commands are completed off of the server\n"
+             + "thread, unless their plugin is listed in 'off-thread-plugins'.")
+    public boolean offThread = true;
+
+    @Setting("off-thread-plugins")
+    @Comment("The ids of plugins whose command completers are safe to run off of the server thread.\n"
+             + "Completers of any other plugin are always run on the server thread.")
+    public final List<String> offThreadPlugins = new ArrayList<>();
+
+    @Setting("threads")
+    @Comment("The number of threads used to compute tab completions.")
+    public int threads = 2;
+
+    @Setting("debounce-millis")
+    @Comment("How long to wait for further keystrokes before computing a tab completion, in milliseconds.\n"
+             + "Requests superseded within this window are dropped without ever being computed.")
+    public int debounceMillis = 20;
+}
@@ -93,6 +93,15 @@ public final class CommonConfig implements Config {
     @Setting
     public final TimingsCategory timings = new TimingsCategory();
 
+    @Setting
+    @Comment("Configuration options related to Sponge's operational metrics. Unrelated to the metrics\n"
+             + "collected by plugins, which are configured in metrics.conf")
+    public final MetricsCategory metrics = new MetricsCategory();
+
+    @Setting
+    @Comment("Configuration options related to the work Sponge runs on the server thread each tick")
+    public final SchedulerCategory scheduler = new SchedulerCategory();
+
     @Setting
     public final WorldCategory world = new WorldCategory();
 
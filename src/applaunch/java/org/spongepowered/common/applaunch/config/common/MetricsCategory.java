@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+
+@ConfigSerializable
+public final class MetricsCategory {
+
+    @Setting
+    @Comment("If 'true', Sponge records operational metrics such as tick durations, event and chunk latencies\n"
+             + "and network channel traffic. These are listed by '/sponge metrics'.")
+    public boolean enabled = true;
+
+    @Setting
+    @Comment("Exposes the metrics over HTTP in the Prometheus text format, for scraping by a monitoring system.")
+    public final Endpoint endpoint = new Endpoint();
+
+    @ConfigSerializable
+    public static final class Endpoint {
+
+        @Setting
+        @Comment("If 'true', the metrics endpoint is started with the server.")
+        public boolean enabled = false;
+
+        @Setting
+        @Comment("The address the endpoint binds to. The metrics are not authenticated, only change this\n"
+                 + "from the loopback address if the port is otherwise protected.")
+        public String address = "127.0.0.1";
+
+        @Setting
+        public int port = 9225;
+
+        @Setting
+        public String path = "/metrics";
+    }
+}
@@ -29,7 +29,9 @@
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ConfigSerializable
@@ -102,6 +104,19 @@ public final class PhaseTrackerCategory {
                                                             + "The default value should almost always work properly -  it's unlikely you'll ever have to change it.")
     public int maxBlockProcessingDepth = 1000;
 
+    @Setting("defer-block-tick-phases")
+    @Comment("If 'true', random and scheduled block and fluid ticks only enter their tick phase once\n"
+             + "they do something the phase tracker has to capture, such as changing a block or spawning\n"
+             + "an entity. Ticks that turn out to do nothing, like most crop and sapling ticks, then skip\n"
+             + "the phase entirely.")
+    public boolean deferBlockTickPhases = true;
+
+    @Setting("untracked-block-ticks")
+    @Comment("The ids of blocks and fluids whose random and scheduled ticks are known to never have an\n"
+             + "effect that should be tracked. Their ticks never enter a tick phase, anything they do is\n"
+             + "attributed to whatever phase the world is in. Only list blocks you are certain of.")
+    public final List<String> untrackedBlockTicks = new ArrayList<>();
+
     @Setting("report-null-source-blocks-on-neighbor-notifications")
     @Comment("If true, when a mod attempts to perform a neighbor notification\n"
              + "on a block, some mods do not know to perform a 'null' check\n"
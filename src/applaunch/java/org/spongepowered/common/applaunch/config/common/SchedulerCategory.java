@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public final class SchedulerCategory {
+
+    @Setting("tick-budget")
+    @Comment("The time, in milliseconds, a server tick may take before deferrable work is postponed to\n"
+             + "a later tick. Deferrable work includes map updates and the plugin tasks listed below.\n"
+             + "Set to 0 to always run deferrable work in the tick it became due.")
+    public double tickBudget = 45.0;
+
+    @Setting("deferrable-tasks")
+    @Comment("Patterns matched against the plugin id and the name of every server scheduler task.\n"
+             + "Tasks matching any of them are run only while the tick is within its budget.")
+    public final List<String> deferrableTasks = new ArrayList<>();
+
+    @Setting("max-deferred-ticks")
+    @Comment("The number of ticks deferrable work of each priority may be postponed for before it is\n"
+             + "run regardless of the tick budget.")
+    public final MaxDeferredTicks maxDeferredTicks = new MaxDeferredTicks();
+
+    @ConfigSerializable
+    public static final class MaxDeferredTicks {
+
+        @Setting
+        public int high = 1;
+
+        @Setting
+        @Comment("Deferrable plugin tasks")
+        public int normal = 5;
+
+        @Setting
+        @Comment("Sponge housekeeping, such as map updates")
+        public int low = 20;
+    }
+}
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.applaunch.config.common;
 
+import org.spongepowered.configurate.objectmapping.meta.Comment;
 import org.spongepowered.configurate.objectmapping.meta.Setting;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 
@@ -50,4 +51,10 @@ public final class TimingsCategory {
 
     @Setting("history-length")
     public int historyLength = 3600;
+
+    @Setting("track-allocations")
+    @Comment("If 'true', timings also record the bytes each timing allocated, using the JVM's per-thread\n"
+           + "allocation counters. Useful for finding the source of garbage collection pauses, at a small\n"
+           + "cost per timing. Allocations are listed by '/sponge timings allocations' and included in reports.")
+    public boolean trackAllocations = false;
 }
@@ -56,6 +56,24 @@ public final class WorldCategory {
                                                      + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     public final List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "spawn-preparation-concurrency")
+    @Comment("The number of worlds whose start region is prepared at the same time during server startup. (Default: 4) \n"
+                                                                 + "World construction always happens one world at a time, only the generation and loading of \n"
+                                                                 + "the start regions overlap. Set to 0 or less to prepare every world at once.")
+    public int spawnPreparationConcurrency = 4;
+
+    @Setting(value = "defer-spawn-preparation")
+    @Comment("If 'true', the start region of every world except the default world is not prepared during server startup \n"
+                                                        + "but when the first player enters that world instead. The server keeps ticking while it is prepared, \n"
+                                                        + "only the players entering that world wait to be placed into it.")
+    public boolean deferSpawnPreparation = false;
+
+    @Setting(value = "async-chunk-serialization")
+    @Comment("If 'true', saving a chunk only copies the block states of its sections on the server thread, \n"
+                                                          + "turning those copies into chunk data happens on a separate thread. \n"
+                                                          + "Disabled by default until its effect on tick times and save latency has been compared.")
+    public boolean asyncChunkSerialization = false;
+
     public WorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("41c82c87-7afb-4024-ba57-13d2c99cae77")); // Forge FakePlayer
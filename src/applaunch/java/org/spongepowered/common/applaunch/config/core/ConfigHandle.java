@@ -138,7 +138,7 @@ public CompletableFuture<T> updateAndSave(final UnaryOperator<T> updater) {
         }, ForkJoinPool.commonPool());
     }
 
-    void load() throws ConfigurateException {
+    protected void load() throws ConfigurateException {
         if (this.loader == null) { // we are virtual
             return;
         }
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings.sponge;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.spongepowered.common.SpongeCommon;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the bytes allocated by the current thread, as counted by the JVM's
+ * thread allocation counters, so that allocation can be attributed to the
+ * same timings that time is.
+ *
+ * <p>Tracking is opt-in, reading the counter costs about as much as reading
+ * the clock.</p>
+ */
+final class AllocationTracker {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = AllocationTracker.findBean();
+    static boolean enabled = false;
+
+    private AllocationTracker() {
+    }
+
+    static boolean isSupported() {
+        return AllocationTracker.THREAD_BEAN != null;
+    }
+
+    static void setEnabled(final boolean enabled) {
+        if (enabled && !AllocationTracker.isSupported()) {
+            SpongeCommon.getLogger().warn("Allocation tracking was requested for timings, but this JVM does not count thread allocations.");
+        }
+        AllocationTracker.enabled = enabled && AllocationTracker.isSupported();
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes
+     */
+    static long allocatedBytes() {
+        return AllocationTracker.THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static List<Component> summary(final int limit) {
+        final List<Component> lines = new ArrayList<>();
+        if (!AllocationTracker.enabled) {
+            lines.add(Component.text("Allocation tracking is disabled, enable timings.track-allocations in the config", NamedTextColor.RED));
+            return lines;
+        }
+        final long ticks = TimingsManager.FULL_SERVER_TICK.record.count;
+        if (ticks == 0) {
+            lines.add(Component.text("No ticks have been timed yet", NamedTextColor.RED));
+            return lines;
+        }
+        final List<TimingHandler> handlers = new ArrayList<>();
+        for (final TimingHandler handler : TimingsManager.HANDLERS) {
+            if (!handler.isSpecial() && handler.record.totalAllocated > 0) {
+                handlers.add(handler);
+            }
+        }
+        handlers.sort(Comparator.comparingLong((TimingHandler handler) -> handler.record.totalAllocated).reversed());
+
+        lines.add(Component.text("Allocations over the last " + ticks + " ticks: ", NamedTextColor.GOLD)
+                .append(AllocationTracker.perTick(TimingsManager.FULL_SERVER_TICK.record, ticks)));
+        for (int i = 0; i < Math.min(limit, handlers.size()); i++) {
+            final TimingHandler handler = handlers.get(i);
+            lines.add(Component.text(" " + handler.name + ": ", NamedTextColor.YELLOW)
+                    .append(AllocationTracker.perTick(handler.record, ticks)));
+        }
+        return lines;
+    }
+
+    private static Component perTick(final TimingData data, final long ticks) {
+        return Component.text(String.format("%.2f MB/tick, %.2f ms/tick", data.totalAllocated / (double) ticks / (1024 * 1024),
+                data.totalTime / (double) ticks / 1_000_000), NamedTextColor.WHITE);
+    }
+
+    private static com.sun.management.ThreadMXBean findBean() {
+        try {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if (!allocationBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+            return allocationBean;
+        } catch (final LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -83,6 +83,7 @@ public void stopTiming() {
         // per tick.
         this.record.curTickCount--;
         this.minuteData.curTickTotal = this.record.curTickTotal;
+        this.minuteData.curTickAllocated = this.record.curTickAllocated;
         this.minuteData.curTickCount = 1;
         boolean violated = this.isViolated();
         this.minuteData.processTick(violated);
@@ -28,12 +28,14 @@
 import co.aikar.timings.TimingsFactory;
 import com.google.common.collect.EvictingQueue;
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.applaunch.config.common.TimingsCategory;
 import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 
@@ -59,9 +61,11 @@ public TimingsFactory init() {
         this.setTimingsEnabled(this.moduleEnabled && category.enabled);
         this.setHistoryInterval(category.historyInterval);
         this.setHistoryLength(category.historyLength);
+        AllocationTracker.setEnabled(category.trackAllocations);
 
         SpongeCommon.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
+                                    " - Allocations: " + AllocationTracker.enabled +
                                     " - Interval: " + SpongeTimingsFactory.timeSummary(this.historyInterval / 20) +
                                     " - Length: " + SpongeTimingsFactory.timeSummary(this.historyLength / 20));
         return this;
@@ -170,6 +174,21 @@ public static long getCost() {
         return TimingsExport.getCost();
     }
 
+    public static boolean isAllocationTrackingEnabled() {
+        return AllocationTracker.enabled;
+    }
+
+    /**
+     * Lists the timings that allocated the most since timings were last
+     * reset, together with the time they took.
+     *
+     * @param limit The maximum number of timings to list
+     * @return The lines of the summary
+     */
+    public static List<Component> allocationSummary(final int limit) {
+        return AllocationTracker.summary(limit);
+    }
+
     public static TimingHandler ofSafe(String name) {
         return SpongeTimingsFactory.ofSafe(null, name, null);
     }
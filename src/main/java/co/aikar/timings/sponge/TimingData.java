@@ -47,9 +47,12 @@ public TimingData apply(Integer input) {
     private int lagCount = 0;
     long totalTime = 0;
     private long lagTotalTime = 0;
+    long totalAllocated = 0;
+    private long lagTotalAllocated = 0;
 
     int curTickCount = 0;
     long curTickTotal = 0;
+    long curTickAllocated = 0;
 
     TimingData(int id) {
         this.id = id;
@@ -61,6 +64,8 @@ public TimingData apply(Integer input) {
         this.lagTotalTime = data.lagTotalTime;
         this.count = data.count;
         this.lagCount = data.lagCount;
+        this.totalAllocated = data.totalAllocated;
+        this.lagTotalAllocated = data.lagTotalAllocated;
     }
 
     void add(long diff) {
@@ -68,15 +73,23 @@ void add(long diff) {
         this.curTickTotal += diff;
     }
 
+    void add(long diff, long allocated) {
+        this.add(diff);
+        this.curTickAllocated += allocated;
+    }
+
     void processTick(boolean violated) {
         this.totalTime += this.curTickTotal;
         this.count += this.curTickCount;
+        this.totalAllocated += this.curTickAllocated;
         if (violated) {
             this.lagTotalTime += this.curTickTotal;
             this.lagCount += this.curTickCount;
+            this.lagTotalAllocated += this.curTickAllocated;
         }
         this.curTickTotal = 0;
         this.curTickCount = 0;
+        this.curTickAllocated = 0;
     }
 
     void reset() {
@@ -86,6 +99,9 @@ void reset() {
         this.curTickCount = 0;
         this.totalTime = 0;
         this.lagTotalTime = 0;
+        this.curTickAllocated = 0;
+        this.totalAllocated = 0;
+        this.lagTotalAllocated = 0;
     }
 
     @Override
@@ -106,6 +122,17 @@ public JsonArray export() {
         return array;
     }
 
+    /**
+     * Exports the bytes allocated while timing, kept apart from
+     * {@link #export()} so that the layout parsers expect stays as is.
+     */
+    JsonArray exportAllocations() {
+        return JSONUtil.arrayOf(
+                this.id,
+                this.totalAllocated,
+                this.lagTotalAllocated);
+    }
+
     boolean hasData() {
         return this.count > 0;
     }
@@ -114,6 +141,10 @@ long getTotalTime() {
         return this.totalTime;
     }
 
+    long getTotalAllocated() {
+        return this.totalAllocated;
+    }
+
     int getCurTickCount() {
         return this.curTickCount;
     }
@@ -45,6 +45,7 @@ class TimingHandler implements Timing {
     private final TimingHandler groupHandler;
 
     private long start = 0;
+    private long startAllocated = 0;
     private int timingDepth = 0;
     private boolean added;
     protected boolean timed;
@@ -113,6 +114,9 @@ public TimingHandler startTiming() {
         }
 
         if (++this.timingDepth == 1) {
+            if (AllocationTracker.enabled) {
+                this.startAllocated = AllocationTracker.allocatedBytes();
+            }
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
@@ -128,7 +132,8 @@ public void stopTiming() {
         }
 
         if (--this.timingDepth == 0 && this.start != 0) {
-            this.addDiff(System.nanoTime() - this.start);
+            final long diff = System.nanoTime() - this.start;
+            this.addDiff(diff, AllocationTracker.enabled ? AllocationTracker.allocatedBytes() - this.startAllocated : 0);
             this.start = 0;
         }
     }
@@ -141,21 +146,25 @@ public void abort() {
     }
 
     void addDiff(long diff) {
+        this.addDiff(diff, 0);
+    }
+
+    void addDiff(long diff, long allocated) {
         if (TimingsManager.CURRENT == this) {
             TimingsManager.CURRENT = this.parent;
             if (this.parent != null) {
-                this.parent.children.get(this.id).add(diff);
+                this.parent.children.get(this.id).add(diff, allocated);
             }
         }
-        this.record.add(diff);
+        this.record.add(diff, allocated);
         if (!this.added) {
             this.added = true;
             this.timed = true;
             TimingsManager.HANDLERS.add(this);
         }
         if (this.groupHandler != null) {
-            this.groupHandler.addDiff(diff);
-            this.groupHandler.children.get(this.id).add(diff);
+            this.groupHandler.addDiff(diff, allocated);
+            this.groupHandler.children.get(this.id).add(diff, allocated);
         }
     }
 
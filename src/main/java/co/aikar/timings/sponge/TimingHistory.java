@@ -199,15 +199,18 @@ public static void resetTicks(boolean fullReset) {
     }
 
     JsonObject export() {
-        return JSONUtil.objectBuilder()
+        final JSONUtil.JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 .add("s", this.startTime)
                 .add("e", this.endTime)
                 .add("tk", this.totalTicks)
                 .add("tm", this.totalTime)
 //                .add("w", this.worlds)
                 .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
-                .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
-                .build();
+                .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export));
+        if (AllocationTracker.enabled) {
+            builder.add("al", JSONUtil.mapArray(this.entries, (entry) -> entry.data.totalAllocated == 0 ? null : entry.exportAllocations()));
+        }
+        return builder.build();
     }
 
     static class MinuteReport {
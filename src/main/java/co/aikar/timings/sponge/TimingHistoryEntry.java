@@ -48,4 +48,12 @@ JsonArray export() {
         }
         return result;
     }
+
+    JsonArray exportAllocations() {
+        JsonArray result = this.data.exportAllocations();
+        if (this.children.length > 0) {
+            result.add(JSONUtil.mapArray(this.children, (child) -> child.totalAllocated == 0 ? null : child.exportAllocations()));
+        }
+        return result;
+    }
 }
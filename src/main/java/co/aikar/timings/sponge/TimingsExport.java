@@ -133,6 +133,7 @@ static void reportTimings() {
         RuntimeMXBean runtimeBean = ManagementFactory.getRuntimeMXBean();
         builder.add("system", JSONUtil.objectBuilder()
                 .add("timingcost", TimingsExport.getCost())
+                .add("allocationtracking", AllocationTracker.enabled)
                 .add("name", System.getProperty("os.name"))
                 .add("version", System.getProperty("os.version"))
                 .add("jvmversion", System.getProperty("java.version"))
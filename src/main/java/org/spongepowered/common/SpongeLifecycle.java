@@ -56,6 +56,7 @@
 import org.spongepowered.common.registry.SpongeRegistryHolder;
 import co.aikar.timings.sponge.SpongeTimingsFactory;
 import org.spongepowered.common.service.SpongeServiceProvider;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 import org.spongepowered.plugin.PluginContainer;
 
 import java.io.IOException;
@@ -147,6 +148,7 @@ public void establishServerServices() {
     public void establishServerFeatures() {
         // Yes this looks odd but prevents having to do sided lifecycle solely to always point at the Server
         ((SpongeServer) this.game.server()).getUsernameCache().load();
+        SpongeMetrics.start();
     }
 
     public SpongeCommandManager createCommandManager() {
@@ -35,7 +35,16 @@
  */
 public interface OptimizedMapDataBridge {
 
-    void mapOptimizationBridge$tickMap();
+    /**
+     * Sends the changes of the map to every player viewing it, called once
+     * per server tick while the map is being ticked by the
+     * {@link org.spongepowered.common.map.MapTicker}.
+     *
+     * @return Whether the map still has viewers and needs ticking
+     */
+    boolean mapOptimizationBridge$tickMap();
+
+    void mapOptimizationBridge$markAllDirty();
 
     void mapOptimizationBridge$updatePlayer(Player player, ItemStack mapStack);
 
@@ -29,4 +29,8 @@ public interface OptimizedMapInfoBridge {
     void mapOptimizationBridge$setValid(boolean valid);
 
     boolean mapOptimizationBridge$isValid();
+
+    void mapOptimizationBridge$setSynced(boolean synced);
+
+    boolean mapOptimizationBridge$isSynced();
 }
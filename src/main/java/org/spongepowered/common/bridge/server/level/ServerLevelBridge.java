@@ -35,6 +35,9 @@
 import co.aikar.timings.sponge.WorldTimingsHandler;
 import org.spongepowered.math.vector.Vector3d;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public interface ServerLevelBridge {
 
     LevelStorageSource.LevelStorageAccess bridge$getLevelSave();
@@ -62,4 +65,15 @@ public interface ServerLevelBridge {
     RegistryHolder bridge$registries();
 
     BlockSnapshot bridge$createSnapshot(int x, int y, int z);
+
+    /**
+     * Defers the preparation of the start region until the first player is
+     * added to this world. Players added before it completes are placed once
+     * it does, without holding up the server in the meantime.
+     *
+     * @param preparation Starts the preparation, the future must complete on the server thread
+     */
+    void bridge$deferSpawnPreparation(Supplier<CompletableFuture<?>> preparation);
+
+    boolean bridge$hasPlayersAwaitingSpawn();
 }
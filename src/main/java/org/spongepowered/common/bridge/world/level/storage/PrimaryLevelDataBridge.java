@@ -34,6 +34,7 @@
 import org.spongepowered.api.world.SerializationBehavior;
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
 import org.spongepowered.common.config.inheritable.WorldConfig;
+import org.spongepowered.common.config.inheritable.WorldConfigSnapshot;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -88,6 +89,10 @@ public interface PrimaryLevelDataBridge {
 
     void bridge$configAdapter(InheritableConfigHandle<WorldConfig> adapter);
 
+    WorldConfigSnapshot bridge$configSnapshot();
+
+    void bridge$refreshConfigSnapshot();
+
     void bridge$populateFromDimension(LevelStem dimension);
 
     void bridge$setMapUUIDIndex(BiMap<Integer, UUID> index);
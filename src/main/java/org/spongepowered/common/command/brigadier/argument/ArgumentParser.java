@@ -90,4 +90,15 @@ default boolean hasClientNativeCompletions() {
         return false;
     }
 
+    /**
+     * Gets whether this parser must be used on the server thread when
+     * computing suggestions.
+     *
+     * @return true if parsing or completing reads world state
+     * @see WorldAccessingParameter
+     */
+    default boolean requiresServerThread() {
+        return this instanceof WorldAccessingParameter;
+    }
+
 }
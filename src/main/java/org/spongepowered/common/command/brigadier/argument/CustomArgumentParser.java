@@ -156,6 +156,20 @@ public Collection<String> getExamples() {
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean requiresServerThread() {
+        if (this.completer instanceof WorldAccessingParameter) {
+            return true;
+        }
+        for (final ValueParser<? extends T> parser : this.parsers) {
+            if (parser instanceof WorldAccessingParameter
+                    || parser instanceof ArgumentParser && ((ArgumentParser<?>) parser).requiresServerThread()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public List<ArgumentType<?>> getClientCompletionArgumentType() {
         return this.types;
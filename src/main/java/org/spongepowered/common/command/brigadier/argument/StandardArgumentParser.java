@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.command.brigadier.argument;
 
+import com.google.common.collect.ImmutableSet;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -32,6 +33,17 @@
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.mojang.brigadier.tree.RootCommandNode;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.arguments.DimensionArgument;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.GameProfileArgument;
+import net.minecraft.commands.arguments.ObjectiveArgument;
+import net.minecraft.commands.arguments.ScoreHolderArgument;
+import net.minecraft.commands.arguments.TeamArgument;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.commands.arguments.coordinates.ColumnPosArgument;
+import net.minecraft.commands.arguments.coordinates.RotationArgument;
+import net.minecraft.commands.arguments.coordinates.Vec2Argument;
+import net.minecraft.commands.arguments.coordinates.Vec3Argument;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.command.CommandCause;
@@ -51,6 +63,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -59,6 +72,21 @@
  */
 public class StandardArgumentParser<S, T> implements ArgumentParser<T>, ValueParameter.Simple<T> {
 
+    // Argument types whose suggestions look at online players, scoreboards or the blocks and entities around the source
+    private static final Set<Class<?>> WORLD_ACCESSING_TYPES = ImmutableSet.of(
+            EntityArgument.class,
+            GameProfileArgument.class,
+            ScoreHolderArgument.class,
+            ObjectiveArgument.class,
+            TeamArgument.class,
+            DimensionArgument.class,
+            BlockPosArgument.class,
+            ColumnPosArgument.class,
+            Vec3Argument.class,
+            Vec2Argument.class,
+            RotationArgument.class
+    );
+
     @SuppressWarnings("unchecked")
     public static <T> StandardArgumentParser<T, T> createIdentity(final ArgumentType<T> type) {
         return new StandardArgumentParser<>(type, (StandardArgumentParser.Converter<T, T>) Converter.IDENTITY);
@@ -127,6 +155,11 @@ public boolean doesNotRead() {
         return false;
     }
 
+    @Override
+    public boolean requiresServerThread() {
+        return ArgumentParser.super.requiresServerThread() || StandardArgumentParser.WORLD_ACCESSING_TYPES.contains(this.type.getClass());
+    }
+
     @Override
     public List<CommandCompletion> complete(final @NonNull CommandCause context, final @NonNull String currentInput) {
         final SuggestionsBuilder suggestionsBuilder = new SuggestionsBuilder(currentInput, 0);
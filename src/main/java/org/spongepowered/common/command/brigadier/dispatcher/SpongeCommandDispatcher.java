@@ -31,12 +31,14 @@
 import com.mojang.brigadier.RedirectModifier;
 import com.mojang.brigadier.ResultConsumer;
 import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.context.CommandContextBuilder;
 import com.mojang.brigadier.context.SuggestionContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
@@ -57,10 +59,13 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import net.minecraft.commands.CommandSourceStack;
 
@@ -70,6 +75,8 @@ public final class SpongeCommandDispatcher extends CommandDispatcher<CommandSour
     // Mojang don't provide a way to get this...
     private ResultConsumer<CommandSourceStack> resultConsumer = (context, success, result) -> { };
     private final SpongeCommandManager commandManager;
+    // Per top level command, if suggesting for it touches anything that needs the server thread
+    private final Map<CommandNode<CommandSourceStack>, Boolean> serverThreadSuggestions = new ConcurrentHashMap<>();
 
     public SpongeCommandDispatcher(final SpongeCommandManager commandManager) {
         super(new SpongeRootCommandNode());
@@ -78,9 +85,63 @@ public SpongeCommandDispatcher(final SpongeCommandManager commandManager) {
 
     public LiteralCommandNode<CommandSourceStack> register(final LiteralCommandNode<CommandSourceStack> command) {
         this.getRoot().addChild(command);
+        this.serverThreadSuggestions.clear();
         return command;
     }
 
+    @Override
+    public LiteralCommandNode<CommandSourceStack> register(final LiteralArgumentBuilder<CommandSourceStack> command) {
+        final LiteralCommandNode<CommandSourceStack> node = super.register(command);
+        this.serverThreadSuggestions.clear();
+        return node;
+    }
+
+    /**
+     * Gets whether suggestions for the given command must be computed on the
+     * server thread.
+     *
+     * <p>This is the case if the command contains any node whose suggestions
+     * may read world state, that is any parameter marked as world accessing,
+     * any argument node not created by Sponge, or a redirect back to the root
+     * (as {@code /execute run} does).</p>
+     *
+     * @param alias The alias of the command being completed
+     * @return true if the server thread is required
+     */
+    public boolean requiresServerThreadForSuggestions(final String alias) {
+        final CommandNode<CommandSourceStack> command = this.getRoot().getChild(alias);
+        if (command == null) {
+            return false;
+        }
+        return this.serverThreadSuggestions.computeIfAbsent(command,
+                node -> SpongeCommandDispatcher.requiresServerThread(node, Collections.newSetFromMap(new IdentityHashMap<>())));
+    }
+
+    private static boolean requiresServerThread(final CommandNode<CommandSourceStack> node, final Set<CommandNode<CommandSourceStack>> visited) {
+        if (!visited.add(node)) {
+            return false;
+        }
+        if (node instanceof RootCommandNode) {
+            return true;
+        }
+        if (node instanceof SpongeArgumentCommandNode) {
+            if (((SpongeArgumentCommandNode<?>) node).requiresServerThread()) {
+                return true;
+            }
+        } else if (node instanceof ArgumentCommandNode) {
+            return true;
+        }
+        if (node.getRedirect() != null && SpongeCommandDispatcher.requiresServerThread(node.getRedirect(), visited)) {
+            return true;
+        }
+        for (final CommandNode<CommandSourceStack> child : node.getChildren()) {
+            if (SpongeCommandDispatcher.requiresServerThread(child, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void setConsumer(final ResultConsumer<CommandSourceStack> consumer) {
         super.setConsumer(consumer);
@@ -34,7 +34,9 @@
 import org.spongepowered.common.service.server.permission.SpongePermissions;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -44,7 +46,8 @@
 public final class SpongeNodePermissionCache {
 
     private final static Pattern ILLEGAL_CHARS = Pattern.compile("[^a-zA-Z0-9]");
-    private final static WeakHashMap<CommandNode<CommandSourceStack>, Supplier<String>> PERMISSION_MAP = new WeakHashMap<>();
+    // Also read by suggestions, which are computed off of the server thread
+    private final static Map<CommandNode<CommandSourceStack>, Supplier<String>> PERMISSION_MAP = Collections.synchronizedMap(new WeakHashMap<>());
 
     public static boolean canUse(
             final boolean isRoot,
@@ -57,6 +57,7 @@
 import org.spongepowered.common.command.brigadier.argument.ArgumentParser;
 import org.spongepowered.common.command.brigadier.argument.ComplexSuggestionNodeProvider;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedArgumentValueParser;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 import org.spongepowered.common.command.brigadier.context.SpongeCommandContextBuilder;
 import org.spongepowered.common.util.CommandUtil;
 import org.spongepowered.common.util.Constants;
@@ -98,6 +99,7 @@
     private final @Nullable ValueParameterModifier<T> modifier;
     private final ValueUsage usage;
     private final boolean isComplexSuggestions;
+    private final boolean requiresServerThread;
 
     // used so we can have insertion order.
     private final UnsortedNodeHolder nodeHolder = new UnsortedNodeHolder();
@@ -129,6 +131,7 @@ public SpongeArgumentCommandNode(
         this.parser = parser;
         this.modifier = parameterModifier;
         this.isComplexSuggestions = this.parser instanceof ComplexSuggestionNodeProvider;
+        this.requiresServerThread = this.parser.requiresServerThread() || valueCompleter instanceof WorldAccessingParameter;
         this.key = key;
         this.usage = usage;
     }
@@ -137,6 +140,10 @@ public final boolean isComplex() {
         return this.isComplexSuggestions;
     }
 
+    public final boolean requiresServerThread() {
+        return this.requiresServerThread;
+    }
+
     public final CommandNode<SharedSuggestionProvider> getComplexSuggestions(
             final CommandNode<SharedSuggestionProvider> rootSuggestionNode,
             final Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> commandNodeToSuggestionNode,
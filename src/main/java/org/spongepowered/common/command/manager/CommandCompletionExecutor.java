@@ -0,0 +1,246 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command.manager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mojang.brigadier.suggestion.Suggestions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.applaunch.config.common.CommandsCompletionCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.launch.Launch;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Computes tab completions requested by players away from the server thread.
+ *
+ * <p>Every player owns a {@link Session}, which holds at most one request
+ * waiting to be computed. A request arriving while an older one is still
+ * waiting replaces it, so a player typing quickly only ever has their latest
+ * input completed. Requests are held back for a short debounce window before
+ * being computed to give further keystrokes a chance to supersede them, and a
+ * result that has been superseded by the time it is ready is never sent.</p>
+ *
+ * <p>Requests that have to read world state, as well as those for commands
+ * of plugins that have not opted in through {@link #allowsOffThread}, are
+ * still computed on the server thread, they only benefit from the
+ * coalescing.</p>
+ */
+public final class CommandCompletionExecutor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ScheduledExecutorService executor;
+    private final long debounceNanos;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong completions = new AtomicLong();
+    private final AtomicLong serverThreadCompletions = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong latencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public static CommandCompletionExecutor get() {
+        return Holder.INSTANCE;
+    }
+
+    public CommandCompletionExecutor(final ScheduledExecutorService executor, final long debounce, final TimeUnit unit) {
+        this.executor = executor;
+        this.debounceNanos = unit.toNanos(Math.max(0, debounce));
+    }
+
+    /**
+     * Gets whether commands of the given plugin may be completed off of the
+     * server thread. Plugins have to opt in, their completers were written
+     * assuming they run on the server thread.
+     *
+     * @param plugin The plugin owning the command
+     * @return true if the commands may be completed off of the server thread
+     */
+    public static boolean allowsOffThread(final PluginContainer plugin) {
+        final Launch launch = Launch.getInstance();
+        return plugin == launch.getMinecraftPlugin() || plugin == launch.getCommonPlugin() || plugin == launch.getPlatformPlugin()
+            || SpongeConfigs.getCommon().get().commands.completion.offThreadPlugins.contains(plugin.metadata().id());
+    }
+
+    /**
+     * Queues the completion of a request of the given session.
+     *
+     * @param session The session of the requesting player
+     * @param completion Computes the suggestions
+     * @param serverThread The server thread executor if the completion reads world state, otherwise null
+     * @param consumer Receives the suggestions, unless the request has been superseded
+     */
+    public void submit(final Session session, final Supplier<CompletableFuture<Suggestions>> completion, final @Nullable Executor serverThread,
+            final Consumer<Suggestions> consumer) {
+        this.requests.incrementAndGet();
+        final Request request = new Request(session.sequence.incrementAndGet(), completion, serverThread, consumer);
+        if (session.pending.getAndSet(request) != null) {
+            // The request we replaced was never started, the task already scheduled for it will pick this one up
+            this.dropped.incrementAndGet();
+            return;
+        }
+        this.executor.schedule(() -> this.drain(session), this.debounceNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void drain(final Session session) {
+        final @Nullable Request request = session.pending.getAndSet(null);
+        if (request == null) {
+            return;
+        }
+        if (request.serverThread == null) {
+            this.complete(session, request);
+        } else {
+            this.serverThreadCompletions.incrementAndGet();
+            request.serverThread.execute(() -> this.complete(session, request));
+        }
+    }
+
+    private void complete(final Session session, final Request request) {
+        if (session.isSuperseded(request)) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        CompletableFuture<Suggestions> future;
+        try {
+            future = request.completion.get();
+        } catch (final Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.handle((suggestions, throwable) -> {
+            if (throwable != null) {
+                this.failures.incrementAndGet();
+                CommandCompletionExecutor.LOGGER.error("Failed to compute tab completions", throwable);
+                return Suggestions.empty().join();
+            }
+            return suggestions;
+        }).thenAccept(suggestions -> {
+            if (session.isSuperseded(request)) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+            request.consumer.accept(suggestions);
+            final long latency = System.nanoTime() - request.submittedNanos;
+            this.completions.incrementAndGet();
+            this.latencyNanos.addAndGet(latency);
+            this.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        });
+    }
+
+    public long requests() {
+        return this.requests.get();
+    }
+
+    public long completions() {
+        return this.completions.get();
+    }
+
+    public long serverThreadCompletions() {
+        return this.serverThreadCompletions.get();
+    }
+
+    public long dropped() {
+        return this.dropped.get();
+    }
+
+    public long failures() {
+        return this.failures.get();
+    }
+
+    /**
+     * Gets the average time between a request being submitted and its
+     * suggestions being handed to the consumer.
+     *
+     * @param unit The unit to return the time in
+     * @return The average latency
+     */
+    public long averageLatency(final TimeUnit unit) {
+        final long completions = this.completions.get();
+        return completions == 0 ? 0 : unit.convert(this.latencyNanos.get() / completions, TimeUnit.NANOSECONDS);
+    }
+
+    public long maxLatency(final TimeUnit unit) {
+        return unit.convert(this.maxLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The completion state of a single player.
+     */
+    public static final class Session {
+
+        final AtomicReference<@Nullable Request> pending = new AtomicReference<>();
+        final AtomicLong sequence = new AtomicLong();
+
+        boolean isSuperseded(final Request request) {
+            return this.sequence.get() != request.sequence;
+        }
+    }
+
+    static final class Request {
+
+        final long sequence;
+        final long submittedNanos = System.nanoTime();
+        final Supplier<CompletableFuture<Suggestions>> completion;
+        final @Nullable Executor serverThread;
+        final Consumer<Suggestions> consumer;
+
+        Request(final long sequence, final Supplier<CompletableFuture<Suggestions>> completion, final @Nullable Executor serverThread,
+                final Consumer<Suggestions> consumer) {
+            this.sequence = sequence;
+            this.completion = completion;
+            this.serverThread = serverThread;
+            this.consumer = consumer;
+        }
+    }
+
+    private static final class Holder {
+
+        static final CommandCompletionExecutor INSTANCE = Holder.create();
+
+        private static CommandCompletionExecutor create() {
+            final CommandsCompletionCategory config = SpongeConfigs.getCommon().get().commands.completion;
+            final ScheduledExecutorService executor = Executors.newScheduledThreadPool(Math.max(1, config.threads),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Command Completion Thread #%d")
+                    .setDaemon(true)
+                    .build()
+            );
+            return new CommandCompletionExecutor(executor, config.debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
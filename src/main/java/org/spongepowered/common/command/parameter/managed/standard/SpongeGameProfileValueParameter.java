@@ -38,13 +38,15 @@
 import org.spongepowered.api.command.parameter.ArgumentReader;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedArgumentValueParser;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 import org.spongepowered.common.profile.SpongeGameProfile;
 
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-public final class SpongeGameProfileValueParameter extends ResourceKeyedArgumentValueParser.ClientNativeCompletions<GameProfile> {
+public final class SpongeGameProfileValueParameter extends ResourceKeyedArgumentValueParser.ClientNativeCompletions<GameProfile>
+        implements WorldAccessingParameter {
 
     private final GameProfileArgument argument = GameProfileArgument.gameProfile();
 
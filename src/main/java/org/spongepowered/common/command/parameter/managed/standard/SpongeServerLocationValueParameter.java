@@ -49,6 +49,7 @@
 import org.spongepowered.common.command.SpongeCommandCompletion;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedArgumentValueParser;
 import org.spongepowered.common.command.brigadier.argument.ComplexSuggestionNodeProvider;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.VecHelper;
 
@@ -60,7 +61,8 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public final class SpongeServerLocationValueParameter extends ResourceKeyedArgumentValueParser<ServerLocation> implements ComplexSuggestionNodeProvider {
+public final class SpongeServerLocationValueParameter extends ResourceKeyedArgumentValueParser<ServerLocation>
+        implements ComplexSuggestionNodeProvider, WorldAccessingParameter {
 
     private static final Vec3Argument VEC_3_ARGUMENT = Vec3Argument.vec3(false);
     private static final Pattern STARTS_WITH_NUMBER = Pattern.compile("^\\s*((-)?[0-9]|~|\\^)");
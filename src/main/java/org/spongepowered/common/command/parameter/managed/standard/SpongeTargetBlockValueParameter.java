@@ -37,10 +37,11 @@
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.api.world.server.ServerLocation;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedZeroAdvanceValueParameter;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 
 import java.util.Optional;
 
-public final class SpongeTargetBlockValueParameter extends ResourceKeyedZeroAdvanceValueParameter<ServerLocation> {
+public final class SpongeTargetBlockValueParameter extends ResourceKeyedZeroAdvanceValueParameter<ServerLocation> implements WorldAccessingParameter {
 
     public SpongeTargetBlockValueParameter(final ResourceKey key) {
         super(key);
@@ -37,10 +37,11 @@
 import org.spongepowered.api.util.blockray.RayTrace;
 import org.spongepowered.api.util.blockray.RayTraceResult;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedZeroAdvanceValueParameter;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 
 import java.util.Optional;
 
-public final class SpongeTargetEntityValueParameter extends ResourceKeyedZeroAdvanceValueParameter<Entity> {
+public final class SpongeTargetEntityValueParameter extends ResourceKeyedZeroAdvanceValueParameter<Entity> implements WorldAccessingParameter {
 
     private final boolean isPlayerOnly;
 
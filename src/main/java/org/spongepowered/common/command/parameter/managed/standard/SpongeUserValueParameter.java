@@ -43,6 +43,7 @@
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.command.SpongeCommandCompletion;
 import org.spongepowered.common.command.brigadier.argument.ResourceKeyedArgumentValueParser;
+import org.spongepowered.common.command.brigadier.argument.WorldAccessingParameter;
 
 import java.util.List;
 import java.util.Objects;
@@ -50,7 +51,7 @@
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-public final class SpongeUserValueParameter extends ResourceKeyedArgumentValueParser<User> {
+public final class SpongeUserValueParameter extends ResourceKeyedArgumentValueParser<User> implements WorldAccessingParameter {
 
     private final EntityArgument selectorArgumentType = EntityArgument.player();
 
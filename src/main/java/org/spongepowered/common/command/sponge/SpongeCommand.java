@@ -32,6 +32,7 @@
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -49,10 +50,16 @@
 import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
+import org.spongepowered.common.config.tracker.AdaptiveTrackerCategory;
+import org.spongepowered.common.config.tracker.TrackerConfig;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TrackerCostProfiler;
 import org.spongepowered.common.launch.Launch;
 import co.aikar.timings.sponge.SpongeTimingsFactory;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+import org.spongepowered.common.util.metric.MetricsEndpoint;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 import org.spongepowered.plugin.PluginContainer;
 import org.spongepowered.plugin.metadata.PluginContributor;
 import org.spongepowered.plugin.metadata.PluginMetadata;
@@ -68,6 +75,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -80,6 +88,7 @@ public class SpongeCommand {
     protected static final Component INDENT_COMPONENT = Component.text(SpongeCommand.INDENT);
     protected static final Component LONG_INDENT_COMPONENT = Component.text(SpongeCommand.LONG_INDENT);
     protected static final DecimalFormat THREE_DECIMAL_DIGITS_FORMATTER = new DecimalFormat("########0.000");
+    private static final int TRACKER_REPORT_SIZE = 15;
 
     private final Parameter.Key<PluginContainer> pluginContainerKey = Parameter.key("plugin", PluginContainer.class);
     private final Parameter.Key<CommandMapping> commandMappingKey = Parameter.key("command", CommandMapping.class);
@@ -105,6 +114,13 @@ public Command.Parameterized createSpongeCommand() {
                 .executor(this::heapSubcommandExecutor)
                 .build();
 
+        // /sponge metrics
+        final Command.Parameterized metricsCommand = Command.builder()
+                .permission("sponge.command.metrics")
+                .shortDescription(Component.text("Displays the operational metrics Sponge has recorded"))
+                .executor(this::metricsExecutor)
+                .build();
+
         // /sponge plugins
         final Command.Parameterized pluginsReloadCommand = Command.builder()
                 .permission("sponge.command.plugins.refresh")
@@ -144,6 +160,18 @@ public Command.Parameterized createSpongeCommand() {
                 .executor(this::tpsExecutor)
                 .build();
 
+        // /sponge tracker [reset]
+        final Command.Parameterized trackerCommand = Command.builder()
+                .permission("sponge.command.tracker")
+                .shortDescription(Component.text("Displays the measured cost of tracking block changes"))
+                .executor(this::trackerExecutor)
+                .addChild(Command.builder()
+                        .permission("sponge.command.tracker.reset")
+                        .shortDescription(Component.text("Restores block change tracking for every type adaptive tracking disabled it for"))
+                        .executor(this::trackerResetExecutor)
+                        .build(), "reset")
+                .build();
+
         // /sponge version
         final Command.Parameterized versionCommand = Command.builder()
                 .permission("sponge.command.version")
@@ -186,9 +214,11 @@ public Command.Parameterized createSpongeCommand() {
                 .addChild(auditCommand, "audit")
                 .addChild(chunksCommand, "chunks")
                 .addChild(heapCommand, "heap")
+                .addChild(metricsCommand, "metrics")
                 .addChild(pluginsCommand, "plugins")
                 .addChild(timingsCommand, "timings")
                 .addChild(tpsCommand, "tps")
+                .addChild(trackerCommand, "tracker")
                 .addChild(versionCommand, "version")
                 .addChild(whichCommand, "which")
                 .addChild(reloadCommand, "reload");
@@ -420,6 +450,16 @@ private Command.Parameterized chunksSubcommand() {
                             return CommandResult.success();
                         })
                         .build(), "cost")
+                .addChild(Command.builder()
+                        .executor(context -> {
+                            if (!Timings.isTimingsEnabled()) {
+                                context.sendMessage(Identity.nil(), Component.text("Please enable timings by typing /sponge timings on"));
+                                return CommandResult.empty();
+                            }
+                            SpongeTimingsFactory.allocationSummary(10).forEach(line -> context.sendMessage(Identity.nil(), line));
+                            return SpongeTimingsFactory.isAllocationTrackingEnabled() ? CommandResult.success() : CommandResult.empty();
+                        })
+                        .build(), "allocations")
                 .build();
     }
 
@@ -448,6 +488,129 @@ private CommandResult tpsExecutor(final CommandContext context) {
         return CommandResult.success();
     }
 
+    private @NonNull CommandResult metricsExecutor(final CommandContext context) {
+        if (!SpongeMetrics.isEnabled()) {
+            context.sendMessage(Identity.nil(), Component.text("Metrics are disabled, they can be enabled with 'metrics.enabled' in sponge.conf"));
+            return CommandResult.empty();
+        }
+        final List<Component> lines = new ArrayList<>();
+        lines.add(this.appendLatency(SpongeMetrics.TICK_DURATION, Component.text().content("Tick duration: ")).build());
+        lines.add(this.appendLatency(SpongeMetrics.EVENT_POST, Component.text().content("Event posts: ")).build());
+        lines.add(this.appendLatency(SpongeMetrics.CHUNK_LOAD, Component.text().content("Chunk loads: ")).build());
+        lines.add(this.appendLatency(SpongeMetrics.CHUNK_SAVE, Component.text().content("Chunk saves: ")).build());
+        final Map<String, ? extends Number> blockEntities = SpongeMetrics.WORLD_BLOCK_ENTITIES.values();
+        final Map<String, ? extends Number> chunks = SpongeMetrics.WORLD_CHUNKS.values();
+        SpongeMetrics.WORLD_ENTITIES.values().forEach((world, entities) -> lines.add(Component.text()
+                .append(Component.text("World ["), Component.text(world, NamedTextColor.DARK_GREEN), Component.text("]: "))
+                .append(Component.text(entities + " entities, " + blockEntities.get(world) + " block entities, "
+                        + chunks.get(world) + " chunks", NamedTextColor.LIGHT_PURPLE))
+                .build()));
+        lines.add(Component.text()
+                .append(Component.text("Network channels: "))
+                .append(Component.text((SpongeMetrics.CHANNEL_RECEIVED_BYTES.total() / 1024) + " KiB received, "
+                        + (SpongeMetrics.CHANNEL_SENT_BYTES.total() / 1024) + " KiB sent", NamedTextColor.LIGHT_PURPLE))
+                .build());
+        final @Nullable MetricsEndpoint endpoint = SpongeMetrics.endpoint();
+        lines.add(Component.text()
+                .append(Component.text("Endpoint: "))
+                .append(endpoint == null ? Component.text("disabled", NamedTextColor.GRAY)
+                        : Component.text(endpoint.address().toString(), NamedTextColor.GREEN))
+                .build());
+
+        SpongeCommon.getGame().serviceProvider()
+                .paginationService()
+                .builder()
+                .contents(lines)
+                .title(Component.text("Server Metrics", NamedTextColor.WHITE))
+                .padding(Component.text("-", NamedTextColor.WHITE))
+                .sendTo(context.cause().audience());
+
+        return CommandResult.success();
+    }
+
+    private @NonNull CommandResult trackerExecutor(final CommandContext context) {
+        final AdaptiveTrackerCategory config = SpongeGameConfigs.getTracker().get().adaptive;
+        if (config.mode == AdaptiveTrackerCategory.Mode.DISABLED) {
+            context.sendMessage(Identity.nil(), Component.text("Adaptive tracking is disabled, it can be enabled with 'adaptive.mode' in "
+                    + TrackerConfig.FILE_NAME));
+            return CommandResult.empty();
+        }
+        final List<Component> lines = new ArrayList<>();
+        lines.add(Component.text()
+                .append(Component.text("Mode: "))
+                .append(Component.text(config.mode.name(), NamedTextColor.LIGHT_PURPLE))
+                .append(Component.text(", Sampled: "))
+                .append(Component.text(TrackerCostProfiler.sampledTicks() + "/" + config.sampleTicks + " ticks", NamedTextColor.LIGHT_PURPLE))
+                .build());
+        final List<TrackerCostProfiler.TypeCost> sample = TrackerCostProfiler.lastSample();
+        lines.add(Component.text("Last sample:", NamedTextColor.GREEN));
+        if (sample.isEmpty()) {
+            lines.add(Component.text().append(SpongeCommand.INDENT_COMPONENT, Component.text("None completed yet", NamedTextColor.GRAY)).build());
+        }
+        for (int i = 0; i < Math.min(sample.size(), SpongeCommand.TRACKER_REPORT_SIZE); i++) {
+            final TrackerCostProfiler.TypeCost cost = sample.get(i);
+            lines.add(Component.text()
+                    .append(SpongeCommand.INDENT_COMPONENT, Component.text(cost.name(), NamedTextColor.DARK_GREEN), Component.text(": "))
+                    .append(this.millis(cost.nanos()))
+                    .append(Component.text(" over " + cost.samples() + " ticks, " + cost.transactions() + " transactions, " + cost.events()
+                            + " events, " + cost.observedEvents() + " observed, " + cost.cancellations() + " cancelled", NamedTextColor.LIGHT_PURPLE))
+                    .build());
+        }
+        final Collection<TrackerCostProfiler.TypeCost> downgrades = TrackerCostProfiler.downgrades();
+        if (!downgrades.isEmpty()) {
+            lines.add(Component.text("Block change tracking disabled for:", NamedTextColor.GREEN));
+            downgrades.forEach(cost -> lines.add(Component.text()
+                    .append(SpongeCommand.INDENT_COMPONENT, Component.text(cost.name(), NamedTextColor.DARK_GREEN))
+                    .build()));
+        }
+        final Collection<String> auditLog = TrackerCostProfiler.auditLog();
+        if (!auditLog.isEmpty()) {
+            lines.add(Component.text("Audit log:", NamedTextColor.GREEN));
+            auditLog.forEach(entry -> lines.add(Component.text().append(SpongeCommand.INDENT_COMPONENT, Component.text(entry)).build()));
+        }
+
+        SpongeCommon.getGame().serviceProvider()
+                .paginationService()
+                .builder()
+                .contents(lines)
+                .title(Component.text("Tracker Costs", NamedTextColor.WHITE))
+                .padding(Component.text("-", NamedTextColor.WHITE))
+                .sendTo(context.cause().audience());
+
+        return CommandResult.success();
+    }
+
+    private @NonNull CommandResult trackerResetExecutor(final CommandContext context) {
+        if (TrackerCostProfiler.downgrades().isEmpty()) {
+            context.sendMessage(Identity.nil(), Component.text("Block change tracking has not been disabled for any type"));
+            return CommandResult.empty();
+        }
+        TrackerCostProfiler.restoreDowngrades("reset by command");
+        context.sendMessage(Identity.nil(), Component.text("Restored block change tracking for every type", NamedTextColor.GREEN));
+        return CommandResult.success();
+    }
+
+    private TextComponent.Builder appendLatency(final LatencyHistogram histogram, final TextComponent.Builder builder) {
+        final long count = histogram.count();
+        builder.append(Component.text(count, NamedTextColor.LIGHT_PURPLE));
+        if (count == 0) {
+            return builder;
+        }
+        return builder
+                .append(Component.text(", Mean: "))
+                .append(this.millis(histogram.sum() / count))
+                .append(Component.text(", p50: "))
+                .append(this.millis(histogram.quantile(0.5)))
+                .append(Component.text(", p99: "))
+                .append(this.millis(histogram.quantile(0.99)))
+                .append(Component.text(", Max: "))
+                .append(this.millis(histogram.max()));
+    }
+
+    private Component millis(final long nanos) {
+        return Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(nanos * 1.0E-6D) + "ms", NamedTextColor.RED);
+    }
+
     private TextComponent.Builder appendTickTime(final long[] tickTimes, final TextComponent.Builder builder) {
         final double averageTickTime = Mth.average(tickTimes) * 1.0E-6D;
         builder.append(Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(Math.min(1000.0 / (averageTickTime), 20)), NamedTextColor.LIGHT_PURPLE))
@@ -519,7 +682,12 @@ private TextComponent.Builder appendTickTime(final long[] tickTimes, final TextC
     }
 
     private @NonNull CommandResult reloadGlobalExecutor(final CommandContext context) {
+        // Worlds may only be listed on the main thread, the reloads themselves happen asynchronously
+        final List<ServerLevel> worlds = new ArrayList<>();
+        SpongeCommon.getServer().getAllLevels().forEach(worlds::add);
         SpongeConfigs.getCommon().reload()
+            .thenCompose($ -> SpongeGameConfigs.getTracker().reload())
+            .thenCompose($ -> SpongeGameConfigs.reloadGlobalAndWorlds(worlds))
             .whenComplete(($, error) -> {
                 if (error != null) {
                     context.sendMessage(Identity.nil(), Component.text("Failed to reload global configuration. See the console for details.", NamedTextColor.RED));
@@ -534,7 +702,7 @@ private TextComponent.Builder appendTickTime(final long[] tickTimes, final TextC
     private @NonNull CommandResult reloadWorldExecutor(final CommandContext context) {
         final ServerWorld target = context.requireOne(this.worldKey);
         final ResourceKey worldId = target.key();
-        SpongeGameConfigs.getForWorld(target).reload()
+        SpongeGameConfigs.reloadWorld((ServerLevel) target)
             .whenComplete(($, error) -> {
             if (error != null) {
                 context.sendMessage(Identity.nil(), Component.text(b ->
@@ -36,6 +36,7 @@
 import org.spongepowered.common.config.inheritable.GlobalConfig;
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
 import org.spongepowered.common.config.inheritable.WorldConfig;
+import org.spongepowered.common.config.inheritable.WorldConfigSnapshot;
 import org.spongepowered.common.config.tracker.TrackerConfig;
 
 import java.io.IOException;
@@ -43,6 +44,9 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import net.minecraft.world.level.Level;
@@ -84,6 +88,40 @@ public static InheritableConfigHandle<WorldConfig> getForWorld(final net.minecra
         return ((PrimaryLevelDataBridge) mcWorld.getLevelData()).bridge$configAdapter();
     }
 
+    /**
+     * Gets the flattened settings of the given world that are read on hot
+     * paths. Unlike the {@link #getForWorld(Level) handle}, the returned
+     * snapshot is immutable and is replaced when the world config reloads.
+     *
+     * @param mcWorld The world
+     * @return The current snapshot of the world config
+     */
+    public static WorldConfigSnapshot getSnapshotForWorld(final net.minecraft.world.level.Level mcWorld) {
+        return ((PrimaryLevelDataBridge) mcWorld.getLevelData()).bridge$configSnapshot();
+    }
+
+    public static CompletableFuture<?> reloadWorld(final net.minecraft.world.level.Level mcWorld) {
+        final PrimaryLevelDataBridge levelData = (PrimaryLevelDataBridge) mcWorld.getLevelData();
+        return levelData.bridge$configAdapter().reload().thenRun(levelData::bridge$refreshConfigSnapshot);
+    }
+
+    /**
+     * Reloads the global world config, followed by the configs of the given
+     * worlds so that they pick up any inherited changes.
+     *
+     * @param worlds The loaded worlds
+     * @return The future completing once every world has been reloaded
+     */
+    public static CompletableFuture<?> reloadGlobalAndWorlds(final Iterable<? extends net.minecraft.world.level.Level> worlds) {
+        return SpongeGameConfigs.getGlobalInheritable().reload().thenCompose($ -> {
+            final List<CompletableFuture<?>> reloads = new ArrayList<>();
+            for (final net.minecraft.world.level.Level world : worlds) {
+                reloads.add(SpongeGameConfigs.reloadWorld(world));
+            }
+            return CompletableFuture.allOf(reloads.toArray(new CompletableFuture<?>[0]));
+        });
+    }
+
     public static boolean doesWorldConfigExist(final ResourceKey world) {
         final Path configPath = SpongeConfigs.getDirectory().resolve(Paths.get("worlds", world.namespace(), world.value() + ".conf"));
         return Files.exists(configPath);
@@ -84,6 +84,7 @@ public <V> V getOrCreateValue(final Function<T, V> getter, final Consumer<BaseCo
         return ret;
     }
 
+    @Override
     public void load() throws ConfigurateException {
         final CommentedConfigurationNode node;
         final CommentedConfigurationNode mergedNode;
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.inheritable;
+
+import net.minecraft.world.entity.MobCategory;
+
+/**
+ * An immutable, flattened copy of the settings of a {@link WorldConfig} that
+ * are read on hot paths, such as every tick of an item or every movement
+ * packet of a player.
+ *
+ * <p>Inheritance from the {@link GlobalConfig} is already resolved by the
+ * time a snapshot is taken. Worlds replace their snapshot as a whole when
+ * their configuration is reloaded; a snapshot itself never changes.</p>
+ */
+public final class WorldConfigSnapshot {
+
+    public final int itemDespawnRate;
+    public final double itemMergeRadius;
+
+    public final boolean movedWrongly;
+    public final boolean movedTooQuickly;
+    public final boolean vehicleMovedTooQuickly;
+
+    private final int monsterSpawnLimit;
+    private final int creatureSpawnLimit;
+    private final int ambientSpawnLimit;
+    private final int aquaticCreatureSpawnLimit;
+    private final int aquaticAmbientSpawnLimit;
+
+    private final int monsterTickRate;
+    private final int creatureTickRate;
+    private final int ambientTickRate;
+    private final int aquaticCreatureTickRate;
+    private final int aquaticAmbientTickRate;
+
+    public WorldConfigSnapshot(final BaseConfig config) {
+        this.itemDespawnRate = config.entity.item.despawnRate;
+        // Negative radii are not supported
+        this.itemMergeRadius = Math.max(0, config.world.itemMergeRadius);
+
+        this.movedWrongly = config.movementChecks.movedWrongly;
+        this.movedTooQuickly = config.movementChecks.player.movedTooQuickly;
+        this.vehicleMovedTooQuickly = config.movementChecks.player.vehicleMovedTooQuickly;
+
+        final SpawnerCategory.SpawnLimitsSubCategory spawnLimits = config.spawner.spawnLimits;
+        this.monsterSpawnLimit = spawnLimits.monster;
+        this.creatureSpawnLimit = spawnLimits.creature;
+        this.ambientSpawnLimit = spawnLimits.ambient;
+        this.aquaticCreatureSpawnLimit = spawnLimits.aquaticCreature;
+        this.aquaticAmbientSpawnLimit = spawnLimits.aquaticAmbient;
+
+        final SpawnerCategory.TickRatesSubCategory tickRates = config.spawner.tickRates;
+        this.monsterTickRate = tickRates.monster;
+        this.creatureTickRate = tickRates.creature;
+        this.ambientTickRate = tickRates.ambient;
+        this.aquaticCreatureTickRate = tickRates.aquaticCreature;
+        this.aquaticAmbientTickRate = tickRates.aquaticAmbient;
+    }
+
+    public int spawnLimit(final MobCategory category) {
+        switch (category) {
+            case MONSTER:
+                return this.monsterSpawnLimit;
+            case CREATURE:
+                return this.creatureSpawnLimit;
+            case AMBIENT:
+                return this.ambientSpawnLimit;
+            case WATER_CREATURE:
+                return this.aquaticCreatureSpawnLimit;
+            case WATER_AMBIENT:
+                return this.aquaticAmbientSpawnLimit;
+            default:
+                throw new IllegalStateException("Unexpected value: " + category);
+        }
+    }
+
+    public int spawnTickRate(final MobCategory category) {
+        switch (category) {
+            case MONSTER:
+                return this.monsterTickRate;
+            case CREATURE:
+                return this.creatureTickRate;
+            case AMBIENT:
+                return this.ambientTickRate;
+            case WATER_CREATURE:
+                return this.aquaticCreatureTickRate;
+            case WATER_AMBIENT:
+                return this.aquaticAmbientTickRate;
+            default:
+                throw new IllegalStateException("Unexpected value: " + category);
+        }
+    }
+}
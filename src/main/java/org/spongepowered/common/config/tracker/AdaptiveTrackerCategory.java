@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.tracker;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+@ConfigSerializable
+public final class AdaptiveTrackerCategory {
+
+    @Setting
+    @Comment("Measures the cost of capturing and processing block changes for each ticking block, block entity and entity type,\n"
+        + "and finds the types whose changes are never observed by a listener nor cancelled. Supported values:\n"
+        + "  - DISABLED: Do not measure anything\n"
+        + "  - RECOMMEND: Log the types for which '" + TrackerConfig.BLOCK_EVENT_CREATION + "' could be disabled\n"
+        + "  - APPLY: Disable '" + TrackerConfig.BLOCK_EVENT_CREATION + "' for those types until the next restart, restoring them\n"
+        + "    as soon as a plugin starts listening to block changes\n"
+        + "The results can be viewed with '/sponge tracker'.")
+    public Mode mode = Mode.DISABLED;
+
+    @Setting("sample-ticks")
+    @Comment("The number of ticks costs are measured for before the types are evaluated.")
+    public int sampleTicks = 6000;
+
+    @Setting("min-samples")
+    @Comment("The number of ticks with captured changes a type needs within a sample before it is evaluated.")
+    public int minSamples = 200;
+
+    @Setting("min-cost-millis")
+    @Comment("The time a type needs to have spent processing its captured changes within a sample before it is evaluated.")
+    public double minCostMillis = 50.0D;
+
+    public enum Mode {
+        DISABLED,
+        RECOMMEND,
+        APPLY
+    }
+}
@@ -70,14 +70,12 @@
 import org.spongepowered.common.profile.SpongeGameProfile;
 import org.spongepowered.common.service.server.permission.BridgeSubject;
 import org.spongepowered.common.service.server.permission.SubjectHelper;
+import org.spongepowered.common.user.UserFileIO;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.MissingImplementationException;
 import org.spongepowered.math.vector.Vector3d;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -90,7 +88,6 @@
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.NbtIo;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.inventory.PlayerEnderChestContainer;
@@ -179,19 +176,31 @@ public void initialize() {
             return;
         }
 
-        final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
-        final File file = storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.profile.getId().toString() + ".dat").toFile();
-        if (!file.exists()) {
-            return;
-        }
+        // Served straight from memory if the user was preloaded or has a pending write, read directly otherwise
+        // rather than waiting on the I/O thread, which may be busy writing a batch
+        UserFileIO.loadNow(this.profile.getId(), this.dataFile()).ifPresent(this::readCompound);
+    }
 
-        try {
-            try (final FileInputStream in = new FileInputStream(file)) {
-                this.readCompound(NbtIo.readCompressed(in));
-            }
-        } catch (final IOException e) {
-            SpongeCommon.getLogger().warn("Corrupt user file '{}'!", file, e);
+    /**
+     * Reads the data file of this user on the user I/O thread, the user
+     * itself is initialized on the main thread afterwards.
+     *
+     * @return The future completing once the user is initialized
+     */
+    public CompletableFuture<SpongeUser> initializeAsync() {
+        if (this.isInitialized() || SpongeCommon.getServer().overworld() == null) {
+            this.initializeIfRequired();
+            return CompletableFuture.completedFuture(this);
         }
+        return UserFileIO.preload(this.profile.getId(), this.dataFile()).thenApplyAsync(v -> {
+            this.initializeIfRequired();
+            return this;
+        }, SpongeCommon.getServer());
+    }
+
+    private Path dataFile() {
+        final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
+        return storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.profile.getId().toString() + ".dat");
     }
 
     private UserInventory loadInventory() {
@@ -435,23 +444,12 @@ public void markDirty() {
     public void save() {
         Preconditions.checkState(this.isInitialized(), "User {} is not initialized", this.profile.getId());
 
-        final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
-        final File file = storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.uniqueId() + ".dat").toFile();
-        CompoundTag compound;
-        try {
-            compound = NbtIo.readCompressed(new FileInputStream(file));
-        } catch (final IOException ignored) {
-            // Nevermind
-            compound = new CompoundTag();
-        }
+        // The compound still holds everything read from the file, there is no need to read it again
+        final CompoundTag compound = this.compound.copy();
         this.writeCompound(compound);
-        try (final FileOutputStream out = new FileOutputStream(file)) {
-            NbtIo.writeCompressed(compound, out);
-            SpongeUser.dirtyUsers.remove(this);
-            this.invalidate();
-        } catch (final IOException e) {
-            SpongeCommon.getLogger().warn("Failed to save user file [{}]!", file, e);
-        }
+        UserFileIO.queueWrite(this.profile.getId(), this.dataFile(), compound);
+        SpongeUser.dirtyUsers.remove(this);
+        this.invalidate();
     }
 
     // Helpers for Equipment:
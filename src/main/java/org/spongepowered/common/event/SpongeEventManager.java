@@ -57,8 +57,10 @@
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.EventListenerPhaseContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
 import co.aikar.timings.sponge.TimingsManager;
 import org.spongepowered.common.util.EngineUtil;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 import org.spongepowered.common.util.TypeTokenUtil;
 import org.spongepowered.configurate.util.Types;
 import org.spongepowered.plugin.PluginContainer;
@@ -389,14 +391,31 @@ protected RegisteredListener.Cache getHandlerCache(final Event event) {
         return this.handlersCache.get(eventType);
     }
 
-    @SuppressWarnings("unchecked")
+    public boolean hasListeners(final Event event) {
+        return !this.getHandlerCache(event).getListeners().isEmpty();
+    }
+
     private boolean post(final Event event, final List<RegisteredListener<?>> handlers) {
+        if (handlers.isEmpty() || !SpongeMetrics.isEnabled()) {
+            return this.postToListeners(event, handlers);
+        }
+        final long start = System.nanoTime();
+        try {
+            return this.postToListeners(event, handlers);
+        } finally {
+            SpongeMetrics.EVENT_POST.record(System.nanoTime() - start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean postToListeners(final Event event, final List<RegisteredListener<?>> handlers) {
         final Engine engine = EngineUtil.determineEngine();
 
         // If this event is being posted asynchronously then we don't want
         // to do any timing or cause stack changes
         if (engine == null) {
             for (final RegisteredListener handler : handlers) {
+                final @Nullable Object flightEvent = SpongeFlightEvents.EVENT_LISTENER.begin();
                 try {
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
@@ -407,6 +426,9 @@ private boolean post(final Event event, final List<RegisteredListener<?>> handle
                     SpongeCommon.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
                 } finally {
                     SpongeCommon.setActivePlugin(null);
+                    if (flightEvent != null) {
+                        this.commitFlightEvent(flightEvent, event, handler);
+                    }
                 }
             }
             if (event instanceof AbstractEvent) {
@@ -416,6 +438,7 @@ private boolean post(final Event event, final List<RegisteredListener<?>> handle
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
         for (@SuppressWarnings("rawtypes") final RegisteredListener handler : handlers) {
+            final @Nullable Object flightEvent = SpongeFlightEvents.EVENT_LISTENER.begin();
             try (final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame();
                  final PhaseContext<?> context = this.createPluginContext(handler);
                  final Timing timings = handler.getTimingsHandler()) {
@@ -433,6 +456,9 @@ private boolean post(final Event event, final List<RegisteredListener<?>> handle
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin().metadata().id(), e);
             } finally {
                 SpongeCommon.setActivePlugin(null);
+                if (flightEvent != null) {
+                    this.commitFlightEvent(flightEvent, event, handler);
+                }
             }
         }
         if (event instanceof AbstractEvent) {
@@ -441,6 +467,11 @@ private boolean post(final Event event, final List<RegisteredListener<?>> handle
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    private void commitFlightEvent(final Object flightEvent, final Event event, final RegisteredListener<?> handler) {
+        SpongeFlightEvents.EVENT_LISTENER.commit(flightEvent, event.getClass().getName(), handler.getPlugin().metadata().id(),
+            handler.getOrder().name());
+    }
+
     private @Nullable EventListenerPhaseContext createPluginContext(final RegisteredListener<?> handler) {
         if (PhaseTracker.getInstance().getPhaseContext().allowsEventListener()) {
             return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext(PhaseTracker.getInstance())
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.chunk;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongLists;
+import net.minecraft.world.level.ChunkPos;
+import org.spongepowered.api.ResourceKey;
+
+/**
+ * The chunks of a world that were generated, loaded or unloaded during a
+ * tick.
+ *
+ * <p>Positions are packed by {@link ChunkPos#asLong(int, int)} and unpacked
+ * with {@link ChunkPos#getX(long)} and {@link ChunkPos#getZ(long)}. Each list
+ * is in the order the chunks changed in, a chunk unloaded and loaded again
+ * within the same tick is part of both lists.</p>
+ */
+public final class ChunkLifecycleBatch {
+
+    private final ResourceKey world;
+    private final LongList generated;
+    private final LongList loaded;
+    private final LongList unloaded;
+
+    ChunkLifecycleBatch(final ResourceKey world, final long[] generated, final long[] loaded, final long[] unloaded) {
+        this.world = world;
+        this.generated = LongLists.unmodifiable(LongArrayList.wrap(generated));
+        this.loaded = LongLists.unmodifiable(LongArrayList.wrap(loaded));
+        this.unloaded = LongLists.unmodifiable(LongArrayList.wrap(unloaded));
+    }
+
+    public ResourceKey world() {
+        return this.world;
+    }
+
+    /**
+     * Gets the chunks that finished generating, these are loaded as well.
+     *
+     * @return The packed positions
+     */
+    public LongList generated() {
+        return this.generated;
+    }
+
+    public LongList loaded() {
+        return this.loaded;
+    }
+
+    public LongList unloaded() {
+        return this.unloaded;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkLifecycleBatch{world=" + this.world + ", generated=" + this.generated.size() + ", loaded=" + this.loaded.size()
+            + ", unloaded=" + this.unloaded.size() + "}";
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.chunk;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.world.level.ChunkPos;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.event.world.chunk.ChunkEvent;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Subscriptions to the chunk lifecycle of every world, batched per tick.
+ *
+ * <p>While players fly around or a world is pre-generated, thousands of
+ * chunks load and unload every second and each of them posts its own
+ * {@link ChunkEvent}, complete with its cause. Listeners subscribed here are
+ * instead handed the positions of every chunk of a world that changed during
+ * a tick at once. The per chunk events are only constructed when listeners
+ * registered with the event manager exist, subscribing here does not cause
+ * them to be posted.</p>
+ */
+public final class ChunkLifecycleBatches {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final List<ChunkLifecycleListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile boolean active;
+
+    private ChunkLifecycleBatches() {
+    }
+
+    /**
+     * Gets if any listener is subscribed.
+     *
+     * @return true if chunk changes have to be collected
+     */
+    public static boolean isActive() {
+        return ChunkLifecycleBatches.active;
+    }
+
+    public static void subscribe(final ChunkLifecycleListener listener) {
+        ChunkLifecycleBatches.LISTENERS.add(Objects.requireNonNull(listener, "listener"));
+        ChunkLifecycleBatches.active = true;
+    }
+
+    public static void unsubscribe(final ChunkLifecycleListener listener) {
+        ChunkLifecycleBatches.LISTENERS.remove(listener);
+        ChunkLifecycleBatches.active = !ChunkLifecycleBatches.LISTENERS.isEmpty();
+    }
+
+    /**
+     * Collects the chunk changes of a single world until they are
+     * dispatched. Only used by the thread ticking the world.
+     */
+    public static final class Collector {
+
+        private final ResourceKey world;
+        private final LongArrayList generated = new LongArrayList();
+        private final LongArrayList loaded = new LongArrayList();
+        private final LongArrayList unloaded = new LongArrayList();
+
+        public Collector(final ResourceKey world) {
+            this.world = world;
+        }
+
+        public void generated(final ChunkPos pos) {
+            this.generated.add(pos.toLong());
+        }
+
+        public void loaded(final ChunkPos pos) {
+            this.loaded.add(pos.toLong());
+        }
+
+        public void unloaded(final ChunkPos pos) {
+            this.unloaded.add(pos.toLong());
+        }
+
+        /**
+         * Hands everything collected since the last dispatch to the
+         * subscribed listeners. Called at the start of every tick of the
+         * world and when its chunks are closed, so the last changes of an
+         * unloaded world are not lost.
+         */
+        public void dispatch() {
+            if (this.generated.isEmpty() && this.loaded.isEmpty() && this.unloaded.isEmpty()) {
+                return;
+            }
+            final ChunkLifecycleBatch batch = new ChunkLifecycleBatch(this.world, this.generated.toLongArray(), this.loaded.toLongArray(),
+                this.unloaded.toLongArray());
+            this.generated.clear();
+            this.loaded.clear();
+            this.unloaded.clear();
+            for (final ChunkLifecycleListener listener : ChunkLifecycleBatches.LISTENERS) {
+                try {
+                    listener.changed(batch);
+                } catch (final Throwable t) {
+                    ChunkLifecycleBatches.LOGGER.error("Could not pass {} to {}", batch, listener, t);
+                }
+            }
+        }
+    }
+}
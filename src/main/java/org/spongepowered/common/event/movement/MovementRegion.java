@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.movement;
+
+import org.spongepowered.api.ResourceKey;
+
+/**
+ * A box in a world whose boundary players are watched crossing.
+ *
+ * <p>Like {@link org.spongepowered.api.util.AABB}, both the minimum and the
+ * maximum corner are contained by the region.</p>
+ */
+public final class MovementRegion {
+
+    private final ResourceKey world;
+    final double minX;
+    final double minY;
+    final double minZ;
+    final double maxX;
+    final double maxY;
+    final double maxZ;
+    final MovementRegionListener listener;
+
+    MovementRegion(final ResourceKey world, final double minX, final double minY, final double minZ, final double maxX, final double maxY,
+            final double maxZ, final MovementRegionListener listener) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.listener = listener;
+    }
+
+    public ResourceKey world() {
+        return this.world;
+    }
+
+    public boolean contains(final double x, final double y, final double z) {
+        return this.minX <= x && this.maxX >= x
+            && this.minY <= y && this.maxY >= y
+            && this.minZ <= z && this.maxZ >= z;
+    }
+
+    /**
+     * Stops watching this region.
+     */
+    public void unsubscribe() {
+        MovementRegions.unsubscribe(this);
+    }
+
+    int minChunkX() {
+        return (int) Math.floor(this.minX) >> 4;
+    }
+
+    int minChunkZ() {
+        return (int) Math.floor(this.minZ) >> 4;
+    }
+
+    int maxChunkX() {
+        return (int) Math.floor(this.maxX) >> 4;
+    }
+
+    int maxChunkZ() {
+        return (int) Math.floor(this.maxZ) >> 4;
+    }
+
+    boolean coversChunk(final int chunkX, final int chunkZ) {
+        return this.minChunkX() <= chunkX && this.maxChunkX() >= chunkX
+            && this.minChunkZ() <= chunkZ && this.maxChunkZ() >= chunkZ;
+    }
+
+    @Override
+    public String toString() {
+        return "MovementRegion{world=" + this.world
+            + ", min=(" + this.minX + ", " + this.minY + ", " + this.minZ + ")"
+            + ", max=(" + this.maxX + ", " + this.maxY + ", " + this.maxZ + ")}";
+    }
+}
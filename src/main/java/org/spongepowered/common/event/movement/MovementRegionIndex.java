@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.movement;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The regions of a single world, keyed by every chunk column they overlap.
+ *
+ * <p>The region arrays held per chunk are never modified once published, so
+ * a lookup only holds the lock for the two map reads and tests containment
+ * without it. A movement that stays within a chunk costs a single map read,
+ * regardless of how many regions exist elsewhere in the world.</p>
+ */
+final class MovementRegionIndex {
+
+    private static final MovementRegion[] EMPTY = new MovementRegion[0];
+
+    private final Long2ObjectOpenHashMap<MovementRegion[]> chunks = new Long2ObjectOpenHashMap<>();
+    private int size;
+
+    synchronized void add(final MovementRegion region) {
+        for (int x = region.minChunkX(); x <= region.maxChunkX(); x++) {
+            for (int z = region.minChunkZ(); z <= region.maxChunkZ(); z++) {
+                final long key = ChunkPos.asLong(x, z);
+                final MovementRegion[] existing = this.chunks.getOrDefault(key, MovementRegionIndex.EMPTY);
+                final MovementRegion[] updated = Arrays.copyOf(existing, existing.length + 1);
+                updated[existing.length] = region;
+                this.chunks.put(key, updated);
+            }
+        }
+        this.size++;
+    }
+
+    synchronized boolean remove(final MovementRegion region) {
+        boolean removed = false;
+        for (int x = region.minChunkX(); x <= region.maxChunkX(); x++) {
+            for (int z = region.minChunkZ(); z <= region.maxChunkZ(); z++) {
+                final long key = ChunkPos.asLong(x, z);
+                final MovementRegion[] existing = this.chunks.get(key);
+                if (existing == null) {
+                    continue;
+                }
+                final int index = MovementRegionIndex.indexOf(existing, region);
+                if (index == -1) {
+                    continue;
+                }
+                removed = true;
+                if (existing.length == 1) {
+                    this.chunks.remove(key);
+                } else {
+                    final MovementRegion[] updated = new MovementRegion[existing.length - 1];
+                    System.arraycopy(existing, 0, updated, 0, index);
+                    System.arraycopy(existing, index + 1, updated, index, updated.length - index);
+                    this.chunks.put(key, updated);
+                }
+            }
+        }
+        if (removed) {
+            this.size--;
+        }
+        return removed;
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Finds the regions whose boundary lies between the two positions, that
+     * is the regions containing exactly one of them.
+     *
+     * <p>Only the chunks of both positions are searched, which covers every
+     * movement a client is allowed to make in a single packet.</p>
+     *
+     * @return The crossed regions, an immutable empty list if there are none
+     */
+    List<MovementRegion> crossed(final double fromX, final double fromY, final double fromZ, final double toX, final double toY, final double toZ) {
+        final int fromChunkX = (int) Math.floor(fromX) >> 4;
+        final int fromChunkZ = (int) Math.floor(fromZ) >> 4;
+        final int toChunkX = (int) Math.floor(toX) >> 4;
+        final int toChunkZ = (int) Math.floor(toZ) >> 4;
+        final boolean sameChunk = fromChunkX == toChunkX && fromChunkZ == toChunkZ;
+
+        final MovementRegion @Nullable [] fromRegions;
+        final MovementRegion @Nullable [] toRegions;
+        synchronized (this) {
+            if (this.size == 0) {
+                return Collections.emptyList();
+            }
+            fromRegions = this.chunks.get(ChunkPos.asLong(fromChunkX, fromChunkZ));
+            toRegions = sameChunk ? null : this.chunks.get(ChunkPos.asLong(toChunkX, toChunkZ));
+        }
+
+        List<MovementRegion> crossed = null;
+        if (fromRegions != null) {
+            for (final MovementRegion region : fromRegions) {
+                if (region.contains(fromX, fromY, fromZ) != region.contains(toX, toY, toZ)) {
+                    if (crossed == null) {
+                        crossed = new ArrayList<>(2);
+                    }
+                    crossed.add(region);
+                }
+            }
+        }
+        if (toRegions != null) {
+            for (final MovementRegion region : toRegions) {
+                // Regions spanning both chunks have been tested already
+                if (region.coversChunk(fromChunkX, fromChunkZ)) {
+                    continue;
+                }
+                if (region.contains(fromX, fromY, fromZ) != region.contains(toX, toY, toZ)) {
+                    if (crossed == null) {
+                        crossed = new ArrayList<>(2);
+                    }
+                    crossed.add(region);
+                }
+            }
+        }
+        return crossed == null ? Collections.emptyList() : crossed;
+    }
+
+    private static int indexOf(final MovementRegion[] regions, final MovementRegion region) {
+        for (int i = 0; i < regions.length; i++) {
+            if (regions[i] == region) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.movement;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spatial subscriptions to player movement.
+ *
+ * <p>Region and claim plugins typically listen to every
+ * {@link MoveEntityEvent} only to look up which of their regions a player
+ * moved between. Regions subscribed here are instead looked up by the
+ * movement handling itself through a chunk keyed index, an event is only
+ * constructed once a player actually crosses the boundary of a subscribed
+ * region and only the listeners of the crossed regions are notified.</p>
+ *
+ * <p>Listeners registered with the event manager are unaffected and still
+ * receive every movement. When both exist, region listeners are notified
+ * with the same event after it has been posted, unless it was cancelled.</p>
+ */
+public final class MovementRegions {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Map<ResourceKey, MovementRegionIndex> WORLDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    private MovementRegions() {
+    }
+
+    /**
+     * Gets if any region is subscribed, in any world.
+     *
+     * @return true if movement has to be checked against regions
+     */
+    public static boolean isActive() {
+        return MovementRegions.SIZE.get() != 0;
+    }
+
+    public static MovementRegion subscribe(final ResourceKey world, final AABB bounds, final MovementRegionListener listener) {
+        Objects.requireNonNull(bounds, "bounds");
+        final Vector3d min = bounds.min();
+        final Vector3d max = bounds.max();
+        return MovementRegions.subscribe(new MovementRegion(world, min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), listener));
+    }
+
+    /**
+     * Subscribes to players moving into or out of the given chunk, at any
+     * height.
+     *
+     * @param world The world
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param listener The listener
+     * @return The subscribed region
+     */
+    public static MovementRegion subscribeChunk(final ResourceKey world, final int chunkX, final int chunkZ, final MovementRegionListener listener) {
+        final double minX = chunkX << 4;
+        final double minZ = chunkZ << 4;
+        // Regions contain their maximum, which must not be the first block of the next chunk
+        return MovementRegions.subscribe(new MovementRegion(world, minX, Double.NEGATIVE_INFINITY, minZ, Math.nextDown(minX + 16),
+            Double.POSITIVE_INFINITY, Math.nextDown(minZ + 16), listener));
+    }
+
+    private static MovementRegion subscribe(final MovementRegion region) {
+        Objects.requireNonNull(region.world(), "world");
+        Objects.requireNonNull(region.listener, "listener");
+        MovementRegions.WORLDS.computeIfAbsent(region.world(), key -> new MovementRegionIndex()).add(region);
+        MovementRegions.SIZE.incrementAndGet();
+        return region;
+    }
+
+    static void unsubscribe(final MovementRegion region) {
+        final MovementRegionIndex index = MovementRegions.WORLDS.get(region.world());
+        if (index != null && index.remove(region)) {
+            MovementRegions.SIZE.decrementAndGet();
+        }
+    }
+
+    /**
+     * Finds the regions of the world whose boundary was crossed by moving
+     * between the two positions.
+     *
+     * @param world The world moved in
+     * @param from The position moved from
+     * @param to The position moved to
+     * @return The crossed regions, an empty list if there are none
+     */
+    public static List<MovementRegion> crossed(final ResourceKey world, final Vector3d from, final Vector3d to) {
+        final MovementRegionIndex index = MovementRegions.WORLDS.get(world);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        return index.crossed(from.x(), from.y(), from.z(), to.x(), to.y(), to.z());
+    }
+
+    /**
+     * Notifies the listeners of the crossed regions, stopping once the event
+     * has been cancelled.
+     *
+     * @param event The movement event
+     * @param crossed The regions crossed by the movement
+     */
+    public static void dispatch(final MoveEntityEvent event, final List<MovementRegion> crossed) {
+        final Vector3d to = event.originalDestinationPosition();
+        for (final MovementRegion region : crossed) {
+            if (event.isCancelled()) {
+                return;
+            }
+            try {
+                region.listener.crossed(event, region, region.contains(to.x(), to.y(), to.z()));
+            } catch (final Throwable t) {
+                MovementRegions.LOGGER.error("Could not pass movement of {} to the listener of {}", event.entity(), region, t);
+            }
+        }
+    }
+}
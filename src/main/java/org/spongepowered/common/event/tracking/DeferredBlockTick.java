@@ -0,0 +1,278 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.common.applaunch.config.common.PhaseTrackerCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.event.tracking.phase.tick.LocationBasedTickContext;
+import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
+import org.spongepowered.common.world.server.SpongeLocatableBlockBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs a block or fluid tick without entering its tick phase up front.
+ *
+ * <p>Most random ticks, such as those of crops that do not grow this time,
+ * do nothing the tracker would ever see, yet building the locatable block
+ * and switching into and out of the tick phase is most of what they cost. A
+ * deferred tick registers itself with the {@link PhaseTracker} instead, which
+ * enters the tick phase the moment anything asks for the current phase or
+ * cause. Anything capturing a side effect of the tick has to ask first, so
+ * ticks only skip their phase when they have nothing to capture.</p>
+ *
+ * <p>Types that enter their phase on nearly every tick, like flowing fluids,
+ * are learned at runtime and have their phase entered straight away, the
+ * bookkeeping would only be overhead for them. Types listed in
+ * {@code phase-tracker.untracked-block-ticks} never enter a phase.</p>
+ */
+final class DeferredBlockTick {
+
+    private static final int MODE_DEFERRED = 0;
+    private static final int MODE_EAGER = 1;
+    private static final int MODE_UNTRACKED = 2;
+
+    // The number of deferred ticks over which a type is judged
+    private static final int SAMPLE_TICKS = 1024;
+    // How long a type that was judged eager is ticked eagerly before being judged again
+    private static final int EAGER_TICKS = 16384;
+
+    private static final Reference2ObjectOpenHashMap<Object, TypeStats> STATS = new Reference2ObjectOpenHashMap<>();
+    // Deferred ticks only nest once their phase has been entered, each level needs its own instance
+    private static final ArrayDeque<DeferredBlockTick> POOL = new ArrayDeque<>();
+    private static @Nullable PhaseTrackerCategory config;
+    private static boolean enabled;
+    private static Set<String> untracked = Collections.emptySet();
+
+    private @Nullable Kind kind;
+    private @Nullable ServerLevel world;
+    private @Nullable BlockState blockState;
+    private @Nullable FluidState fluidState;
+    private @Nullable BlockPos pos;
+    private @Nullable LocationBasedTickContext<@NonNull ?> context;
+
+    private DeferredBlockTick() {
+    }
+
+    /**
+     * Gets whether ticks of the given block or fluid type can be deferred.
+     *
+     * @param type The block or fluid
+     * @return The statistics of the type to tick it with, or null if the
+     *     caller has to enter the tick phase itself
+     */
+    static @Nullable TypeStats deferral(final Object type) {
+        final PhaseTrackerCategory category = SpongeConfigs.getCommon().get().phaseTracker;
+        if (category != DeferredBlockTick.config) {
+            DeferredBlockTick.configure(category);
+        }
+        TypeStats stats = DeferredBlockTick.STATS.get(type);
+        if (stats == null) {
+            stats = DeferredBlockTick.createStats(type);
+        }
+        if (stats.mode == DeferredBlockTick.MODE_UNTRACKED) {
+            return stats;
+        }
+        if (!DeferredBlockTick.enabled) {
+            return null;
+        }
+        if (stats.mode == DeferredBlockTick.MODE_EAGER) {
+            if (++stats.ticks >= DeferredBlockTick.EAGER_TICKS) {
+                stats.mode = DeferredBlockTick.MODE_DEFERRED;
+                stats.ticks = 0;
+            }
+            return null;
+        }
+        return stats;
+    }
+
+    /**
+     * Ticks a block or fluid whose type can be deferred.
+     */
+    static void tick(final TypeStats stats, final Kind kind, final ServerLevel world, final BlockState blockState,
+            final @Nullable FluidState fluidState, final BlockPos pos, final @Nullable Random random) {
+        if (stats.mode == DeferredBlockTick.MODE_UNTRACKED) {
+            try {
+                DeferredBlockTick.run(kind, world, blockState, fluidState, pos, random);
+            } catch (final Exception | NoClassDefFoundError e) {
+                PhasePrinter.printExceptionFromPhase(PhaseTracker.SERVER.stack, e, PhaseTracker.SERVER.getPhaseContext());
+            }
+            return;
+        }
+
+        final DeferredBlockTick tick = DeferredBlockTick.POOL.isEmpty() ? new DeferredBlockTick() : DeferredBlockTick.POOL.pop();
+        final boolean entered;
+        try {
+            entered = tick.tick(kind, world, blockState, fluidState, pos, random);
+        } finally {
+            DeferredBlockTick.POOL.push(tick);
+        }
+        stats.ticks++;
+        if (entered) {
+            stats.entered++;
+        }
+        if (stats.ticks >= DeferredBlockTick.SAMPLE_TICKS) {
+            if (stats.entered * 4 >= stats.ticks * 3) {
+                stats.mode = DeferredBlockTick.MODE_EAGER;
+            }
+            stats.ticks = 0;
+            stats.entered = 0;
+        }
+    }
+
+    private static void configure(final PhaseTrackerCategory category) {
+        DeferredBlockTick.config = category;
+        DeferredBlockTick.enabled = category.deferBlockTickPhases;
+        DeferredBlockTick.untracked = new HashSet<>(category.untrackedBlockTicks);
+        DeferredBlockTick.STATS.clear();
+    }
+
+    private static TypeStats createStats(final Object type) {
+        final @Nullable ResourceLocation key = type instanceof net.minecraft.world.level.block.Block
+            ? Registry.BLOCK.getKey((net.minecraft.world.level.block.Block) type)
+            : Registry.FLUID.getKey((net.minecraft.world.level.material.Fluid) type);
+        final TypeStats stats = new TypeStats();
+        if (key != null && (DeferredBlockTick.untracked.contains(key.toString())
+                || key.getNamespace().equals("minecraft") && DeferredBlockTick.untracked.contains(key.getPath()))) {
+            stats.mode = DeferredBlockTick.MODE_UNTRACKED;
+        }
+        DeferredBlockTick.STATS.put(type, stats);
+        return stats;
+    }
+
+    private static void run(final Kind kind, final ServerLevel world, final BlockState blockState, final @Nullable FluidState fluidState,
+            final BlockPos pos, final @Nullable Random random) {
+        switch (kind) {
+            case BLOCK:
+                blockState.tick(world, pos, random);
+                break;
+            case RANDOM_BLOCK:
+                blockState.randomTick(world, pos, random);
+                break;
+            case FLUID:
+                fluidState.tick(world, pos);
+                break;
+            case RANDOM_FLUID:
+                fluidState.randomTick(world, pos, random);
+                break;
+        }
+    }
+
+    private boolean tick(final Kind kind, final ServerLevel world, final BlockState blockState, final @Nullable FluidState fluidState,
+            final BlockPos pos, final @Nullable Random random) {
+        this.kind = kind;
+        this.world = world;
+        this.blockState = blockState;
+        this.fluidState = fluidState;
+        this.pos = pos;
+        final PhaseTracker tracker = PhaseTracker.SERVER;
+        tracker.deferredTick = this;
+        @Nullable PhaseContext<@NonNull ?> context = null;
+        try {
+            try {
+                DeferredBlockTick.run(kind, world, blockState, fluidState, pos, random);
+            } finally {
+                if (tracker.deferredTick == this) {
+                    tracker.deferredTick = null;
+                }
+                context = this.context;
+                this.kind = null;
+                this.world = null;
+                this.blockState = null;
+                this.fluidState = null;
+                this.pos = null;
+                this.context = null;
+                if (context != null) {
+                    context.close();
+                }
+            }
+        } catch (final Exception | NoClassDefFoundError e) {
+            PhasePrinter.printExceptionFromPhase(tracker.stack, e, context != null ? context : tracker.getPhaseContext());
+        }
+        return context != null;
+    }
+
+    /**
+     * Enters the phase of the tick, called by the tracker as soon as the
+     * current phase or cause is requested while the tick is running.
+     */
+    void enterPhase() {
+        final ServerLevel world = this.world;
+        final BlockPos pos = this.pos;
+        final BlockState state = this.fluidState == null ? this.blockState : this.fluidState.createLegacyBlock();
+        final LocatableBlock locatable = new SpongeLocatableBlockBuilder()
+            .world((org.spongepowered.api.world.server.ServerWorld) world)
+            .position(pos.getX(), pos.getY(), pos.getZ())
+            .state((org.spongepowered.api.block.BlockState) state)
+            .build();
+        final LocationBasedTickContext<@NonNull ?> context;
+        switch (this.kind) {
+            case BLOCK:
+                context = TickPhase.Tick.BLOCK.createPhaseContext(PhaseTracker.SERVER).source(locatable);
+                break;
+            case RANDOM_BLOCK:
+                context = TickPhase.Tick.RANDOM_BLOCK.createPhaseContext(PhaseTracker.SERVER).source(locatable);
+                break;
+            case FLUID:
+                context = TickPhase.Tick.FLUID.createPhaseContext(PhaseTracker.SERVER).source(locatable).fluid(this.fluidState);
+                break;
+            default:
+                context = TickPhase.Tick.RANDOM_FLUID.createPhaseContext(PhaseTracker.SERVER).source(locatable).fluid(this.fluidState);
+                break;
+        }
+        // We have to associate any notifiers in case of scheduled block updates from other sources
+        PhaseTracker.SERVER.getPhaseContext().appendNotifierPreBlockTick(world, pos, context);
+        this.context = context;
+        context.buildAndSwitch();
+    }
+
+    enum Kind {
+        BLOCK,
+        RANDOM_BLOCK,
+        FLUID,
+        RANDOM_FLUID
+    }
+
+    static final class TypeStats {
+
+        int mode = DeferredBlockTick.MODE_DEFERRED;
+        int ticks;
+        int entered;
+    }
+}
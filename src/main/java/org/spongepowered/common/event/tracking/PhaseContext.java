@@ -90,6 +90,8 @@
     private boolean allowsBulkBlockCaptures = true; // Defaults to allow block captures
     private boolean allowsBulkEntityCaptures = true;
     @Nullable Deque<CauseStackManager.StackFrame> usedFrame;
+    // Set while a flight recording has phases enabled
+    @Nullable Object flightEvent;
 
     private @Nullable Object source;
 
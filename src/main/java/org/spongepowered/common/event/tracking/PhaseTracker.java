@@ -49,6 +49,7 @@
 import org.spongepowered.common.event.cause.entity.SpongeSpawnTypes;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
 import org.spongepowered.common.launch.Launch;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.PrettyPrinter;
@@ -222,6 +223,8 @@ public static Block validateBlockForNeighborNotification(final ServerLevel world
      */
     private final Deque<PhaseContext<?>> phaseContextProviders = new ArrayDeque<>();
     final PhaseStack stack = new PhaseStack();
+    // A block tick that has not entered its phase yet, see DeferredBlockTick
+    @Nullable DeferredBlockTick deferredTick;
 
 
     PhaseTracker() {
@@ -305,6 +308,9 @@ public IPhaseState<?> getCurrentState() {
         if (Thread.currentThread() != this.getSidedThread()) {
             throw new UnsupportedOperationException("Cannot access the PhaseTracker off-thread, please use the respective PhaseTracker for their proper thread.");
         }
+        if (this.deferredTick != null) {
+            this.enterDeferredTick();
+        }
         return this.stack.peekState();
     }
 
@@ -312,6 +318,9 @@ public PhaseContext<?> getPhaseContext() {
         if (Thread.currentThread() != this.getSidedThread()) {
             throw new UnsupportedOperationException("Cannot access the PhaseTracker off-thread, please use the respective PhaseTracker for their proper thread.");
         }
+        if (this.deferredTick != null) {
+            this.enterDeferredTick();
+        }
         return this.stack.peekContext();
     }
 
@@ -333,6 +342,10 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
             // Maybe? I don't think this is wise.
             return;
         }
+        if (this.deferredTick != null) {
+            // Anything switching phases within a deferred tick has to happen within the tick's phase
+            this.enterDeferredTick();
+        }
         checkNotNull(state, "State cannot be null!");
         checkNotNull(phaseContext, "PhaseContext cannot be null!");
         checkArgument(phaseContext.isComplete(), "PhaseContext must be complete!");
@@ -348,6 +361,7 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
         if (phaseContext.shouldProvideModifiers()) {
             this.registerPhaseContextProvider(phaseContext);
         }
+        phaseContext.flightEvent = SpongeFlightEvents.PHASE.begin();
         this.stack.push(state, phaseContext);
     }
 
@@ -378,6 +392,7 @@ void completePhase(final PhaseContext<?> context) {
             // The phase on the top of the stack was most likely never completed.
             // Since we don't know when and where completePhase was intended to be called for it,
             // we simply pop it to allow processing to continue (somewhat) as normal
+            this.commitFlightEvent(currentContext);
             this.stack.pop();
             return;
         }
@@ -391,6 +406,9 @@ void completePhase(final PhaseContext<?> context) {
         }
 
         final boolean hasCaptures = currentContext.hasCaptures();
+        final @Nullable Object profiledType = hasCaptures && TrackerCostProfiler.isEnabled() ? TrackerCostProfiler.trackedType(currentContext) : null;
+        final int profiledTransactions = profiledType == null ? 0 : currentContext.getTransactor().size();
+        final long unwindStart = profiledType == null ? 0L : System.nanoTime();
         try (final @Nullable UnwindingPhaseContext unwinding = UnwindingPhaseContext.unwind(currentContext, hasCaptures)) {
             // With UnwindingPhaseContext#unwind checking for post, if it is null, the try
             // will not attempt to close the phase context. If it is required,
@@ -409,13 +427,26 @@ void completePhase(final PhaseContext<?> context) {
             PhasePrinter.printMessageWithCaughtException(this.stack, "Exception Post Dispatching Phase", "Something happened when trying to post dispatch state", state,
                 currentContext, e);
         }
+        if (profiledType != null) {
+            TrackerCostProfiler.recordUnwind(profiledType, profiledTransactions, System.nanoTime() - unwindStart);
+        }
         this.checkPhaseContextProcessed(state, currentContext);
+        this.commitFlightEvent(currentContext);
         // If pop is called, the Deque will already throw an exception if there is no element
         // so it's an error properly handled.
         this.stack.pop();
 
     }
 
+    private void commitFlightEvent(final PhaseContext<?> context) {
+        final @Nullable Object event = context.flightEvent;
+        if (event != null) {
+            final @Nullable Object source = context.getSource();
+            SpongeFlightEvents.PHASE.commit(event, context.state.toString(), source == null ? null : source.getClass().getName());
+            context.flightEvent = null;
+        }
+    }
+
     private void checkPhaseContextProcessed(final IPhaseState<?> state, final PhaseContext<?> context) {
         if (!SpongeConfigs.getCommon().get().phaseTracker.verbose && PhasePrinter.printedExceptionsForUnprocessedState.contains(state)) {
             return;
@@ -747,6 +778,16 @@ private void enforceMainThread() {
             ));
         }
         this.checkProviders();
+        if (this.deferredTick != null) {
+            this.enterDeferredTick();
+        }
+    }
+
+    private void enterDeferredTick() {
+        final DeferredBlockTick tick = this.deferredTick;
+        // Cleared first, entering the phase goes through the tracker itself
+        this.deferredTick = null;
+        tick.enterPhase();
     }
 
     @SuppressWarnings("rawtypes")
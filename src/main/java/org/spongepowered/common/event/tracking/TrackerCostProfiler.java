@@ -0,0 +1,307 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import net.minecraft.core.Registry;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.TrackableBridge;
+import org.spongepowered.common.config.SpongeGameConfigs;
+import org.spongepowered.common.config.tracker.AdaptiveTrackerCategory;
+import org.spongepowered.common.config.tracker.TrackerConfig;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.event.tracking.phase.tick.BlockTickContext;
+import org.spongepowered.common.event.tracking.phase.tick.EntityTickContext;
+import org.spongepowered.common.event.tracking.phase.tick.FluidTickContext;
+import org.spongepowered.common.event.tracking.phase.tick.TileEntityTickContext;
+
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures what block change tracking costs for each ticking block, block
+ * entity and entity type, backing the adaptive mode of the
+ * {@link TrackerConfig tracker config}.
+ *
+ * <p>Every tick context of a type that unwinds captured transactions is a
+ * sample, recording the transactions captured and the time taken to turn them
+ * into events and process them. The events posted for the type are checked
+ * for listeners and cancellations. At the end of a sample window, types that
+ * were costly enough but whose events were never observed by any listener nor
+ * cancelled are candidates to stop tracking block changes entirely, which
+ * depending on the configured mode is either logged as a recommendation or
+ * applied. Applied downgrades are reverted as soon as a plugin starts
+ * listening to block changes.</p>
+ *
+ * <p>All state is confined to the server thread.</p>
+ */
+public final class TrackerCostProfiler {
+
+    private static final int AUDIT_LOG_SIZE = 50;
+
+    private static final Map<Object, TypeCost> COSTS = new IdentityHashMap<>();
+    private static final Map<Object, TypeCost> DOWNGRADED = new IdentityHashMap<>();
+    private static final Set<Object> RECOMMENDED = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final Deque<String> AUDIT_LOG = new ArrayDeque<>();
+
+    private static boolean enabled;
+    private static int sampledTicks;
+    private static List<TypeCost> lastSample = Collections.emptyList();
+
+    private TrackerCostProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return TrackerCostProfiler.enabled;
+    }
+
+    /**
+     * Gets the type whose tracker states apply to the given context, if it is
+     * one of the tick contexts the adaptive mode profiles.
+     *
+     * @param context The context
+     * @return The block, block entity type or entity type, if any
+     */
+    public static @Nullable Object trackedType(final PhaseContext<?> context) {
+        if (context.createdTracker != PhaseTracker.SERVER) {
+            return null;
+        }
+        final @Nullable Object source = context.getSource();
+        if (context instanceof BlockTickContext || context instanceof FluidTickContext) {
+            return source instanceof LocatableBlock ? ((BlockState) ((LocatableBlock) source).blockState()).getBlock() : null;
+        }
+        if (context instanceof TileEntityTickContext) {
+            return source instanceof BlockEntity ? ((BlockEntity) source).getType() : null;
+        }
+        if (context instanceof EntityTickContext) {
+            return source instanceof Entity ? ((Entity) source).getType() : null;
+        }
+        return null;
+    }
+
+    public static void recordUnwind(final Object type, final int transactions, final long nanos) {
+        final TypeCost cost = TrackerCostProfiler.COSTS.computeIfAbsent(type, TypeCost::new);
+        cost.samples++;
+        cost.transactions += transactions;
+        cost.nanos += nanos;
+    }
+
+    public static void recordEvent(final PhaseContext<?> context, final Event event, final boolean cancelled) {
+        final @Nullable Object type = TrackerCostProfiler.trackedType(context);
+        if (type == null) {
+            return;
+        }
+        final TypeCost cost = TrackerCostProfiler.COSTS.computeIfAbsent(type, TypeCost::new);
+        cost.events++;
+        if (((SpongeEventManager) SpongeCommon.getGame().eventManager()).hasListeners(event)) {
+            cost.observedEvents++;
+        }
+        if (cancelled) {
+            cost.cancellations++;
+        }
+    }
+
+    /**
+     * Called on the server thread at the end of every tick.
+     */
+    public static void onServerTick() {
+        final AdaptiveTrackerCategory config = SpongeGameConfigs.getTracker().get().adaptive;
+        if (config.mode == AdaptiveTrackerCategory.Mode.DISABLED) {
+            if (TrackerCostProfiler.enabled) {
+                TrackerCostProfiler.enabled = false;
+                TrackerCostProfiler.sampledTicks = 0;
+                TrackerCostProfiler.COSTS.clear();
+                TrackerCostProfiler.RECOMMENDED.clear();
+                TrackerCostProfiler.restoreDowngrades("adaptive tracking was disabled");
+            }
+            return;
+        }
+        TrackerCostProfiler.enabled = true;
+        if (!TrackerCostProfiler.DOWNGRADED.isEmpty()) {
+            if (config.mode != AdaptiveTrackerCategory.Mode.APPLY) {
+                TrackerCostProfiler.restoreDowngrades("adaptive tracking no longer applies downgrades");
+            } else if (ShouldFire.CHANGE_BLOCK_EVENT) {
+                TrackerCostProfiler.restoreDowngrades("a plugin is listening to block changes");
+            }
+        }
+        if (++TrackerCostProfiler.sampledTicks < config.sampleTicks) {
+            return;
+        }
+        TrackerCostProfiler.evaluate(config);
+    }
+
+    private static void evaluate(final AdaptiveTrackerCategory config) {
+        final long minCost = (long) (config.minCostMillis * 1_000_000.0D);
+        final List<TypeCost> sample = new ArrayList<>(TrackerCostProfiler.COSTS.values());
+        sample.sort(Comparator.comparingLong(TypeCost::nanos).reversed());
+        for (final TypeCost cost : sample) {
+            if (ShouldFire.CHANGE_BLOCK_EVENT || cost.samples < config.minSamples || cost.nanos < minCost
+                || cost.observedEvents > 0 || cost.cancellations > 0) {
+                continue;
+            }
+            final TrackableBridge trackable = (TrackableBridge) cost.type;
+            if (!trackable.bridge$allowsBlockEventCreation()) {
+                continue;
+            }
+            if (config.mode == AdaptiveTrackerCategory.Mode.APPLY) {
+                trackable.bridge$setAllowsBlockEventCreation(false);
+                TrackerCostProfiler.DOWNGRADED.put(cost.type, cost);
+                TrackerCostProfiler.audit("Disabled " + TrackerConfig.BLOCK_EVENT_CREATION + " for " + cost);
+            } else if (TrackerCostProfiler.RECOMMENDED.add(cost.type)) {
+                TrackerCostProfiler.audit("Recommend disabling " + TrackerConfig.BLOCK_EVENT_CREATION + " for " + cost);
+            }
+        }
+        TrackerCostProfiler.lastSample = Collections.unmodifiableList(sample);
+        TrackerCostProfiler.COSTS.clear();
+        TrackerCostProfiler.sampledTicks = 0;
+    }
+
+    /**
+     * Restores block change tracking for every type it was disabled for.
+     *
+     * @param reason The reason logged to the audit log
+     */
+    public static void restoreDowngrades(final String reason) {
+        for (final TypeCost cost : TrackerCostProfiler.DOWNGRADED.values()) {
+            ((TrackableBridge) cost.type).bridge$setAllowsBlockEventCreation(true);
+            TrackerCostProfiler.audit("Restored " + TrackerConfig.BLOCK_EVENT_CREATION + " for " + cost.name + ", " + reason);
+        }
+        TrackerCostProfiler.DOWNGRADED.clear();
+        TrackerCostProfiler.RECOMMENDED.clear();
+    }
+
+    private static void audit(final String message) {
+        SpongeCommon.getLogger().info("[Tracker] {}", message);
+        if (TrackerCostProfiler.AUDIT_LOG.size() == TrackerCostProfiler.AUDIT_LOG_SIZE) {
+            TrackerCostProfiler.AUDIT_LOG.removeFirst();
+        }
+        TrackerCostProfiler.AUDIT_LOG.addLast(LocalTime.now().truncatedTo(ChronoUnit.SECONDS) + " " + message);
+    }
+
+    public static int sampledTicks() {
+        return TrackerCostProfiler.sampledTicks;
+    }
+
+    /**
+     * Gets the costs measured over the last complete sample, most expensive
+     * first.
+     *
+     * @return The costs
+     */
+    public static List<TypeCost> lastSample() {
+        return TrackerCostProfiler.lastSample;
+    }
+
+    public static Collection<TypeCost> downgrades() {
+        return Collections.unmodifiableCollection(TrackerCostProfiler.DOWNGRADED.values());
+    }
+
+    public static Collection<String> auditLog() {
+        return Collections.unmodifiableCollection(TrackerCostProfiler.AUDIT_LOG);
+    }
+
+    private static String nameOf(final Object type) {
+        if (type instanceof Block) {
+            return "block " + Registry.BLOCK.getKey((Block) type);
+        }
+        if (type instanceof BlockEntityType) {
+            return "block entity " + Registry.BLOCK_ENTITY_TYPE.getKey((BlockEntityType<?>) type);
+        }
+        if (type instanceof EntityType) {
+            return "entity " + Registry.ENTITY_TYPE.getKey((EntityType<?>) type);
+        }
+        return type.toString();
+    }
+
+    public static final class TypeCost {
+
+        final Object type;
+        final String name;
+        long samples;
+        long transactions;
+        long nanos;
+        long events;
+        long observedEvents;
+        long cancellations;
+
+        TypeCost(final Object type) {
+            this.type = type;
+            this.name = TrackerCostProfiler.nameOf(type);
+        }
+
+        public String name() {
+            return this.name;
+        }
+
+        public long samples() {
+            return this.samples;
+        }
+
+        public long transactions() {
+            return this.transactions;
+        }
+
+        public long nanos() {
+            return this.nanos;
+        }
+
+        public long events() {
+            return this.events;
+        }
+
+        public long observedEvents() {
+            return this.observedEvents;
+        }
+
+        public long cancellations() {
+            return this.cancellations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d ticks, %d transactions, %.3fms processing, %d events)", this.name, this.samples,
+                this.transactions, this.nanos * 1.0E-6D, this.events);
+        }
+    }
+}
@@ -236,6 +236,15 @@ public static void updateTickBlock(
             }
         }
 
+        final DeferredBlockTick.@Nullable TypeStats deferral = DeferredBlockTick.deferral(block.getBlock());
+        if (deferral != null) {
+            try (final Timing timing = ((TimingBridge) block.getBlock()).bridge$getTimingsHandler()) {
+                timing.startTiming();
+                DeferredBlockTick.tick(deferral, DeferredBlockTick.Kind.BLOCK, world, block, null, pos, random);
+            }
+            return;
+        }
+
         final LocatableBlock locatable = new SpongeLocatableBlockBuilder().world(apiWorld).position(pos.getX(), pos.getY(), pos.getZ()).state((BlockState)block).build();
         final BlockTickContext phaseContext = TickPhase.Tick.BLOCK.createPhaseContext(PhaseTracker.SERVER).source(locatable);
 
@@ -272,6 +281,15 @@ public static void updateTickFluid(
             }
         }
 
+        final DeferredBlockTick.@Nullable TypeStats deferral = DeferredBlockTick.deferral(fluidState.getType());
+        if (deferral != null) {
+            try (final Timing timing = ((TimingBridge) blockState.getBlock()).bridge$getTimingsHandler()) {
+                timing.startTiming();
+                DeferredBlockTick.tick(deferral, DeferredBlockTick.Kind.FLUID, world, blockState, fluidState, pos, null);
+            }
+            return;
+        }
+
         final LocatableBlock locatable = new SpongeLocatableBlockBuilder().world(apiWorld).position(pos.getX(), pos.getY(), pos.getZ()).state((BlockState) blockState).build();
         final FluidTickContext phaseContext = TickPhase.Tick.FLUID.createPhaseContext(PhaseTracker.SERVER)
             .source(locatable)
@@ -311,6 +329,13 @@ public static void randomTickBlock(final TrackedWorldBridge mixinWorld,
             }
         }
 
+        // Timed by the caller
+        final DeferredBlockTick.@Nullable TypeStats deferral = DeferredBlockTick.deferral(state.getBlock());
+        if (deferral != null) {
+            DeferredBlockTick.tick(deferral, DeferredBlockTick.Kind.RANDOM_BLOCK, world, state, null, pos, random);
+            return;
+        }
+
         final LocatableBlock locatable = new SpongeLocatableBlockBuilder()
                                              .world(apiWorld)
                                              .position(pos.getX(), pos.getY(), pos.getZ())
@@ -347,6 +372,12 @@ public static void randomTickFluid(final TrackedWorldBridge mixinWorld,
             }
         }
 
+        final DeferredBlockTick.@Nullable TypeStats deferral = DeferredBlockTick.deferral(state.getType());
+        if (deferral != null) {
+            DeferredBlockTick.tick(deferral, DeferredBlockTick.Kind.RANDOM_FLUID, world, state.createLegacyBlock(), state, pos, random);
+            return;
+        }
+
         final LocatableBlock locatable = new SpongeLocatableBlockBuilder()
             .world(apiWorld)
             .position(pos.getX(), pos.getY(), pos.getZ())
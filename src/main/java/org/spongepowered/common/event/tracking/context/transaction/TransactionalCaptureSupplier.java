@@ -38,6 +38,7 @@
 import org.spongepowered.common.bridge.world.level.TrackerBlockEventDataBridge;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TrackerCostProfiler;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.context.ICaptureSupplier;
 import org.spongepowered.common.event.tracking.context.transaction.effect.EntityPerformingDropsEffect;
@@ -103,6 +104,20 @@ public final boolean isEmpty() {
         return this.head == null;
     }
 
+    /**
+     * Counts the top level transactions captured so far, side effects of
+     * those transactions are not included.
+     *
+     * @return The number of captured transactions
+     */
+    public int size() {
+        int size = 0;
+        for (GameTransaction<@NonNull ?> transaction = this.head; transaction != null; transaction = transaction.next) {
+            size++;
+        }
+        return size;
+    }
+
     /*
     Begin the more enhanced block tracking. This is only used by states that absolutely need to be able to track certain changes
     that involve more "physics" related transactions, such as neighbor notification tracking, tile entity tracking, and
@@ -433,13 +448,19 @@ public boolean processTransactions(final PhaseContext<@NonNull ?> context) {
                 continue;
             }
             Sponge.eventManager().post(event);
-            if (event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
+            final boolean eventCancelled = event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            if (eventCancelled) {
                 eventWithTransactions.markCancelled();
                 cancelledAny = true;
             }
-            if (((GameTransaction) eventWithTransactions.decider).markCancelledTransactions(event, eventWithTransactions.transactions)) {
+            final boolean transactionsCancelled = ((GameTransaction) eventWithTransactions.decider)
+                .markCancelledTransactions(event, eventWithTransactions.transactions);
+            if (transactionsCancelled) {
                 cancelledAny = true;
             }
+            if (TrackerCostProfiler.isEnabled()) {
+                TrackerCostProfiler.recordEvent(context, event, eventCancelled || transactionsCancelled);
+            }
             for (final GameTransaction<@NonNull ?> transaction : eventWithTransactions.transactions) {
                 if (transaction.cancelled) {
                     ((GameTransaction) transaction).markEventAsCancelledIfNecessary(eventWithTransactions.event);
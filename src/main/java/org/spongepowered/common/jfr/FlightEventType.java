@@ -0,0 +1,333 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.jfr;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Flight Recorder event type that is defined at runtime.
+ *
+ * <p>Sponge targets Java 8, where {@code jdk.jfr} is only present on recent
+ * updates of some distributions, so nothing here links against it directly.
+ * The event is created through {@code jdk.jfr.EventFactory} and driven through
+ * method handles instead. When Flight Recorder is unavailable every method is
+ * a no-op, and while no recording has the event enabled {@link #begin()} only
+ * asks the event type whether it is enabled and returns {@code null}.</p>
+ *
+ * <p>Callers keep the object returned by {@link #begin()} and hand it back to
+ * one of the {@code commit} methods, which accept {@code null} so the call
+ * sites need no extra branching. The values are only set on events that
+ * passed the thresholds of the running recordings.</p>
+ */
+public final class FlightEventType {
+
+    private static final @Nullable MethodHandle CREATE_FACTORY;
+    private static final @Nullable MethodHandle NEW_EVENT;
+    private static final @Nullable MethodHandle GET_EVENT_TYPE;
+    private static final @Nullable MethodHandle IS_ENABLED;
+    private static final @Nullable MethodHandle BEGIN;
+    private static final @Nullable MethodHandle END;
+    private static final @Nullable MethodHandle SHOULD_COMMIT;
+    private static final @Nullable MethodHandle COMMIT;
+    private static final @Nullable MethodHandle SET;
+    private static final @Nullable Constructor<?> ANNOTATION_ELEMENT;
+    private static final @Nullable Constructor<?> VALUE_DESCRIPTOR;
+
+    static {
+        MethodHandle createFactory = null;
+        MethodHandle newEvent = null;
+        MethodHandle getEventType = null;
+        MethodHandle isEnabled = null;
+        MethodHandle begin = null;
+        MethodHandle end = null;
+        MethodHandle shouldCommit = null;
+        MethodHandle commit = null;
+        MethodHandle set = null;
+        Constructor<?> annotationElement = null;
+        Constructor<?> valueDescriptor = null;
+        try {
+            final Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            final Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            final Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodType objectGetter = MethodType.methodType(Object.class, Object.class);
+            final MethodType objectAction = MethodType.methodType(void.class, Object.class);
+            final MethodType objectTest = MethodType.methodType(boolean.class, Object.class);
+
+            createFactory = lookup.findStatic(eventFactoryClass, "create", MethodType.methodType(eventFactoryClass, List.class, List.class))
+                .asType(MethodType.methodType(Object.class, List.class, List.class));
+            newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(eventClass)).asType(objectGetter);
+            getEventType = lookup.findVirtual(eventFactoryClass, "getEventType", MethodType.methodType(eventTypeClass)).asType(objectGetter);
+            isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class)).asType(objectTest);
+            begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class)).asType(objectAction);
+            end = lookup.findVirtual(eventClass, "end", MethodType.methodType(void.class)).asType(objectAction);
+            shouldCommit = lookup.findVirtual(eventClass, "shouldCommit", MethodType.methodType(boolean.class)).asType(objectTest);
+            commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class)).asType(objectAction);
+            set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            // Flight Recorder is not part of this runtime
+            createFactory = null;
+        }
+        CREATE_FACTORY = createFactory;
+        NEW_EVENT = newEvent;
+        GET_EVENT_TYPE = getEventType;
+        IS_ENABLED = isEnabled;
+        BEGIN = begin;
+        END = end;
+        SHOULD_COMMIT = shouldCommit;
+        COMMIT = commit;
+        SET = set;
+        ANNOTATION_ELEMENT = annotationElement;
+        VALUE_DESCRIPTOR = valueDescriptor;
+    }
+
+    public static boolean isSupported() {
+        return FlightEventType.CREATE_FACTORY != null;
+    }
+
+    public static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    private final String name;
+    // Strongly held, the event type is unregistered once its factory is collected
+    private final @Nullable Object factory;
+    private final @Nullable Object type;
+
+    private FlightEventType(final String name, final @Nullable Object factory, final @Nullable Object type) {
+        this.name = name;
+        this.factory = factory;
+        this.type = type;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Gets whether any running recording currently has this event enabled.
+     *
+     * @return True if the event is enabled
+     */
+    public boolean isEnabled() {
+        final @Nullable Object type = this.type;
+        if (type == null) {
+            return false;
+        }
+        try {
+            return (boolean) FlightEventType.IS_ENABLED.invokeExact(type);
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts timing a new event.
+     *
+     * @return The event, or {@code null} if the event is not being recorded
+     */
+    public @Nullable Object begin() {
+        final @Nullable Object type = this.type;
+        if (type == null) {
+            return null;
+        }
+        try {
+            if (!(boolean) FlightEventType.IS_ENABLED.invokeExact(type)) {
+                return null;
+            }
+            final Object event = (Object) FlightEventType.NEW_EVENT.invokeExact(this.factory);
+            FlightEventType.BEGIN.invokeExact(event);
+            return event;
+        } catch (final Throwable t) {
+            return null;
+        }
+    }
+
+    private boolean end(final @Nullable Object event) {
+        if (event == null) {
+            return false;
+        }
+        try {
+            FlightEventType.END.invokeExact(event);
+            return (boolean) FlightEventType.SHOULD_COMMIT.invokeExact(event);
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    public void commit(final @Nullable Object event, final @Nullable Object value0) {
+        if (!this.end(event)) {
+            return;
+        }
+        try {
+            FlightEventType.SET.invokeExact(event, 0, value0);
+            FlightEventType.COMMIT.invokeExact(event);
+        } catch (final Throwable ignored) {
+        }
+    }
+
+    public void commit(final @Nullable Object event, final @Nullable Object value0, final @Nullable Object value1) {
+        if (!this.end(event)) {
+            return;
+        }
+        try {
+            FlightEventType.SET.invokeExact(event, 0, value0);
+            FlightEventType.SET.invokeExact(event, 1, value1);
+            FlightEventType.COMMIT.invokeExact(event);
+        } catch (final Throwable ignored) {
+        }
+    }
+
+    public void commit(final @Nullable Object event, final @Nullable Object value0, final @Nullable Object value1,
+            final @Nullable Object value2) {
+        if (!this.end(event)) {
+            return;
+        }
+        try {
+            FlightEventType.SET.invokeExact(event, 0, value0);
+            FlightEventType.SET.invokeExact(event, 1, value1);
+            FlightEventType.SET.invokeExact(event, 2, value2);
+            FlightEventType.COMMIT.invokeExact(event);
+        } catch (final Throwable ignored) {
+        }
+    }
+
+    public void commit(final @Nullable Object event, final @Nullable Object value0, final @Nullable Object value1,
+            final @Nullable Object value2, final @Nullable Object value3) {
+        if (!this.end(event)) {
+            return;
+        }
+        try {
+            FlightEventType.SET.invokeExact(event, 0, value0);
+            FlightEventType.SET.invokeExact(event, 1, value1);
+            FlightEventType.SET.invokeExact(event, 2, value2);
+            FlightEventType.SET.invokeExact(event, 3, value3);
+            FlightEventType.COMMIT.invokeExact(event);
+        } catch (final Throwable ignored) {
+        }
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private final List<Object[]> annotations = new ArrayList<>();
+        private final List<Object[]> fields = new ArrayList<>();
+
+        Builder(final String name) {
+            this.name = name;
+        }
+
+        public Builder label(final String label) {
+            return this.annotation("jdk.jfr.Label", label);
+        }
+
+        public Builder description(final String description) {
+            return this.annotation("jdk.jfr.Description", description);
+        }
+
+        public Builder category(final String... category) {
+            return this.annotation("jdk.jfr.Category", category);
+        }
+
+        /**
+         * Sets the default duration below which events are not recorded, in
+         * the format of {@code jdk.jfr.Threshold}, i.e. {@code "1 ms"}.
+         * Recording settings override it.
+         *
+         * @param threshold The threshold
+         * @return This builder, for chaining
+         */
+        public Builder threshold(final String threshold) {
+            return this.annotation("jdk.jfr.Threshold", threshold);
+        }
+
+        public Builder stackTrace(final boolean stackTrace) {
+            return this.annotation("jdk.jfr.StackTrace", stackTrace);
+        }
+
+        /**
+         * Adds a field to the event, fields are set in the order they are
+         * added in.
+         *
+         * @param type The type, either a primitive, {@link String} or {@link Class}
+         * @param name The name, a valid java identifier
+         * @param label The human readable label
+         * @return This builder, for chaining
+         */
+        public Builder field(final Class<?> type, final String name, final String label) {
+            this.fields.add(new Object[] {type, name, label});
+            return this;
+        }
+
+        private Builder annotation(final String type, final Object value) {
+            this.annotations.add(new Object[] {type, value});
+            return this;
+        }
+
+        public FlightEventType build() {
+            if (!FlightEventType.isSupported()) {
+                return new FlightEventType(this.name, null, null);
+            }
+            try {
+                final List<Object> eventAnnotations = new ArrayList<>();
+                eventAnnotations.add(Builder.element("jdk.jfr.Name", this.name));
+                for (final Object[] annotation : this.annotations) {
+                    eventAnnotations.add(Builder.element((String) annotation[0], annotation[1]));
+                }
+                final List<Object> descriptors = new ArrayList<>();
+                for (final Object[] field : this.fields) {
+                    final List<Object> fieldAnnotations = Collections.singletonList(Builder.element("jdk.jfr.Label", field[2]));
+                    descriptors.add(FlightEventType.VALUE_DESCRIPTOR.newInstance(field[0], field[1], fieldAnnotations));
+                }
+                final Object factory = (Object) FlightEventType.CREATE_FACTORY.invokeExact(eventAnnotations, descriptors);
+                final Object type = (Object) FlightEventType.GET_EVENT_TYPE.invokeExact(factory);
+                return new FlightEventType(this.name, factory, type);
+            } catch (final Throwable t) {
+                // i.e. the recorder was disabled with -XX:-FlightRecorder
+                return new FlightEventType(this.name, null, null);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object element(final String type, final Object value) throws ReflectiveOperationException {
+            final Class<? extends Annotation> annotationType = (Class<? extends Annotation>) Class.forName(type);
+            return FlightEventType.ANNOTATION_ELEMENT.newInstance(annotationType, value);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.jfr;
+
+/**
+ * The Flight Recorder events emitted by Sponge, recorded under the
+ * {@code Sponge} category.
+ *
+ * <p>The high frequency events carry a default threshold so that a continuous
+ * recording only captures the outliers, a recording configuration may lower
+ * it through the event name, i.e. {@code org.spongepowered.Phase#threshold=0 ms}.</p>
+ */
+public final class SpongeFlightEvents {
+
+    public static final FlightEventType PHASE = FlightEventType.builder("org.spongepowered.Phase")
+        .label("Phase")
+        .description("A phase of the PhaseTracker, from entering it until it completed unwinding")
+        .category("Sponge", "Tracker")
+        .threshold("1 ms")
+        .stackTrace(false)
+        .field(String.class, "state", "State")
+        .field(String.class, "source", "Source Type")
+        .build();
+
+    public static final FlightEventType EVENT_LISTENER = FlightEventType.builder("org.spongepowered.EventListener")
+        .label("Event Listener")
+        .description("An event listener handling a posted event")
+        .category("Sponge", "Events")
+        .threshold("1 ms")
+        .stackTrace(false)
+        .field(String.class, "eventType", "Event Type")
+        .field(String.class, "plugin", "Plugin")
+        .field(String.class, "order", "Order")
+        .build();
+
+    public static final FlightEventType SCHEDULED_TASK = FlightEventType.builder("org.spongepowered.ScheduledTask")
+        .label("Scheduled Task")
+        .description("A task run by one of the schedulers")
+        .category("Sponge", "Scheduler")
+        .stackTrace(false)
+        .field(String.class, "plugin", "Plugin")
+        .field(String.class, "task", "Task")
+        .field(boolean.class, "async", "Asynchronous")
+        .build();
+
+    public static final FlightEventType CHUNK = FlightEventType.builder("org.spongepowered.Chunk")
+        .label("Chunk Processing")
+        .description("A stage of the chunk pipeline performed on the server thread")
+        .category("Sponge", "World")
+        .stackTrace(false)
+        .field(String.class, "world", "World")
+        .field(int.class, "chunkX", "Chunk X")
+        .field(int.class, "chunkZ", "Chunk Z")
+        .field(String.class, "stage", "Stage")
+        .build();
+
+    public static final FlightEventType WORLD_SAVE = FlightEventType.builder("org.spongepowered.WorldSave")
+        .label("World Save")
+        .description("A world saving its level data and chunks")
+        .category("Sponge", "World")
+        .stackTrace(false)
+        .field(String.class, "world", "World")
+        .field(boolean.class, "flush", "Flush")
+        .build();
+
+    public static final String CHUNK_STAGE_LOAD = "load";
+    public static final String CHUNK_STAGE_SAVE = "save";
+
+    private SpongeFlightEvents() {
+    }
+}
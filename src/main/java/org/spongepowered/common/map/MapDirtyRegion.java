@@ -0,0 +1,232 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map;
+
+import org.spongepowered.common.util.Constants;
+
+import java.util.Arrays;
+
+/**
+ * The pixels of a map that changed since it was last sent, one bit per
+ * pixel.
+ *
+ * <p>Vanilla grows a single dirty rectangle per viewer, so two changes in
+ * opposite corners of a map resend the whole map. The changed pixels are
+ * instead covered by a set of rectangles, one map data packet each, chosen
+ * to keep the bytes sent small while accounting for the fixed cost of every
+ * extra packet.</p>
+ */
+public final class MapDirtyRegion {
+
+    /**
+     * An estimate of what a map data packet costs on top of its pixels, the
+     * header and a handful of decorations.
+     */
+    public static final int PACKET_OVERHEAD = 32;
+
+    private static final int WORDS_PER_ROW = Constants.Map.MAP_PIXELS / Long.SIZE;
+    // Past this many rectangles the changes are noise, where the bounding box is as good as it gets
+    private static final int MAX_RECTANGLES = 64;
+
+    private final long[] bits = new long[Constants.Map.MAP_SIZE / Long.SIZE];
+    private int minX = Constants.Map.MAP_PIXELS;
+    private int minY = Constants.Map.MAP_PIXELS;
+    private int maxX = -1;
+    private int maxY = -1;
+
+    public void mark(final int x, final int y) {
+        if (x < 0 || y < 0 || x > Constants.Map.MAP_MAX_INDEX || y > Constants.Map.MAP_MAX_INDEX) {
+            return;
+        }
+        this.bits[y * MapDirtyRegion.WORDS_PER_ROW + x / Long.SIZE] |= 1L << (x % Long.SIZE);
+        this.minX = Math.min(this.minX, x);
+        this.minY = Math.min(this.minY, y);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxY = Math.max(this.maxY, y);
+    }
+
+    public void markAll() {
+        Arrays.fill(this.bits, -1L);
+        this.minX = 0;
+        this.minY = 0;
+        this.maxX = Constants.Map.MAP_MAX_INDEX;
+        this.maxY = Constants.Map.MAP_MAX_INDEX;
+    }
+
+    public boolean isMarked(final int x, final int y) {
+        return (this.bits[y * MapDirtyRegion.WORDS_PER_ROW + x / Long.SIZE] & (1L << (x % Long.SIZE))) != 0;
+    }
+
+    public boolean isDirty() {
+        return this.maxX >= 0;
+    }
+
+    public void clear() {
+        if (!this.isDirty()) {
+            return;
+        }
+        Arrays.fill(this.bits, this.minY * MapDirtyRegion.WORDS_PER_ROW, (this.maxY + 1) * MapDirtyRegion.WORDS_PER_ROW, 0L);
+        this.minX = Constants.Map.MAP_PIXELS;
+        this.minY = Constants.Map.MAP_PIXELS;
+        this.maxX = -1;
+        this.maxY = -1;
+    }
+
+    /**
+     * Covers every changed pixel with rectangles, which may also cover
+     * pixels that did not change whenever that is cheaper than sending
+     * another packet.
+     *
+     * @return The rectangles as consecutive x, y, width and height values
+     */
+    public int[] rectangles() {
+        if (!this.isDirty()) {
+            return new int[0];
+        }
+        final long[] work = this.bits.clone();
+        int[] rectangles = new int[4 * 8];
+        int count = 0;
+        for (int y = this.minY; y <= this.maxY; y++) {
+            for (int word = 0; word < MapDirtyRegion.WORDS_PER_ROW; word++) {
+                while (work[y * MapDirtyRegion.WORDS_PER_ROW + word] != 0) {
+                    if (count == MapDirtyRegion.MAX_RECTANGLES) {
+                        return this.boundingBox();
+                    }
+                    final int startX = word * Long.SIZE + Long.numberOfTrailingZeros(work[y * MapDirtyRegion.WORDS_PER_ROW + word]);
+                    final int endX = MapDirtyRegion.runEnd(work, y, startX);
+                    int endY = y + 1;
+                    while (endY <= this.maxY && MapDirtyRegion.covers(work, endY, startX, endX)) {
+                        endY++;
+                    }
+                    for (int row = y; row < endY; row++) {
+                        MapDirtyRegion.clear(work, row, startX, endX);
+                    }
+                    if (rectangles.length == count * 4) {
+                        rectangles = Arrays.copyOf(rectangles, rectangles.length * 2);
+                    }
+                    rectangles[count * 4] = startX;
+                    rectangles[count * 4 + 1] = y;
+                    rectangles[count * 4 + 2] = endX - startX;
+                    rectangles[count * 4 + 3] = endY - y;
+                    count++;
+                }
+            }
+        }
+        count = MapDirtyRegion.merge(rectangles, count);
+
+        long cost = 0;
+        for (int i = 0; i < count; i++) {
+            cost += MapDirtyRegion.cost(rectangles[i * 4 + 2], rectangles[i * 4 + 3]);
+        }
+        if (cost >= MapDirtyRegion.cost(this.maxX + 1 - this.minX, this.maxY + 1 - this.minY)) {
+            return this.boundingBox();
+        }
+        return Arrays.copyOf(rectangles, count * 4);
+    }
+
+    private int[] boundingBox() {
+        return new int[] {this.minX, this.minY, this.maxX + 1 - this.minX, this.maxY + 1 - this.minY};
+    }
+
+    /**
+     * Joins pairs of rectangles for as long as sending their bounding box is
+     * no more expensive than sending both.
+     */
+    private static int merge(final int[] rectangles, int count) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < count && !merged; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    final int x = Math.min(rectangles[i * 4], rectangles[j * 4]);
+                    final int y = Math.min(rectangles[i * 4 + 1], rectangles[j * 4 + 1]);
+                    final int width = Math.max(rectangles[i * 4] + rectangles[i * 4 + 2], rectangles[j * 4] + rectangles[j * 4 + 2]) - x;
+                    final int height = Math.max(rectangles[i * 4 + 1] + rectangles[i * 4 + 3], rectangles[j * 4 + 1] + rectangles[j * 4 + 3]) - y;
+                    if (MapDirtyRegion.cost(width, height) > MapDirtyRegion.cost(rectangles[i * 4 + 2], rectangles[i * 4 + 3])
+                            + MapDirtyRegion.cost(rectangles[j * 4 + 2], rectangles[j * 4 + 3])) {
+                        continue;
+                    }
+                    rectangles[i * 4] = x;
+                    rectangles[i * 4 + 1] = y;
+                    rectangles[i * 4 + 2] = width;
+                    rectangles[i * 4 + 3] = height;
+                    count--;
+                    System.arraycopy(rectangles, count * 4, rectangles, j * 4, 4);
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static long cost(final int width, final int height) {
+        return (long) width * height + MapDirtyRegion.PACKET_OVERHEAD;
+    }
+
+    /**
+     * Gets the first unmarked x at or after the given x.
+     */
+    private static int runEnd(final long[] bits, final int y, final int x) {
+        int word = x / Long.SIZE;
+        long unmarked = ~bits[y * MapDirtyRegion.WORDS_PER_ROW + word] & (-1L << (x % Long.SIZE));
+        while (unmarked == 0) {
+            if (++word == MapDirtyRegion.WORDS_PER_ROW) {
+                return Constants.Map.MAP_PIXELS;
+            }
+            unmarked = ~bits[y * MapDirtyRegion.WORDS_PER_ROW + word];
+        }
+        return word * Long.SIZE + Long.numberOfTrailingZeros(unmarked);
+    }
+
+    private static boolean covers(final long[] bits, final int y, final int startX, final int endX) {
+        for (int word = 0; word < MapDirtyRegion.WORDS_PER_ROW; word++) {
+            final long mask = MapDirtyRegion.mask(word, startX, endX);
+            if ((bits[y * MapDirtyRegion.WORDS_PER_ROW + word] & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void clear(final long[] bits, final int y, final int startX, final int endX) {
+        for (int word = 0; word < MapDirtyRegion.WORDS_PER_ROW; word++) {
+            bits[y * MapDirtyRegion.WORDS_PER_ROW + word] &= ~MapDirtyRegion.mask(word, startX, endX);
+        }
+    }
+
+    /**
+     * Gets the bits of the given word that lie within [startX, endX).
+     */
+    private static long mask(final int word, final int startX, final int endX) {
+        final int from = Math.max(startX - word * Long.SIZE, 0);
+        final int to = Math.min(endX - word * Long.SIZE, Long.SIZE);
+        if (from >= to) {
+            return 0L;
+        }
+        final long upTo = to == Long.SIZE ? -1L : (1L << to) - 1;
+        return upTo & (-1L << from);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
+import org.spongepowered.common.scheduler.TickWorkQueue;
+
+import java.util.Set;
+
+/**
+ * Ticks every map that is held by a player or placed in an item frame once
+ * per server tick, instead of once per viewer and item frame as Vanilla
+ * does. Only used with {@code optimize-maps} enabled.
+ *
+ * <p>Map updates only change what players see, so they are queued as low
+ * priority {@link TickWorkQueue} work and skipped while the server is
+ * behind.</p>
+ */
+public final class MapTicker {
+
+    private static final Set<OptimizedMapDataBridge> ACTIVE = new ReferenceOpenHashSet<>();
+    private static boolean queued;
+
+    private MapTicker() {
+    }
+
+    public static void activate(final OptimizedMapDataBridge map) {
+        MapTicker.ACTIVE.add(map);
+    }
+
+    public static void tick() {
+        if (!MapTicker.queued && !MapTicker.ACTIVE.isEmpty()) {
+            MapTicker.queued = true;
+            SpongeCommon.getServerScheduler().workQueue().submit(TickWorkQueue.Priority.LOW, MapTicker::tickMaps);
+        }
+    }
+
+    private static void tickMaps() {
+        MapTicker.queued = false;
+        MapTicker.ACTIVE.removeIf(map -> !map.mapOptimizationBridge$tickMap());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.canvas;
+
+import org.spongepowered.api.map.MapCanvas;
+import org.spongepowered.common.map.color.MapColorPalette;
+import org.spongepowered.common.util.Constants;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Converts arbitrary images to map canvases, choosing the nearest map color
+ * for every pixel rather than requiring exact matches.
+ */
+public final class MapCanvasImages {
+
+    private MapCanvasImages() {
+    }
+
+    /**
+     * Converts a map sized image to a canvas.
+     *
+     * @param palette The palette to convert with
+     * @param image The image, 128 by 128 pixels
+     * @param dither Whether to dither the image
+     * @return The canvas
+     */
+    public static MapCanvas fromImage(final MapColorPalette palette, final Image image, final boolean dither) {
+        Objects.requireNonNull(image, "image cannot be null");
+        if (image.getWidth(null) != Constants.Map.MAP_PIXELS || image.getHeight(null) != Constants.Map.MAP_PIXELS) {
+            throw new IllegalArgumentException("image size was invalid!");
+        }
+        final byte[] canvas = new byte[Constants.Map.MAP_SIZE];
+        palette.quantize(MapCanvasImages.argb(image), 0, Constants.Map.MAP_PIXELS, Constants.Map.MAP_PIXELS, Constants.Map.MAP_PIXELS,
+            canvas, Constants.Map.MAP_PIXELS, dither);
+        return new SpongeMapByteCanvas(canvas);
+    }
+
+    public static CompletableFuture<MapCanvas[][]> slice(final Image image, final boolean dither) {
+        return MapCanvasImages.slice(MapColorPalette.get(), image, dither, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Slices an image of any size into map sized tiles and converts each of
+     * them to a canvas in parallel. Tiles on the right and bottom edge that
+     * are not fully covered by the image are padded with transparent pixels.
+     *
+     * <p>When dithering, each tile is dithered on its own so that tiles can be
+     * converted independently. The resulting seams are invisible in practice
+     * as the error being diffused is small.</p>
+     *
+     * @param palette The palette to convert with
+     * @param image The image
+     * @param dither Whether to dither the image
+     * @param executor The executor to convert the tiles on
+     * @return The canvases, indexed by tile row and then tile column
+     */
+    public static CompletableFuture<MapCanvas[][]> slice(final MapColorPalette palette, final Image image, final boolean dither,
+            final Executor executor) {
+        Objects.requireNonNull(image, "image cannot be null");
+        final int width = image.getWidth(null);
+        final int height = image.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("image size was invalid!");
+        }
+        final int[] pixels = MapCanvasImages.argb(image);
+        final int rows = (height + Constants.Map.MAP_MAX_INDEX) / Constants.Map.MAP_PIXELS;
+        final int columns = (width + Constants.Map.MAP_MAX_INDEX) / Constants.Map.MAP_PIXELS;
+        final MapCanvas[][] canvases = new MapCanvas[rows][columns];
+        final CompletableFuture<?>[] tiles = new CompletableFuture<?>[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                final int tileRow = row;
+                final int tileColumn = column;
+                tiles[row * columns + column] = CompletableFuture.runAsync(() -> {
+                    final int x = tileColumn * Constants.Map.MAP_PIXELS;
+                    final int y = tileRow * Constants.Map.MAP_PIXELS;
+                    final byte[] canvas = new byte[Constants.Map.MAP_SIZE];
+                    palette.quantize(pixels, y * width + x, width, Math.min(Constants.Map.MAP_PIXELS, width - x),
+                        Math.min(Constants.Map.MAP_PIXELS, height - y), canvas, Constants.Map.MAP_PIXELS, dither);
+                    canvases[tileRow][tileColumn] = new SpongeMapByteCanvas(canvas);
+                }, executor);
+            }
+        }
+        return CompletableFuture.allOf(tiles).thenApply(v -> canvases);
+    }
+
+    /**
+     * Gets the pixels of the image as packed argb values, without copying
+     * them if the image already stores them that way.
+     */
+    static int[] argb(final Image image) {
+        // Sub images share the buffer of their parent, with a different offset and stride
+        if (image instanceof BufferedImage && ((BufferedImage) image).getType() == BufferedImage.TYPE_INT_ARGB
+                && ((BufferedImage) image).getRaster().getParent() == null) {
+            return ((DataBufferInt) ((BufferedImage) image).getRaster().getDataBuffer()).getData();
+        }
+        final BufferedImage converted = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+    }
+}
@@ -25,22 +25,19 @@
 package org.spongepowered.common.map.canvas;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.persistence.DataView;
 import org.spongepowered.api.map.MapCanvas;
 import org.spongepowered.api.map.color.MapColor;
-import org.spongepowered.api.registry.RegistryTypes;
-import org.spongepowered.common.util.MapUtil;
+import org.spongepowered.common.map.color.MapColorPalette;
 import org.spongepowered.common.map.color.SpongeMapColor;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.MapUtil;
 
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 public final class SpongeMapCanvasBuilder implements MapCanvas.Builder {
@@ -121,25 +118,32 @@ public MapCanvas.Builder fromImage(final Image image) {
             bGr.dispose();
         }
         final int[] pixels = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
-        // Get the color palette we are working with
-        final Map<Integer, SpongeMapColor> palette = new HashMap<>();
-        Sponge.game().registries().registry(RegistryTypes.MAP_COLOR_TYPE).stream().forEach(color -> {
-            Sponge.game().registries().registry(RegistryTypes.MAP_SHADE).stream().forEach(shade -> {
-                SpongeMapColor spongeMapColor = new SpongeMapColor(color, shade);
-                palette.put(spongeMapColor.color().rgb(), spongeMapColor);
-            });
-        });
+        final MapColorPalette palette = MapColorPalette.get();
         final byte[] canvas = getCanvas();
         for (int i = 0; i < pixels.length; i++) {
-            SpongeMapColor color = palette.get(pixels[i]);
-            if (color == null) {
+            final int color = palette.exact(pixels[i]);
+            if (color == -1) {
                 throw new IllegalArgumentException("Can not find a matching color for rgb value: " + Integer.toHexString(pixels[i]) + ". The MapCanvas will have painted all pixels up to this point.");
             }
-            canvas[i] = color.getMCColor();
+            canvas[i] = (byte) color;
         }
         return this;
     }
 
+    /**
+     * Paints the image, using the nearest map color for pixels whose color
+     * cannot be displayed on a map.
+     *
+     * @param image The image, 128 by 128 pixels
+     * @param dither Whether to dither the image
+     * @return This builder, for chaining
+     * @see MapCanvasImages
+     */
+    public MapCanvas.Builder fromImage(final Image image, final boolean dither) {
+        this.canvas = ((SpongeMapByteCanvas) MapCanvasImages.fromImage(MapColorPalette.get(), image, dither)).canvas;
+        return this;
+    }
+
     @Override
     public MapCanvas.Builder fromContainer(final DataView container) {
         Objects.requireNonNull(container, "container cannot be null");
@@ -0,0 +1,250 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.color;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.registry.RegistryTypes;
+import org.spongepowered.common.util.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Maps rgb values to the colors a map is able to display.
+ *
+ * <p>Exact matches are looked up directly. Every other rgb value is resolved
+ * through a lookup table of 64 cells per channel, holding the nearest map
+ * color to the center of each cell, which is built once when the palette is
+ * created. Distances are measured with the "redmean" approximation of
+ * perceived color difference.</p>
+ */
+public final class MapColorPalette {
+
+    public static final int TRANSPARENT = 0;
+
+    private static final int LUT_BITS = 6;
+    private static final int LUT_SHIFT = 8 - MapColorPalette.LUT_BITS;
+    private static final int LUT_CELLS = 1 << MapColorPalette.LUT_BITS;
+
+    private final int[] rgbByColor = new int[256];
+    private final Int2IntOpenHashMap exact = new Int2IntOpenHashMap();
+    private final byte[] lut = new byte[MapColorPalette.LUT_CELLS * MapColorPalette.LUT_CELLS * MapColorPalette.LUT_CELLS];
+
+    public static MapColorPalette get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates a palette from the given colors, later colors replacing earlier
+     * ones sharing the same rgb value for exact matches. Colors of the
+     * transparent color type are never chosen as the nearest color.
+     *
+     * @param colors The map color values
+     * @param rgbs The rgb value of each color
+     */
+    public MapColorPalette(final byte[] colors, final int[] rgbs) {
+        if (colors.length != rgbs.length) {
+            throw new IllegalArgumentException("Every color needs exactly one rgb value");
+        }
+        this.exact.defaultReturnValue(-1);
+        final List<Integer> opaque = new ArrayList<>();
+        for (int i = 0; i < colors.length; i++) {
+            final int color = colors[i] & 0xFF;
+            final int rgb = rgbs[i] & 0xFFFFFF;
+            this.rgbByColor[color] = rgb;
+            this.exact.put(rgb, color);
+            if (color >= Constants.Map.MAP_SHADES) {
+                opaque.add(color);
+            }
+        }
+        if (opaque.isEmpty()) {
+            throw new IllegalArgumentException("The palette has no opaque colors");
+        }
+        final int[] candidates = opaque.stream().mapToInt(Integer::intValue).distinct().toArray();
+        IntStream.range(0, MapColorPalette.LUT_CELLS).parallel().forEach(r -> {
+            final int red = MapColorPalette.cellCenter(r);
+            for (int g = 0; g < MapColorPalette.LUT_CELLS; g++) {
+                final int green = MapColorPalette.cellCenter(g);
+                for (int b = 0; b < MapColorPalette.LUT_CELLS; b++) {
+                    this.lut[MapColorPalette.cell(r, g, b)] = (byte) this.search(candidates, red, green, MapColorPalette.cellCenter(b));
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the map color with exactly the given rgb value.
+     *
+     * @param rgb The rgb value, any alpha is ignored
+     * @return The unsigned map color value, or -1 if there is no such color
+     */
+    public int exact(final int rgb) {
+        return this.exact.get(rgb & 0xFFFFFF);
+    }
+
+    /**
+     * Gets the opaque map color closest to the given rgb value.
+     *
+     * @param rgb The rgb value, any alpha is ignored
+     * @return The map color value
+     */
+    public byte nearest(final int rgb) {
+        final int red = (rgb >> 16) & 0xFF;
+        final int green = (rgb >> 8) & 0xFF;
+        final int blue = rgb & 0xFF;
+        final byte color = this.lut[MapColorPalette.cell(red >> MapColorPalette.LUT_SHIFT, green >> MapColorPalette.LUT_SHIFT,
+            blue >> MapColorPalette.LUT_SHIFT)];
+        if (this.rgbByColor[color & 0xFF] == (rgb & 0xFFFFFF)) {
+            return color;
+        }
+        // Exact matches must never be lost to the resolution of the table
+        final int exact = this.exact.get(rgb & 0xFFFFFF);
+        return exact >= Constants.Map.MAP_SHADES ? (byte) exact : color;
+    }
+
+    public int rgb(final byte color) {
+        return this.rgbByColor[color & 0xFF];
+    }
+
+    /**
+     * Converts a region of argb pixels to map colors. Pixels that are mostly
+     * transparent become {@link #TRANSPARENT}.
+     *
+     * @param pixels The source pixels
+     * @param offset The index of the first pixel of the region
+     * @param scan The distance between two rows of the source pixels
+     * @param width The width of the region
+     * @param height The height of the region
+     * @param out The map colors to write to
+     * @param outScan The distance between two rows of the map colors
+     * @param dither Whether to diffuse the error of each pixel onto its neighbours, Floyd-Steinberg style
+     */
+    public void quantize(final int[] pixels, final int offset, final int scan, final int width, final int height, final byte[] out,
+            final int outScan, final boolean dither) {
+        if (!dither) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    final int pixel = pixels[offset + y * scan + x];
+                    out[y * outScan + x] = MapColorPalette.isTransparent(pixel) ? MapColorPalette.TRANSPARENT : this.nearest(pixel);
+                }
+            }
+            return;
+        }
+        // Errors are kept in sixteenths, with a spare entry on either side of the row
+        int[] current = new int[(width + 2) * 3];
+        int[] next = new int[(width + 2) * 3];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int pixel = pixels[offset + y * scan + x];
+                if (MapColorPalette.isTransparent(pixel)) {
+                    out[y * outScan + x] = MapColorPalette.TRANSPARENT;
+                    continue;
+                }
+                final int e = (x + 1) * 3;
+                final int red = MapColorPalette.clamp(((pixel >> 16) & 0xFF) + current[e] / 16);
+                final int green = MapColorPalette.clamp(((pixel >> 8) & 0xFF) + current[e + 1] / 16);
+                final int blue = MapColorPalette.clamp((pixel & 0xFF) + current[e + 2] / 16);
+                final byte color = this.nearest(red << 16 | green << 8 | blue);
+                out[y * outScan + x] = color;
+
+                final int chosen = this.rgbByColor[color & 0xFF];
+                MapColorPalette.diffuse(current, next, e, red - ((chosen >> 16) & 0xFF));
+                MapColorPalette.diffuse(current, next, e + 1, green - ((chosen >> 8) & 0xFF));
+                MapColorPalette.diffuse(current, next, e + 2, blue - (chosen & 0xFF));
+            }
+            final int[] swap = current;
+            current = next;
+            next = swap;
+            Arrays.fill(next, 0);
+        }
+    }
+
+    private static void diffuse(final int[] current, final int[] next, final int index, final int error) {
+        current[index + 3] += error * 7;
+        next[index - 3] += error * 3;
+        next[index] += error * 5;
+        next[index + 3] += error;
+    }
+
+    private int search(final int[] candidates, final int red, final int green, final int blue) {
+        int best = candidates[0];
+        long bestDistance = Long.MAX_VALUE;
+        for (final int candidate : candidates) {
+            final long distance = MapColorPalette.distance(this.rgbByColor[candidate], red, green, blue);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    static long distance(final int rgb, final int red, final int green, final int blue) {
+        final int otherRed = (rgb >> 16) & 0xFF;
+        final int meanRed = (otherRed + red) >> 1;
+        final int dr = otherRed - red;
+        final int dg = ((rgb >> 8) & 0xFF) - green;
+        final int db = (rgb & 0xFF) - blue;
+        return (((512L + meanRed) * dr * dr) >> 8) + 4L * dg * dg + (((767L - meanRed) * db * db) >> 8);
+    }
+
+    private static boolean isTransparent(final int argb) {
+        return (argb >>> 24) < 128;
+    }
+
+    private static int clamp(final int channel) {
+        return channel < 0 ? 0 : Math.min(channel, 255);
+    }
+
+    private static int cellCenter(final int cell) {
+        return (cell << MapColorPalette.LUT_SHIFT) | (1 << (MapColorPalette.LUT_SHIFT - 1));
+    }
+
+    private static int cell(final int red, final int green, final int blue) {
+        return (red << (MapColorPalette.LUT_BITS * 2)) | (green << MapColorPalette.LUT_BITS) | blue;
+    }
+
+    private static final class Holder {
+
+        static final MapColorPalette INSTANCE = Holder.create();
+
+        private static MapColorPalette create() {
+            final List<SpongeMapColor> colors = new ArrayList<>();
+            Sponge.game().registries().registry(RegistryTypes.MAP_COLOR_TYPE).stream().forEach(type ->
+                Sponge.game().registries().registry(RegistryTypes.MAP_SHADE).stream().forEach(shade ->
+                    colors.add(new SpongeMapColor(type, shade))));
+            final byte[] values = new byte[colors.size()];
+            final int[] rgbs = new int[colors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = colors.get(i).getMCColor();
+                rgbs[i] = colors.get(i).color().rgb();
+            }
+            return new MapColorPalette(values, rgbs);
+        }
+    }
+}
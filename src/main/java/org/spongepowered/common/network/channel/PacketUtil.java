@@ -33,6 +33,7 @@
 import org.spongepowered.common.accessor.network.protocol.game.ServerboundCustomPayloadPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.login.ClientboundCustomQueryPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.login.ServerboundCustomQueryPacketAccessor;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.function.Supplier;
@@ -54,6 +55,9 @@ public static net.minecraft.network.protocol.Packet<?> createLoginPayloadRespons
     }
 
     public static net.minecraft.network.protocol.Packet<?> createLoginPayloadRequest(final ResourceKey channel, final ChannelBuf payload, final int transactionId) {
+        if (SpongeMetrics.isEnabled()) {
+            SpongeMetrics.CHANNEL_SENT_BYTES.add(channel, payload.available());
+        }
         final ClientboundCustomQueryPacket packet = new ClientboundCustomQueryPacket();
         final ClientboundCustomQueryPacketAccessor accessor = (ClientboundCustomQueryPacketAccessor) packet;
         accessor.accessor$identifier((ResourceLocation) (Object) channel);
@@ -63,6 +67,9 @@ public static net.minecraft.network.protocol.Packet<?> createLoginPayloadRequest
     }
 
     public static net.minecraft.network.protocol.Packet<?> createPlayPayload(final ResourceKey channel, final ChannelBuf payload, final EngineConnectionSide<?> side) {
+        if (SpongeMetrics.isEnabled()) {
+            SpongeMetrics.CHANNEL_SENT_BYTES.add(channel, payload.available());
+        }
         if (side == EngineConnectionSide.CLIENT) {
             final ServerboundCustomPayloadPacketAccessor packet = (ServerboundCustomPayloadPacketAccessor) new ServerboundCustomPayloadPacket();
             packet.accessor$identifier((ResourceLocation) (Object) channel);
@@ -54,6 +54,7 @@
 import org.spongepowered.common.network.channel.packet.SpongePacketChannel;
 import org.spongepowered.common.network.channel.raw.SpongeRawDataChannel;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -308,6 +309,9 @@ private void handleRegisterChannel(final EngineConnection connection, final Chan
     }
 
     private boolean handlePlayPayload(final EngineConnection connection, final ResourceKey channelKey, final ChannelBuf payload) {
+        if (SpongeMetrics.isEnabled()) {
+            SpongeMetrics.CHANNEL_RECEIVED_BYTES.add(channelKey, payload.available());
+        }
         if (channelKey.equals(Constants.Channels.SPONGE_CLIENT_TYPE)) {
             this.handleClientType(connection, payload);
             return true;
@@ -351,6 +355,9 @@ public boolean handleLoginRequestPayload(final EngineConnection connection, fina
 
     private boolean handleLoginRequestPayload(final EngineConnection connection, final ResourceKey channelKey,
             final int transactionId, final ChannelBuf payload) {
+        if (SpongeMetrics.isEnabled()) {
+            SpongeMetrics.CHANNEL_RECEIVED_BYTES.add(channelKey, payload.available());
+        }
         if (channelKey.equals(Constants.Channels.SPONGE_CLIENT_TYPE)) {
             final ClientType clientType = ((MinecraftBridge) Sponge.client()).bridge$getClientType();
             final ChannelBuf responsePayload = this.bufferAllocator.buffer();
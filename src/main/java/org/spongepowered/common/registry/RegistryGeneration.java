@@ -0,0 +1,53 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+/**
+ * A counter of structural changes to any registry, used to invalidate values
+ * cached from registry lookups.
+ *
+ * <p>The generation is advanced whenever a value is mapped into a registry,
+ * which includes registries being registered into their root, and whenever a
+ * {@link SpongeRegistryHolder} is created or has its root replaced. A cached
+ * lookup is valid for as long as the generation it was resolved in is still
+ * the current one.</p>
+ */
+public final class RegistryGeneration {
+
+    private static volatile int generation;
+
+    private RegistryGeneration() {
+    }
+
+    public static int current() {
+        return RegistryGeneration.generation;
+    }
+
+    public static void advance() {
+        synchronized (RegistryGeneration.class) {
+            RegistryGeneration.generation++;
+        }
+    }
+}
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.registry;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.registry.DefaultedRegistryReference;
 import org.spongepowered.api.registry.Registry;
 import org.spongepowered.api.registry.RegistryHolder;
@@ -36,26 +37,54 @@
 public final class SpongeDefaultedRegistryReference<T> extends SpongeRegistryReference<T> implements DefaultedRegistryReference<T> {
 
     private final Supplier<RegistryHolder> defaultHolder;
+    private @Nullable Resolved<T> resolved;
 
     public SpongeDefaultedRegistryReference(final RegistryKey<T> key, final Supplier<RegistryHolder> defaultHolder) {
         super(key);
         this.defaultHolder = Objects.requireNonNull(defaultHolder, "defaultHolder");
     }
 
-
     @Override
     public T get() {
-        return this.defaultHolder.get().registry(this.registry()).value(this.location());
+        final @Nullable T value = this.resolve();
+        if (value == null) {
+            // Let the registry explain what is missing
+            return this.defaultHolder.get().registry(this.registry()).value(this.location());
+        }
+        return value;
     }
 
     @Override
     public Optional<T> find() {
-        final Optional<Registry<T>> registry = this.defaultHolder.get().findRegistry(this.registry());
-        return registry.flatMap(r -> r.findValue(this.location()));
+        return Optional.ofNullable(this.resolve());
     }
 
     @Override
     public Supplier<RegistryHolder> defaultHolder() {
         return this.defaultHolder;
     }
+
+    private @Nullable T resolve() {
+        // Read before the lookup, a change racing it leaves a stale generation that is resolved again
+        final int generation = RegistryGeneration.current();
+        final @Nullable Resolved<T> resolved = this.resolved;
+        if (resolved != null && resolved.generation == generation) {
+            return resolved.value;
+        }
+        final Optional<Registry<T>> registry = this.defaultHolder.get().findRegistry(this.registry());
+        final @Nullable T value = registry.flatMap(r -> r.<T>findValue(this.location())).orElse(null);
+        this.resolved = new Resolved<>(generation, value);
+        return value;
+    }
+
+    private static final class Resolved<T> {
+
+        final int generation;
+        final @Nullable T value;
+
+        Resolved(final int generation, final @Nullable T value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
 }
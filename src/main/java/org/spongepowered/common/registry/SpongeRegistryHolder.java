@@ -73,6 +73,7 @@ public SpongeRegistryHolder() {
                 Lifecycle.stable()
             )
         );
+        RegistryGeneration.advance();
     }
 
     // TODO: Minecraft 1.17 - Is this still fine to do?
@@ -89,6 +90,7 @@ public SpongeRegistryHolder(final RegistryAccess.RegistryHolder dynamicAccess) {
 
     public void setRootMinecraftRegistry(final net.minecraft.core.Registry<net.minecraft.core.Registry<?>> rootRegistry) {
         this.roots.put(RegistryRoots.MINECRAFT, rootRegistry);
+        RegistryGeneration.advance();
     }
 
     @Override
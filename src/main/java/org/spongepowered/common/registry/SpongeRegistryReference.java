@@ -55,7 +55,10 @@ public T get(final RegistryHolder holder) {
             if (holder instanceof Engine) {
                 found = this.getFromHolder(SpongeCommon.getGame().registries());
             } else if (holder instanceof World) {
-                found = this.getFromHolder(EngineUtil.determineEngine().registries());
+                final @Nullable Engine engine = EngineUtil.determineEngine();
+                if (engine != null) {
+                    found = this.getFromHolder(engine.registries());
+                }
 
                 if (found == null) {
                     found = this.getFromHolder(SpongeCommon.getGame().registries());
@@ -24,23 +24,60 @@
  */
 package org.spongepowered.common.scheduler;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.common.SchedulerCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.world.entity.player.InventoryBridge;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 public final class ServerScheduler extends SyncScheduler {
 
+    private final TickWorkQueue workQueue = new TickWorkQueue(SpongeMetrics.TICK_WORK_EXECUTED, SpongeMetrics.TICK_WORK_DEFERRED,
+        SpongeMetrics.TICK_WORK_FORCED);
+    private long tickStart = System.nanoTime();
+    private @Nullable List<String> deferrableTaskSource;
+    private List<Pattern> deferrableTasks = Collections.emptyList();
+
     public ServerScheduler() {
         super("S");
     }
 
+    /**
+     * Gets the queue of work that may be postponed to a later tick when the
+     * current one runs long.
+     *
+     * @return The work queue
+     */
+    public TickWorkQueue workQueue() {
+        return this.workQueue;
+    }
+
+    /**
+     * The hook marking the start of a server tick, the tick budget of
+     * deferrable work is measured from here.
+     */
+    public void startTick() {
+        this.tickStart = System.nanoTime();
+    }
+
     @Override
     public void tick() {
+        final SchedulerCategory config = SpongeConfigs.getCommon().get().scheduler;
+        this.updateDeferrableTasks(config.deferrableTasks);
         super.tick();
 
         for (final Player player : Sponge.server().onlinePlayers()) {
@@ -49,6 +86,62 @@ public void tick() {
                 ((InventoryBridge) ((net.minecraft.world.entity.player.Player) player).inventory).bridge$cleanupDirty();
             }
         }
+
+        this.workQueue.setMaxDeferredTicks(TickWorkQueue.Priority.HIGH, config.maxDeferredTicks.high);
+        this.workQueue.setMaxDeferredTicks(TickWorkQueue.Priority.NORMAL, config.maxDeferredTicks.normal);
+        this.workQueue.setMaxDeferredTicks(TickWorkQueue.Priority.LOW, config.maxDeferredTicks.low);
+        if (config.tickBudget > 0) {
+            this.workQueue.drain(this.tickStart + (long) (config.tickBudget * 1_000_000));
+        } else {
+            this.workQueue.drainAll();
+        }
+    }
+
+    @Override
+    protected void dispatchTask(final SpongeScheduledTask task) {
+        if (!this.isDeferrable(task)) {
+            super.dispatchTask(task);
+            return;
+        }
+        this.workQueue.submit(TickWorkQueue.Priority.NORMAL, () -> {
+            if (task.isCancelled()) {
+                return;
+            }
+            // Measure the next interval from the actual execution, or a deferred
+            // repeating task would be due again straight away
+            task.setTimestamp(this.timestamp(task.task.tickBasedInterval));
+            this.startTask(task);
+        });
+    }
+
+    private boolean isDeferrable(final SpongeScheduledTask task) {
+        if (this.deferrableTasks.isEmpty()) {
+            return false;
+        }
+        final String pluginId = task.owner().metadata().id();
+        for (final Pattern pattern : this.deferrableTasks) {
+            if (pattern.matcher(pluginId).matches() || pattern.matcher(task.task.name()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateDeferrableTasks(final List<String> patterns) {
+        // The list is replaced as a whole when the configuration is reloaded
+        if (patterns == this.deferrableTaskSource) {
+            return;
+        }
+        final List<Pattern> compiled = new ArrayList<>(patterns.size());
+        for (final String pattern : patterns) {
+            try {
+                compiled.add(Pattern.compile(pattern));
+            } catch (final PatternSyntaxException e) {
+                SpongeCommon.getLogger().error("Invalid deferrable task pattern '{}'", pattern, e);
+            }
+        }
+        this.deferrableTaskSource = patterns;
+        this.deferrableTasks = compiled;
     }
 
     @Override
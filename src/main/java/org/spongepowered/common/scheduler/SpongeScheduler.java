@@ -32,6 +32,7 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
 import org.spongepowered.common.launch.Launch;
 import co.aikar.timings.sponge.TimingsManager;
 import org.spongepowered.plugin.PluginContainer;
@@ -100,6 +101,16 @@ private void removeTask(final SpongeScheduledTask task) {
         this.taskMap.remove(task.uniqueId());
     }
 
+    /**
+     * Gets the number of tasks waiting for their next execution or currently
+     * executing.
+     *
+     * @return The number of tasks
+     */
+    public int taskCount() {
+        return this.taskMap.size();
+    }
+
     @Override
     public Optional<ScheduledTask> findTask(final UUID id) {
         Objects.requireNonNull(id, "id");
@@ -242,7 +253,7 @@ private void processTask(final SpongeScheduledTask task) {
             // It is always interval here because that's the only thing that matters
             // at this point.
             task.setTimestamp(this.timestamp(task.task.tickBasedInterval));
-            this.startTask(task);
+            this.dispatchTask(task);
             // If task is one time shot, remove it from the map.
             if (task.task.interval == 0L) {
                 this.removeTask(task);
@@ -250,12 +261,24 @@ private void processTask(final SpongeScheduledTask task) {
         }
     }
 
+    /**
+     * Hands a task that has become due over for execution. Schedulers may
+     * postpone the start of the task, the task remains in the
+     * {@link SpongeScheduledTask.ScheduledTaskState#SWITCHING} state until
+     * it is started and will not be dispatched again in the meantime.
+     *
+     * @param task The task to dispatch
+     */
+    protected void dispatchTask(final SpongeScheduledTask task) {
+        this.startTask(task);
+    }
+
     /**
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
      */
-    private void startTask(final SpongeScheduledTask task) {
+    final void startTask(final SpongeScheduledTask task) {
         this.executeTaskRunnable(task, () -> {
             task.setState(SpongeScheduledTask.ScheduledTaskState.EXECUTING);
             try (final @Nullable PhaseContext<?> context = this.createContext(task, task.owner());
@@ -264,6 +287,7 @@ private void startTask(final SpongeScheduledTask task) {
                 if (context != null) {
                     context.buildAndSwitch();
                 }
+                final @Nullable Object flightEvent = SpongeFlightEvents.SCHEDULED_TASK.begin();
                 try {
                     SpongeCommon.setActivePlugin(task.owner());
                     task.task.consumer().accept(task);
@@ -271,6 +295,9 @@ private void startTask(final SpongeScheduledTask task) {
                     SpongeCommon.getLogger().error("The Scheduler tried to run the task '{}' owned by '{}' but an error occurred.",
                             task.name(), task.owner().metadata().id(), t);
                 }
+                if (flightEvent != null) {
+                    SpongeFlightEvents.SCHEDULED_TASK.commit(flightEvent, task.owner().metadata().id(), task.name(), this instanceof AsyncScheduler);
+                }
             } finally {
                 if (!task.isCancelled()) {
                     task.setState(SpongeScheduledTask.ScheduledTaskState.RUNNING);
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.util.metric.LabeledCounter;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Work that has to happen on the server thread, but not necessarily in the
+ * tick it was submitted in.
+ *
+ * <p>The queue is drained once at the end of each tick. Work runs in priority
+ * order while the tick is still within its budget, whatever is left over is
+ * carried to the next tick. So that a server that is permanently behind does
+ * not postpone work indefinitely, work that has been carried over for the
+ * maximum number of ticks of its priority runs regardless of the budget.</p>
+ *
+ * <p>Not thread safe, work must be submitted from the server thread.</p>
+ */
+public final class TickWorkQueue {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final LongSupplier clock;
+    private final @Nullable LabeledCounter<Priority> executed;
+    private final @Nullable LabeledCounter<Priority> deferred;
+    private final @Nullable LabeledCounter<Priority> forced;
+    private final ArrayDeque<Work>[] queues;
+    private final int[] maxDeferredTicks;
+    private long drains;
+
+    public TickWorkQueue(final @Nullable LabeledCounter<Priority> executed, final @Nullable LabeledCounter<Priority> deferred,
+            final @Nullable LabeledCounter<Priority> forced) {
+        this(System::nanoTime, executed, deferred, forced);
+    }
+
+    @SuppressWarnings("unchecked")
+    TickWorkQueue(final LongSupplier clock, final @Nullable LabeledCounter<Priority> executed,
+            final @Nullable LabeledCounter<Priority> deferred, final @Nullable LabeledCounter<Priority> forced) {
+        this.clock = clock;
+        this.executed = executed;
+        this.deferred = deferred;
+        this.forced = forced;
+        this.queues = new ArrayDeque[TickWorkQueue.PRIORITIES.length];
+        this.maxDeferredTicks = new int[TickWorkQueue.PRIORITIES.length];
+        for (final Priority priority : TickWorkQueue.PRIORITIES) {
+            this.queues[priority.ordinal()] = new ArrayDeque<>();
+            this.maxDeferredTicks[priority.ordinal()] = priority.defaultMaxDeferredTicks;
+        }
+    }
+
+    /**
+     * Sets the number of ticks work of the given priority may be carried over
+     * for before it is run regardless of the budget.
+     *
+     * @param priority The priority
+     * @param ticks The ticks, zero to never defer work of this priority
+     */
+    public void setMaxDeferredTicks(final Priority priority, final int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Max deferred ticks cannot be negative");
+        }
+        this.maxDeferredTicks[priority.ordinal()] = ticks;
+    }
+
+    public void submit(final Priority priority, final Runnable work) {
+        Objects.requireNonNull(priority, "priority");
+        Objects.requireNonNull(work, "work");
+        this.queues[priority.ordinal()].add(new Work(work, this.drains));
+    }
+
+    public int size(final Priority priority) {
+        return this.queues[priority.ordinal()].size();
+    }
+
+    public int size() {
+        int size = 0;
+        for (final ArrayDeque<Work> queue : this.queues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Runs the queued work until the deadline has passed. Work submitted while
+     * draining is eligible to run in the same drain.
+     *
+     * @param deadline The {@link System#nanoTime()} after which no further
+     *     work is started, unless it has been deferred for too long
+     */
+    public void drain(final long deadline) {
+        this.drain(deadline, false);
+    }
+
+    /**
+     * Runs all queued work, including work submitted while draining.
+     */
+    public void drainAll() {
+        this.drain(0, true);
+    }
+
+    private void drain(final long deadline, final boolean unbounded) {
+        final long drain = ++this.drains;
+        for (final Priority priority : TickWorkQueue.PRIORITIES) {
+            final ArrayDeque<Work> queue = this.queues[priority.ordinal()];
+            // Work is queued in submission order, so only the head needs checking
+            final long maxDeferredTicks = this.maxDeferredTicks[priority.ordinal()];
+            int forced = 0;
+            @Nullable Work work;
+            while ((work = queue.peek()) != null && drain - work.drain - 1 >= maxDeferredTicks) {
+                queue.poll();
+                this.run(work);
+                forced++;
+            }
+            if (forced != 0) {
+                TickWorkQueue.add(this.forced, priority, forced);
+                TickWorkQueue.add(this.executed, priority, forced);
+            }
+        }
+        // Work submitted while draining may be of a higher priority than the
+        // work that submitted it, so look for the next work from the top again
+        final int[] executed = new int[TickWorkQueue.PRIORITIES.length];
+        while (unbounded || deadline - this.clock.getAsLong() > 0) {
+            @Nullable Work work = null;
+            int index = 0;
+            for (; index < this.queues.length; index++) {
+                if ((work = this.queues[index].poll()) != null) {
+                    break;
+                }
+            }
+            if (work == null) {
+                break;
+            }
+            this.run(work);
+            executed[index]++;
+        }
+        for (final Priority priority : TickWorkQueue.PRIORITIES) {
+            TickWorkQueue.add(this.executed, priority, executed[priority.ordinal()]);
+            TickWorkQueue.add(this.deferred, priority, this.queues[priority.ordinal()].size());
+        }
+    }
+
+    private void run(final Work work) {
+        try {
+            work.runnable.run();
+        } catch (final Throwable t) {
+            SpongeCommon.getLogger().error("Deferred tick work {} failed", work.runnable, t);
+        }
+    }
+
+    private static void add(final @Nullable LabeledCounter<Priority> counter, final Priority priority, final int amount) {
+        if (counter != null && amount != 0) {
+            counter.add(priority, amount);
+        }
+    }
+
+    public enum Priority {
+        HIGH(1),
+        /**
+         * Plugin tasks that were configured to be deferrable.
+         */
+        NORMAL(5),
+        /**
+         * Sponge housekeeping, work that only affects what players see.
+         */
+        LOW(20);
+
+        final int defaultMaxDeferredTicks;
+
+        Priority(final int defaultMaxDeferredTicks) {
+            this.defaultMaxDeferredTicks = defaultMaxDeferredTicks;
+        }
+    }
+
+    private static final class Work {
+
+        final Runnable runnable;
+        final long drain;
+
+        Work(final Runnable runnable, final long drain) {
+            this.runnable = runnable;
+            this.drain = drain;
+        }
+    }
+}
@@ -31,13 +31,13 @@
 import org.spongepowered.common.entity.player.LoginPermissions;
 import org.spongepowered.common.util.Constants;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 public final class SpongePermissions {
 
-    private static final Set<String> REGISTERED_PERMISSIONS = new HashSet<>();
+    private static final Set<String> REGISTERED_PERMISSIONS = ConcurrentHashMap.newKeySet();
 
     private SpongePermissions() {
     }
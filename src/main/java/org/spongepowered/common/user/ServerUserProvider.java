@@ -53,6 +53,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -170,6 +171,14 @@ Optional<User> getUser(final @Nullable GameProfile profile) {
         return Optional.empty();
     }
 
+    CompletableFuture<Optional<User>> loadUser(final UUID uuid) {
+        final Optional<User> user = this.getUser(uuid);
+        if (!user.isPresent() || !(user.get() instanceof SpongeUser)) {
+            return CompletableFuture.completedFuture(user);
+        }
+        return ((SpongeUser) user.get()).initializeAsync().thenApply(Optional::of);
+    }
+
     User getOrCreateUser(final GameProfile profile, final boolean force) {
         final com.mojang.authlib.GameProfile resolvedProfile;
         if (!force) {
@@ -200,6 +209,8 @@ User getOrCreateUser(final GameProfile profile, final boolean force) {
     }
 
     boolean deleteUser(final UUID uuid) {
+        // Make sure a queued offline save does not bring the file back
+        UserFileIO.discard(uuid).join();
         if (this.deleteStoredPlayerData(uuid)) {
             this.userCache.invalidate(uuid);
             this.knownUUIDs.remove(uuid);
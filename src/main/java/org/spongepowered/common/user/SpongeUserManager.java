@@ -37,6 +37,7 @@
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -61,6 +62,17 @@ public Optional<User> find(final UUID uniqueId) {
         return this.serverUserProvider.getUser(uniqueId);
     }
 
+    /**
+     * Finds the user with the given unique id, reading its data file off of
+     * the main thread if it is not in memory yet.
+     *
+     * @param uniqueId The unique id of the user
+     * @return The future completing on the main thread with the initialized user, if found
+     */
+    public CompletableFuture<Optional<User>> findAsync(final UUID uniqueId) {
+        return this.serverUserProvider.loadUser(checkNotNull(uniqueId, "uniqueId"));
+    }
+
     @Override
     public Optional<User> find(final String lastKnownName) {
         checkNotNull(lastKnownName, "lastKnownName");
@@ -0,0 +1,386 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads and writes the player data files backing offline users.
+ *
+ * <p>File access happens on a single I/O thread, which keeps reads and
+ * writes of the same file ordered without any per file locking. Only
+ * {@link #loadNow(UUID, Path)} reads on the calling thread, so a synchronous
+ * load never waits behind a batch of writes. Writes are
+ * queued and flushed in batches, a user saved several times before the batch
+ * is flushed is only written once. Each file is written to a temporary file
+ * first and then renamed over the original, so a crash mid write can never
+ * leave a truncated player file behind. A write that fails stays queued and
+ * is retried with a growing delay, until it succeeds or is replaced by a
+ * newer one.</p>
+ *
+ * <p>Files that are read ahead of time through {@link #preload(UUID, Path)}
+ * are kept warm so that initializing the user later on does not have to touch
+ * the disk at all.</p>
+ */
+public final class UserFileIO {
+
+    private static final long BATCH_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - User I/O Thread")
+            .setDaemon(true)
+            .build()
+    );
+
+    private static final Map<UUID, PendingWrite> PENDING_WRITES = new ConcurrentHashMap<>();
+    private static final Map<UUID, CompletableFuture<Optional<CompoundTag>>> LOADING = new ConcurrentHashMap<>();
+    private static final Cache<UUID, CompoundTag> WARM = Caffeine.newBuilder()
+        .expireAfterWrite(5, TimeUnit.MINUTES)
+        .maximumSize(4096)
+        .build();
+    private static final AtomicBoolean FLUSH_SCHEDULED = new AtomicBoolean();
+
+    private static final AtomicLong LOADS = new AtomicLong();
+    private static final AtomicLong LOAD_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_LOAD_NANOS = new AtomicLong();
+    private static final AtomicLong WARM_HITS = new AtomicLong();
+    private static final AtomicLong WRITES = new AtomicLong();
+    private static final AtomicLong FAILED_WRITES = new AtomicLong();
+
+    private UserFileIO() {
+    }
+
+    /**
+     * Loads the player data file of the given user. Queued writes and warm
+     * entries are served without touching the disk.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The player data file
+     * @return The future holding the data, empty if the file does not exist or is corrupt
+     */
+    public static CompletableFuture<Optional<CompoundTag>> load(final UUID uniqueId, final Path file) {
+        final @Nullable CompoundTag inMemory = UserFileIO.inMemory(uniqueId);
+        if (inMemory != null) {
+            return CompletableFuture.completedFuture(Optional.of(inMemory));
+        }
+
+        final CompletableFuture<Optional<CompoundTag>> future = new CompletableFuture<>();
+        final CompletableFuture<Optional<CompoundTag>> existing = UserFileIO.LOADING.putIfAbsent(uniqueId, future);
+        if (existing != null) {
+            // Someone else is already reading the file, share their result
+            return existing.thenApply(compound -> compound.map(CompoundTag::copy));
+        }
+        UserFileIO.EXECUTOR.execute(() -> {
+            final long start = System.nanoTime();
+            try {
+                future.complete(UserFileIO.read(file));
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                UserFileIO.LOADING.remove(uniqueId, future);
+                UserFileIO.recordLoad(System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Loads the player data file of the given user on the calling thread,
+     * without queueing up behind the writes of the I/O thread. Files are
+     * renamed into place and queued writes stay visible until they are, so
+     * reading concurrently with a write sees either the old or the new data.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The player data file
+     * @return The data, empty if the file does not exist or is corrupt
+     */
+    public static Optional<CompoundTag> loadNow(final UUID uniqueId, final Path file) {
+        final @Nullable CompoundTag inMemory = UserFileIO.inMemory(uniqueId);
+        if (inMemory != null) {
+            return Optional.of(inMemory);
+        }
+        final long start = System.nanoTime();
+        try {
+            return UserFileIO.read(file);
+        } finally {
+            UserFileIO.recordLoad(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reads the player data file of the given user ahead of time, keeping it
+     * warm for the next {@link #load(UUID, Path)}.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The player data file
+     * @return The future completing once the file is warm
+     */
+    public static CompletableFuture<Void> preload(final UUID uniqueId, final Path file) {
+        if (UserFileIO.PENDING_WRITES.containsKey(uniqueId) || UserFileIO.WARM.getIfPresent(uniqueId) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // Runs on the I/O thread, so a write queued in the meantime is either still
+        // pending (and wins over the warm entry) or invalidates the entry once flushed
+        return UserFileIO.load(uniqueId, file).thenAccept(compound -> compound.ifPresent(c -> UserFileIO.WARM.put(uniqueId, c)));
+    }
+
+    /**
+     * Queues the data of the given user to be written in the next batch.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The player data file
+     * @param compound The data to write, which must not be modified afterwards
+     */
+    public static void queueWrite(final UUID uniqueId, final Path file, final CompoundTag compound) {
+        UserFileIO.PENDING_WRITES.put(uniqueId, new PendingWrite(file, compound));
+        UserFileIO.WARM.invalidate(uniqueId);
+        UserFileIO.scheduleFlush(UserFileIO.BATCH_DELAY_MILLIS);
+    }
+
+    private static void scheduleFlush(final long delayMillis) {
+        if (UserFileIO.FLUSH_SCHEDULED.compareAndSet(false, true)) {
+            UserFileIO.EXECUTOR.schedule(() -> UserFileIO.flushPending(false), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Removes the queued write of the given user, handing its data to the
+     * caller instead of waiting for it to be written.
+     *
+     * @param uniqueId The unique id of the user
+     * @return The data that was queued, if any
+     */
+    public static Optional<CompoundTag> takePendingWrite(final UUID uniqueId) {
+        final @Nullable PendingWrite pending = UserFileIO.PENDING_WRITES.remove(uniqueId);
+        UserFileIO.WARM.invalidate(uniqueId);
+        return pending == null ? Optional.empty() : Optional.of(pending.compound.copy());
+    }
+
+    /**
+     * Writes every queued user without waiting for the batch delay, including
+     * those waiting to retry a failed write.
+     *
+     * @return The future holding the files that could not be written, these stay queued
+     */
+    public static CompletableFuture<List<Path>> flush() {
+        return CompletableFuture.supplyAsync(() -> UserFileIO.flushPending(true), UserFileIO.EXECUTOR);
+    }
+
+    /**
+     * Drops any queued write and warm data of the given user, i.e. because
+     * the file is about to be deleted or rewritten by vanilla.
+     *
+     * @param uniqueId The unique id of the user
+     * @return The future completing once no write of the user is in flight
+     */
+    public static CompletableFuture<Void> discard(final UUID uniqueId) {
+        UserFileIO.PENDING_WRITES.remove(uniqueId);
+        UserFileIO.WARM.invalidate(uniqueId);
+        return CompletableFuture.runAsync(() -> {
+            UserFileIO.PENDING_WRITES.remove(uniqueId);
+            UserFileIO.WARM.invalidate(uniqueId);
+        }, UserFileIO.EXECUTOR);
+    }
+
+    public static boolean hasPendingWrite(final UUID uniqueId) {
+        return UserFileIO.PENDING_WRITES.containsKey(uniqueId);
+    }
+
+    public static int pendingWrites() {
+        return UserFileIO.PENDING_WRITES.size();
+    }
+
+    public static long loads() {
+        return UserFileIO.LOADS.get();
+    }
+
+    public static long warmHits() {
+        return UserFileIO.WARM_HITS.get();
+    }
+
+    public static long totalLoadTime(final TimeUnit unit) {
+        return unit.convert(UserFileIO.LOAD_NANOS.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public static long averageLoadTime(final TimeUnit unit) {
+        final long loads = UserFileIO.LOADS.get();
+        return loads == 0 ? 0 : unit.convert(UserFileIO.LOAD_NANOS.get() / loads, TimeUnit.NANOSECONDS);
+    }
+
+    public static long maxLoadTime(final TimeUnit unit) {
+        return unit.convert(UserFileIO.MAX_LOAD_NANOS.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public static long writes() {
+        return UserFileIO.WRITES.get();
+    }
+
+    public static long failedWrites() {
+        return UserFileIO.FAILED_WRITES.get();
+    }
+
+    private static void recordLoad(final long nanos) {
+        UserFileIO.LOADS.incrementAndGet();
+        UserFileIO.LOAD_NANOS.addAndGet(nanos);
+        UserFileIO.MAX_LOAD_NANOS.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static @Nullable CompoundTag inMemory(final UUID uniqueId) {
+        final @Nullable PendingWrite pending = UserFileIO.PENDING_WRITES.get(uniqueId);
+        if (pending != null) {
+            UserFileIO.WARM_HITS.incrementAndGet();
+            return pending.compound.copy();
+        }
+        final @Nullable CompoundTag warm = UserFileIO.WARM.asMap().remove(uniqueId);
+        if (warm != null) {
+            UserFileIO.WARM_HITS.incrementAndGet();
+        }
+        return warm;
+    }
+
+    private static Optional<CompoundTag> read(final Path file) {
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+        try (final InputStream in = Files.newInputStream(file)) {
+            return Optional.of(NbtIo.readCompressed(in));
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().warn("Corrupt user file '{}'!", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static List<Path> flushPending(final boolean retryNow) {
+        UserFileIO.FLUSH_SCHEDULED.set(false);
+        final List<Path> failed = new ArrayList<>();
+        final long now = System.nanoTime();
+        long nextRetry = Long.MAX_VALUE;
+        for (final UUID uniqueId : UserFileIO.PENDING_WRITES.keySet()) {
+            final @Nullable PendingWrite write = UserFileIO.PENDING_WRITES.get(uniqueId);
+            if (write == null) {
+                continue;
+            }
+            if (!retryNow && write.retryAt - now > 0) {
+                nextRetry = Math.min(nextRetry, write.retryAt - now);
+                continue;
+            }
+            try {
+                UserFileIO.write(write.file, write.compound);
+            } catch (final IOException e) {
+                UserFileIO.FAILED_WRITES.incrementAndGet();
+                final PendingWrite retry = write.retry(now);
+                // A newer write queued in the meantime replaces the failed one and is tried in the next batch
+                if (UserFileIO.PENDING_WRITES.replace(uniqueId, write, retry)) {
+                    failed.add(write.file);
+                    nextRetry = Math.min(nextRetry, retry.retryAt - now);
+                    SpongeCommon.getLogger().warn("Failed to save user file [{}] {} time(s), retrying in {} seconds!", write.file,
+                        retry.attempts, TimeUnit.NANOSECONDS.toSeconds(retry.retryAt - now), e);
+                }
+                continue;
+            }
+            UserFileIO.WRITES.incrementAndGet();
+            // Only dropped once the file is in place, readers on other threads are served the queued data until then.
+            // A newer write queued in the meantime stays for the next batch.
+            UserFileIO.PENDING_WRITES.remove(uniqueId, write);
+            // Anything read before the write went through is stale now
+            UserFileIO.WARM.invalidate(uniqueId);
+        }
+        if (nextRetry != Long.MAX_VALUE) {
+            UserFileIO.scheduleFlush(Math.max(UserFileIO.BATCH_DELAY_MILLIS, TimeUnit.NANOSECONDS.toMillis(nextRetry)));
+        }
+        return failed;
+    }
+
+    private static void write(final Path file, final CompoundTag compound) throws IOException {
+        final Path directory = file.getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (final OutputStream out = Files.newOutputStream(temp)) {
+                NbtIo.writeCompressed(compound, out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static final class PendingWrite {
+
+        final Path file;
+        final CompoundTag compound;
+        final int attempts;
+        // The System#nanoTime before which the scheduled batches skip this write
+        final long retryAt;
+
+        PendingWrite(final Path file, final CompoundTag compound) {
+            this(file, compound, 0, System.nanoTime());
+        }
+
+        private PendingWrite(final Path file, final CompoundTag compound, final int attempts, final long retryAt) {
+            this.file = file;
+            this.compound = compound;
+            this.attempts = attempts;
+            this.retryAt = retryAt;
+        }
+
+        PendingWrite retry(final long now) {
+            final long delay = Math.min(UserFileIO.BATCH_DELAY_MILLIS << Math.min(this.attempts, 16), UserFileIO.MAX_RETRY_DELAY_MILLIS);
+            return new PendingWrite(this.file, this.compound, this.attempts + 1, now + TimeUnit.MILLISECONDS.toNanos(delay));
+        }
+    }
+}
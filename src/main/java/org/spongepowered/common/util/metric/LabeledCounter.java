@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A family of counters told apart by the value of a single label.
+ *
+ * <p>Counters are keyed by an arbitrary object so that callers do not need to
+ * build the label value on every increment, it is computed once when a key is
+ * first seen.</p>
+ *
+ * @param <K> The key type
+ */
+public final class LabeledCounter<K> extends Metric {
+
+    private final String label;
+    private final Map<K, Entry> entries = new ConcurrentHashMap<>();
+    private final Function<K, Entry> factory;
+
+    LabeledCounter(final String name, final String help, final String label, final Function<? super K, String> labelValue) {
+        super(name, help, "counter");
+        this.label = label;
+        this.factory = key -> new Entry(labelValue.apply(key));
+    }
+
+    public void add(final K key, final long amount) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            entry = this.entries.computeIfAbsent(key, this.factory);
+        }
+        entry.value.add(amount);
+    }
+
+    public long value(final K key) {
+        final Entry entry = this.entries.get(key);
+        return entry == null ? 0 : entry.value.sum();
+    }
+
+    public long total() {
+        long total = 0;
+        for (final Entry entry : this.entries.values()) {
+            total += entry.value.sum();
+        }
+        return total;
+    }
+
+    @Override
+    void writeSamples(final StringBuilder builder) {
+        for (final Entry entry : this.entries.values()) {
+            this.sample(builder, "", this.label, entry.labelValue, entry.value.sum());
+        }
+    }
+
+    private static final class Entry {
+
+        final String labelValue;
+        final LongAdder value = new LongAdder();
+
+        Entry(final String labelValue) {
+            this.labelValue = labelValue;
+        }
+    }
+}
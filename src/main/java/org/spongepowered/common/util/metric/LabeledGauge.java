@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A family of gauges told apart by the value of a single label.
+ *
+ * <p>Values are updated in rounds, labels that are not set again within a
+ * round are no longer written out. The value of a label that stays around is
+ * updated in place, so a round only allocates for labels it has not seen
+ * before.</p>
+ */
+public final class LabeledGauge extends Metric {
+
+    private final String label;
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    private int round;
+
+    LabeledGauge(final String name, final String help, final String label) {
+        super(name, help, "gauge");
+        this.label = label;
+    }
+
+    /**
+     * Starts a round of updates. Rounds must not be run concurrently.
+     */
+    public void beginUpdate() {
+        this.round++;
+    }
+
+    /**
+     * Sets the value of the given label within the current round.
+     *
+     * @param labelValue The value of the label
+     * @param value The value of the gauge
+     */
+    public void set(final String labelValue, final long value) {
+        @Nullable Value current = this.values.get(labelValue);
+        if (current == null) {
+            current = this.values.computeIfAbsent(labelValue, key -> new Value());
+        }
+        current.value = value;
+        current.round = this.round;
+    }
+
+    /**
+     * Ends the current round, dropping every label not set within it.
+     */
+    public void endUpdate() {
+        for (final Iterator<Value> iterator = this.values.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().round != this.round) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Replaces the current values, labels missing from the given map are no
+     * longer written out.
+     *
+     * @param values The values by label value
+     */
+    public void update(final Map<String, ? extends Number> values) {
+        this.beginUpdate();
+        for (final Map.Entry<String, ? extends Number> entry : values.entrySet()) {
+            this.set(entry.getKey(), entry.getValue().longValue());
+        }
+        this.endUpdate();
+    }
+
+    public Map<String, Long> values() {
+        final Map<String, Long> values = new HashMap<>();
+        for (final Map.Entry<String, Value> entry : this.values.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().value);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    void writeSamples(final StringBuilder builder) {
+        for (final Map.Entry<String, Value> entry : this.values.entrySet()) {
+            this.sample(builder, "", this.label, entry.getKey(), entry.getValue().value);
+        }
+    }
+
+    private static final class Value {
+
+        volatile long value;
+        int round;
+    }
+}
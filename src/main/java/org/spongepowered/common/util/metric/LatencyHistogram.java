@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations, recorded in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets in the manner of an HDR
+ * histogram: every power of two is split into {@value #SUB_BUCKETS} equally
+ * sized buckets, bounding the relative error of any reported quantile to
+ * about 3% over the entire range of a {@code long}. All buckets are allocated
+ * up front, so {@link #record(long)} never allocates and is safe to call from
+ * any thread.</p>
+ *
+ * <p>The exposition format wants cumulative buckets at fixed boundaries,
+ * those are summed from the fine grained buckets when the histogram is
+ * written out and are therefore only as exact as the buckets are.</p>
+ */
+public final class LatencyHistogram extends Metric {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    // Values below twice the sub bucket count are counted exactly
+    private static final int LINEAR_BUCKETS = LatencyHistogram.SUB_BUCKETS << 1;
+    static final int BUCKETS = LatencyHistogram.index(Long.MAX_VALUE) + 1;
+
+    /**
+     * Boundaries suited for most latencies on the server thread, from ten
+     * microseconds to ten seconds.
+     */
+    public static final long[] DEFAULT_BOUNDARIES = {
+        TimeUnit.MICROSECONDS.toNanos(10), TimeUnit.MICROSECONDS.toNanos(50), TimeUnit.MICROSECONDS.toNanos(100),
+        TimeUnit.MICROSECONDS.toNanos(250), TimeUnit.MICROSECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(1),
+        TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(25), TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(100),
+        TimeUnit.MILLISECONDS.toNanos(250), TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1),
+        TimeUnit.SECONDS.toNanos(10)
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final long[] boundaries;
+
+    LatencyHistogram(final String name, final String help, final long[] boundaries) {
+        super(name, help, "histogram");
+        this.boundaries = boundaries.clone();
+    }
+
+    static int index(final long value) {
+        if (value < LatencyHistogram.LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - LatencyHistogram.SUB_BUCKET_BITS;
+        return (shift << LatencyHistogram.SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestValue(final int index) {
+        if (index < LatencyHistogram.LINEAR_BUCKETS) {
+            return index;
+        }
+        final int shift = (index >>> LatencyHistogram.SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << LatencyHistogram.SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long highestValue(final int index) {
+        if (index == LatencyHistogram.BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return LatencyHistogram.lowestValue(index + 1) - 1;
+    }
+
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(LatencyHistogram.index(value));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = this.max.get())) {
+            if (this.max.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    public long count() {
+        return this.count.get();
+    }
+
+    public long sum() {
+        return this.sum.get();
+    }
+
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the value at the given quantile, the result is the highest value
+     * of the bucket the quantile falls in, capped by the largest recorded
+     * value.
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The value in nanoseconds, or 0 if nothing was recorded
+     */
+    public long quantile(final double quantile) {
+        final long total = this.count.get();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * total));
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValue(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    @Override
+    void writeSamples(final StringBuilder builder) {
+        // A single pass over the buckets, reading the total first keeps the
+        // +Inf bucket from being lower than the others if values are recorded concurrently
+        long seen = 0;
+        int bucket = 0;
+        final long[] cumulative = new long[this.boundaries.length];
+        for (int i = 0; i < this.boundaries.length; i++) {
+            final int last = LatencyHistogram.index(this.boundaries[i]);
+            for (; bucket <= last; bucket++) {
+                seen += this.counts.get(bucket);
+            }
+            cumulative[i] = seen;
+        }
+        final long total = Math.max(seen, this.count.get());
+        for (int i = 0; i < this.boundaries.length; i++) {
+            this.sample(builder, "_bucket", "le", Metric.seconds(this.boundaries[i]), cumulative[i]);
+        }
+        this.sample(builder, "_bucket", "le", "+Inf", total);
+        this.sample(builder, "_sum", Metric.seconds(this.sum.get()));
+        this.sample(builder, "_count", total);
+    }
+}
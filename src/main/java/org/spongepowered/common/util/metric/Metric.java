@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named instrument of a {@link MetricRegistry}, written out in the
+ * Prometheus text exposition format.
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+    private final String type;
+
+    Metric(final String name, final String help, final String type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    public final String name() {
+        return this.name;
+    }
+
+    public final String help() {
+        return this.help;
+    }
+
+    final void write(final StringBuilder builder) {
+        builder.append("# HELP ").append(this.name).append(' ').append(this.help).append('\n');
+        builder.append("# TYPE ").append(this.name).append(' ').append(this.type).append('\n');
+        this.writeSamples(builder);
+    }
+
+    abstract void writeSamples(StringBuilder builder);
+
+    final void sample(final StringBuilder builder, final String suffix, final Object value) {
+        builder.append(this.name).append(suffix).append(' ').append(value).append('\n');
+    }
+
+    final void sample(final StringBuilder builder, final String suffix, final String label, final String labelValue, final Object value) {
+        builder.append(this.name).append(suffix).append('{').append(label).append("=\"");
+        Metric.escape(builder, labelValue);
+        builder.append("\"} ").append(value).append('\n');
+    }
+
+    static String seconds(final long nanos) {
+        return Double.toString((double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void escape(final StringBuilder builder, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+}
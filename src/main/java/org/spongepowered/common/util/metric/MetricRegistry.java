@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the operational metrics of the server and writes them out in the
+ * Prometheus text exposition format.
+ *
+ * <p>Instruments are registered once, usually into static fields, and
+ * updating them afterwards never allocates.</p>
+ */
+public final class MetricRegistry {
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    public Counter counter(final String name, final String help) {
+        return this.register(new Counter(name, help));
+    }
+
+    public SuppliedMetric counter(final String name, final String help, final DoubleSupplier value) {
+        return this.register(new SuppliedMetric(name, help, "counter", value));
+    }
+
+    public SuppliedMetric gauge(final String name, final String help, final DoubleSupplier value) {
+        return this.register(new SuppliedMetric(name, help, "gauge", value));
+    }
+
+    public <K> LabeledCounter<K> labeledCounter(final String name, final String help, final String label,
+            final Function<? super K, String> labelValue) {
+        return this.register(new LabeledCounter<>(name, help, MetricRegistry.checkName(label), labelValue));
+    }
+
+    public LabeledGauge labeledGauge(final String name, final String help, final String label) {
+        return this.register(new LabeledGauge(name, help, MetricRegistry.checkName(label)));
+    }
+
+    public LatencyHistogram histogram(final String name, final String help) {
+        return this.histogram(name, help, LatencyHistogram.DEFAULT_BOUNDARIES);
+    }
+
+    public LatencyHistogram histogram(final String name, final String help, final long[] boundaries) {
+        return this.register(new LatencyHistogram(name, help, boundaries));
+    }
+
+    public @Nullable Metric get(final String name) {
+        return this.metrics.get(name);
+    }
+
+    /**
+     * Gets the registered metrics, ordered by name.
+     *
+     * @return The metrics
+     */
+    public Collection<Metric> metrics() {
+        return Collections.unmodifiableCollection(this.metrics.values());
+    }
+
+    public void write(final StringBuilder builder) {
+        for (final Metric metric : this.metrics.values()) {
+            metric.write(builder);
+        }
+    }
+
+    public String write() {
+        final StringBuilder builder = new StringBuilder(8192);
+        this.write(builder);
+        return builder.toString();
+    }
+
+    private <M extends Metric> M register(final M metric) {
+        MetricRegistry.checkName(metric.name());
+        Objects.requireNonNull(metric.help(), "help");
+        if (this.metrics.putIfAbsent(metric.name(), metric) != null) {
+            throw new IllegalArgumentException("A metric named " + metric.name() + " is already registered");
+        }
+        return metric;
+    }
+
+    private static String checkName(final String name) {
+        if (!MetricRegistry.NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric or label name " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.server.level.ServerLevelAccessor;
+import org.spongepowered.common.applaunch.config.common.MetricsCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.command.manager.CommandCompletionExecutor;
+import org.spongepowered.common.event.chunk.ChunkLifecycleBatch;
+import org.spongepowered.common.event.chunk.ChunkLifecycleBatches;
+import org.spongepowered.common.event.chunk.ChunkLifecycleListener;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.scheduler.TickWorkQueue;
+import org.spongepowered.common.user.UserFileIO;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The operational metrics of the server.
+ *
+ * <p>Hot paths test {@link #isEnabled()} before taking any timestamps, so
+ * disabling metrics in the configuration leaves only that check behind.
+ * Values that are kept elsewhere, such as the pending user data writes, are
+ * read when the registry is written out instead.</p>
+ */
+public final class SpongeMetrics {
+
+    private static final int WORLD_SAMPLE_INTERVAL = 20;
+
+    public static final MetricRegistry REGISTRY = new MetricRegistry();
+
+    public static final LatencyHistogram TICK_DURATION = SpongeMetrics.REGISTRY.histogram("sponge_tick_duration_seconds",
+        "The duration of full server ticks", new long[] {
+            TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(20),
+            TimeUnit.MILLISECONDS.toNanos(30), TimeUnit.MILLISECONDS.toNanos(40), TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(75), TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(250),
+            TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1)
+        });
+    public static final LatencyHistogram EVENT_POST = SpongeMetrics.REGISTRY.histogram("sponge_event_post_duration_seconds",
+        "The time taken to pass a posted event to all of its listeners");
+    public static final LatencyHistogram CHUNK_LOAD = SpongeMetrics.REGISTRY.histogram("sponge_chunk_load_duration_seconds",
+        "The time taken on the server thread to bring a loaded or generated chunk into its world");
+    public static final LatencyHistogram CHUNK_SAVE = SpongeMetrics.REGISTRY.histogram("sponge_chunk_save_duration_seconds",
+        "The time taken to serialize a chunk and queue it for writing");
+    public static final LabeledCounter<ResourceKey> CHANNEL_RECEIVED_BYTES = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_network_channel_received_bytes_total", "The payload bytes received on each network channel", "channel", ResourceKey::asString);
+    public static final LabeledCounter<ResourceKey> CHANNEL_SENT_BYTES = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_network_channel_sent_bytes_total", "The payload bytes sent on each network channel", "channel", ResourceKey::asString);
+    public static final LabeledGauge WORLD_ENTITIES = SpongeMetrics.REGISTRY.labeledGauge("sponge_world_entities",
+        "The entities in each world", "world");
+    public static final LabeledGauge WORLD_BLOCK_ENTITIES = SpongeMetrics.REGISTRY.labeledGauge("sponge_world_block_entities",
+        "The block entities in each world", "world");
+    public static final LabeledGauge WORLD_CHUNKS = SpongeMetrics.REGISTRY.labeledGauge("sponge_world_loaded_chunks",
+        "The loaded chunks of each world", "world");
+    public static final LabeledCounter<ResourceKey> WORLD_CHUNKS_GENERATED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_world_chunks_generated_total", "The chunks generated in each world", "world", ResourceKey::asString);
+    public static final LabeledCounter<ResourceKey> WORLD_CHUNKS_LOADED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_world_chunks_loaded_total", "The chunks loaded into each world", "world", ResourceKey::asString);
+    public static final LabeledCounter<ResourceKey> WORLD_CHUNKS_UNLOADED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_world_chunks_unloaded_total", "The chunks unloaded from each world", "world", ResourceKey::asString);
+    public static final LabeledCounter<TickWorkQueue.Priority> TICK_WORK_EXECUTED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_tick_work_executed_total", "The deferrable work run at the end of a tick", "priority", SpongeMetrics::priority);
+    public static final LabeledCounter<TickWorkQueue.Priority> TICK_WORK_DEFERRED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_tick_work_deferred_total", "The deferrable work carried over to the next tick, once for every tick it waited",
+        "priority", SpongeMetrics::priority);
+    public static final LabeledCounter<TickWorkQueue.Priority> TICK_WORK_FORCED = SpongeMetrics.REGISTRY.labeledCounter(
+        "sponge_tick_work_forced_total", "The deferrable work run past the tick budget after being deferred for too long",
+        "priority", SpongeMetrics::priority);
+
+    static {
+        SpongeMetrics.REGISTRY.gauge("sponge_scheduler_sync_tasks", "The tasks of the server scheduler",
+            () -> SpongeCommon.getGame().isServerAvailable() ? ((SpongeScheduler) SpongeCommon.getGame().server().scheduler()).taskCount() : 0);
+        SpongeMetrics.REGISTRY.gauge("sponge_scheduler_async_tasks", "The tasks of the asynchronous scheduler",
+            () -> SpongeCommon.getAsyncScheduler().taskCount());
+        SpongeMetrics.REGISTRY.gauge("sponge_tick_work_pending", "The deferrable work waiting to be run",
+            () -> SpongeCommon.getGame().isServerAvailable() ? SpongeCommon.getServerScheduler().workQueue().size() : 0);
+        SpongeMetrics.REGISTRY.counter("sponge_user_data_loads_total", "The user data files read from disk", UserFileIO::loads);
+        SpongeMetrics.REGISTRY.counter("sponge_user_data_load_seconds_total", "The time spent reading user data files",
+            () -> UserFileIO.totalLoadTime(TimeUnit.MICROSECONDS) / 1_000_000.0);
+        SpongeMetrics.REGISTRY.gauge("sponge_user_data_load_average_seconds", "The average time taken to read a user data file",
+            () -> UserFileIO.averageLoadTime(TimeUnit.MICROSECONDS) / 1_000_000.0);
+        SpongeMetrics.REGISTRY.gauge("sponge_user_data_load_max_seconds", "The longest time taken to read a user data file",
+            () -> UserFileIO.maxLoadTime(TimeUnit.MICROSECONDS) / 1_000_000.0);
+        SpongeMetrics.REGISTRY.counter("sponge_user_data_warm_hits_total", "The user data loads served by a preload", UserFileIO::warmHits);
+        SpongeMetrics.REGISTRY.counter("sponge_user_data_writes_total", "The user data files written", UserFileIO::writes);
+        SpongeMetrics.REGISTRY.counter("sponge_user_data_failed_writes_total", "The user data files that failed to be written",
+            UserFileIO::failedWrites);
+        SpongeMetrics.REGISTRY.gauge("sponge_user_data_pending_writes", "The user data files waiting to be written", UserFileIO::pendingWrites);
+        SpongeMetrics.REGISTRY.counter("sponge_command_completion_requests_total", "The tab completion requests received",
+            () -> CommandCompletionExecutor.get().requests());
+        SpongeMetrics.REGISTRY.counter("sponge_command_completion_dropped_total", "The tab completion requests superseded before being computed",
+            () -> CommandCompletionExecutor.get().dropped());
+        SpongeMetrics.REGISTRY.counter("sponge_command_completion_failures_total", "The tab completion requests that failed",
+            () -> CommandCompletionExecutor.get().failures());
+    }
+
+    // Counted from the per tick batches, so the chunk churn is tracked without a listener per chunk
+    private static final ChunkLifecycleListener CHUNK_CHURN = SpongeMetrics::chunksChanged;
+
+    private static boolean enabled = SpongeConfigs.getCommon().get().metrics.enabled;
+    private static @Nullable MetricsEndpoint endpoint;
+
+    private SpongeMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return SpongeMetrics.enabled;
+    }
+
+    public static @Nullable MetricsEndpoint endpoint() {
+        return SpongeMetrics.endpoint;
+    }
+
+    /**
+     * Applies the configuration, starting the endpoint if it is enabled.
+     */
+    public static synchronized void start() {
+        final MetricsCategory category = SpongeConfigs.getCommon().get().metrics;
+        SpongeMetrics.enabled = category.enabled;
+        SpongeMetrics.stop();
+        if (category.enabled) {
+            ChunkLifecycleBatches.subscribe(SpongeMetrics.CHUNK_CHURN);
+        }
+        if (!category.endpoint.enabled) {
+            return;
+        }
+        try {
+            SpongeMetrics.endpoint = MetricsEndpoint.start(SpongeMetrics.REGISTRY,
+                new InetSocketAddress(category.endpoint.address, category.endpoint.port), category.endpoint.path);
+            SpongeCommon.getLogger().info("Serving metrics on http://{}:{}{}", category.endpoint.address, category.endpoint.port,
+                category.endpoint.path);
+        } catch (final IOException | IllegalArgumentException e) {
+            SpongeCommon.getLogger().error("Could not start the metrics endpoint on {}:{}", category.endpoint.address,
+                category.endpoint.port, e);
+        }
+    }
+
+    public static synchronized void stop() {
+        ChunkLifecycleBatches.unsubscribe(SpongeMetrics.CHUNK_CHURN);
+        if (SpongeMetrics.endpoint != null) {
+            SpongeMetrics.endpoint.close();
+            SpongeMetrics.endpoint = null;
+        }
+    }
+
+    /**
+     * Called on the server thread at the end of every tick.
+     *
+     * @param server The server
+     * @param tickCount The number of the tick
+     * @param tickNanos The duration of the tick
+     */
+    public static void onServerTick(final MinecraftServer server, final int tickCount, final long tickNanos) {
+        SpongeMetrics.TICK_DURATION.record(tickNanos);
+        if (tickCount % SpongeMetrics.WORLD_SAMPLE_INTERVAL != 0) {
+            return;
+        }
+        SpongeMetrics.WORLD_ENTITIES.beginUpdate();
+        SpongeMetrics.WORLD_BLOCK_ENTITIES.beginUpdate();
+        SpongeMetrics.WORLD_CHUNKS.beginUpdate();
+        for (final ServerLevel level : server.getAllLevels()) {
+            final String key = level.dimension().location().toString();
+            SpongeMetrics.WORLD_ENTITIES.set(key, ((ServerLevelAccessor) level).accessor$entitiesById().size());
+            SpongeMetrics.WORLD_BLOCK_ENTITIES.set(key, level.blockEntityList.size());
+            SpongeMetrics.WORLD_CHUNKS.set(key, level.getChunkSource().getLoadedChunksCount());
+        }
+        SpongeMetrics.WORLD_ENTITIES.endUpdate();
+        SpongeMetrics.WORLD_BLOCK_ENTITIES.endUpdate();
+        SpongeMetrics.WORLD_CHUNKS.endUpdate();
+    }
+
+    static void chunksChanged(final ChunkLifecycleBatch batch) {
+        if (!batch.generated().isEmpty()) {
+            SpongeMetrics.WORLD_CHUNKS_GENERATED.add(batch.world(), batch.generated().size());
+        }
+        if (!batch.loaded().isEmpty()) {
+            SpongeMetrics.WORLD_CHUNKS_LOADED.add(batch.world(), batch.loaded().size());
+        }
+        if (!batch.unloaded().isEmpty()) {
+            SpongeMetrics.WORLD_CHUNKS_UNLOADED.add(batch.world(), batch.unloaded().size());
+        }
+    }
+
+    private static String priority(final TickWorkQueue.Priority priority) {
+        return priority.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -24,6 +24,10 @@
  */
 package org.spongepowered.common.util.raytrace;
 
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -37,16 +41,11 @@
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.api.world.server.ServerLocation;
 import org.spongepowered.api.world.server.ServerWorld;
-import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
 
 public abstract class AbstractSpongeRayTrace<T extends Locatable> implements RayTrace<@NonNull T> {
 
@@ -154,50 +153,35 @@
         this.setupEnd();
 
         // get the direction
-        final Vector3d directionWithLength = this.end.sub(this.start);
-        final double length = directionWithLength.length();
-        final Vector3d direction = directionWithLength.normalize();
-        if (direction.lengthSquared() == 0) {
+        final double length = this.end.distance(this.start);
+        if (length == 0) {
             throw new IllegalStateException("The start and end must be two different vectors");
         }
+        final double dirX = (this.end.x() - this.start.x()) / length;
+        final double dirY = (this.end.y() - this.start.y()) / length;
+        final double dirZ = (this.end.z() - this.start.z()) / length;
 
         final ServerWorld serverWorld = Sponge.server().worldManager().world(this.world)
                 .orElseThrow(() -> new IllegalStateException("World with key " + this.world.formatted() + " is not loaded!"));
 
-        Vector3i currentBlock = this.initialBlock(direction);
-        final Vector3i steps = this.createSteps(direction);
+        // The ray equation is, vec(u) + t vec(d). Walk the grid one block at a time.
+        final Cell cell = new Cell(serverWorld, this.start, dirX, dirY, dirZ);
+        final RayGridWalk walk = new RayGridWalk(this.start.x(), this.start.y(), this.start.z(), dirX, dirY, dirZ);
 
-        // The ray equation is, vec(u) + t vec(d). From a point (x, y), there is a t
-        // that we need to traverse to get to a boundary. We work that out now...
-        TData tData = this.createInitialTData(direction);
-        Vector3d currentLocation = new Vector3d(this.start.x(), this.start.y(), this.start.z());
-        final boolean requiresEntityTracking = this.requiresEntityTracking();
+        this.prepare(cell, length);
+        while (true) {
+            final double exit = walk.exit();
+            // This is the last step if it passes the end, we stop after this set of checks.
+            final boolean last = exit > length;
+            cell.moveTo(walk.x, walk.y, walk.z, walk.enter, last ? length : exit);
 
-        boolean requireAdvancement = true;
-        while (requireAdvancement) {
-            final net.minecraft.world.phys.Vec3 vec3dstart = VecHelper.toVanillaVector3d(currentLocation);
             // As this iteration is for the CURRENT block location, we need to check where we are with the filter.
-            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(ServerLocation.of(serverWorld, currentBlock))) {
+            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(ServerLocation.of(serverWorld, walk.x, walk.y, walk.z))) {
                 return Optional.empty();
             }
-            final Vector3d nextLocation;
-            final net.minecraft.world.phys.Vec3 vec3dend;
-            if (tData.getTotalTWithNextStep() > length) {
-                // This is the last step, we break out of the loop after this set of checks.
-                requireAdvancement = false;
-                nextLocation = this.end;
-                vec3dend = VecHelper.toVanillaVector3d(this.end);
-            } else {
-                nextLocation = currentLocation.add(
-                        direction.x() * tData.getNextStep(),
-                        direction.y() * tData.getNextStep(),
-                        direction.z() * tData.getNextStep()
-                );
-                vec3dend = VecHelper.toVanillaVector3d(nextLocation);
-            }
 
             // Get the selection result.
-            final Optional<RayTraceResult<@NonNull T>> result = this.testSelectLocation(serverWorld, vec3dstart, vec3dend);
+            final Optional<RayTraceResult<@NonNull T>> result = this.testSelectLocation(cell);
             if (result.isPresent() && !this.shouldCheckFailures()) {
                 // either this is a block ray, so no failures need to be checked, else
                 // we return the entity later if there isn't an entity in front of it
@@ -206,45 +190,22 @@
             }
 
             // Ensure that the block can be travelled through.
-            if (!this.shouldAdvanceThroughBlock(serverWorld, vec3dstart, vec3dend)) {
+            if (this.continueWhileBlock != null && !this.continueWhileBlock.test(cell.block())) {
                 return Optional.empty();
             }
 
             // Ensure that the entities in the block can be travelled through.
-            if (requiresEntityTracking && this.continueWhileEntity != null) {
-                final double resultDistance;
-                if (result.isPresent()) {
-                    resultDistance = result.get().hitPosition().distanceSquared(currentLocation);
-                } else {
-                    resultDistance = Double.MAX_VALUE;
-                }
-                final AABB targetAABB = this.getBlockAABB(currentBlock);
-                for (final net.minecraft.world.entity.Entity entity : this.getFailingEntities(serverWorld, targetAABB)) {
-                    final Optional<net.minecraft.world.phys.Vec3> vec3d = entity.getBoundingBox().clip(vec3dstart, vec3dend);
-                    if (vec3d.isPresent()) {
-                        final net.minecraft.world.phys.Vec3 hitPosition = vec3d.get();
-                        final double sqdist = hitPosition.distanceToSqr(vec3dstart);
-                        if (sqdist < resultDistance) {
-                            // We have a failure, so at this point we just bail out and end the trace.
-                            return Optional.empty();
-                        }
-                    }
-                }
+            if (cell.obstructed) {
+                return Optional.empty();
             }
 
             // If we still have a result at this point, return it.
-            if (result.isPresent()) {
+            if (result.isPresent() || last) {
                 return result;
             }
 
-            if (requireAdvancement) {
-                currentLocation = nextLocation;
-                currentBlock = this.getNextBlock(currentBlock, tData, steps);
-                tData = this.advance(tData, steps, direction);
-            }
+            walk.advance();
         }
-
-        return Optional.empty();
     }
 
     @Override
@@ -259,61 +220,17 @@
         return this;
     }
 
-    final Vector3i getNextBlock(final Vector3i current, final TData data, final Vector3i steps) {
-        return current.add(
-                data.nextStepWillAdvanceX() ? steps.x() : 0,
-                data.nextStepWillAdvanceY() ? steps.y() : 0,
-                data.nextStepWillAdvanceZ() ? steps.x() : 0
-        );
-    }
-
-    final Vector3i createSteps(final Vector3d direction) {
-        return new Vector3i(
-                Math.signum(direction.x()),
-                Math.signum(direction.y()),
-                Math.signum(direction.z())
-        );
-    }
-
-    final AABB getBlockAABB(final Vector3i currentBlock) {
-        return new AABB(currentBlock.x(),
-                currentBlock.y(), currentBlock.z(), currentBlock.x() + 1, currentBlock.y() + 1, currentBlock.z() + 1);
-    }
-
-    private List<net.minecraft.world.entity.Entity> getFailingEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return ((Level) serverWorld).getEntities((net.minecraft.world.entity.Entity) null, targetAABB, (Predicate) this.continueWhileEntity.negate());
+    /**
+     * Called once before the ray is walked, for any work that can be done
+     * for the whole ray at once.
+     *
+     * @param cell The cell that will be walked along the ray
+     * @param length The length of the ray
+     */
+    void prepare(final Cell cell, final double length) {
     }
 
-    boolean requiresEntityTracking() {
-        return this.continueWhileEntity != null;
-    }
-
-    List<net.minecraft.world.entity.Entity> selectEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return Collections.emptyList();
-    }
-
-    abstract Optional<RayTraceResult<@NonNull T>> testSelectLocation(final ServerWorld serverWorld,
-            final net.minecraft.world.phys.Vec3 location,
-            final net.minecraft.world.phys.Vec3 exitLocation);
-
-    final LocatableBlock getBlock(final ServerWorld world, final net.minecraft.world.phys.Vec3 in, final net.minecraft.world.phys.Vec3 out) {
-        final Vector3i coord = new Vector3i(
-                Math.min(in.x, out.x),
-                Math.min(in.y, out.y),
-                Math.min(in.z, out.z)
-        );
-        return world.locatableBlock(coord);
-    }
-
-    private boolean shouldAdvanceThroughBlock(final ServerWorld serverWorld,
-            final net.minecraft.world.phys.Vec3 location,
-            final net.minecraft.world.phys.Vec3 exitLocation) {
-        if (this.continueWhileBlock == null) {
-            return true;
-        }
-
-        return this.continueWhileBlock.test(this.getBlock(serverWorld, location, exitLocation));
-    }
+    abstract Optional<RayTraceResult<@NonNull T>> testSelectLocation(final Cell cell);
 
     boolean shouldCheckFailures() {
         return false;
@@ -338,94 +255,72 @@ final void setupEnd() {
         }
     }
 
-    final Vector3i initialBlock(final Vector3d direction) {
-        return new Vector3i(
-                this.start.x() - (direction.x() < 0 && this.start.x() == 0 ? 1 : 0),
-                this.start.y() - (direction.y() < 0 && this.start.y() == 0 ? 1 : 0),
-                this.start.z() - (direction.z() < 0 && this.start.z() == 0 ? 1 : 0)
-        );
-    }
-
-    final TData createInitialTData(final Vector3d direction) {
-        return new TData(
-                0,
-                this.getT(this.start.x(), direction.x(), this.end.x()),
-                this.getT(this.start.y(), direction.y(), this.end.y()),
-                this.getT(this.start.z(), direction.z(), this.end.z())
-        );
-    }
-
-    final TData advance(final TData data, final Vector3i steps, final Vector3d direction) {
-        final double nextStep = data.getNextStep();
-        return new TData(
-                data.getTotalTWithNextStep(),
-                data.nextStepWillAdvanceX() ? steps.x() / direction.x() : data.gettToX() - nextStep,
-                data.nextStepWillAdvanceY() ? steps.y() / direction.y() : data.gettToY() - nextStep,
-                data.nextStepWillAdvanceZ() ? steps.z() / direction.z() : data.gettToZ() - nextStep
-        );
-    }
-
-    private double getT(final double start, final double direction, final double end) {
-        if (direction > 0) {
-            return (Math.min(end, Math.ceil(start)) - start) / direction;
-        } else if (direction < 0) {
-            return (Math.max(end, Math.floor(start)) - start) / direction;
-        } else {
-            // Infinity - indicates we never reach a boundary.
-            return Double.POSITIVE_INFINITY;
-        }
-    }
-
-    static final class TData {
-
-        private final double totalT;
-        private final double tToX;
-        private final double tToY;
-        private final double tToZ;
-        private final double nextStep;
-
-        TData(final double totalT, final double tToX, final double tToY, final double tToZ) {
-            this.totalT = totalT;
-            this.tToX = tToX;
-            this.tToY = tToY;
-            this.tToZ = tToZ;
-            this.nextStep = Math.min(tToX, Math.min(tToY, tToZ));
-        }
-
-        public double getTotalT() {
-            return this.totalT;
+    /**
+     * The block the ray is currently passing through, reused for every step
+     * of a trace. The block state and {@link LocatableBlock} are only looked
+     * up once something asks for them.
+     */
+    static final class Cell {
+
+        final ServerWorld world;
+        final ServerLevel level;
+        final double startX;
+        final double startY;
+        final double startZ;
+        final double dirX;
+        final double dirY;
+        final double dirZ;
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        // The distances along the ray at which it enters and leaves this block
+        double enter;
+        double exit;
+        // Set when an entity failing the continue while filter is hit before the selection
+        boolean obstructed;
+        private @Nullable LevelChunk chunk;
+        private @Nullable BlockState state;
+        private @Nullable LocatableBlock block;
+
+        Cell(final ServerWorld world, final Vector3d start, final double dirX, final double dirY, final double dirZ) {
+            this.world = world;
+            this.level = (ServerLevel) world;
+            this.startX = start.x();
+            this.startY = start.y();
+            this.startZ = start.z();
+            this.dirX = dirX;
+            this.dirY = dirY;
+            this.dirZ = dirZ;
         }
 
-        public double gettToX() {
-            return this.tToX;
+        void moveTo(final int x, final int y, final int z, final double enter, final double exit) {
+            this.pos.set(x, y, z);
+            this.enter = enter;
+            this.exit = exit;
+            this.obstructed = false;
+            this.state = null;
+            this.block = null;
         }
 
-        public double gettToY() {
-            return this.tToY;
-        }
-
-        public double gettToZ() {
-            return this.tToZ;
-        }
-
-        public boolean nextStepWillAdvanceX() {
-            return this.tToX <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceY() {
-            return this.tToY <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceZ() {
-            return this.tToZ <= this.nextStep;
+        BlockState state() {
+            if (this.state == null) {
+                final int chunkX = this.pos.getX() >> 4;
+                final int chunkZ = this.pos.getZ() >> 4;
+                if (this.chunk == null || this.chunk.getPos().x != chunkX || this.chunk.getPos().z != chunkZ) {
+                    this.chunk = this.level.getChunk(chunkX, chunkZ);
+                }
+                this.state = this.chunk.getBlockState(this.pos);
+            }
+            return this.state;
         }
 
-        public double getNextStep() {
-            return this.nextStep;
+        LocatableBlock block() {
+            if (this.block == null) {
+                this.block = this.world.locatableBlock(new Vector3i(this.pos.getX(), this.pos.getY(), this.pos.getZ()));
+            }
+            return this.block;
         }
 
-        public double getTotalTWithNextStep() {
-            return this.nextStep + this.totalT;
+        Vector3d position(final double t) {
+            return new Vector3d(this.startX + this.dirX * t, this.startY + this.dirY * t, this.startZ + this.dirZ * t);
         }
     }
 
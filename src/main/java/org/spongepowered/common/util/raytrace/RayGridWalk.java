@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+/**
+ * Walks the blocks a ray passes through in order, one block per step. For
+ * every axis it tracks the distance along the ray at which the next block
+ * boundary is crossed and the distance it takes to cross a whole block.
+ */
+final class RayGridWalk {
+
+    private final int stepX;
+    private final int stepY;
+    private final int stepZ;
+    private final double deltaX;
+    private final double deltaY;
+    private final double deltaZ;
+    private double tToX;
+    private double tToY;
+    private double tToZ;
+    // The block the ray is in, and the distance along the ray at which it entered it
+    int x;
+    int y;
+    int z;
+    double enter;
+
+    /**
+     * Starts a walk.
+     *
+     * @param startX The x coordinate of the start of the ray
+     * @param startY The y coordinate of the start of the ray
+     * @param startZ The z coordinate of the start of the ray
+     * @param dirX The x component of the normalized direction
+     * @param dirY The y component of the normalized direction
+     * @param dirZ The z component of the normalized direction
+     */
+    RayGridWalk(final double startX, final double startY, final double startZ, final double dirX, final double dirY, final double dirZ) {
+        this.x = RayGridWalk.initialBlock(startX, dirX);
+        this.y = RayGridWalk.initialBlock(startY, dirY);
+        this.z = RayGridWalk.initialBlock(startZ, dirZ);
+        this.stepX = (int) Math.signum(dirX);
+        this.stepY = (int) Math.signum(dirY);
+        this.stepZ = (int) Math.signum(dirZ);
+        this.deltaX = this.stepX == 0 ? Double.POSITIVE_INFINITY : this.stepX / dirX;
+        this.deltaY = this.stepY == 0 ? Double.POSITIVE_INFINITY : this.stepY / dirY;
+        this.deltaZ = this.stepZ == 0 ? Double.POSITIVE_INFINITY : this.stepZ / dirZ;
+        this.tToX = RayGridWalk.initialT(startX, this.x, dirX);
+        this.tToY = RayGridWalk.initialT(startY, this.y, dirY);
+        this.tToZ = RayGridWalk.initialT(startZ, this.z, dirZ);
+    }
+
+    private static int initialBlock(final double start, final double direction) {
+        final int block = (int) Math.floor(start);
+        // Starting on a boundary while going backwards, we are in the block behind it
+        return direction < 0 && block == start ? block - 1 : block;
+    }
+
+    private static double initialT(final double start, final int block, final double direction) {
+        if (direction > 0) {
+            return (block + 1 - start) / direction;
+        } else if (direction < 0) {
+            return (block - start) / direction;
+        } else {
+            // Infinity - indicates we never reach a boundary.
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Gets the distance along the ray at which it leaves the current block.
+     *
+     * @return The distance
+     */
+    double exit() {
+        return Math.min(this.tToX, Math.min(this.tToY, this.tToZ));
+    }
+
+    /**
+     * Moves to the next block, advancing every axis whose boundary is crossed
+     * when leaving the current block. Passing through an edge or a corner
+     * advances more than one axis at once.
+     */
+    void advance() {
+        final double exit = this.exit();
+        if (this.tToX <= exit) {
+            this.x += this.stepX;
+            this.tToX += this.deltaX;
+        }
+        if (this.tToY <= exit) {
+            this.y += this.stepY;
+            this.tToY += this.deltaY;
+        }
+        if (this.tToZ <= exit) {
+            this.z += this.stepZ;
+            this.tToZ += this.deltaZ;
+        }
+        this.enter = exit;
+    }
+}
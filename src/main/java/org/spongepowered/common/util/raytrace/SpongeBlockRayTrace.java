@@ -29,12 +29,9 @@
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.blockray.RayTraceResult;
 import org.spongepowered.api.world.LocatableBlock;
-import org.spongepowered.api.world.server.ServerWorld;
-import org.spongepowered.common.util.VecHelper;
 
 import java.util.Optional;
 import java.util.function.Predicate;
-import net.minecraft.world.phys.Vec3;
 
 public final class SpongeBlockRayTrace extends AbstractSpongeRayTrace<@NonNull LocatableBlock> {
 
@@ -48,14 +45,15 @@ public final class SpongeBlockRayTrace extends AbstractSpongeRayTrace<@NonNull L
     }
 
     @Override
-    final Optional<RayTraceResult<@NonNull LocatableBlock>> testSelectLocation(final ServerWorld serverWorld,
-            final Vec3 location,
-            final Vec3 exitLocation) {
-
-        final LocatableBlock initialBlock = this.getBlock(serverWorld, location, exitLocation);
-        if (this.select.test(initialBlock)) {
-            return Optional.of(new SpongeRayTraceResult<>(initialBlock, VecHelper.toVector3d(location)));
+    final Optional<RayTraceResult<@NonNull LocatableBlock>> testSelectLocation(final Cell cell) {
+        if (this.select == SpongeBlockRayTrace.DEFAULT_FILTER) {
+            // Same as the default filter, without creating the block for every step
+            if (cell.state().isAir()) {
+                return Optional.empty();
+            }
+        } else if (!this.select.test(cell.block())) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.of(new SpongeRayTraceResult<>(cell.block(), cell.position(cell.enter)));
     }
 }
@@ -25,58 +25,101 @@
 package org.spongepowered.common.util.raytrace;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.util.blockray.RayTraceResult;
-import org.spongepowered.api.world.LocatableBlock;
-import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.common.util.VecHelper;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
 public final class SpongeEntityRayTrace extends AbstractSpongeRayTrace<@NonNull Entity> {
 
     private static final Predicate<Entity> DEFAULT_FILTER = entity -> true;
+    private static final Predicate<net.minecraft.world.entity.Entity> ANY = entity -> true;
+
+    // Every entity the ray enters that is selected or fails the continue while filter, nearest first
+    private final List<EntityHit> hits = new ArrayList<>();
+    private int nextHit;
 
     public SpongeEntityRayTrace() {
         super(SpongeEntityRayTrace.DEFAULT_FILTER);
     }
 
     @Override
-    boolean requiresEntityTracking() {
-        return true;
-    }
-
-    @Override
-    List<net.minecraft.world.entity.Entity> selectEntities(final ServerWorld serverWorld, final AABB targetAABB) {
-        return ((Level) serverWorld).getEntities((net.minecraft.world.entity.Entity) null, targetAABB, (Predicate) this.select);
+    void prepare(final Cell cell, final double length) {
+        this.hits.clear();
+        this.nextHit = 0;
+        // One query for the whole ray, rather than one for every block it passes through
+        final Vec3 from = new Vec3(cell.startX, cell.startY, cell.startZ);
+        final Vec3 to = new Vec3(cell.startX + cell.dirX * length, cell.startY + cell.dirY * length, cell.startZ + cell.dirZ * length);
+        for (final net.minecraft.world.entity.Entity entity : cell.level.getEntities((net.minecraft.world.entity.Entity) null, new AABB(from, to),
+                SpongeEntityRayTrace.ANY)) {
+            final Optional<Vec3> hitPosition = entity.getBoundingBox().clip(from, to);
+            if (!hitPosition.isPresent()) {
+                continue;
+            }
+            final boolean selected = this.select.test((Entity) entity);
+            final boolean failing = this.continueWhileEntity != null && !this.continueWhileEntity.test((Entity) entity);
+            if (selected || failing) {
+                this.hits.add(new EntityHit(entity, hitPosition.get(), hitPosition.get().distanceTo(from), selected, failing));
+            }
+        }
+        this.hits.sort(EntityHit.NEAREST_FIRST);
     }
 
     @Override
-    final Optional<RayTraceResult<@NonNull Entity>> testSelectLocation(final ServerWorld serverWorld, final Vec3 vec3din, final Vec3 vec3dend) {
-        double currentSqDist = Double.MAX_VALUE;
-        RayTraceResult<@NonNull Entity> returnedEntity = null;
-        final LocatableBlock locatableBlock = this.getBlock(serverWorld, vec3din, vec3dend);
-        for (final net.minecraft.world.entity.Entity entity : this.selectEntities(serverWorld, this.getBlockAABB(locatableBlock.blockPosition()))) {
-            final Optional<Vec3> vec3d = entity.getBoundingBox().clip(vec3din, vec3dend);
-            if (vec3d.isPresent()) {
-                final Vec3 hitPosition = vec3d.get();
-                final double sqdist = hitPosition.distanceToSqr(vec3din);
-                if (sqdist < currentSqDist) {
-                    currentSqDist = sqdist;
-                    returnedEntity = new SpongeRayTraceResult<>((Entity) entity, VecHelper.toVector3d(hitPosition));
-                }
+    final Optional<RayTraceResult<@NonNull Entity>> testSelectLocation(final Cell cell) {
+        @Nullable EntityHit selected = null;
+        double failingDistance = Double.POSITIVE_INFINITY;
+        while (this.nextHit < this.hits.size()) {
+            final EntityHit hit = this.hits.get(this.nextHit);
+            if (hit.distance > cell.exit) {
+                break;
+            }
+            this.nextHit++;
+            if (hit.selected && selected == null) {
+                selected = hit;
             }
+            if (hit.failing && hit.distance < failingDistance) {
+                failingDistance = hit.distance;
+            }
+        }
+        // Entities hit at the same distance as the selected one do not block the view of it
+        cell.obstructed = failingDistance < (selected == null ? Double.POSITIVE_INFINITY : selected.distance);
+        if (selected == null) {
+            return Optional.empty();
         }
-        return Optional.ofNullable(returnedEntity);
+        return Optional.of(new SpongeRayTraceResult<>((Entity) selected.entity, VecHelper.toVector3d(selected.position)));
     }
 
     @Override final boolean shouldCheckFailures() {
         return true;
     }
 
+    static final class EntityHit {
+
+        static final Comparator<EntityHit> NEAREST_FIRST = Comparator.comparingDouble(hit -> hit.distance);
+
+        final net.minecraft.world.entity.Entity entity;
+        final Vec3 position;
+        final double distance;
+        final boolean selected;
+        final boolean failing;
+
+        EntityHit(final net.minecraft.world.entity.Entity entity, final Vec3 position, final double distance, final boolean selected,
+                final boolean failing) {
+            this.entity = entity;
+            this.position = position;
+            this.distance = distance;
+            this.selected = selected;
+            this.failing = failing;
+        }
+    }
+
 }
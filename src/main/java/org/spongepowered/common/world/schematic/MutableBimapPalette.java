@@ -26,6 +26,8 @@
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.spongepowered.api.registry.Registry;
 import org.spongepowered.api.registry.RegistryHolder;
@@ -53,6 +55,9 @@
     private final Registry<R> registry;
     private final RegistryType<R> registryType;
     private int maxId = 0;
+    // Primitive lookups in front of the string based references, which are expensive to create per block
+    private final Object2IntOpenHashMap<T> stateIds = MutableBimapPalette.createStateIdCache();
+    private final Int2ObjectOpenHashMap<T> resolvedStates = new Int2ObjectOpenHashMap<>();
 
     public MutableBimapPalette(final PaletteType<T, R> paletteType, final Registry<R> registry, final RegistryType<R> registryType) {
         this.ids = HashBiMap.create();
@@ -93,8 +98,23 @@ public int highestId() {
         return this.maxId;
     }
 
+    private static <T> Object2IntOpenHashMap<T> createStateIdCache() {
+        final Object2IntOpenHashMap<T> cache = new Object2IntOpenHashMap<>();
+        cache.defaultReturnValue(-1);
+        return cache;
+    }
+
+    private void invalidateCaches() {
+        this.stateIds.clear();
+        this.resolvedStates.clear();
+    }
+
     @Override
     public OptionalInt get(final T state) {
+        final int cached = this.stateIds.getInt(state);
+        if (cached != -1) {
+            return OptionalInt.of(cached);
+        }
         final PaletteReference<T, R> ref = MutableBimapPalette.createPaletteReference(
             state,
             this.paletteType,
@@ -104,6 +124,7 @@ public OptionalInt get(final T state) {
         if (value == null) {
             return OptionalInt.empty();
         }
+        this.stateIds.put(state, value.intValue());
         return OptionalInt.of(value);
     }
 
@@ -123,12 +144,18 @@ private int getOrAssignInternal(final PaletteReference<T, R> ref) {
 
     @Override
     public int orAssign(final T state) {
+        final int cached = this.stateIds.getInt(state);
+        if (cached != -1) {
+            return cached;
+        }
         final PaletteReference<T, R> ref = MutableBimapPalette.createPaletteReference(
             state,
             this.paletteType,
             this.registry
         );
-        return this.getOrAssignInternal(ref);
+        final int id = this.getOrAssignInternal(ref);
+        this.stateIds.put(state, id);
+        return id;
     }
 
     @Override
@@ -138,10 +165,17 @@ public Optional<PaletteReference<T, R>> get(final int id) {
 
     @Override
     public Optional<T> get(final int id, final RegistryHolder holder) {
+        final T cached = this.resolvedStates.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         return this.get(id)
             .flatMap(ref -> {
                 final Optional<T> byRegistry = this.paletteType.resolver().apply(ref.value(), this.registry);
-                if (!byRegistry.isPresent()) {
+                if (byRegistry.isPresent()) {
+                    // Only values resolved through our own registry are independent of the holder
+                    this.resolvedStates.put(id, byRegistry.get());
+                } else {
                     return Objects.requireNonNull(holder,"RegistryHolder cannot be null")
                         .findRegistry(ref.registry())
                         .flatMap(reg -> this.type().resolver().apply(ref.value(), reg));
@@ -151,6 +185,7 @@ public Optional<T> get(final int id, final RegistryHolder holder) {
     }
 
     public int assign(final T state, final int id) {
+        this.invalidateCaches();
         if (this.maxId < id) {
             this.maxId = id;
         }
@@ -175,10 +210,16 @@ public int assign(final T state, final int id) {
 
     @Override
     public boolean remove(final T state) {
-        final Integer id = this.idsr.get(state);
+        final PaletteReference<T, R> ref = MutableBimapPalette.createPaletteReference(
+            state,
+            this.paletteType,
+            this.registry
+        );
+        final Integer id = this.idsr.get(ref);
         if (id == null) {
             return false;
         }
+        this.invalidateCaches();
         this.allocation.clear(id);
         if (id == this.maxId) {
             this.maxId = this.allocation.previousSetBit(this.maxId);
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.nbt.CompoundTag;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.biome.Biome;
+
+/**
+ * Receives the contents of a schematic as it is decoded by a
+ * {@link SchematicStreamReader}, one element at a time.
+ *
+ * <p>All positions are relative to the point the schematic is placed at,
+ * meaning the schematic offset has already been applied to them. Blocks are
+ * delivered in schematic order, y major, then z, then x.</p>
+ */
+public interface SchematicSink {
+
+    /**
+     * Called once before any block, biome or entity is delivered.
+     *
+     * @param width The width of the schematic
+     * @param height The height of the schematic
+     * @param length The length of the schematic
+     * @param minX The relative x of the first block
+     * @param minY The relative y of the first block
+     * @param minZ The relative z of the first block
+     */
+    default void start(final int width, final int height, final int length, final int minX, final int minY, final int minZ) {
+    }
+
+    void block(int x, int y, int z, BlockState state);
+
+    /**
+     * Called for each block entity, after the block it belongs to.
+     *
+     * @param x The relative x
+     * @param y The relative y
+     * @param z The relative z
+     * @param id The block entity type id
+     * @param data The block entity data, without position or id
+     */
+    default void blockEntity(final int x, final int y, final int z, final String id, final CompoundTag data) {
+    }
+
+    default void biome(final int x, final int y, final int z, final Biome biome) {
+    }
+
+    /**
+     * Called for each entity, after every block has been delivered.
+     *
+     * @param x The relative x
+     * @param y The relative y
+     * @param z The relative z
+     * @param id The entity type id
+     * @param data The entity data, without position or id
+     */
+    default void entity(final double x, final double y, final double z, final String id, final CompoundTag data) {
+    }
+
+    default void metadata(final CompoundTag metadata) {
+    }
+}
@@ -0,0 +1,633 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.TagTypes;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.registry.RegistryHolder;
+import org.spongepowered.api.registry.RegistryTypes;
+import org.spongepowered.api.world.biome.Biome;
+import org.spongepowered.common.block.BlockStateSerializerDeserializer;
+import org.spongepowered.common.util.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes Sponge schematics (versions 1 through 3) straight from their
+ * gzipped NBT form into a {@link SchematicSink}.
+ *
+ * <p>Unlike reading the schematic into a {@link SpongeSchematic}, neither the
+ * NBT tree nor a volume buffer is ever built. The block data is varint
+ * decoded from a fixed size buffer as it is inflated and every block is
+ * handed to the sink immediately, so memory use is bound by the palette and
+ * the block entities of the schematic rather than its volume.</p>
+ *
+ * <p>The format does not mandate an order for the entries of the schematic
+ * compound. Block and biome data that appears before the palette, size or
+ * offset it depends on is spooled to a temporary file and decoded once the
+ * schematic compound has been fully read.</p>
+ */
+public final class SchematicStreamReader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    static final String SCHEMATIC = "Schematic";
+    static final String VERSION = "Version";
+    static final String DATA_VERSION = "DataVersion";
+    static final String METADATA = "Metadata";
+    static final String WIDTH = "Width";
+    static final String HEIGHT = "Height";
+    static final String LENGTH = "Length";
+    static final String OFFSET = "Offset";
+    static final String PALETTE = "Palette";
+    static final String PALETTE_MAX = "PaletteMax";
+    static final String BLOCK_DATA = "BlockData";
+    static final String BLOCK_ENTITIES = "BlockEntities";
+    static final String ENTITIES = "Entities";
+    static final String BIOME_PALETTE = "BiomePalette";
+    static final String BIOME_DATA = "BiomeData";
+    static final String POS = "Pos";
+    static final String ID = "Id";
+    static final String V1_TILE_ENTITIES = "TileEntities";
+    static final String V1_ID = "id";
+    static final String V3_BLOCKS = "Blocks";
+    static final String V3_BIOMES = "Biomes";
+    static final String V3_DATA = "Data";
+
+    private final Function<String, Optional<BlockState>> blockResolver;
+    private final Function<String, Optional<Biome>> biomeResolver;
+
+    public SchematicStreamReader(final Function<String, Optional<BlockState>> blockResolver,
+            final Function<String, Optional<Biome>> biomeResolver) {
+        this.blockResolver = Objects.requireNonNull(blockResolver, "blockResolver");
+        this.biomeResolver = Objects.requireNonNull(biomeResolver, "biomeResolver");
+    }
+
+    public static SchematicStreamReader create(final RegistryHolder registries) {
+        return new SchematicStreamReader(BlockStateSerializerDeserializer::deserialize,
+            string -> registries.registry(RegistryTypes.BIOME).findValue(ResourceKey.resolve(string)));
+    }
+
+    /**
+     * Reads the gzipped schematic from the given stream into the sink. The
+     * stream is not closed.
+     *
+     * @param stream The compressed schematic
+     * @param sink The sink to deliver the schematic to
+     * @return The counters of the read
+     * @throws IOException If the stream could not be read or is not a valid schematic
+     */
+    public SchematicStreamResult read(final InputStream stream, final SchematicSink sink) throws IOException {
+        final long start = System.nanoTime();
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream, SchematicStreamReader.BUFFER_SIZE),
+            SchematicStreamReader.BUFFER_SIZE));
+        if (input.readByte() != Constants.NBT.TAG_COMPOUND) {
+            throw new IOException("Schematic root is not a compound");
+        }
+        input.readUTF();
+
+        final Decoder decoder = new Decoder(sink);
+        try {
+            decoder.readSchematic(input, true);
+            decoder.finish();
+        } finally {
+            decoder.cleanup();
+        }
+        final SchematicStreamResult result = new SchematicStreamResult(decoder.width, decoder.height, decoder.length, decoder.blocks,
+            decoder.blockEntities, decoder.entities, System.nanoTime() - start);
+        SchematicStreamReader.LOGGER.debug("Read schematic: {}", result);
+        return result;
+    }
+
+    static void skip(final DataInput input, final byte type) throws IOException {
+        switch (type) {
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                SchematicStreamReader.skipFully(input, input.readInt());
+                break;
+            case Constants.NBT.TAG_INT_ARRAY:
+                SchematicStreamReader.skipFully(input, input.readInt() * 4L);
+                break;
+            case Constants.NBT.TAG_LONG_ARRAY:
+                SchematicStreamReader.skipFully(input, input.readInt() * 8L);
+                break;
+            default:
+                TagTypes.getType(type).load(input, 0, NbtAccounter.UNLIMITED);
+        }
+    }
+
+    private static void skipFully(final DataInput input, final long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                // DataInputStream may refuse to skip at the end of an inflater block, fall back to reading
+                input.readByte();
+                remaining--;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+
+    private static void expect(final byte actual, final byte expected, final String name) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Schematic entry " + name + " has tag type " + actual + ", expected " + expected);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IdConsumer {
+
+        void accept(int x, int y, int z, int id);
+    }
+
+    private final class Decoder {
+
+        private final SchematicSink sink;
+        private final byte[] buffer = new byte[SchematicStreamReader.BUFFER_SIZE];
+        private final Set<String> unknownPaletteEntries = new HashSet<>();
+        private final List<CompoundTag> pendingBlockEntities = new ArrayList<>();
+        private final List<CompoundTag> pendingEntities = new ArrayList<>();
+
+        int version = -1;
+        int width = -1;
+        int height = -1;
+        int length = -1;
+        private final int[] offset = new int[3];
+        private boolean offsetKnown;
+        private BlockState @Nullable [] blockPalette;
+        private Biome @Nullable [] biomePalette;
+        private boolean biomes3d;
+
+        private boolean started;
+        private boolean blocksDone;
+        private @Nullable Path spooledBlocks;
+        private int spooledBlockBytes;
+        private @Nullable Path spooledBiomes;
+        private int spooledBiomeBytes;
+
+        long blocks;
+        long blockEntities;
+        long entities;
+
+        Decoder(final SchematicSink sink) {
+            this.sink = sink;
+        }
+
+        void readSchematic(final DataInput input, final boolean root) throws IOException {
+            byte type;
+            while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+                final String name = input.readUTF();
+                switch (name) {
+                    case SchematicStreamReader.SCHEMATIC:
+                        if (root && type == Constants.NBT.TAG_COMPOUND) {
+                            // Version 3 nests everything in a compound named Schematic below an unnamed root
+                            this.readSchematic(input, false);
+                        } else {
+                            SchematicStreamReader.skip(input, type);
+                        }
+                        break;
+                    case SchematicStreamReader.VERSION:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_INT, name);
+                        this.version = input.readInt();
+                        if (this.version > 3) {
+                            throw new IOException("Unsupported schematic version " + this.version);
+                        }
+                        break;
+                    case SchematicStreamReader.WIDTH:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_SHORT, name);
+                        this.width = input.readUnsignedShort();
+                        break;
+                    case SchematicStreamReader.HEIGHT:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_SHORT, name);
+                        this.height = input.readUnsignedShort();
+                        break;
+                    case SchematicStreamReader.LENGTH:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_SHORT, name);
+                        this.length = input.readUnsignedShort();
+                        break;
+                    case SchematicStreamReader.OFFSET:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_INT_ARRAY, name);
+                        final int count = input.readInt();
+                        if (count != 3) {
+                            throw new IOException("Schematic offset was not of length 3");
+                        }
+                        for (int i = 0; i < 3; i++) {
+                            this.offset[i] = input.readInt();
+                        }
+                        this.offsetKnown = true;
+                        break;
+                    case SchematicStreamReader.METADATA:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_COMPOUND, name);
+                        this.sink.metadata(CompoundTag.TYPE.load(input, 0, NbtAccounter.UNLIMITED));
+                        break;
+                    case SchematicStreamReader.PALETTE:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_COMPOUND, name);
+                        this.blockPalette = this.readPalette(input, SchematicStreamReader.this.blockResolver, BlockState[]::new);
+                        break;
+                    case SchematicStreamReader.BLOCK_DATA:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_BYTE_ARRAY, name);
+                        this.readBlockData(input);
+                        break;
+                    case SchematicStreamReader.BLOCK_ENTITIES:
+                    case SchematicStreamReader.V1_TILE_ENTITIES:
+                        this.readList(input, type, this.pendingBlockEntities, this::deliverBlockEntity);
+                        break;
+                    case SchematicStreamReader.ENTITIES:
+                        this.readList(input, type, this.pendingEntities, this::deliverEntity);
+                        break;
+                    case SchematicStreamReader.BIOME_PALETTE:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_COMPOUND, name);
+                        this.biomePalette = this.readPalette(input, SchematicStreamReader.this.biomeResolver, Biome[]::new);
+                        break;
+                    case SchematicStreamReader.BIOME_DATA:
+                        SchematicStreamReader.expect(type, Constants.NBT.TAG_BYTE_ARRAY, name);
+                        this.readBiomeData(input, false);
+                        break;
+                    case SchematicStreamReader.V3_BLOCKS:
+                        if (type != Constants.NBT.TAG_COMPOUND) {
+                            SchematicStreamReader.skip(input, type);
+                            break;
+                        }
+                        this.readBlockContainer(input);
+                        break;
+                    case SchematicStreamReader.V3_BIOMES:
+                        if (type != Constants.NBT.TAG_COMPOUND) {
+                            SchematicStreamReader.skip(input, type);
+                            break;
+                        }
+                        this.readBiomeContainer(input);
+                        break;
+                    default:
+                        // DataVersion and PaletteMax included, the palette itself is authoritative
+                        SchematicStreamReader.skip(input, type);
+                }
+            }
+        }
+
+        private void readBlockContainer(final DataInput input) throws IOException {
+            byte type;
+            while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+                final String name = input.readUTF();
+                if (SchematicStreamReader.PALETTE.equals(name) && type == Constants.NBT.TAG_COMPOUND) {
+                    this.blockPalette = this.readPalette(input, SchematicStreamReader.this.blockResolver, BlockState[]::new);
+                } else if (SchematicStreamReader.V3_DATA.equals(name) && type == Constants.NBT.TAG_BYTE_ARRAY) {
+                    this.readBlockData(input);
+                } else if (SchematicStreamReader.BLOCK_ENTITIES.equals(name)) {
+                    this.readList(input, type, this.pendingBlockEntities, this::deliverBlockEntity);
+                } else {
+                    SchematicStreamReader.skip(input, type);
+                }
+            }
+        }
+
+        private void readBiomeContainer(final DataInput input) throws IOException {
+            byte type;
+            while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+                final String name = input.readUTF();
+                if (SchematicStreamReader.PALETTE.equals(name) && type == Constants.NBT.TAG_COMPOUND) {
+                    this.biomePalette = this.readPalette(input, SchematicStreamReader.this.biomeResolver, Biome[]::new);
+                } else if (SchematicStreamReader.V3_DATA.equals(name) && type == Constants.NBT.TAG_BYTE_ARRAY) {
+                    this.readBiomeData(input, true);
+                } else {
+                    SchematicStreamReader.skip(input, type);
+                }
+            }
+        }
+
+        private <T> T[] readPalette(final DataInput input, final Function<String, Optional<T>> resolver, final IntFunction<T[]> arrayFactory)
+                throws IOException {
+            final List<String> names = new ArrayList<>();
+            final List<Integer> ids = new ArrayList<>();
+            int max = -1;
+            byte type;
+            while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+                final String name = input.readUTF();
+                SchematicStreamReader.expect(type, Constants.NBT.TAG_INT, name);
+                final int id = input.readInt();
+                if (id < 0) {
+                    throw new IOException("Negative palette id " + id + " for " + name);
+                }
+                names.add(name);
+                ids.add(id);
+                max = Math.max(max, id);
+            }
+            final T[] palette = arrayFactory.apply(max + 1);
+            for (int i = 0; i < names.size(); i++) {
+                final String name = names.get(i);
+                final @Nullable T value = resolver.apply(name).orElse(null);
+                if (value == null && this.unknownPaletteEntries.add(name)) {
+                    SchematicStreamReader.LOGGER.warn("Unknown schematic palette entry {}, it will be skipped", name);
+                }
+                palette[ids.get(i)] = value;
+            }
+            return palette;
+        }
+
+        private boolean canDecode() {
+            return this.width >= 0 && this.height >= 0 && this.length >= 0 && this.offsetKnown;
+        }
+
+        private void readBlockData(final DataInput input) throws IOException {
+            final int bytes = input.readInt();
+            if (this.blockPalette != null && this.canDecode()) {
+                this.decodeBlocks(input, bytes);
+            } else {
+                this.spooledBlocks = this.spool(input, bytes, this.spooledBlocks);
+                this.spooledBlockBytes = bytes;
+            }
+        }
+
+        private void readBiomeData(final DataInput input, final boolean biomes3d) throws IOException {
+            final int bytes = input.readInt();
+            this.biomes3d = biomes3d;
+            if (this.biomePalette != null && this.canDecode()) {
+                this.decodeBiomes(input, bytes);
+            } else {
+                this.spooledBiomes = this.spool(input, bytes, this.spooledBiomes);
+                this.spooledBiomeBytes = bytes;
+            }
+        }
+
+        private void readList(final DataInput input, final byte type, final List<CompoundTag> pending, final Consumer<CompoundTag> consumer)
+                throws IOException {
+            if (type != Constants.NBT.TAG_LIST) {
+                SchematicStreamReader.skip(input, type);
+                return;
+            }
+            final byte elementType = input.readByte();
+            final int size = input.readInt();
+            if (elementType != Constants.NBT.TAG_COMPOUND) {
+                for (int i = 0; i < size; i++) {
+                    SchematicStreamReader.skip(input, elementType);
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                final CompoundTag compound = CompoundTag.TYPE.load(input, 0, NbtAccounter.UNLIMITED);
+                if (this.blocksDone) {
+                    consumer.accept(compound);
+                } else {
+                    // Entries may only be placed once the blocks they belong to are
+                    pending.add(compound);
+                }
+            }
+        }
+
+        private void start() {
+            if (!this.started) {
+                this.started = true;
+                this.sink.start(this.width, this.height, this.length, -this.offset[0], -this.offset[1], -this.offset[2]);
+            }
+        }
+
+        private void decodeBlocks(final DataInput input, final int bytes) throws IOException {
+            this.start();
+            final BlockState[] palette = Objects.requireNonNull(this.blockPalette);
+            final SchematicSink sink = this.sink;
+            final int ox = this.offset[0];
+            final int oy = this.offset[1];
+            final int oz = this.offset[2];
+            final long[] placed = new long[1];
+            this.decodeVarInts(input, bytes, this.height, (x, y, z, id) -> {
+                final @Nullable BlockState state = id < palette.length ? palette[id] : null;
+                if (state != null) {
+                    sink.block(x - ox, y - oy, z - oz, state);
+                    placed[0]++;
+                }
+            });
+            this.blocks += placed[0];
+            this.blocksDone = true;
+            for (final CompoundTag compound : this.pendingBlockEntities) {
+                this.deliverBlockEntity(compound);
+            }
+            this.pendingBlockEntities.clear();
+            for (final CompoundTag compound : this.pendingEntities) {
+                this.deliverEntity(compound);
+            }
+            this.pendingEntities.clear();
+        }
+
+        private void decodeBiomes(final DataInput input, final int bytes) throws IOException {
+            this.start();
+            final Biome[] palette = Objects.requireNonNull(this.biomePalette);
+            final SchematicSink sink = this.sink;
+            final int ox = this.offset[0];
+            final int oy = this.offset[1];
+            final int oz = this.offset[2];
+            final int height = this.height;
+            if (this.biomes3d) {
+                this.decodeVarInts(input, bytes, height, (x, y, z, id) -> {
+                    if (id < palette.length && palette[id] != null) {
+                        sink.biome(x - ox, y - oy, z - oz, palette[id]);
+                    }
+                });
+            } else {
+                // Version 2 biomes are a single layer that covers every y of the schematic
+                this.decodeVarInts(input, bytes, 1, (x, y, z, id) -> {
+                    if (id < palette.length && palette[id] != null) {
+                        for (int layer = 0; layer < height; layer++) {
+                            sink.biome(x - ox, layer - oy, z - oz, palette[id]);
+                        }
+                    }
+                });
+            }
+        }
+
+        /**
+         * Decodes a varint encoded byte array of palette ids in schematic
+         * order, x minor, then z, then y.
+         */
+        private void decodeVarInts(final DataInput input, final int bytes, final int layers, final IdConsumer consumer) throws IOException {
+            final byte[] buffer = this.buffer;
+            final int width = this.width;
+            final int length = this.length;
+            final long volume = (long) width * length * layers;
+            long index = 0;
+            int x = 0;
+            int y = 0;
+            int z = 0;
+            int value = 0;
+            int shift = 0;
+            int remaining = bytes;
+            while (remaining > 0) {
+                final int read = Math.min(remaining, buffer.length);
+                input.readFully(buffer, 0, read);
+                remaining -= read;
+                for (int i = 0; i < read; i++) {
+                    final byte b = buffer[i];
+                    value |= (b & 0x7F) << shift;
+                    if ((b & 0x80) != 0) {
+                        shift += 7;
+                        if (shift > 28) {
+                            throw new IOException("VarInt too big in schematic data");
+                        }
+                        continue;
+                    }
+                    if (index++ >= volume) {
+                        throw new IOException("Schematic data exceeds the volume of " + width + "x" + layers + "x" + length);
+                    }
+                    consumer.accept(x, y, z, value);
+                    value = 0;
+                    shift = 0;
+                    if (++x == width) {
+                        x = 0;
+                        if (++z == length) {
+                            z = 0;
+                            y++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void deliverBlockEntity(final CompoundTag compound) {
+            final int[] pos = compound.getIntArray(SchematicStreamReader.POS);
+            if (pos.length != 3) {
+                SchematicStreamReader.LOGGER.warn("Skipping schematic block entity without a valid position");
+                return;
+            }
+            final String id = compound.contains(SchematicStreamReader.ID) ? compound.getString(SchematicStreamReader.ID)
+                : compound.getString(SchematicStreamReader.V1_ID);
+            final CompoundTag data;
+            if (this.version >= 3) {
+                data = compound.getCompound(SchematicStreamReader.V3_DATA);
+            } else {
+                data = compound;
+                data.remove(SchematicStreamReader.POS);
+                data.remove(SchematicStreamReader.ID);
+                data.remove(SchematicStreamReader.V1_ID);
+            }
+            this.sink.blockEntity(pos[0] - this.offset[0], pos[1] - this.offset[1], pos[2] - this.offset[2], id, data);
+            this.blockEntities++;
+        }
+
+        private void deliverEntity(final CompoundTag compound) {
+            final ListTag pos = compound.getList(SchematicStreamReader.POS, Constants.NBT.TAG_DOUBLE);
+            if (pos.size() != 3) {
+                SchematicStreamReader.LOGGER.warn("Skipping schematic entity without a valid position");
+                return;
+            }
+            final String id = compound.contains(SchematicStreamReader.ID) ? compound.getString(SchematicStreamReader.ID)
+                : compound.getString(SchematicStreamReader.V1_ID);
+            final CompoundTag data;
+            if (this.version >= 3) {
+                data = compound.getCompound(SchematicStreamReader.V3_DATA);
+            } else {
+                data = compound;
+                data.remove(SchematicStreamReader.POS);
+                data.remove(SchematicStreamReader.ID);
+                data.remove(SchematicStreamReader.V1_ID);
+            }
+            this.sink.entity(pos.getDouble(0) - this.offset[0], pos.getDouble(1) - this.offset[1],
+                pos.getDouble(2) - this.offset[2], id, data);
+            this.entities++;
+        }
+
+        private Path spool(final DataInput input, final int bytes, final @Nullable Path previous) throws IOException {
+            if (previous != null) {
+                Files.deleteIfExists(previous);
+            }
+            final Path file = Files.createTempFile("sponge-schematic", ".dat");
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), SchematicStreamReader.BUFFER_SIZE)) {
+                int remaining = bytes;
+                while (remaining > 0) {
+                    final int read = Math.min(remaining, this.buffer.length);
+                    input.readFully(this.buffer, 0, read);
+                    out.write(this.buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+            return file;
+        }
+
+        void finish() throws IOException {
+            // Everything has been read, anything missing from here on is simply absent
+            this.offsetKnown = true;
+            if (!this.canDecode()) {
+                throw new IOException("Schematic is missing its dimensions");
+            }
+            if (this.spooledBlocks != null) {
+                if (this.blockPalette == null) {
+                    throw new IOException("Schematic has block data but no palette");
+                }
+                try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.spooledBlocks),
+                    SchematicStreamReader.BUFFER_SIZE))) {
+                    this.decodeBlocks(input, this.spooledBlockBytes);
+                }
+            }
+            if (this.spooledBiomes != null && this.biomePalette != null) {
+                try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.spooledBiomes),
+                    SchematicStreamReader.BUFFER_SIZE))) {
+                    this.decodeBiomes(input, this.spooledBiomeBytes);
+                }
+            }
+            this.start();
+            // A schematic without any block data still places its block entities and entities
+            this.blocksDone = true;
+            for (final CompoundTag compound : this.pendingBlockEntities) {
+                this.deliverBlockEntity(compound);
+            }
+            for (final CompoundTag compound : this.pendingEntities) {
+                this.deliverEntity(compound);
+            }
+        }
+
+        void cleanup() throws IOException {
+            if (this.spooledBlocks != null) {
+                Files.deleteIfExists(this.spooledBlocks);
+            }
+            if (this.spooledBiomes != null) {
+                Files.deleteIfExists(this.spooledBiomes);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The counters of a single streamed schematic read or write.
+ */
+public final class SchematicStreamResult {
+
+    private final int width;
+    private final int height;
+    private final int length;
+    private final long blocks;
+    private final long blockEntities;
+    private final long entities;
+    private final long elapsedNanos;
+
+    SchematicStreamResult(final int width, final int height, final int length, final long blocks, final long blockEntities,
+            final long entities, final long elapsedNanos) {
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.blocks = blocks;
+        this.blockEntities = blockEntities;
+        this.entities = entities;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int width() {
+        return this.width;
+    }
+
+    public int height() {
+        return this.height;
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    public long blocks() {
+        return this.blocks;
+    }
+
+    public long blockEntities() {
+        return this.blockEntities;
+    }
+
+    public long entities() {
+        return this.entities;
+    }
+
+    public long elapsed(final TimeUnit unit) {
+        return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public double blocksPerSecond() {
+        if (this.elapsedNanos <= 0) {
+            return 0;
+        }
+        return this.blocks * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%dx%d, %d blocks, %d block entities, %d entities in %d ms (%.0f blocks/s)",
+            this.width, this.height, this.length, this.blocks, this.blockEntities, this.entities,
+            this.elapsed(TimeUnit.MILLISECONDS), this.blocksPerSecond());
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import net.minecraft.nbt.CompoundTag;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.entity.BlockEntity;
+import org.spongepowered.api.world.volume.block.BlockVolume;
+import org.spongepowered.api.world.volume.block.entity.BlockEntityVolume;
+import org.spongepowered.common.block.BlockStateSerializerDeserializer;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a region of a {@link BlockVolume} as a gzipped version 2 Sponge
+ * schematic without building an intermediate schematic or NBT tree.
+ *
+ * <p>The region is walked twice. The first pass assigns palette ids and sums
+ * the size of the varint encoded block data, which has to be known up front
+ * as NBT prefixes arrays with their length. The second pass encodes the
+ * blocks straight into the compressed stream. Only block entity data, which is
+ * sparse, is held in memory between the passes.</p>
+ *
+ * <p>Biomes and entities are not written.</p>
+ */
+public final class SchematicStreamWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Function<BlockState, String> stringifier;
+
+    public SchematicStreamWriter(final Function<BlockState, String> stringifier) {
+        this.stringifier = Objects.requireNonNull(stringifier, "stringifier");
+    }
+
+    public static SchematicStreamWriter create() {
+        return new SchematicStreamWriter(BlockStateSerializerDeserializer::serialize);
+    }
+
+    /**
+     * Writes the blocks between the given corners, inclusive, as a schematic.
+     * If the volume is also a {@link BlockEntityVolume} its block entities are
+     * written as well. The stream is finished but not closed.
+     *
+     * @param stream The stream to write the compressed schematic to
+     * @param volume The volume to read blocks from
+     * @param min The minimum corner of the region
+     * @param max The maximum corner of the region
+     * @param origin The point the schematic is relative to, used for its offset
+     * @param metadata The schematic metadata, if any
+     * @return The counters of the write
+     * @throws IOException If the stream could not be written to
+     */
+    public SchematicStreamResult write(final OutputStream stream, final BlockVolume volume, final Vector3i min, final Vector3i max,
+            final Vector3i origin, final @Nullable CompoundTag metadata) throws IOException {
+        final long start = System.nanoTime();
+        final Vector3i size = max.sub(min).add(Vector3i.ONE);
+        if (size.getX() <= 0 || size.getY() <= 0 || size.getZ() <= 0) {
+            throw new IllegalArgumentException("Maximum corner " + max + " is below minimum corner " + min);
+        }
+        if (size.getX() > Constants.Sponge.Schematic.MAX_SIZE || size.getY() > Constants.Sponge.Schematic.MAX_SIZE
+                || size.getZ() > Constants.Sponge.Schematic.MAX_SIZE) {
+            throw new IllegalArgumentException("Schematic size " + size + " exceeds " + Constants.Sponge.Schematic.MAX_SIZE);
+        }
+
+        // First pass, palette, block data length and block entities
+        final Object2IntLinkedOpenHashMap<BlockState> palette = new Object2IntLinkedOpenHashMap<>();
+        palette.defaultReturnValue(-1);
+        final List<CompoundTag> blockEntities = new ArrayList<>();
+        final @Nullable BlockEntityVolume blockEntityVolume = volume instanceof BlockEntityVolume ? (BlockEntityVolume) volume : null;
+        long dataLength = 0;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    final BlockState state = volume.block(x, y, z);
+                    int id = palette.getInt(state);
+                    if (id == -1) {
+                        id = palette.size();
+                        palette.put(state, id);
+                    }
+                    dataLength += SchematicStreamWriter.varIntSize(id);
+                    if (blockEntityVolume != null && ((net.minecraft.world.level.block.state.BlockState) state).getBlock().isEntityBlock()) {
+                        final Optional<? extends BlockEntity> blockEntity = blockEntityVolume.blockEntity(x, y, z);
+                        if (blockEntity.isPresent()) {
+                            blockEntities.add(SchematicStreamWriter.saveBlockEntity(blockEntity.get(), x - min.getX(), y - min.getY(),
+                                z - min.getZ()));
+                        }
+                    }
+                }
+            }
+        }
+        if (dataLength > Integer.MAX_VALUE) {
+            throw new IOException("Block data of " + dataLength + " bytes is too big for a schematic");
+        }
+
+        final GZIPOutputStream gzip = new GZIPOutputStream(stream, SchematicStreamWriter.BUFFER_SIZE);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, SchematicStreamWriter.BUFFER_SIZE));
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_COMPOUND, SchematicStreamReader.SCHEMATIC);
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_INT, SchematicStreamReader.VERSION);
+        out.writeInt(Constants.Sponge.Schematic.CURRENT_VERSION);
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_INT, SchematicStreamReader.DATA_VERSION);
+        out.writeInt(Constants.MINECRAFT_DATA_VERSION);
+        if (metadata != null) {
+            SchematicStreamWriter.tag(out, Constants.NBT.TAG_COMPOUND, SchematicStreamReader.METADATA);
+            metadata.write(out);
+        }
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_SHORT, SchematicStreamReader.WIDTH);
+        out.writeShort(size.getX());
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_SHORT, SchematicStreamReader.HEIGHT);
+        out.writeShort(size.getY());
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_SHORT, SchematicStreamReader.LENGTH);
+        out.writeShort(size.getZ());
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_INT_ARRAY, SchematicStreamReader.OFFSET);
+        out.writeInt(3);
+        out.writeInt(origin.getX() - min.getX());
+        out.writeInt(origin.getY() - min.getY());
+        out.writeInt(origin.getZ() - min.getZ());
+
+        // The palette comes before the block data so readers can decode it as it streams in
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_INT, SchematicStreamReader.PALETTE_MAX);
+        out.writeInt(palette.size());
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_COMPOUND, SchematicStreamReader.PALETTE);
+        for (final Object2IntMap.Entry<BlockState> entry : palette.object2IntEntrySet()) {
+            SchematicStreamWriter.tag(out, Constants.NBT.TAG_INT, this.stringifier.apply(entry.getKey()));
+            out.writeInt(entry.getIntValue());
+        }
+        out.writeByte(Constants.NBT.TAG_END);
+
+        // Second pass, the block data itself
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_BYTE_ARRAY, SchematicStreamReader.BLOCK_DATA);
+        out.writeInt((int) dataLength);
+        final byte[] buffer = new byte[SchematicStreamWriter.BUFFER_SIZE];
+        int position = 0;
+        long written = 0;
+        @Nullable BlockState last = null;
+        int lastId = -1;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    final BlockState state = volume.block(x, y, z);
+                    if (state != last) {
+                        lastId = palette.getInt(state);
+                        if (lastId == -1) {
+                            throw new IllegalStateException("Volume changed while being written to a schematic");
+                        }
+                        last = state;
+                    }
+                    if (position + 5 > buffer.length) {
+                        out.write(buffer, 0, position);
+                        written += position;
+                        position = 0;
+                    }
+                    int value = lastId;
+                    while ((value & ~0x7F) != 0) {
+                        buffer[position++] = (byte) (value & 0x7F | 0x80);
+                        value >>>= 7;
+                    }
+                    buffer[position++] = (byte) value;
+                }
+            }
+        }
+        out.write(buffer, 0, position);
+        written += position;
+        if (written != dataLength) {
+            throw new IllegalStateException("Volume changed while being written to a schematic");
+        }
+
+        SchematicStreamWriter.tag(out, Constants.NBT.TAG_LIST, SchematicStreamReader.BLOCK_ENTITIES);
+        out.writeByte(Constants.NBT.TAG_COMPOUND);
+        out.writeInt(blockEntities.size());
+        for (final CompoundTag blockEntity : blockEntities) {
+            blockEntity.write(out);
+        }
+
+        out.writeByte(Constants.NBT.TAG_END);
+        out.flush();
+        gzip.finish();
+
+        final SchematicStreamResult result = new SchematicStreamResult(size.getX(), size.getY(), size.getZ(),
+            (long) size.getX() * size.getY() * size.getZ(), blockEntities.size(), 0, System.nanoTime() - start);
+        SchematicStreamWriter.LOGGER.debug("Wrote schematic: {}", result);
+        return result;
+    }
+
+    private static CompoundTag saveBlockEntity(final BlockEntity blockEntity, final int x, final int y, final int z) {
+        final CompoundTag compound = ((net.minecraft.world.level.block.entity.BlockEntity) blockEntity).save(new CompoundTag());
+        final String id = compound.getString(Constants.Item.BLOCK_ENTITY_ID);
+        compound.remove(Constants.TileEntity.X_POS);
+        compound.remove(Constants.TileEntity.Y_POS);
+        compound.remove(Constants.TileEntity.Z_POS);
+        compound.remove(Constants.Item.BLOCK_ENTITY_ID);
+        compound.putIntArray(SchematicStreamReader.POS, new int[] {x, y, z});
+        compound.putString(SchematicStreamReader.ID, id);
+        return compound;
+    }
+
+    private static void tag(final DataOutputStream out, final byte type, final String name) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(name);
+    }
+
+    private static int varIntSize(final int value) {
+        if ((value & ~0x7F) == 0) {
+            return 1;
+        }
+        if ((value & ~0x3FFF) == 0) {
+            return 2;
+        }
+        if ((value & ~0x1FFFFF) == 0) {
+            return 3;
+        }
+        if ((value & ~0xFFFFFFF) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+}
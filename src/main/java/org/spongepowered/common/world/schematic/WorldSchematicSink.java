@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.biome.Biome;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.UUID;
+
+/**
+ * A {@link SchematicSink} that pastes every element straight into a world as
+ * it is decoded. Must be used on the main thread.
+ */
+public final class WorldSchematicSink implements SchematicSink {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ServerWorld world;
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final BlockChangeFlag flag;
+
+    public WorldSchematicSink(final ServerWorld world, final Vector3i origin, final BlockChangeFlag flag) {
+        this.world = world;
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        this.flag = flag;
+    }
+
+    @Override
+    public void block(final int x, final int y, final int z, final BlockState state) {
+        this.world.setBlock(this.originX + x, this.originY + y, this.originZ + z, state, this.flag);
+    }
+
+    @Override
+    public void blockEntity(final int x, final int y, final int z, final String id, final CompoundTag data) {
+        final BlockPos pos = new BlockPos(this.originX + x, this.originY + y, this.originZ + z);
+        final ServerLevel level = (ServerLevel) this.world;
+        final net.minecraft.world.level.block.entity.@Nullable BlockEntity blockEntity = level.getBlockEntity(pos);
+        if (blockEntity == null) {
+            WorldSchematicSink.LOGGER.debug("No block entity of type {} at {} to load schematic data into", id, pos);
+            return;
+        }
+        final CompoundTag compound = data.copy();
+        compound.putString(Constants.Item.BLOCK_ENTITY_ID, id);
+        compound.putInt(Constants.TileEntity.X_POS, pos.getX());
+        compound.putInt(Constants.TileEntity.Y_POS, pos.getY());
+        compound.putInt(Constants.TileEntity.Z_POS, pos.getZ());
+        blockEntity.load(level.getBlockState(pos), compound);
+        blockEntity.clearCache();
+    }
+
+    @Override
+    public void biome(final int x, final int y, final int z, final Biome biome) {
+        this.world.setBiome(this.originX + x, this.originY + y, this.originZ + z, biome);
+    }
+
+    @Override
+    public void entity(final double x, final double y, final double z, final String id, final CompoundTag data) {
+        final CompoundTag compound = data.copy();
+        compound.putString(Constants.Entity.ENTITY_TYPE_ID, id);
+        final ServerLevel level = (ServerLevel) this.world;
+        final @Nullable Entity entity = EntityType.loadEntityRecursive(compound, level, created -> {
+            created.moveTo(this.originX + x, this.originY + y, this.originZ + z, created.yRot, created.xRot);
+            created.setUUID(UUID.randomUUID());
+            return created;
+        });
+        if (entity == null) {
+            WorldSchematicSink.LOGGER.debug("Could not create schematic entity of type {}", id);
+            return;
+        }
+        level.tryAddFreshEntityWithPassengers(entity);
+    }
+}
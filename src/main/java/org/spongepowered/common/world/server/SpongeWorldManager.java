@@ -29,10 +29,12 @@
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.api.world.server.WorldManager;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 public interface SpongeWorldManager extends WorldManager {
 
@@ -44,8 +46,27 @@ static net.minecraft.resources.ResourceKey<Level> createRegistryKey(final Resour
         return net.minecraft.resources.ResourceKey.create(Registry.DIMENSION_REGISTRY, (ResourceLocation) (Object) key);
     }
 
+    /**
+     * Loads a disposable instance of an existing, unloaded world.
+     *
+     * <p>The instance reads its chunks from the template's directory and only
+     * writes the chunks it modifies to its own directory. Unloading the
+     * instance discards everything it wrote.</p>
+     *
+     * @param templateKey The key of the world to use as the template
+     * @param instanceKey The key of the instance to create
+     * @return The future containing the loaded instance
+     */
+    CompletableFuture<ServerWorld> loadWorldInstance(ResourceKey templateKey, ResourceKey instanceKey);
+
     void unloadWorld0(final ServerLevel world) throws IOException;
 
+    /**
+     * Discards the directories and configs of every world instance. Called
+     * once the server has stopped and every world has been closed.
+     */
+    void discardWorldInstances();
+
     void loadLevel();
 
     default String getDirectoryName(final ResourceKey key) {
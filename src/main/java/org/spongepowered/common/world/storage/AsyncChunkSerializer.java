@@ -0,0 +1,240 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.storage.ChunkStorage;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.world.chunk.ChunkEvent;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.world.level.chunk.LevelChunkBridge;
+import org.spongepowered.common.bridge.world.level.chunk.PalettedContainerBridge;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the serialization of chunk block states off of the server thread.
+ *
+ * <p>While a chunk is being written on the server thread, the block states of
+ * its sections are {@link ChunkSectionSnapshot copied} instead of serialized.
+ * Everything else, such as entities and block entities, is still written by
+ * vanilla right away as those may only be read from the server thread. The
+ * palettes and packed states are then built on a worker, after which the
+ * complete chunk tag is handed back to the server thread to be stored, at
+ * which point {@link ChunkEvent.Save.Post} is posted.</p>
+ *
+ * <p>Chunks of the same position are serialized in the order they were
+ * saved, and any chunk that is about to be read waits for its pending saves
+ * first. Should the serialization fail, the chunk is marked unsaved again so
+ * vanilla saves it once more, or if it was unloaded in the meantime, the loss
+ * of its latest changes is reported.</p>
+ */
+public final class AsyncChunkSerializer {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+        new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - Chunk Serializer #%d")
+            .setDaemon(true)
+            .build()
+    );
+
+    private static @Nullable Thread capturingThread;
+    private static @Nullable List<Runnable> capturedSections;
+
+    private final ChunkStorage storage;
+    private final ResourceKey world;
+    private final Map<Long, CompletableFuture<?>> pending = new ConcurrentHashMap<>();
+    private final Queue<SerializedChunk> serialized = new ConcurrentLinkedQueue<>();
+
+    public AsyncChunkSerializer(final ChunkStorage storage, final ResourceKey world) {
+        this.storage = storage;
+        this.world = world;
+    }
+
+    /**
+     * Starts deferring the block states of every section written by the
+     * current thread.
+     */
+    public static void beginCapture() {
+        AsyncChunkSerializer.capturingThread = Thread.currentThread();
+        AsyncChunkSerializer.capturedSections = new ArrayList<>();
+    }
+
+    /**
+     * Stops deferring section block states.
+     *
+     * @return The task writing the deferred block states, if any were deferred
+     */
+    public static @Nullable Runnable endCapture() {
+        final @Nullable List<Runnable> sections = AsyncChunkSerializer.capturedSections;
+        AsyncChunkSerializer.capturingThread = null;
+        AsyncChunkSerializer.capturedSections = null;
+        if (sections == null || sections.isEmpty()) {
+            return null;
+        }
+        return () -> sections.forEach(Runnable::run);
+    }
+
+    /**
+     * Defers writing the given container to the section tag, if the current
+     * thread is capturing.
+     *
+     * @param container The block states of the section
+     * @param tag The section tag
+     * @param paletteName The key of the palette
+     * @param dataName The key of the packed states
+     * @return True if the write was deferred
+     */
+    public static boolean deferSection(final PalettedContainer<BlockState> container, final CompoundTag tag, final String paletteName,
+        final String dataName) {
+        final @Nullable List<Runnable> sections = AsyncChunkSerializer.capturedSections;
+        if (sections == null || AsyncChunkSerializer.capturingThread != Thread.currentThread()) {
+            return false;
+        }
+        final ChunkSectionSnapshot snapshot = ((PalettedContainerBridge) container).bridge$snapshot();
+        sections.add(() -> snapshot.write(tag, paletteName, dataName));
+        return true;
+    }
+
+    /**
+     * Completes and stores the given chunk tag.
+     *
+     * @param chunk The chunk that was saved
+     * @param tag The chunk tag, missing the deferred section block states
+     * @param completion The task writing the deferred block states
+     * @return False if nothing was deferred and the caller should store the
+     *     tag itself
+     */
+    public boolean submit(final ChunkAccess chunk, final CompoundTag tag, final @Nullable Runnable completion) {
+        final ChunkPos pos = chunk.getPos();
+        final Long key = pos.toLong();
+        final @Nullable CompletableFuture<?> previous = this.pending.get(key);
+        if (completion == null && previous == null) {
+            return false;
+        }
+        final CompletableFuture<?> after = previous == null ? CompletableFuture.completedFuture(null) : previous.handle(($, error) -> null);
+        final CompletableFuture<?> future = after
+            .thenRunAsync(() -> {
+                if (completion != null) {
+                    completion.run();
+                }
+            }, AsyncChunkSerializer.EXECUTOR)
+            .whenComplete(($, error) -> this.serialized.add(new SerializedChunk(chunk, tag, error)));
+        this.pending.put(key, future);
+        future.whenComplete(($, error) -> this.pending.remove(key, future));
+        return true;
+    }
+
+    /**
+     * Stores the chunks that finished serializing. Must be called from the
+     * server thread.
+     */
+    public void drain() {
+        SerializedChunk chunk;
+        while ((chunk = this.serialized.poll()) != null) {
+            if (chunk.error != null) {
+                this.fail(chunk);
+                continue;
+            }
+            this.storage.write(chunk.pos, chunk.tag);
+            if (ShouldFire.CHUNK_EVENT_SAVE_POST) {
+                final Vector3i chunkPos = new Vector3i(chunk.pos.x, 0, chunk.pos.z);
+                final ChunkEvent.Save.Post postSave = SpongeEventFactory.createChunkEventSavePost(PhaseTracker.getInstance().currentCause(),
+                    chunkPos, this.world);
+                SpongeCommon.postEvent(postSave);
+            }
+        }
+    }
+
+    private void fail(final SerializedChunk chunk) {
+        // Vanilla cleared the flag before saving, setting it again lets the next save retry
+        chunk.chunk.setUnsaved(true);
+        if (chunk.chunk instanceof LevelChunk && !((LevelChunkBridge) chunk.chunk).bridge$isActive()) {
+            SpongeCommon.getLogger().error("Failed to serialize chunk {} of world {} after it was unloaded, its latest changes are lost",
+                chunk.pos, this.world, chunk.error);
+        } else {
+            SpongeCommon.getLogger().error("Failed to serialize chunk {} of world {}, it will be saved again",
+                chunk.pos, this.world, chunk.error);
+        }
+    }
+
+    /**
+     * Waits for the pending saves of the given chunk and stores them. Must be
+     * called from the server thread.
+     *
+     * @param pos The position of the chunk
+     */
+    public void await(final ChunkPos pos) {
+        final @Nullable CompletableFuture<?> future = this.pending.get(pos.toLong());
+        if (future != null) {
+            future.handle(($, error) -> null).join();
+        }
+        this.drain();
+    }
+
+    /**
+     * Waits for every pending save and stores them. Must be called from the
+     * server thread.
+     */
+    public void awaitAll() {
+        CompletableFuture.allOf(this.pending.values().toArray(new CompletableFuture<?>[0])).handle(($, error) -> null).join();
+        this.drain();
+    }
+
+    private static final class SerializedChunk {
+
+        final ChunkAccess chunk;
+        final ChunkPos pos;
+        final CompoundTag tag;
+        final @Nullable Throwable error;
+
+        SerializedChunk(final ChunkAccess chunk, final CompoundTag tag, final @Nullable Throwable error) {
+            this.chunk = chunk;
+            this.pos = chunk.getPos();
+            this.tag = tag;
+            this.error = error;
+        }
+    }
+}
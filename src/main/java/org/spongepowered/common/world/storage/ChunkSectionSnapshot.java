@@ -0,0 +1,200 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.util.BitStorage;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.GlobalPalette;
+import net.minecraft.world.level.chunk.Palette;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.accessor.world.level.chunk.PalettedContainerAccessor;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of the block states of a chunk section.
+ *
+ * <p>Taking the copy only duplicates the packed storage and the entries of
+ * the section palette, every other operation works on the copy alone and may
+ * be performed from any thread.</p>
+ */
+public final class ChunkSectionSnapshot {
+
+    private static final int SIZE = 4096;
+
+    // null when the section uses the global palette
+    private final @Nullable BlockState[] palette;
+    private final BitStorage storage;
+
+    private ChunkSectionSnapshot(final @Nullable BlockState[] palette, final BitStorage storage) {
+        this.palette = palette;
+        this.storage = storage;
+    }
+
+    /**
+     * Copies the given block state container. Must be called from the thread
+     * owning the container.
+     *
+     * @param container The container of a chunk section
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static ChunkSectionSnapshot of(final PalettedContainer<BlockState> container) {
+        final PalettedContainerAccessor<BlockState> accessor = (PalettedContainerAccessor<BlockState>) container;
+        return ChunkSectionSnapshot.of(accessor.accessor$palette(), accessor.accessor$bits(), accessor.accessor$storage().getRaw());
+    }
+
+    /**
+     * Copies the given block state container unless an earlier snapshot of it
+     * still holds the same states. Must be called from the thread owning the
+     * container.
+     *
+     * @param container The container of a chunk section
+     * @param previous An earlier snapshot of the same container
+     * @return The previous snapshot if nothing changed, a new one otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public static ChunkSectionSnapshot of(final PalettedContainer<BlockState> container, final @Nullable ChunkSectionSnapshot previous) {
+        final PalettedContainerAccessor<BlockState> accessor = (PalettedContainerAccessor<BlockState>) container;
+        return ChunkSectionSnapshot.of(accessor.accessor$palette(), accessor.accessor$bits(), accessor.accessor$storage().getRaw(), previous);
+    }
+
+    static ChunkSectionSnapshot of(final Palette<BlockState> palette, final int bits, final long[] raw,
+            final @Nullable ChunkSectionSnapshot previous) {
+        if (previous != null && previous.holds(palette, bits, raw)) {
+            return previous;
+        }
+        return ChunkSectionSnapshot.of(palette, bits, raw);
+    }
+
+    static ChunkSectionSnapshot of(final Palette<BlockState> palette, final int bits, final long[] raw) {
+        @Nullable BlockState[] entries = null;
+        if (!(palette instanceof GlobalPalette)) {
+            // Palette ids are handed out densely, the first unused id ends the palette
+            entries = new BlockState[1 << bits];
+            int size = 0;
+            for (; size < entries.length; size++) {
+                final @Nullable BlockState state = palette.valueFor(size);
+                if (state == null) {
+                    break;
+                }
+                entries[size] = state;
+            }
+            entries = Arrays.copyOf(entries, size);
+        }
+        return new ChunkSectionSnapshot(entries, new BitStorage(bits, ChunkSectionSnapshot.SIZE, raw.clone()));
+    }
+
+    private boolean holds(final Palette<BlockState> palette, final int bits, final long[] raw) {
+        if (this.storage.getBits() != bits || !Arrays.equals(this.storage.getRaw(), raw)) {
+            return false;
+        }
+        if (palette instanceof GlobalPalette) {
+            return this.palette == null;
+        }
+        if (this.palette == null) {
+            return false;
+        }
+        // Entries added since are not referenced by the unchanged storage, only the copied ones matter
+        for (int id = 0; id < this.palette.length; id++) {
+            if (palette.valueFor(id) != this.palette[id]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public BlockState get(final int x, final int y, final int z) {
+        return this.get(y << 8 | z << 4 | x);
+    }
+
+    private BlockState get(final int index) {
+        final int id = this.storage.get(index);
+        final @Nullable BlockState state;
+        if (this.palette == null) {
+            state = Block.BLOCK_STATE_REGISTRY.byId(id);
+        } else {
+            state = id < this.palette.length ? this.palette[id] : null;
+        }
+        return state == null ? Blocks.AIR.defaultBlockState() : state;
+    }
+
+    /**
+     * Gets the approximate number of bytes held by this snapshot.
+     *
+     * @return The retained size
+     */
+    public long retainedSize() {
+        return 8L * this.storage.getRaw().length + (this.palette == null ? 0 : 4L * this.palette.length);
+    }
+
+    /**
+     * Writes the block states the same way
+     * {@link PalettedContainer#write(CompoundTag, String, String)} does.
+     *
+     * @param tag The section tag to write to
+     * @param paletteName The key of the palette
+     * @param dataName The key of the packed states
+     */
+    public void write(final CompoundTag tag, final String paletteName, final String dataName) {
+        final Reference2IntOpenHashMap<BlockState> ids = new Reference2IntOpenHashMap<>();
+        ids.defaultReturnValue(-1);
+        final ListTag palette = new ListTag();
+        final int[] indices = new int[ChunkSectionSnapshot.SIZE];
+        // Like vanilla, the default state is always the first palette entry
+        BlockState last = Blocks.AIR.defaultBlockState();
+        int lastId = 0;
+        ids.put(last, lastId);
+        palette.add(NbtUtils.writeBlockState(last));
+        for (int i = 0; i < ChunkSectionSnapshot.SIZE; i++) {
+            final BlockState state = this.get(i);
+            if (state != last) {
+                last = state;
+                lastId = ids.getInt(state);
+                if (lastId == -1) {
+                    lastId = palette.size();
+                    ids.put(state, lastId);
+                    palette.add(NbtUtils.writeBlockState(state));
+                }
+            }
+            indices[i] = lastId;
+        }
+        tag.put(paletteName, palette);
+
+        final BitStorage storage = new BitStorage(Math.max(4, Mth.ceillog2(palette.size())), ChunkSectionSnapshot.SIZE);
+        for (int i = 0; i < ChunkSectionSnapshot.SIZE; i++) {
+            storage.set(i, indices[i]);
+        }
+        tag.putLongArray(dataName, storage.getRaw());
+    }
+}
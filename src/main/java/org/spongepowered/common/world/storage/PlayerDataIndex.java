@@ -0,0 +1,372 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * An on-disk, memory mapped hash table of player unique ids to the times
+ * they first joined and last played.
+ *
+ * <p>Every player occupies a fixed size record in an open addressing table,
+ * so looking up a player only touches the page its record lives on and an
+ * update is a write of two longs into the mapping. Nothing is read until
+ * the index is first used, and nothing about the players is kept on the
+ * heap.</p>
+ *
+ * <p>Growing the table rehashes it in place. The records are journaled to a
+ * sidecar file beforehand, which is replayed should the server stop half way
+ * through a rehash.</p>
+ */
+final class PlayerDataIndex implements AutoCloseable {
+
+    static final long ABSENT = Long.MIN_VALUE;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    // A mapping is otherwise only released once the buffer is collected, keeping the file open until then
+    private static final @Nullable MethodHandle UNMAP = PlayerDataIndex.findUnmap();
+
+    private static final int MAGIC = 0x53504458; // SPDX
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Keeps the whole table within a single mapping
+    private static final int MAX_CAPACITY = 1 << 25;
+    private static final int STATE_CLEAN = 0;
+    private static final int STATE_REHASHING = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int STATE_OFFSET = 16;
+
+    private static final int FIRST_JOINED_OFFSET = 16;
+    private static final int LAST_PLAYED_OFFSET = 24;
+
+    private final Path file;
+    private final Path journal;
+    private @Nullable FileChannel channel;
+    private @Nullable MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+
+    PlayerDataIndex(final Path file) {
+        this.file = file;
+        this.journal = file.resolveSibling(file.getFileName() + ".rehash");
+    }
+
+    Path file() {
+        return this.file;
+    }
+
+    synchronized long firstJoined(final UUID uniqueId) throws IOException {
+        final int slot = this.find(uniqueId);
+        return slot < 0 ? PlayerDataIndex.ABSENT : this.buffer.getLong(PlayerDataIndex.offset(slot) + PlayerDataIndex.FIRST_JOINED_OFFSET);
+    }
+
+    synchronized long lastPlayed(final UUID uniqueId) throws IOException {
+        final int slot = this.find(uniqueId);
+        return slot < 0 ? PlayerDataIndex.ABSENT : this.buffer.getLong(PlayerDataIndex.offset(slot) + PlayerDataIndex.LAST_PLAYED_OFFSET);
+    }
+
+    synchronized void put(final UUID uniqueId, final long firstJoined, final long lastPlayed) throws IOException {
+        this.open();
+        final long most = uniqueId.getMostSignificantBits();
+        final long least = uniqueId.getLeastSignificantBits();
+        if (most == 0 && least == 0) {
+            // The nil id marks an empty record
+            return;
+        }
+        if ((this.size + 1L) * 4 > this.capacity * 3L) {
+            this.grow();
+        }
+        int slot = this.slot(most, least);
+        while (true) {
+            final int offset = PlayerDataIndex.offset(slot);
+            final long slotMost = this.buffer.getLong(offset);
+            final long slotLeast = this.buffer.getLong(offset + 8);
+            if (slotMost == 0 && slotLeast == 0) {
+                this.buffer.putLong(offset + PlayerDataIndex.FIRST_JOINED_OFFSET, firstJoined);
+                this.buffer.putLong(offset + PlayerDataIndex.LAST_PLAYED_OFFSET, lastPlayed);
+                this.buffer.putLong(offset + 8, least);
+                this.buffer.putLong(offset, most);
+                this.buffer.putInt(PlayerDataIndex.SIZE_OFFSET, ++this.size);
+                return;
+            }
+            if (slotMost == most && slotLeast == least) {
+                this.buffer.putLong(offset + PlayerDataIndex.FIRST_JOINED_OFFSET, firstJoined);
+                this.buffer.putLong(offset + PlayerDataIndex.LAST_PLAYED_OFFSET, lastPlayed);
+                return;
+            }
+            slot = (slot + 1) & (this.capacity - 1);
+        }
+    }
+
+    synchronized int size() throws IOException {
+        this.open();
+        return this.size;
+    }
+
+    synchronized void force() {
+        if (this.buffer != null) {
+            this.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.buffer != null) {
+            this.buffer.force();
+            PlayerDataIndex.unmap(this.buffer);
+            this.buffer = null;
+        }
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private int find(final UUID uniqueId) throws IOException {
+        this.open();
+        final long most = uniqueId.getMostSignificantBits();
+        final long least = uniqueId.getLeastSignificantBits();
+        int slot = this.slot(most, least);
+        while (true) {
+            final int offset = PlayerDataIndex.offset(slot);
+            final long slotMost = this.buffer.getLong(offset);
+            final long slotLeast = this.buffer.getLong(offset + 8);
+            if (slotMost == most && slotLeast == least) {
+                return slot;
+            }
+            if (slotMost == 0 && slotLeast == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & (this.capacity - 1);
+        }
+    }
+
+    private int slot(final long most, final long least) {
+        return (int) HashCommon.mix(most ^ least) & (this.capacity - 1);
+    }
+
+    private static int offset(final int slot) {
+        return PlayerDataIndex.HEADER_BYTES + slot * PlayerDataIndex.RECORD_BYTES;
+    }
+
+    private void open() throws IOException {
+        if (this.buffer != null) {
+            return;
+        }
+        Files.createDirectories(this.file.getParent());
+        final boolean existed = Files.exists(this.file);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!existed || this.channel.size() < PlayerDataIndex.HEADER_BYTES) {
+            this.map(PlayerDataIndex.INITIAL_CAPACITY);
+            this.writeHeader();
+            return;
+        }
+        final MappedByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, PlayerDataIndex.HEADER_BYTES);
+        final int capacity = header.getInt(PlayerDataIndex.CAPACITY_OFFSET);
+        final boolean valid = header.getInt(PlayerDataIndex.MAGIC_OFFSET) == PlayerDataIndex.MAGIC
+            && header.getInt(PlayerDataIndex.VERSION_OFFSET) == PlayerDataIndex.VERSION;
+        PlayerDataIndex.unmap(header);
+        if (!valid || Integer.bitCount(capacity) != 1 || this.channel.size() < PlayerDataIndex.offset(capacity)) {
+            this.channel.close();
+            final Path corrupt = this.file.resolveSibling(this.file.getFileName() + ".corrupt");
+            PlayerDataIndex.LOGGER.error("Player data index {} is corrupt, moving it to {} and starting over", this.file, corrupt);
+            Files.move(this.file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.map(PlayerDataIndex.INITIAL_CAPACITY);
+            this.writeHeader();
+            return;
+        }
+        this.map(capacity);
+        this.size = this.buffer.getInt(PlayerDataIndex.SIZE_OFFSET);
+        if (this.buffer.getInt(PlayerDataIndex.STATE_OFFSET) == PlayerDataIndex.STATE_REHASHING) {
+            this.recover();
+        }
+    }
+
+    private void map(final int capacity) throws IOException {
+        this.capacity = capacity;
+        final @Nullable MappedByteBuffer previous = this.buffer;
+        // Mapping past the end of the file extends it with zeroes, which are empty records
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, PlayerDataIndex.offset(capacity));
+        if (previous != null) {
+            PlayerDataIndex.unmap(previous);
+        }
+    }
+
+    /**
+     * Releases the given mapping right away. The buffer must not be accessed
+     * afterwards, doing so would crash the JVM.
+     */
+    private static void unmap(final MappedByteBuffer buffer) {
+        if (PlayerDataIndex.UNMAP == null) {
+            return;
+        }
+        try {
+            PlayerDataIndex.UNMAP.invokeExact((ByteBuffer) buffer);
+        } catch (final Throwable t) {
+            PlayerDataIndex.LOGGER.debug("Could not unmap a player data index buffer, it is released once collected", t);
+        }
+    }
+
+    private static @Nullable MethodHandle findUnmap() {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                // Java 9 and later
+                final MethodHandle invokeCleaner = lookup.findVirtual(unsafeClass, "invokeCleaner",
+                    MethodType.methodType(void.class, ByteBuffer.class));
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                return invokeCleaner.bindTo(theUnsafe.get(null));
+            } catch (final NoSuchMethodException e) {
+                // Java 8
+                final Class<?> cleanerClass = Class.forName("sun.misc.Cleaner");
+                final MethodHandle cleaner = lookup.findVirtual(Class.forName("sun.nio.ch.DirectBuffer"), "cleaner",
+                    MethodType.methodType(cleanerClass));
+                final MethodHandle clean = lookup.findVirtual(cleanerClass, "clean", MethodType.methodType(void.class));
+                return MethodHandles.filterReturnValue(cleaner, clean).asType(MethodType.methodType(void.class, ByteBuffer.class));
+            }
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            PlayerDataIndex.LOGGER.debug("Mapped buffers cannot be unmapped explicitly, they are released once collected", e);
+            return null;
+        }
+    }
+
+    private void writeHeader() {
+        this.buffer.putInt(PlayerDataIndex.MAGIC_OFFSET, PlayerDataIndex.MAGIC);
+        this.buffer.putInt(PlayerDataIndex.VERSION_OFFSET, PlayerDataIndex.VERSION);
+        this.buffer.putInt(PlayerDataIndex.CAPACITY_OFFSET, this.capacity);
+        this.buffer.putInt(PlayerDataIndex.SIZE_OFFSET, this.size);
+        this.buffer.putInt(PlayerDataIndex.STATE_OFFSET, PlayerDataIndex.STATE_CLEAN);
+    }
+
+    private void grow() throws IOException {
+        final int oldCapacity = this.capacity;
+        if (oldCapacity >= PlayerDataIndex.MAX_CAPACITY) {
+            throw new IOException("Player data index " + this.file + " is full");
+        }
+        try (final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.journal)))) {
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                final int offset = PlayerDataIndex.offset(slot);
+                final long most = this.buffer.getLong(offset);
+                final long least = this.buffer.getLong(offset + 8);
+                if (most != 0 || least != 0) {
+                    data.writeLong(most);
+                    data.writeLong(least);
+                    data.writeLong(this.buffer.getLong(offset + PlayerDataIndex.FIRST_JOINED_OFFSET));
+                    data.writeLong(this.buffer.getLong(offset + PlayerDataIndex.LAST_PLAYED_OFFSET));
+                }
+            }
+        }
+        this.buffer.putInt(PlayerDataIndex.STATE_OFFSET, PlayerDataIndex.STATE_REHASHING);
+        this.buffer.force();
+        this.rebuild(oldCapacity * 2);
+    }
+
+    private void recover() throws IOException {
+        PlayerDataIndex.LOGGER.warn("Player data index {} was being rehashed when the server stopped, restoring it", this.file);
+        if (Files.notExists(this.journal)) {
+            PlayerDataIndex.LOGGER.error("The rehash journal {} is missing, the player data index starts over", this.journal);
+            for (int slot = 0; slot < this.capacity; slot++) {
+                final int offset = PlayerDataIndex.offset(slot);
+                this.buffer.putLong(offset, 0);
+                this.buffer.putLong(offset + 8, 0);
+            }
+            this.size = 0;
+            this.writeHeader();
+            return;
+        }
+        this.rebuild(this.capacity);
+    }
+
+    /**
+     * Clears the table, resizes it to the given capacity and inserts every
+     * journaled record again.
+     */
+    private void rebuild(final int capacity) throws IOException {
+        this.map(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            final int offset = PlayerDataIndex.offset(slot);
+            this.buffer.putLong(offset, 0);
+            this.buffer.putLong(offset + 8, 0);
+        }
+        this.size = 0;
+        final long records = Files.size(this.journal) / PlayerDataIndex.RECORD_BYTES;
+        try (final DataInputStream data = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.journal)))) {
+            for (long i = 0; i < records; i++) {
+                final long most = data.readLong();
+                final long least = data.readLong();
+                final long firstJoined = data.readLong();
+                final long lastPlayed = data.readLong();
+                this.insertFresh(most, least, firstJoined, lastPlayed);
+            }
+        }
+        this.writeHeader();
+        this.buffer.force();
+        Files.deleteIfExists(this.journal);
+    }
+
+    private void insertFresh(final long most, final long least, final long firstJoined, final long lastPlayed) {
+        int slot = this.slot(most, least);
+        int offset = PlayerDataIndex.offset(slot);
+        while (this.buffer.getLong(offset) != 0 || this.buffer.getLong(offset + 8) != 0) {
+            slot = (slot + 1) & (this.capacity - 1);
+            offset = PlayerDataIndex.offset(slot);
+        }
+        this.buffer.putLong(offset, most);
+        this.buffer.putLong(offset + 8, least);
+        this.buffer.putLong(offset + PlayerDataIndex.FIRST_JOINED_OFFSET, firstJoined);
+        this.buffer.putLong(offset + PlayerDataIndex.LAST_PLAYED_OFFSET, lastPlayed);
+        this.size++;
+    }
+}
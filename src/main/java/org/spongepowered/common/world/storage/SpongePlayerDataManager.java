@@ -24,85 +24,101 @@
  */
 package org.spongepowered.common.world.storage;
 
-
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Server;
-import org.spongepowered.api.data.persistence.DataContainer;
-import org.spongepowered.api.data.persistence.DataQuery;
 import org.spongepowered.common.SpongeCommon;
-import org.spongepowered.common.data.persistence.NBTTranslator;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.server.SpongeWorldManager;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.NbtIo;
+import java.util.concurrent.TimeUnit;
 
 public final class SpongePlayerDataManager {
 
-    private static final String SPONGE_DATA = "sponge";
+    private static final String LEGACY_SPONGE_DATA = "sponge";
+    private static final String MIGRATED_SPONGE_DATA = "sponge_migrated";
+    private static final String INDEX_FILE = "sponge_players.index";
+    private static final int MIGRATION_LOG_INTERVAL = 10000;
+
     private final Server server;
-    private final Map<UUID, SpongePlayerData> playerDataByUniqueId;
-    @org.checkerframework.checker.nullness.qual.Nullable private Path playersDirectory = null;
+    private @Nullable PlayerDataIndex index;
 
     public SpongePlayerDataManager(final Server server) {
         this.server = server;
-        this.playerDataByUniqueId = new ConcurrentHashMap<>();
     }
 
     public void load() {
-        try {
-            this.playersDirectory = ((SpongeWorldManager) this.server.worldManager()).getDefaultWorldDirectory().resolve("data").resolve(
-                SpongePlayerDataManager.SPONGE_DATA);
-            Files.createDirectories(this.playersDirectory);
-
-            final List<Path> playerFiles = new ArrayList<>();
-            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.playersDirectory, "*.{dat}")) {
-                for (final Path entry : stream) {
-                    playerFiles.add(entry);
-                }
-            } catch (final DirectoryIteratorException e) {
-                SpongeCommon.getLogger().error("Something happened when trying to gather all player files", e);
+        final Path dataDirectory = ((SpongeWorldManager) this.server.worldManager()).getDefaultWorldDirectory().resolve("data");
+        if (this.index != null) {
+            try {
+                this.index.close();
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to close the player data index {}", this.index.file(), e);
             }
-            for (final Path playerFile : playerFiles) {
-                if (Files.isReadable(playerFile)) {
-                    final CompoundTag compound;
-
-                    try (final InputStream stream = Files.newInputStream(playerFile)) {
-                        compound = NbtIo.readCompressed(stream);
-                    } catch (final Exception e) {
-                        throw new RuntimeException("Failed to decompress playerdata for playerfile " + playerFile, e);
-                    }
-
-                    if (compound.isEmpty()) {
-                        throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
-                    }
-
-                    final DataContainer container = NBTTranslator.INSTANCE.translateFrom(compound);
-                    final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
-                    this.playerDataByUniqueId.put(data.getUniqueId(), data);
-                }
+        }
+        // The index itself is only opened the first time it is used
+        this.index = new PlayerDataIndex(dataDirectory.resolve(SpongePlayerDataManager.INDEX_FILE));
+
+        final Path legacyDirectory = dataDirectory.resolve(SpongePlayerDataManager.LEGACY_SPONGE_DATA);
+        if (Files.isDirectory(legacyDirectory)) {
+            try {
+                this.migrate(legacyDirectory, dataDirectory.resolve(SpongePlayerDataManager.MIGRATED_SPONGE_DATA));
+            } catch (final Exception ex) {
+                throw new RuntimeException("Encountered an exception while migrating the player data files!", ex);
             }
-            playerFiles.clear();
+        }
+    }
 
-        } catch (final Exception ex) {
-            throw new RuntimeException("Encountered an exception while creating the player data handler!", ex);
+    /**
+     * Moves the data of the one file per player layout into the index, then
+     * moves the old directory out of the way so the migration only ever
+     * runs once.
+     */
+    private void migrate(final Path legacyDirectory, final Path migratedDirectory) throws IOException {
+        final long start = System.nanoTime();
+        int migrated = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(legacyDirectory, "*.{dat}")) {
+            for (final Path playerFile : stream) {
+                if (!Files.isReadable(playerFile)) {
+                    continue;
+                }
+                final CompoundTag compound;
+                try (final InputStream in = Files.newInputStream(playerFile)) {
+                    compound = NbtIo.readCompressed(in);
+                } catch (final Exception e) {
+                    SpongeCommon.getLogger().error("Failed to decompress player data within [{}], skipping it", playerFile, e);
+                    continue;
+                }
+                final UUID uniqueId;
+                try {
+                    uniqueId = UUID.fromString(compound.getString(Constants.Entity.Player.UUID.asString('.')));
+                } catch (final IllegalArgumentException e) {
+                    SpongeCommon.getLogger().error("Player data within [{}] has no valid unique id, skipping it", playerFile);
+                    continue;
+                }
+                this.index.put(uniqueId, compound.getLong(Constants.Sponge.PlayerData.PLAYER_DATA_JOIN.asString('.')),
+                    compound.getLong(Constants.Sponge.PlayerData.PLAYER_DATA_LAST.asString('.')));
+                if (++migrated % SpongePlayerDataManager.MIGRATION_LOG_INTERVAL == 0) {
+                    SpongeCommon.getLogger().info("Migrated {} player data files to the player data index", migrated);
+                }
+            }
+        } catch (final DirectoryIteratorException e) {
+            throw e.getCause();
         }
+        this.index.force();
+        Files.move(legacyDirectory, migratedDirectory);
+        SpongeCommon.getLogger().info("Migrated {} player data files to {} in {} ms, the old files have been moved to {}", migrated,
+            this.index.file(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), migratedDirectory);
     }
 
     public void readPlayerData(final CompoundTag compound, @Nullable UUID playerUniqueId, @Nullable Instant creation) {
@@ -145,31 +161,28 @@ public void saveSpongePlayerData(final UUID uniqueId) {
             throw new IllegalArgumentException("Player unique id cannot be null!");
         }
 
-        final @Nullable SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        if (data != null) {
-            this.saveFile(uniqueId.toString(), this.createCompoundFor(data));
-        } else {
+        // Updates are written straight to the index, just make sure there is something to save
+        if (!this.getFirstJoined(uniqueId).isPresent()) {
             SpongeCommon.getLogger().error("Couldn't find a player data for the uuid: " + uniqueId.toString());
         }
     }
 
-    private CompoundTag createCompoundFor(final SpongePlayerData data) {
-        return NBTTranslator.INSTANCE.translate(data.toContainer());
+    /**
+     * Forces every update to the index out to the disk.
+     */
+    public void save() {
+        if (this.index != null) {
+            this.index.force();
+        }
     }
 
-    private void saveFile(final String id, final CompoundTag compound) {
-        try {
-            // Ensure that where we want to put this at ALWAYS exists
-            Files.createDirectories(this.playersDirectory);
-
-            final Path finalDatPath = this.playersDirectory.resolve(id + ".dat");
-            final Path newDatPath = this.playersDirectory.resolve(id + ".dat.tmp");
-            try (final OutputStream stream = Files.newOutputStream(newDatPath, StandardOpenOption.CREATE)) {
-                NbtIo.writeCompressed(compound, stream);
+    public void close() {
+        if (this.index != null) {
+            try {
+                this.index.close();
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to close the player data index {}", this.index.file(), e);
             }
-            Files.move(newDatPath, finalDatPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (Exception e) {
-            SpongeCommon.getLogger().error("Failed to save player data for [{}]!", id, e);
         }
     }
 
@@ -184,23 +197,37 @@ public void setPlayerInfo(final UUID playerUniqueId, final Instant join, final I
             throw new IllegalArgumentException("Last joined date cannot be null!");
         }
 
-        SpongePlayerData data = this.playerDataByUniqueId.get(playerUniqueId);
-        if (data == null) {
-            data = new SpongePlayerData();
-            data.setUniqueId(playerUniqueId);
+        try {
+            this.index().put(playerUniqueId, join.toEpochMilli(), last.toEpochMilli());
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to save player data for [{}]!", playerUniqueId, e);
         }
-        data.setFirstJoined(join.toEpochMilli());
-        data.setLastJoined(last.toEpochMilli());
-        this.playerDataByUniqueId.put(playerUniqueId, data);
     }
 
     public Optional<Instant> getFirstJoined(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.getFirstJoined()));
+        try {
+            final long firstJoined = this.index().firstJoined(uniqueId);
+            return firstJoined == PlayerDataIndex.ABSENT ? Optional.empty() : Optional.of(Instant.ofEpochMilli(firstJoined));
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to read player data for [{}]!", uniqueId, e);
+            return Optional.empty();
+        }
     }
 
     public Optional<Instant> getLastPlayed(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.getLastJoined()));
+        try {
+            final long lastPlayed = this.index().lastPlayed(uniqueId);
+            return lastPlayed == PlayerDataIndex.ABSENT ? Optional.empty() : Optional.of(Instant.ofEpochMilli(lastPlayed));
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to read player data for [{}]!", uniqueId, e);
+            return Optional.empty();
+        }
+    }
+
+    private PlayerDataIndex index() {
+        if (this.index == null) {
+            throw new IllegalStateException("The player data manager has not been loaded yet!");
+        }
+        return this.index;
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.world.level.ChunkPos;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A strictly read-only view over the region files of a template world.
+ *
+ * <p>Vanilla's region file opens its backing file for writing and will pad or
+ * rewrite headers it considers malformed, neither of which may ever happen to
+ * a template that is shared between many instances. This reader only parses
+ * the region header and chunk payloads and never opens anything for
+ * writing.</p>
+ */
+public final class TemplateRegionReader implements AutoCloseable {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int SECTOR_INTS = TemplateRegionReader.SECTOR_BYTES / 4;
+    private static final int CHUNK_HEADER_SIZE = 5;
+    private static final int EXTERNAL_STREAM_FLAG = 128;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+    private static final byte VERSION_NONE = 3;
+
+    private final Path folder;
+    private final Long2ObjectOpenHashMap<Region> regions = new Long2ObjectOpenHashMap<>();
+
+    public TemplateRegionReader(final Path folder) {
+        this.folder = folder;
+    }
+
+    public Path folder() {
+        return this.folder;
+    }
+
+    public boolean hasRegion(final ChunkPos pos) {
+        return Files.isRegularFile(this.regionFile(pos.getRegionX(), pos.getRegionZ()));
+    }
+
+    public synchronized @Nullable CompoundTag read(final ChunkPos pos) throws IOException {
+        final @Nullable Region region = this.region(pos.getRegionX(), pos.getRegionZ());
+        if (region == null) {
+            return null;
+        }
+        final int offset = region.offsets[(pos.x & 31) + (pos.z & 31) * 32];
+        if (offset == 0) {
+            return null;
+        }
+        final int sectorStart = offset >>> 8;
+        final int sectorCount = offset & 255;
+        final ByteBuffer buffer = ByteBuffer.allocate(sectorCount * TemplateRegionReader.SECTOR_BYTES);
+        region.channel.read(buffer, (long) sectorStart * TemplateRegionReader.SECTOR_BYTES);
+        buffer.flip();
+        if (buffer.remaining() < TemplateRegionReader.CHUNK_HEADER_SIZE) {
+            return null;
+        }
+        final int length = buffer.getInt();
+        final byte version = buffer.get();
+        if (length == 0) {
+            return null;
+        }
+
+        final InputStream raw;
+        if ((version & TemplateRegionReader.EXTERNAL_STREAM_FLAG) != 0) {
+            final Path external = this.folder.resolve("c." + pos.x + "." + pos.z + ".mcc");
+            if (!Files.isRegularFile(external)) {
+                return null;
+            }
+            raw = new BufferedInputStream(Files.newInputStream(external, StandardOpenOption.READ));
+        } else {
+            final int payload = Math.min(length - 1, buffer.remaining());
+            raw = new ByteArrayInputStream(buffer.array(), buffer.position(), payload);
+        }
+
+        try (final DataInputStream stream = new DataInputStream(TemplateRegionReader.decompress(raw,
+            (byte) (version & ~TemplateRegionReader.EXTERNAL_STREAM_FLAG)))) {
+            return NbtIo.read(stream);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException exception = null;
+        for (final Region region : this.regions.values()) {
+            if (region == null) {
+                continue;
+            }
+            try {
+                region.channel.close();
+            } catch (final IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        this.regions.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private @Nullable Region region(final int regionX, final int regionZ) throws IOException {
+        final long key = ChunkPos.asLong(regionX, regionZ);
+        if (this.regions.containsKey(key)) {
+            return this.regions.get(key);
+        }
+        final Path file = this.regionFile(regionX, regionZ);
+        Region region = null;
+        if (Files.isRegularFile(file)) {
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            final ByteBuffer header = ByteBuffer.allocate(TemplateRegionReader.SECTOR_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            final int[] offsets = new int[TemplateRegionReader.SECTOR_INTS];
+            header.asIntBuffer().get(offsets, 0, Math.min(TemplateRegionReader.SECTOR_INTS, header.remaining() / 4));
+            region = new Region(channel, offsets);
+        }
+        // Missing regions are cached too, the template never changes while instances exist
+        this.regions.put(key, region);
+        return region;
+    }
+
+    private Path regionFile(final int regionX, final int regionZ) {
+        return this.folder.resolve("r." + regionX + "." + regionZ + ".mca");
+    }
+
+    private static InputStream decompress(final InputStream stream, final byte version) throws IOException {
+        switch (version) {
+            case TemplateRegionReader.VERSION_GZIP:
+                return new GZIPInputStream(stream);
+            case TemplateRegionReader.VERSION_DEFLATE:
+                return new InflaterInputStream(stream);
+            case TemplateRegionReader.VERSION_NONE:
+                return stream;
+            default:
+                stream.close();
+                throw new IOException("Unknown region compression version " + version);
+        }
+    }
+
+    private static final class Region {
+
+        final FileChannel channel;
+        final int[] offsets;
+
+        Region(final FileChannel channel, final int[] offsets) {
+            this.channel = channel;
+            this.offsets = offsets;
+        }
+    }
+}
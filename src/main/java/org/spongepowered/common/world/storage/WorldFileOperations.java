@@ -0,0 +1,335 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Performs the bulk file system work behind copying, moving and deleting
+ * world directories off of the calling thread.
+ *
+ * <p>The directory tree is scanned once, after which every file is handed to
+ * the I/O pool on its own so that the (potentially hundreds of) region files
+ * of a world are transferred in parallel. Files are copied with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+ * which lets the operating system perform the copy in kernel space. Hard
+ * links are deliberately not used as region files are rewritten in place and
+ * a copy must never write through to its source.</p>
+ */
+public final class WorldFileOperations {
+
+    private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(
+        Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())),
+        new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - World I/O Thread #%d")
+            .setDaemon(true)
+            .build()
+    );
+
+    private WorldFileOperations() {
+    }
+
+    public static Executor executor() {
+        return WorldFileOperations.IO_EXECUTOR;
+    }
+
+    /**
+     * Copies the directory tree found at the source to the target.
+     *
+     * @param source The directory to copy
+     * @param target The directory to copy into
+     * @param directoryFilter Tests if a directory, and its children, should be copied
+     * @param fileFilter Tests if a file should be copied
+     * @param listener The listener notified as files complete, if any
+     * @return The future completing when every file has been copied
+     */
+    public static CompletableFuture<Void> copyDirectory(final Path source, final Path target, final Predicate<Path> directoryFilter,
+            final Predicate<Path> fileFilter, final @Nullable ProgressListener listener) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(target, "target");
+        Objects.requireNonNull(directoryFilter, "directoryFilter");
+        Objects.requireNonNull(fileFilter, "fileFilter");
+
+        return CompletableFuture.supplyAsync(() -> WorldFileOperations.scan(source, target, directoryFilter, fileFilter), WorldFileOperations.IO_EXECUTOR)
+            .thenCompose(files -> {
+                final Progress progress = new Progress(files, listener);
+                final CompletableFuture<?>[] copies = new CompletableFuture<?>[files.size()];
+                for (int i = 0; i < copies.length; i++) {
+                    final Path file = files.get(i);
+                    copies[i] = CompletableFuture.runAsync(() -> {
+                        final long size = WorldFileOperations.copyFile(file, target.resolve(source.relativize(file)));
+                        progress.complete(size);
+                    }, WorldFileOperations.IO_EXECUTOR);
+                }
+                return CompletableFuture.allOf(copies);
+            })
+            .whenComplete((v, t) -> {
+                if (t != null) {
+                    // Bail the whole deal if we hit IO problems!
+                    try {
+                        WorldFileOperations.deleteRecursively(target);
+                    } catch (final IOException e) {
+                        t.addSuppressed(e);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Moves the source directory to the target, renaming it when both share a
+     * file system.
+     *
+     * @param source The directory to move
+     * @param target The destination
+     * @return The future completing when the directory has been moved
+     */
+    public static CompletableFuture<Void> moveDirectory(final Path source, final Path target) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(target, "target");
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.createDirectories(target.getParent());
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (final AtomicMoveNotSupportedException e) {
+                return false;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, WorldFileOperations.IO_EXECUTOR).thenCompose(moved -> {
+            if (moved) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // Different file stores, fallback to copying then deleting the original
+            return WorldFileOperations.copyDirectory(source, target, p -> true, p -> true, null)
+                .thenCompose(v -> WorldFileOperations.deleteDirectory(source));
+        });
+    }
+
+    /**
+     * Deletes the directory tree found at the given path, removing files in
+     * parallel and then every directory from the leaves upward.
+     *
+     * @param directory The directory to delete
+     * @return The future completing when the directory no longer exists
+     */
+    public static CompletableFuture<Void> deleteDirectory(final Path directory) {
+        Objects.requireNonNull(directory, "directory");
+
+        return CompletableFuture.supplyAsync(() -> {
+            final DirectoryTree tree = new DirectoryTree();
+            if (Files.notExists(directory)) {
+                return tree;
+            }
+            try {
+                Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                        tree.directories.add(dir);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        tree.files.add(file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return tree;
+        }, WorldFileOperations.IO_EXECUTOR).thenCompose(tree -> {
+            final CompletableFuture<?>[] deletions = new CompletableFuture<?>[tree.files.size()];
+            for (int i = 0; i < deletions.length; i++) {
+                final Path file = tree.files.get(i);
+                deletions[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, WorldFileOperations.IO_EXECUTOR);
+            }
+            return CompletableFuture.allOf(deletions).thenRunAsync(() -> {
+                tree.directories.sort(Comparator.reverseOrder());
+                for (final Path dir : tree.directories) {
+                    try {
+                        Files.deleteIfExists(dir);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }, WorldFileOperations.IO_EXECUTOR);
+        });
+    }
+
+    private static List<Path> scan(final Path source, final Path target, final Predicate<Path> directoryFilter, final Predicate<Path> fileFilter) {
+        final List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                    if (!source.equals(dir) && !directoryFilter.test(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (fileFilter.test(file)) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Largest first, so the region files do not end up being the tail of the copy
+        files.sort(Comparator.comparingLong(WorldFileOperations::sizeOf).reversed());
+        return files;
+    }
+
+    private static long copyFile(final Path from, final Path to) {
+        try (final FileChannel in = FileChannel.open(from, StandardOpenOption.READ);
+             final FileChannel out = FileChannel.open(to, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            if (position < size) {
+                throw new IOException("Copied only " + position + " of " + size + " bytes of " + from + " to " + to);
+            }
+            Files.setLastModifiedTime(to, Files.getLastModifiedTime(from));
+            return position;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sizeOf(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (final IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteRecursively(final Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        final List<Path> paths = new ArrayList<>();
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            walk.forEach(paths::add);
+        }
+        paths.sort(Comparator.reverseOrder());
+        for (final Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called from an I/O thread each time a file has finished copying.
+         *
+         * @param completedBytes The bytes copied so far
+         * @param totalBytes The bytes that will be copied in total
+         * @param completedFiles The files copied so far
+         * @param totalFiles The files that will be copied in total
+         */
+        void progress(long completedBytes, long totalBytes, int completedFiles, int totalFiles);
+    }
+
+    private static final class DirectoryTree {
+
+        final List<Path> files = new ArrayList<>();
+        final List<Path> directories = new ArrayList<>();
+    }
+
+    private static final class Progress {
+
+        private final @Nullable ProgressListener listener;
+        private final long totalBytes;
+        private final int totalFiles;
+        private final AtomicLong completedBytes = new AtomicLong();
+        private final AtomicInteger completedFiles = new AtomicInteger();
+
+        Progress(final List<Path> files, final @Nullable ProgressListener listener) {
+            this.listener = listener;
+            this.totalFiles = files.size();
+            long total = 0;
+            for (final Path file : files) {
+                total += WorldFileOperations.sizeOf(file);
+            }
+            this.totalBytes = total;
+        }
+
+        void complete(final long bytes) {
+            final long bytesDone = this.completedBytes.addAndGet(bytes);
+            final int filesDone = this.completedFiles.incrementAndGet();
+            if (this.listener != null) {
+                this.listener.progress(bytesDone, this.totalBytes, filesDone, this.totalFiles);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks world instances whose region data is layered over a shared,
+ * read-only template directory.
+ *
+ * <p>An instance directory only ever holds the chunks the instance itself has
+ * written. Region storages created beneath a registered instance directory
+ * (chunks and points of interest alike) fall back to the matching folder of
+ * the template for chunks they have not written yet.</p>
+ *
+ * <p>The template readers cache what they read on the assumption that the
+ * template does not change, a template must therefore not be loaded, moved
+ * or deleted while it {@link #isTemplate(Path) has instances}.</p>
+ */
+public final class WorldTemplateOverlays {
+
+    /**
+     * The file marking a directory as belonging to an instance, so instances
+     * left behind by a crash can be discarded on the next start.
+     */
+    public static final String INSTANCE_MARKER = "sponge_instance";
+
+    private static final Map<Path, Path> INSTANCES = new ConcurrentHashMap<>();
+
+    private WorldTemplateOverlays() {
+    }
+
+    public static void register(final Path instanceDirectory, final Path templateDirectory) {
+        WorldTemplateOverlays.INSTANCES.put(instanceDirectory.toAbsolutePath().normalize(), templateDirectory.toAbsolutePath().normalize());
+    }
+
+    public static void unregister(final Path instanceDirectory) {
+        WorldTemplateOverlays.INSTANCES.remove(instanceDirectory.toAbsolutePath().normalize());
+    }
+
+    public static boolean isInstance(final Path directory) {
+        return WorldTemplateOverlays.INSTANCES.containsKey(directory.toAbsolutePath().normalize());
+    }
+
+    public static boolean isTemplate(final Path directory) {
+        return WorldTemplateOverlays.INSTANCES.containsValue(directory.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Creates the template reader backing the region storage rooted at the
+     * given folder, if that folder belongs to a registered instance.
+     *
+     * @param storageFolder The folder of the region storage, i.e. {@code <world>/region}
+     * @return The reader, or {@code null} if the storage is not part of an instance
+     */
+    public static @Nullable TemplateRegionReader createReader(final File storageFolder) {
+        if (WorldTemplateOverlays.INSTANCES.isEmpty()) {
+            return null;
+        }
+        final Path folder = storageFolder.toPath().toAbsolutePath().normalize();
+        final Path parent = folder.getParent();
+        if (parent == null) {
+            return null;
+        }
+        final Path template = WorldTemplateOverlays.INSTANCES.get(parent);
+        if (template == null) {
+            return null;
+        }
+        return new TemplateRegionReader(template.resolve(folder.getFileName()));
+    }
+}
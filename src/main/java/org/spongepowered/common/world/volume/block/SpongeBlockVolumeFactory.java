@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.world.volume.block;
 
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
@@ -38,6 +40,7 @@
 import org.spongepowered.common.world.volume.buffer.block.ArrayImmutableBlockBuffer;
 import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.common.world.volume.buffer.block.ChunkSnapshotBlockVolume;
 import org.spongepowered.math.vector.Vector3i;
 
 public class SpongeBlockVolumeFactory implements BlockVolumeFactory {
@@ -77,6 +80,9 @@ public BlockVolume.Immutable immutableOf(final BlockVolume.Streamable<@NonNull ?
         if (existing instanceof ArrayMutableBlockBuffer) {
             return this.createImmutableFromBufferData((ArrayMutableBlockBuffer) existing);
         }
+        if (existing instanceof LevelChunk && ((LevelChunk) existing).getLevel() instanceof ServerLevel) {
+            return ChunkSnapshotBlockVolume.capture((ServerLevel) ((LevelChunk) existing).getLevel(), existing.blockMin(), existing.blockMax());
+        }
         final ArrayMutableBlockBuffer buffer = new ArrayMutableBlockBuffer(
             existing.blockMin(),
             existing.blockSize()
@@ -95,6 +101,10 @@ private ArrayImmutableBlockBuffer createImmutableFromBufferData(final ArrayMutab
     @Override
     public BlockVolume.Immutable immutableOf(final BlockVolume.Streamable<@NonNull ?> existing, final Vector3i newMin, final Vector3i newMax
     ) {
+        // Worlds copy whole chunk sections, sharing the ones which did not change since they were last copied
+        if (existing instanceof ServerLevel) {
+            return ChunkSnapshotBlockVolume.capture((ServerLevel) existing, newMin, newMax);
+        }
         final ArrayMutableBlockBuffer buffer = new ArrayMutableBlockBuffer(newMin, newMax.sub(newMin));
         existing.blockStateStream(newMin, newMax, StreamOptions.lazily())
             .apply(VolumeCollectors.of(buffer, VolumePositionTranslators.identity(), VolumeApplicators.applyBlocks()));
@@ -79,16 +79,9 @@ public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, fin
         this.palette = mutablePalette;
         final int airId = mutablePalette.orAssign(ArrayMutableBlockBuffer.AIR);
 
-        final int dataSize = this.area();
         this.defaultState = defaultState;
-        this.data = new BlockBackingData.PackedBackingData(dataSize, palette.highestId());
-
-        // all blocks default to air
-        if (airId != 0) {
-            for (int i = 0; i < dataSize; i++) {
-                this.data.set(i, airId);
-            }
-        }
+        // all blocks default to air, sections only get allocated once something else is placed in them
+        this.data = new BlockBackingData.SectionedBackingData(size.x(), size.y(), size.z(), airId, mutablePalette.highestId());
     }
 
     public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, final Vector3i start, final Vector3i size, final char[] blocks) {
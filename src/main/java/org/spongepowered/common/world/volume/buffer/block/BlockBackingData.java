@@ -123,8 +123,9 @@ class PackedBackingData implements BlockBackingData {
          */
         public PackedBackingData(final int size, final int highestValue) {
             this.arraySize = size;
+            // At least one bit, a zero bit array has no backing longs to index into
             int bits;
-            bits = 0;
+            bits = 1;
             while (1 << bits <= highestValue) {
                 bits++;
             }
@@ -205,4 +206,187 @@ public int hashCode() {
             return result;
         }
     }
+
+    /**
+     * Backing data split into 16x16x16 sections, each bit packed with just
+     * enough bits for the highest id written to it so far. Sections that were
+     * never written to with anything but the default id are not allocated at
+     * all, which keeps large, mostly empty volumes cheap.
+     *
+     * <p>Indices follow the layout of
+     * {@link org.spongepowered.common.world.volume.buffer.AbstractVolumeBuffer}
+     * ({@code x} major, then {@code z}, then {@code y}). Sections grow on their
+     * own as higher ids get written to them, so {@link #getMax()} is
+     * effectively unbounded.</p>
+     */
+    class SectionedBackingData implements BlockBackingData {
+
+        private static final int SECTION_SHIFT = 4;
+        private static final int SECTION_MASK = (1 << SectionedBackingData.SECTION_SHIFT) - 1;
+        private static final int SECTION_VOLUME = 1 << (SectionedBackingData.SECTION_SHIFT * 3);
+
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final int yzSlice;
+        private final int sectionsY;
+        private final int sectionsZ;
+        private final int defaultValue;
+        private final @Nullable PackedBackingData[] sections;
+        private int highestValue;
+
+        /**
+         * Creates a new, entirely unallocated, SectionedBackingData.
+         *
+         * @param sizeX The size of the volume on the x axis
+         * @param sizeY The size of the volume on the y axis
+         * @param sizeZ The size of the volume on the z axis
+         * @param defaultValue The value of every entry that was not set
+         * @param highestValue The highest value to prepare newly allocated sections for
+         */
+        public SectionedBackingData(final int sizeX, final int sizeY, final int sizeZ, final int defaultValue, final int highestValue) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.yzSlice = sizeY * sizeZ;
+            this.sectionsY = SectionedBackingData.sections(sizeY);
+            this.sectionsZ = SectionedBackingData.sections(sizeZ);
+            this.defaultValue = defaultValue;
+            this.highestValue = Math.max(defaultValue, highestValue);
+            this.sections = new PackedBackingData[SectionedBackingData.sections(sizeX) * this.sectionsY * this.sectionsZ];
+        }
+
+        private SectionedBackingData(final SectionedBackingData other) {
+            this.sizeX = other.sizeX;
+            this.sizeY = other.sizeY;
+            this.sizeZ = other.sizeZ;
+            this.yzSlice = other.yzSlice;
+            this.sectionsY = other.sectionsY;
+            this.sectionsZ = other.sectionsZ;
+            this.defaultValue = other.defaultValue;
+            this.highestValue = other.highestValue;
+            this.sections = new PackedBackingData[other.sections.length];
+            for (int i = 0; i < this.sections.length; i++) {
+                final @Nullable PackedBackingData section = other.sections[i];
+                this.sections[i] = section == null ? null : section.copyOf();
+            }
+        }
+
+        private static int sections(final int size) {
+            return (size + SectionedBackingData.SECTION_MASK) >> SectionedBackingData.SECTION_SHIFT;
+        }
+
+        @Override
+        public int get(final int index) {
+            final int x = index / this.yzSlice;
+            final int yz = index - x * this.yzSlice;
+            final int z = yz / this.sizeY;
+            final int y = yz - z * this.sizeY;
+            final @Nullable PackedBackingData section = this.sections[this.sectionIndex(x, y, z)];
+            if (section == null) {
+                return this.defaultValue;
+            }
+            return section.get(SectionedBackingData.localIndex(x, y, z));
+        }
+
+        @Override
+        public void set(final int index, final int val) {
+            final int x = index / this.yzSlice;
+            final int yz = index - x * this.yzSlice;
+            final int z = yz / this.sizeY;
+            final int y = yz - z * this.sizeY;
+            final int sectionIndex = this.sectionIndex(x, y, z);
+            @Nullable PackedBackingData section = this.sections[sectionIndex];
+            if (section == null) {
+                if (val == this.defaultValue) {
+                    return;
+                }
+                this.highestValue = Math.max(this.highestValue, val);
+                section = new PackedBackingData(SectionedBackingData.SECTION_VOLUME, this.highestValue);
+                if (this.defaultValue != 0) {
+                    for (int i = 0; i < SectionedBackingData.SECTION_VOLUME; i++) {
+                        section.set(i, this.defaultValue);
+                    }
+                }
+                this.sections[sectionIndex] = section;
+            } else if (val > section.getMax()) {
+                this.highestValue = Math.max(this.highestValue, val);
+                final PackedBackingData resized = new PackedBackingData(SectionedBackingData.SECTION_VOLUME, this.highestValue);
+                for (int i = 0; i < SectionedBackingData.SECTION_VOLUME; i++) {
+                    resized.set(i, section.get(i));
+                }
+                section = resized;
+                this.sections[sectionIndex] = section;
+            }
+            section.set(SectionedBackingData.localIndex(x, y, z), val);
+        }
+
+        private int sectionIndex(final int x, final int y, final int z) {
+            return ((x >> SectionedBackingData.SECTION_SHIFT) * this.sectionsZ + (z >> SectionedBackingData.SECTION_SHIFT)) * this.sectionsY
+                + (y >> SectionedBackingData.SECTION_SHIFT);
+        }
+
+        private static int localIndex(final int x, final int y, final int z) {
+            return (((x & SectionedBackingData.SECTION_MASK) << SectionedBackingData.SECTION_SHIFT | (z & SectionedBackingData.SECTION_MASK))
+                << SectionedBackingData.SECTION_SHIFT) | (y & SectionedBackingData.SECTION_MASK);
+        }
+
+        /**
+         * Gets the number of sections holding anything but the default value.
+         */
+        public int allocatedSections() {
+            int allocated = 0;
+            for (final @Nullable PackedBackingData section : this.sections) {
+                if (section != null) {
+                    allocated++;
+                }
+            }
+            return allocated;
+        }
+
+        @Override
+        public SectionedBackingData copyOf() {
+            return new SectionedBackingData(this);
+        }
+
+        @Override
+        public int getMax() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final SectionedBackingData that = (SectionedBackingData) o;
+            if (this.sizeX != that.sizeX || this.sizeY != that.sizeY || this.sizeZ != that.sizeZ || this.defaultValue != that.defaultValue) {
+                return false;
+            }
+            // Sections may differ in bits, or be allocated on one side only, compare their contents
+            for (int i = 0; i < this.sections.length; i++) {
+                final @Nullable PackedBackingData mine = this.sections[i];
+                final @Nullable PackedBackingData theirs = that.sections[i];
+                if (mine == null && theirs == null) {
+                    continue;
+                }
+                for (int j = 0; j < SectionedBackingData.SECTION_VOLUME; j++) {
+                    final int a = mine == null ? this.defaultValue : mine.get(j);
+                    final int b = theirs == null ? that.defaultValue : theirs.get(j);
+                    if (a != b) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.sizeX, this.sizeY, this.sizeZ, this.defaultValue);
+        }
+    }
 }
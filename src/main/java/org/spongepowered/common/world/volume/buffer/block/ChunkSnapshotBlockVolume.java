@@ -0,0 +1,203 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume.buffer.block;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.fluid.FluidState;
+import org.spongepowered.api.world.volume.block.BlockVolume;
+import org.spongepowered.api.world.volume.stream.StreamOptions;
+import org.spongepowered.api.world.volume.stream.VolumeElement;
+import org.spongepowered.api.world.volume.stream.VolumeStream;
+import org.spongepowered.common.bridge.world.level.chunk.PalettedContainerBridge;
+import org.spongepowered.common.world.storage.ChunkSectionSnapshot;
+import org.spongepowered.common.world.volume.SpongeVolumeStream;
+import org.spongepowered.common.world.volume.VolumeStreamUtils;
+import org.spongepowered.common.world.volume.buffer.AbstractVolumeBuffer;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable copy of a region of a world, backed by the
+ * {@link ChunkSectionSnapshot snapshots} of the chunk sections it covers.
+ *
+ * <p>Only the sections are copied rather than every block, and a section
+ * which has not changed since it was last snapshot, be it by another volume
+ * or by the chunk serializer, shares that copy. Once captured the volume may
+ * be read from any thread. Chunks that were not loaded when the volume was
+ * captured read as air and are not {@link #isAreaAvailable(int, int, int)
+ * available}.</p>
+ */
+public final class ChunkSnapshotBlockVolume extends AbstractVolumeBuffer implements BlockVolume.Immutable {
+
+    private static final int SECTION_COUNT = 16;
+    private static final BlockState AIR = (BlockState) Blocks.AIR.defaultBlockState();
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksZ;
+    // Indexed by chunk, then section. null for empty sections
+    private final @Nullable ChunkSectionSnapshot[] sections;
+    private final BitSet loaded;
+    private final long retainedSize;
+
+    private ChunkSnapshotBlockVolume(final Vector3i start, final Vector3i size, final int minChunkX, final int minChunkZ, final int chunksZ,
+        final @Nullable ChunkSectionSnapshot[] sections, final BitSet loaded) {
+        super(start, size);
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.chunksZ = chunksZ;
+        this.sections = sections;
+        this.loaded = loaded;
+        final Set<ChunkSectionSnapshot> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        long retained = 0;
+        for (final @Nullable ChunkSectionSnapshot section : sections) {
+            if (section != null && distinct.add(section)) {
+                retained += section.retainedSize();
+            }
+        }
+        this.retainedSize = retained;
+    }
+
+    /**
+     * Captures the blocks between the given positions, inclusive. The
+     * capture happens on the thread owning the world, blocking the caller
+     * until it is done if that is another thread.
+     *
+     * @param level The world
+     * @param min The lowest position
+     * @param max The highest position
+     * @return The volume
+     */
+    public static ChunkSnapshotBlockVolume capture(final ServerLevel level, final Vector3i min, final Vector3i max) {
+        final Vector3i start = min.min(max);
+        final Vector3i end = min.max(max);
+        final MinecraftServer server = level.getServer();
+        if (server.isSameThread()) {
+            return ChunkSnapshotBlockVolume.copy(level, start, end);
+        }
+        return server.submit(() -> ChunkSnapshotBlockVolume.copy(level, start, end)).join();
+    }
+
+    private static ChunkSnapshotBlockVolume copy(final ServerLevel level, final Vector3i start, final Vector3i end) {
+        final int minChunkX = start.x() >> 4;
+        final int minChunkZ = start.z() >> 4;
+        final int chunksX = (end.x() >> 4) - minChunkX + 1;
+        final int chunksZ = (end.z() >> 4) - minChunkZ + 1;
+        final int minSection = Math.max(0, start.y() >> 4);
+        final int maxSection = Math.min(ChunkSnapshotBlockVolume.SECTION_COUNT - 1, end.y() >> 4);
+        final @Nullable ChunkSectionSnapshot[] sections = new ChunkSectionSnapshot[chunksX * chunksZ * ChunkSnapshotBlockVolume.SECTION_COUNT];
+        final BitSet loaded = new BitSet(chunksX * chunksZ);
+        for (int x = 0; x < chunksX; x++) {
+            for (int z = 0; z < chunksZ; z++) {
+                final @Nullable LevelChunk chunk = level.getChunkSource().getChunk(minChunkX + x, minChunkZ + z, false);
+                if (chunk == null) {
+                    continue;
+                }
+                final int chunkIndex = x * chunksZ + z;
+                loaded.set(chunkIndex);
+                final LevelChunkSection[] chunkSections = chunk.getSections();
+                for (int y = minSection; y <= maxSection; y++) {
+                    final @Nullable LevelChunkSection section = chunkSections[y];
+                    if (!LevelChunkSection.isEmpty(section)) {
+                        sections[chunkIndex * ChunkSnapshotBlockVolume.SECTION_COUNT + y] =
+                            ((PalettedContainerBridge) section.getStates()).bridge$snapshot();
+                    }
+                }
+            }
+        }
+        return new ChunkSnapshotBlockVolume(start, end.sub(start).add(Vector3i.ONE), minChunkX, minChunkZ, chunksZ, sections, loaded);
+    }
+
+    /**
+     * Gets the approximate number of bytes held by the copied sections.
+     * Sections shared with other snapshots are counted as well.
+     *
+     * @return The retained size
+     */
+    public long retainedSize() {
+        return this.retainedSize;
+    }
+
+    private int chunkIndex(final int x, final int z) {
+        return ((x >> 4) - this.minChunkX) * this.chunksZ + ((z >> 4) - this.minChunkZ);
+    }
+
+    @Override
+    public BlockState block(final int x, final int y, final int z) {
+        this.checkRange(x, y, z);
+        if (y < 0 || y >> 4 >= ChunkSnapshotBlockVolume.SECTION_COUNT) {
+            return ChunkSnapshotBlockVolume.AIR;
+        }
+        final @Nullable ChunkSectionSnapshot section = this.sections[this.chunkIndex(x, z) * ChunkSnapshotBlockVolume.SECTION_COUNT + (y >> 4)];
+        return section == null ? ChunkSnapshotBlockVolume.AIR : (BlockState) section.get(x & 15, y & 15, z & 15);
+    }
+
+    @Override
+    public FluidState fluid(final int x, final int y, final int z) {
+        return this.block(x, y, z).fluidState();
+    }
+
+    @Override
+    public int highestYAt(final int x, final int z) {
+        this.checkRange(x, this.start.y(), z);
+        for (int y = this.end.y(); y >= this.start.y(); y--) {
+            if (!((net.minecraft.world.level.block.state.BlockState) this.block(x, y, z)).isAir()) {
+                return y + 1;
+            }
+        }
+        return this.start.y();
+    }
+
+    @Override
+    public boolean isAreaAvailable(final int x, final int y, final int z) {
+        return super.isAreaAvailable(x, y, z) && this.loaded.get(this.chunkIndex(x, z));
+    }
+
+    @Override
+    public VolumeStream<Immutable, BlockState> blockStateStream(final Vector3i min, final Vector3i max, final StreamOptions options) {
+        VolumeStreamUtils.validateStreamArgs(min, max, this.blockMin(), this.blockMax(), options);
+        // Already a copy, there is nothing left to copy
+        final Stream<VolumeElement<Immutable, BlockState>> stateStream = IntStream.range(min.x(), max.x() + 1)
+            .mapToObj(x -> IntStream.range(min.z(), max.z() + 1)
+                .mapToObj(z -> IntStream.range(min.y(), max.y() + 1)
+                    .mapToObj(y -> VolumeElement.<Immutable, BlockState>of(this, () -> this.block(x, y, z), new Vector3i(x, y, z)))
+                ).flatMap(Function.identity())
+            ).flatMap(Function.identity());
+        return new SpongeVolumeStream<>(stateStream, () -> this);
+    }
+}
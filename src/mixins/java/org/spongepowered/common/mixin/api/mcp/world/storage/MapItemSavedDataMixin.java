@@ -41,6 +41,7 @@
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.bridge.data.DataCompoundHolder;
 import org.spongepowered.common.bridge.data.SpongeDataHolderBridge;
+import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
 import org.spongepowered.common.bridge.world.storage.MapDecorationBridge;
 import org.spongepowered.common.bridge.world.storage.MapItemSavedDataBridge;
 import org.spongepowered.common.map.SpongeMapStorage;
@@ -84,6 +85,11 @@ public MapItemSavedDataMixin(final String name) {
 
     @Override
     public void bridge$updateWholeMap() {
+        if ((Object) this instanceof OptimizedMapDataBridge) {
+            // Changes are tracked per pixel rather than as a growing rectangle
+            ((OptimizedMapDataBridge) this).mapOptimizationBridge$markAllDirty();
+            return;
+        }
         this.shadow$setDirty(0,0);
         this.shadow$setDirty(Constants.Map.MAP_MAX_INDEX, Constants.Map.MAP_MAX_INDEX);
     }
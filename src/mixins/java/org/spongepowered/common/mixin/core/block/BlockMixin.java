@@ -121,21 +121,41 @@ public abstract class BlockMixin implements BlockBridge, TrackableBridge, Timing
         return this.impl$allowsBlockBulkCapture;
     }
 
+    @Override
+    public void bridge$setAllowsBlockBulkCaptures(final boolean allowsBlockBulkCaptures) {
+        this.impl$allowsBlockBulkCapture = allowsBlockBulkCaptures;
+    }
+
     @Override
     public boolean bridge$allowsEntityBulkCaptures() {
         return this.impl$allowsEntityBulkCapture;
     }
 
+    @Override
+    public void bridge$setAllowsEntityBulkCaptures(final boolean allowsEntityBulkCaptures) {
+        this.impl$allowsEntityBulkCapture = allowsEntityBulkCaptures;
+    }
+
     @Override
     public boolean bridge$allowsBlockEventCreation() {
         return this.impl$allowsBlockEventCreation;
     }
 
+    @Override
+    public void bridge$setAllowsBlockEventCreation(final boolean allowsBlockEventCreation) {
+        this.impl$allowsBlockEventCreation = allowsBlockEventCreation;
+    }
+
     @Override
     public boolean bridge$allowsEntityEventCreation() {
         return this.impl$allowsEntityEventCreation;
     }
 
+    @Override
+    public void bridge$setAllowsEntityEventCreation(final boolean allowsEntityEventCreation) {
+        this.impl$allowsEntityEventCreation = allowsEntityEventCreation;
+    }
+
     @Override
     public void bridge$refreshTrackerStates() {
         // not needed
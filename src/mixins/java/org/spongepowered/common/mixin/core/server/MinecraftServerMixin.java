@@ -71,10 +71,12 @@
 import org.spongepowered.common.config.inheritable.WorldConfig;
 import org.spongepowered.common.datapack.SpongeDataPackManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TrackerCostProfiler;
 import co.aikar.timings.sponge.SpongeTimings;
 import co.aikar.timings.sponge.TimingsManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.service.server.SpongeServerScopedServiceProvider;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -96,6 +98,7 @@ public abstract class MinecraftServerMixin implements SpongeServer, MinecraftSer
     @Shadow @Final private GameProfileCache profileCache;
     @Shadow @Final private static Logger LOGGER;
     @Shadow private int tickCount;
+    @Shadow @Final public long[] tickTimes;
     @Shadow @Final protected LevelStorageSource.LevelStorageAccess storageSource;
 
     @Shadow public abstract CommandSourceStack shadow$createCommandSourceStack();
@@ -145,6 +148,7 @@ public Subject subject() {
     @Inject(method = "tickServer", at = @At(value = "HEAD"))
     private void impl$onServerTickStart(final CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.startTiming();
+        this.scheduler().startTick();
     }
 
     @Inject(method = "tickServer", at = @At("TAIL"))
@@ -178,6 +182,15 @@ public Subject subject() {
         ((GameProfileCacheBridge) this.profileCache).bridge$setCanSave(false);
     }
 
+    @Inject(method = "saveAllChunks", at = @At("RETURN"))
+    private void impl$savePlayerDataIndexOnSave(
+            final boolean suppressLog,
+            final boolean flush,
+            final boolean forced,
+            final CallbackInfoReturnable<Boolean> cir) {
+        this.getPlayerDataManager().save();
+    }
+
     /**
      * @author Zidane
      * @reason Apply our branding
@@ -192,6 +205,28 @@ public String getServerModName() {
         TimingsManager.FULL_SERVER_TICK.stopTiming();
     }
 
+    @Inject(method = "tickServer", at = @At(value = "RETURN"))
+    private void impl$recordTickMetrics(final CallbackInfo ci) {
+        if (SpongeMetrics.isEnabled()) {
+            SpongeMetrics.onServerTick((MinecraftServer) (Object) this, this.tickCount, this.tickTimes[this.tickCount % 100]);
+        }
+    }
+
+    @Inject(method = "tickServer", at = @At(value = "RETURN"))
+    private void impl$profileTrackerCosts(final CallbackInfo ci) {
+        TrackerCostProfiler.onServerTick();
+    }
+
+    @Inject(method = "stopServer", at = @At(value = "TAIL"))
+    private void impl$closePlayerDataIndex(final CallbackInfo ci) {
+        this.getPlayerDataManager().close();
+    }
+
+    @Inject(method = "stopServer", at = @At(value = "TAIL"))
+    private void impl$stopMetricsEndpoint(final CallbackInfo ci) {
+        SpongeMetrics.stop();
+    }
+
     @Inject(method = "stopServer", at = @At(value = "TAIL"))
     private void impl$closeLevelSaveForOtherWorlds(final CallbackInfo ci) {
         for (final Map.Entry<ResourceKey<Level>, ServerLevel> entry : this.levels.entrySet()) {
@@ -208,6 +243,11 @@ public String getServerModName() {
         }
     }
 
+    @Inject(method = "stopServer", at = @At(value = "TAIL"))
+    private void impl$discardWorldInstances(final CallbackInfo ci) {
+        this.worldManager().discardWorldInstances();
+    }
+
     @ModifyConstant(method = "tickServer", constant = @Constant(intValue = 6000, ordinal = 0))
     private int getSaveTickInterval(final int tickInterval) {
         if (!this.shadow$isDedicatedServer()) {
@@ -35,6 +35,7 @@
 import net.minecraft.world.level.chunk.ImposterProtoChunk;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.storage.ChunkSerializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.world.chunk.ChunkEvent;
@@ -48,15 +49,24 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.Slice;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.world.level.chunk.LevelChunkBridge;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.chunk.ChunkLifecycleBatches;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.metric.SpongeMetrics;
+import org.spongepowered.common.world.storage.AsyncChunkSerializer;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.util.function.BooleanSupplier;
+
 @Mixin(ChunkMap.class)
 public abstract class ChunkMapMixin {
 
@@ -64,9 +74,22 @@ public abstract class ChunkMapMixin {
     @Shadow @Final private ServerLevel level;
     // @formatter:on
 
+    private @Nullable Object impl$saveFlightEvent;
+    private long impl$saveStartNanos;
+    private @Nullable AsyncChunkSerializer impl$serializer;
+    private @Nullable ChunkAccess impl$savingChunk;
+    private @Nullable Runnable impl$deferredSections;
+    private boolean impl$saveDeferred;
+    private @Nullable ResourceKey impl$worldKey;
+    private ChunkLifecycleBatches.@Nullable Collector impl$chunkBatch;
+
     @Redirect(method = "save",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/ai/village/poi/PoiManager;flush(Lnet/minecraft/world/level/ChunkPos;)V"))
     private void impl$useSerializationBehaviorForPOI(PoiManager pointOfInterestManager, ChunkPos p_219112_1_) {
+        // Stays dirty and is written once the region files may change again
+        if (((ChunkStorageBridge) this).bridge$isHoldingWrites()) {
+            return;
+        }
         final PrimaryLevelDataBridge infoBridge = (PrimaryLevelDataBridge) this.level.getLevelData();
         final SerializationBehavior serializationBehavior = infoBridge.bridge$serializationBehavior().orElse(SerializationBehavior.AUTOMATIC);
         if (serializationBehavior == SerializationBehavior.AUTOMATIC || serializationBehavior == SerializationBehavior.MANUAL) {
@@ -81,7 +104,16 @@ public abstract class ChunkMapMixin {
         final PrimaryLevelDataBridge infoBridge = (PrimaryLevelDataBridge) this.level.getLevelData();
         final SerializationBehavior serializationBehavior = infoBridge.bridge$serializationBehavior().orElse(SerializationBehavior.AUTOMATIC);
         if (serializationBehavior == SerializationBehavior.AUTOMATIC || serializationBehavior == SerializationBehavior.MANUAL) {
-            return ChunkSerializer.write(worldIn, chunkIn);
+            if (!SpongeConfigs.getCommon().get().world.asyncChunkSerialization) {
+                return ChunkSerializer.write(worldIn, chunkIn);
+            }
+            this.impl$savingChunk = chunkIn;
+            AsyncChunkSerializer.beginCapture();
+            try {
+                return ChunkSerializer.write(worldIn, chunkIn);
+            } finally {
+                this.impl$deferredSections = AsyncChunkSerializer.endCapture();
+            }
         }
 
         return null;
@@ -94,9 +126,102 @@ public abstract class ChunkMapMixin {
             return;
         }
 
+        final @Nullable ChunkAccess chunk = this.impl$savingChunk;
+        final @Nullable Runnable deferredSections = this.impl$deferredSections;
+        this.impl$savingChunk = null;
+        this.impl$deferredSections = null;
+        if (chunk != null && this.impl$serializer().submit(chunk, compound, deferredSections)) {
+            this.impl$saveDeferred = true;
+            return;
+        }
         chunkManager.write(pos, compound);
     }
 
+    private AsyncChunkSerializer impl$serializer() {
+        if (this.impl$serializer == null) {
+            this.impl$serializer = new AsyncChunkSerializer((ChunkMap) (Object) this, this.impl$worldKey());
+        }
+        return this.impl$serializer;
+    }
+
+    private ResourceKey impl$worldKey() {
+        if (this.impl$worldKey == null) {
+            this.impl$worldKey = (ResourceKey) (Object) this.level.dimension().location();
+        }
+        return this.impl$worldKey;
+    }
+
+    private ChunkLifecycleBatches.Collector impl$chunkBatch() {
+        if (this.impl$chunkBatch == null) {
+            this.impl$chunkBatch = new ChunkLifecycleBatches.Collector(this.impl$worldKey());
+        }
+        return this.impl$chunkBatch;
+    }
+
+    @Inject(method = "readChunk", at = @At("HEAD"))
+    private void impl$awaitPendingSave(final ChunkPos pos, final CallbackInfoReturnable<CompoundTag> cir) {
+        if (this.impl$serializer != null) {
+            this.impl$serializer.await(pos);
+        }
+    }
+
+    @Inject(method = "tick(Ljava/util/function/BooleanSupplier;)V", at = @At("HEAD"))
+    private void impl$storeSerializedChunks(final BooleanSupplier hasMoreTime, final CallbackInfo ci) {
+        if (this.impl$serializer != null) {
+            this.impl$serializer.drain();
+        }
+    }
+
+    @Inject(method = "tick(Ljava/util/function/BooleanSupplier;)V", at = @At("HEAD"))
+    private void impl$dispatchChunkBatch(final BooleanSupplier hasMoreTime, final CallbackInfo ci) {
+        // Still dispatched after the last listener left, the positions were collected for it already
+        if (this.impl$chunkBatch != null) {
+            this.impl$chunkBatch.dispatch();
+        }
+    }
+
+    @Redirect(method = "tick(Ljava/util/function/BooleanSupplier;)V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/ai/village/poi/PoiManager;tick(Ljava/util/function/BooleanSupplier;)V"))
+    private void impl$holdPointOfInterestWrites(final PoiManager poiManager, final BooleanSupplier hasMoreTime) {
+        if (!((ChunkStorageBridge) this).bridge$isHoldingWrites()) {
+            poiManager.tick(hasMoreTime);
+        }
+    }
+
+    @Inject(method = "saveAllChunks", at = @At("HEAD"))
+    private void impl$releaseHeldWritesOnShutdown(final boolean flush, final CallbackInfo ci) {
+        // Whatever held the writes won't get to release them anymore, this is the last save
+        if (flush && !this.level.getServer().isRunning()) {
+            this.impl$releaseHeldWrites();
+        }
+    }
+
+    private void impl$releaseHeldWrites() {
+        final ChunkStorageBridge storage = (ChunkStorageBridge) this;
+        while (storage.bridge$isHoldingWrites()) {
+            storage.bridge$releaseWrites();
+        }
+    }
+
+    @Inject(method = "saveAllChunks", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ChunkMap;flushWorker()V"))
+    private void impl$awaitPendingSavesBeforeFlush(final boolean flush, final CallbackInfo ci) {
+        if (this.impl$serializer != null) {
+            this.impl$serializer.awaitAll();
+        }
+    }
+
+    @Inject(method = "close", at = @At("HEAD"))
+    private void impl$awaitPendingSavesBeforeClose(final CallbackInfo ci) {
+        if (this.impl$serializer != null) {
+            this.impl$serializer.awaitAll();
+        }
+        this.impl$releaseHeldWrites();
+        // The world is not ticked anymore, hand over the chunks unloaded while it was saved
+        if (this.impl$chunkBatch != null) {
+            this.impl$chunkBatch.dispatch();
+        }
+    }
+
     @Redirect(method = "*",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ServerLevel;unload(Lnet/minecraft/world/level/chunk/LevelChunk;)V"),
             slice = @Slice(
@@ -105,16 +230,19 @@ public abstract class ChunkMapMixin {
     )
     private void impl$onSetUnloaded(final ServerLevel level, final LevelChunk chunk) {
         level.unload(chunk);
-        final Vector3i chunkPos = new Vector3i(chunk.getPos().x, 0, chunk.getPos().z);
+        final ChunkPos pos = chunk.getPos();
         if (ShouldFire.CHUNK_EVENT_UNLOAD) {
-            final ChunkEvent.Unload event = SpongeEventFactory.createChunkEventUnload(PhaseTracker.getInstance().currentCause(), chunkPos,
-                    (ResourceKey) (Object) this.level.dimension().location());
+            final ChunkEvent.Unload event = SpongeEventFactory.createChunkEventUnload(PhaseTracker.getInstance().currentCause(),
+                    new Vector3i(pos.x, 0, pos.z), this.impl$worldKey());
             SpongeCommon.postEvent(event);
         }
+        if (ChunkLifecycleBatches.isActive()) {
+            this.impl$chunkBatch().unloaded(pos);
+        }
 
         for (final Direction dir : Constants.Chunk.CARDINAL_DIRECTIONS) {
-            final Vector3i neighborPos = chunkPos.add(dir.asBlockOffset());
-            final ChunkAccess neighbor = this.level.getChunk(neighborPos.x(), neighborPos.z(), ChunkStatus.EMPTY, false);
+            final Vector3i offset = dir.asBlockOffset();
+            final ChunkAccess neighbor = this.level.getChunk(pos.x + offset.x(), pos.z + offset.z(), ChunkStatus.EMPTY, false);
             if (neighbor instanceof LevelChunk) {
                 final int index = SpongeCommon.directionToIndex(dir);
                 final int oppositeIndex = SpongeCommon.directionToIndex(dir.opposite());
@@ -133,17 +261,36 @@ public abstract class ChunkMapMixin {
         if (ShouldFire.CHUNK_EVENT_GENERATED) {
             final Vector3i chunkPos = new Vector3i(chunk.getPos().x, 0, chunk.getPos().z);
             final ChunkEvent.Generated event = SpongeEventFactory.createChunkEventGenerated(PhaseTracker.getInstance().currentCause(), chunkPos,
-                    (ResourceKey) (Object) this.level.dimension().location());
+                    this.impl$worldKey());
             SpongeCommon.postEvent(event);
         }
+        if (ChunkLifecycleBatches.isActive()) {
+            this.impl$chunkBatch().generated(chunk.getPos());
+        }
     }
 
     @Inject(method = "save", at = @At(value = "RETURN"))
     private void impl$onSaved(final ChunkAccess var1, final CallbackInfoReturnable<Boolean> cir) {
-        if (ShouldFire.CHUNK_EVENT_SAVE_POST) {
+        if (this.impl$saveStartNanos != 0L) {
+            // Chunks without changes are skipped right away, those would only drown out the actual saves
+            if (cir.getReturnValueZ()) {
+                SpongeMetrics.CHUNK_SAVE.record(System.nanoTime() - this.impl$saveStartNanos);
+            }
+            this.impl$saveStartNanos = 0L;
+        }
+        final @Nullable Object flightEvent = this.impl$saveFlightEvent;
+        if (flightEvent != null) {
+            this.impl$saveFlightEvent = null;
+            SpongeFlightEvents.CHUNK.commit(flightEvent, this.level.dimension().location().toString(), var1.getPos().x, var1.getPos().z,
+                SpongeFlightEvents.CHUNK_STAGE_SAVE);
+        }
+        // Deferred saves post their event once they are stored
+        final boolean deferred = this.impl$saveDeferred;
+        this.impl$saveDeferred = false;
+        if (!deferred && ShouldFire.CHUNK_EVENT_SAVE_POST) {
             final Vector3i chunkPos = new Vector3i(var1.getPos().x, 0, var1.getPos().z);
             final ChunkEvent.Save.Post postSave = SpongeEventFactory.createChunkEventSavePost(PhaseTracker.getInstance().currentCause(), chunkPos,
-                    (ResourceKey) (Object) this.level.dimension().location());
+                    this.impl$worldKey());
             SpongeCommon.postEvent(postSave);
         }
 
@@ -155,13 +302,16 @@ public abstract class ChunkMapMixin {
             if (ShouldFire.CHUNK_EVENT_SAVE_PRE) {
                 final Vector3i chunkPos = new Vector3i(var1.getPos().x, 0, var1.getPos().z);
                 final ChunkEvent.Save.Pre postSave = SpongeEventFactory.createChunkEventSavePre(PhaseTracker.getInstance().currentCause(),
-                        chunkPos, (ResourceKey) (Object) this.level.dimension().location(), ((Chunk) var1));
+                        chunkPos, this.impl$worldKey(), ((Chunk) var1));
                 SpongeCommon.postEvent(postSave);
                 if (postSave.isCancelled()) {
                     cir.setReturnValue(false);
+                    return;
                 }
             }
         }
+        this.impl$saveFlightEvent = SpongeFlightEvents.CHUNK.begin();
+        this.impl$saveStartNanos = SpongeMetrics.isEnabled() ? System.nanoTime() : 0L;
     }
 
     @Redirect(method = "*",
@@ -173,16 +323,19 @@ public abstract class ChunkMapMixin {
     )
     private void impl$onLoad(final LevelChunk levelChunk, final boolean loaded) {
         levelChunk.setLoaded(true);
-        final Vector3i chunkPos = new Vector3i(levelChunk.getPos().x, 0, levelChunk.getPos().z);
+        final ChunkPos pos = levelChunk.getPos();
         if (ShouldFire.CHUNK_EVENT_LOAD) {
             final ChunkEvent.Load loadEvent = SpongeEventFactory.createChunkEventLoad(PhaseTracker.getInstance().currentCause(),
-                    chunkPos, (ResourceKey) (Object) this.level.dimension().location(), ((Chunk) levelChunk));
+                    new Vector3i(pos.x, 0, pos.z), this.impl$worldKey(), ((Chunk) levelChunk));
             SpongeCommon.postEvent(loadEvent);
         }
+        if (ChunkLifecycleBatches.isActive()) {
+            this.impl$chunkBatch().loaded(pos);
+        }
 
         for (final Direction dir : Constants.Chunk.CARDINAL_DIRECTIONS) {
-            final Vector3i neighborPos = chunkPos.add(dir.asBlockOffset());
-            ChunkAccess neighbor = this.level.getChunk(neighborPos.x(), neighborPos.z(), ChunkStatus.EMPTY, false);
+            final Vector3i offset = dir.asBlockOffset();
+            ChunkAccess neighbor = this.level.getChunk(pos.x + offset.x(), pos.z + offset.z(), ChunkStatus.EMPTY, false);
             if (neighbor instanceof ImposterProtoChunk) {
                 neighbor = ((ImposterProtoChunk) neighbor).getWrapped();
             }
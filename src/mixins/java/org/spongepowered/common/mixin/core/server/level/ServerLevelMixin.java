@@ -32,6 +32,7 @@
 import net.minecraft.server.bossevents.CustomBossEvents;
 import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.TicketType;
 import net.minecraft.server.level.progress.ChunkProgressListener;
 import net.minecraft.util.ProgressListener;
@@ -78,16 +79,20 @@
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
 import org.spongepowered.common.mixin.core.world.level.LevelMixin;
 import org.spongepowered.common.registry.SpongeRegistryHolder;
 import co.aikar.timings.sponge.WorldTimingsHandler;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -100,6 +105,7 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
 
     @Shadow @Nonnull public abstract MinecraftServer shadow$getServer();
     @Shadow protected abstract void shadow$saveLevelData();
+    @Shadow protected abstract void shadow$addPlayer(ServerPlayer player);
     // @formatter:on
 
     private LevelStorageSource.LevelStorageAccess impl$levelSave;
@@ -109,6 +115,9 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
     private Map<Entity, Vector3d> impl$rotationUpdates;
 
     private boolean impl$isManualSave = false;
+    @Nullable private Supplier<CompletableFuture<?>> impl$deferredSpawnPreparation;
+    @Nullable private CompletableFuture<?> impl$spawnPreparation;
+    private final List<ServerPlayer> impl$playersAwaitingSpawn = new ArrayList<>();
     protected WorldTimingsHandler impl$timings = new WorldTimingsHandler((ServerLevel) (Object) this);
 
     @Inject(method = "<init>", at = @At("TAIL"))
@@ -122,6 +131,56 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
         this.impl$registerHolder = new SpongeRegistryHolder(((RegistryAccess.RegistryHolder) p_i241885_1_.registryAccess()));
     }
 
+    @Inject(method = "addPlayer", at = @At("HEAD"), cancellable = true)
+    private void impl$awaitDeferredSpawn(final ServerPlayer player, final CallbackInfo ci) {
+        if (this.impl$deferredSpawnPreparation != null) {
+            final Supplier<CompletableFuture<?>> preparation = this.impl$deferredSpawnPreparation;
+            this.impl$deferredSpawnPreparation = null;
+            final CompletableFuture<?> future = preparation.get();
+            this.impl$spawnPreparation = future;
+            future.whenComplete((result, failure) -> this.impl$placePlayersAwaitingSpawn(failure));
+        }
+        if (this.impl$spawnPreparation != null) {
+            // Only this player waits for the start region, the server keeps ticking and places them once it is ready
+            this.impl$playersAwaitingSpawn.add(player);
+            ci.cancel();
+        }
+    }
+
+    private void impl$placePlayersAwaitingSpawn(final @Nullable Throwable failure) {
+        this.impl$spawnPreparation = null;
+        if (failure != null) {
+            SpongeCommon.getLogger().error("Could not prepare the start region of world '{}'", ((ServerLevel) (Object) this).dimension().location(),
+                    failure);
+        }
+        final List<ServerPlayer> players = new ArrayList<>(this.impl$playersAwaitingSpawn);
+        this.impl$playersAwaitingSpawn.clear();
+        for (final ServerPlayer player : players) {
+            // Players that left or moved on to another world while waiting are not added anymore
+            if (!player.hasDisconnected() && player.level == (Object) this) {
+                this.shadow$addPlayer(player);
+            }
+        }
+    }
+
+    @Inject(method = "removePlayerImmediately", at = @At("HEAD"), cancellable = true)
+    private void impl$forgetPlayerAwaitingSpawn(final ServerPlayer player, final CallbackInfo ci) {
+        // Never added to this world, there is nothing to remove it from
+        if (this.impl$playersAwaitingSpawn.remove(player)) {
+            ci.cancel();
+        }
+    }
+
+    @Override
+    public void bridge$deferSpawnPreparation(final Supplier<CompletableFuture<?>> preparation) {
+        this.impl$deferredSpawnPreparation = preparation;
+    }
+
+    @Override
+    public boolean bridge$hasPlayersAwaitingSpawn() {
+        return !this.impl$playersAwaitingSpawn.isEmpty();
+    }
+
     @Redirect(method = "getSeed", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/storage/WorldData;worldGenSettings()Lnet/minecraft/world/level/levelgen/WorldGenSettings;"))
     public WorldGenSettings impl$onGetSeed(final WorldData iServerConfiguration) {
         return ((PrimaryLevelData) this.serverLevelData).worldGenSettings();
@@ -293,6 +352,7 @@ public void save(@Nullable final ProgressListener progress, final boolean flush,
         final ServerChunkCache chunkProvider = ((ServerLevel) (Object) this).getChunkSource();
 
         if (!skipSave) {
+            final @Nullable Object flightEvent = SpongeFlightEvents.WORLD_SAVE.begin();
 
             final SerializationBehavior behavior = ((PrimaryLevelDataBridge) levelData).bridge$serializationBehavior().orElse(SerializationBehavior.AUTOMATIC);
 
@@ -327,6 +387,9 @@ public void save(@Nullable final ProgressListener progress, final boolean flush,
             if (canAutomaticallySave || canManuallySave) {
                 chunkProvider.save(flush);
             }
+            if (flightEvent != null) {
+                SpongeFlightEvents.WORLD_SAVE.commit(flightEvent, this.shadow$dimension().location().toString(), flush);
+            }
         }
 
         this.impl$isManualSave = false;
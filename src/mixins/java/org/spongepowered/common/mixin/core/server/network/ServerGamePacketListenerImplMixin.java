@@ -105,16 +105,21 @@
 import org.spongepowered.common.accessor.server.level.ServerPlayerGameModeAccessor;
 import org.spongepowered.common.accessor.world.entity.EntityAccessor;
 import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.server.level.ServerPlayerBridge;
 import org.spongepowered.common.bridge.network.ConnectionHolderBridge;
 import org.spongepowered.common.bridge.server.players.PlayerListBridge;
 import org.spongepowered.common.command.SpongeCommandCompletion;
+import org.spongepowered.common.command.brigadier.dispatcher.SpongeCommandDispatcher;
+import org.spongepowered.common.command.manager.CommandCompletionExecutor;
 import org.spongepowered.common.command.manager.SpongeCommandManager;
 import org.spongepowered.common.command.registrar.BrigadierBasedRegistrar;
 import org.spongepowered.common.data.value.ImmutableSpongeListValue;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.movement.MovementRegion;
+import org.spongepowered.common.event.movement.MovementRegions;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.packet.BasicPacketContext;
 import org.spongepowered.common.event.tracking.phase.packet.PacketPhase;
@@ -126,11 +131,13 @@
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 @Mixin(ServerGamePacketListenerImpl.class)
@@ -157,6 +164,7 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
     // @formatter:on
 
     private int impl$ignorePackets;
+    private final CommandCompletionExecutor.Session impl$completionSession = new CommandCompletionExecutor.Session();
 
     @Override
     public Connection bridge$getConnection() {
@@ -180,6 +188,45 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
         final String[] command = this.impl$extractCommandString(rawCommand);
         final CommandCause cause = CommandCause.create();
         final SpongeCommandManager manager = SpongeCommandManager.get(this.server);
+        final Optional<CommandMapping> mapping = manager.commandMapping(command[0].toLowerCase(Locale.ROOT));
+        final Optional<CommandMapping> nonBrigMapping = mapping.filter(x -> !(x.registrar() instanceof BrigadierBasedRegistrar));
+        if (SpongeConfigs.getCommon().get().commands.completion.offThread) {
+            // Anything that needs the server thread is captured now, the completion itself may run elsewhere.
+            final CommandSourceStack source = this.player.createCommandSourceStack();
+            // Completing the command alias asks every command whether it may be executed, which calls into plugins
+            final boolean requiresServerThread = !rawCommand.contains(" ")
+                    || mapping.isPresent() && !CommandCompletionExecutor.allowsOffThread(mapping.get().plugin())
+                    || !nonBrigMapping.isPresent() && manager.getDispatcher().requiresServerThreadForSuggestions(command[0]);
+            CommandCompletionExecutor.get().submit(this.impl$completionSession,
+                    () -> this.impl$suggest(manager, cause, source, rawCommand, command, nonBrigMapping),
+                    requiresServerThread ? this.server : null,
+                    suggestions -> this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), suggestions)));
+            ci.cancel();
+            return;
+        }
+        final @Nullable CompletableFuture<Suggestions> suggestions = this.impl$suggestFromNonBrigCommand(manager, cause, rawCommand, command, nonBrigMapping);
+        if (suggestions != null) {
+            this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), suggestions.join()));
+            ci.cancel();
+        }
+    }
+
+    private CompletableFuture<Suggestions> impl$suggest(final SpongeCommandManager manager, final CommandCause cause, final CommandSourceStack source,
+            final String rawCommand, final String[] command, final Optional<CommandMapping> nonBrigMapping) {
+        final @Nullable CompletableFuture<Suggestions> suggestions = this.impl$suggestFromNonBrigCommand(manager, cause, rawCommand, command, nonBrigMapping);
+        if (suggestions != null) {
+            return suggestions;
+        }
+        final StringReader reader = new StringReader(rawCommand);
+        if (reader.canRead() && reader.peek() == '/') {
+            reader.skip();
+        }
+        final SpongeCommandDispatcher dispatcher = manager.getDispatcher();
+        return dispatcher.getCompletionSuggestions(dispatcher.parse(reader, source, true));
+    }
+
+    private @Nullable CompletableFuture<Suggestions> impl$suggestFromNonBrigCommand(final SpongeCommandManager manager, final CommandCause cause,
+            final String rawCommand, final String[] command, final Optional<CommandMapping> nonBrigMapping) {
         if (!rawCommand.contains(" ")) {
             final SuggestionsBuilder builder = new SuggestionsBuilder(command[0], 0);
             if (command[0].isEmpty()) {
@@ -187,30 +234,25 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
             } else {
                 manager.getAliasesThatStartWithForCause(cause, command[0]).forEach(builder::suggest);
             }
-            this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), builder.build()));
-            ci.cancel();
-        } else {
-            final Optional<CommandMapping> mappingOptional =
-                    manager.commandMapping(command[0].toLowerCase(Locale.ROOT))
-                            .filter(x -> !(x.registrar() instanceof BrigadierBasedRegistrar));
-            if (mappingOptional.isPresent()) {
-                final CommandMapping mapping = mappingOptional.get();
-                if (mapping.registrar().canExecute(cause, mapping)) {
-                    try {
-                        final SuggestionsBuilder builder = new SuggestionsBuilder(rawCommand, rawCommand.lastIndexOf(" ") + 1);
-                        mapping.registrar().complete(cause, mapping, command[0], command[1])
-                                .forEach(completion -> builder.suggest(completion.completion(),
-                                            completion.tooltip().map(SpongeAdventure::asVanilla).orElse(null)));
-                        this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), builder.build()));
-                    } catch (final CommandException e) {
-                        cause.sendMessage(Identity.nil(), Component.text("Unable to create suggestions for your tab completion"));
-                        this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), Suggestions.empty().join()));
-                    }
-                } else {
-                    this.connection.send(new ClientboundCommandSuggestionsPacket(packet.getId(), Suggestions.empty().join()));
-                }
-                ci.cancel();
-            }
+            return builder.buildFuture();
+        }
+        if (!nonBrigMapping.isPresent()) {
+            return null;
+        }
+        final CommandMapping mapping = nonBrigMapping.get();
+        if (!mapping.registrar().canExecute(cause, mapping)) {
+            return Suggestions.empty();
+        }
+        try {
+            final SuggestionsBuilder builder = new SuggestionsBuilder(rawCommand, rawCommand.lastIndexOf(" ") + 1);
+            mapping.registrar().complete(cause, mapping, command[0], command[1])
+                    .forEach(completion -> builder.suggest(completion.completion(),
+                                completion.tooltip().map(SpongeAdventure::asVanilla).orElse(null)));
+            return builder.buildFuture();
+        } catch (final CommandException e) {
+            // May be off of the server thread, the message is sent from the server thread
+            this.server.execute(() -> cause.sendMessage(Identity.nil(), Component.text("Unable to create suggestions for your tab completion")));
+            return Suggestions.empty();
         }
     }
 
@@ -289,6 +331,7 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
 
         final boolean goodMovementPacket = this.receivedMovePacketCount - this.knownMovePacketCount <= 5;
         final boolean fireMoveEvent = goodMovementPacket && packetInAccessor.accessor$hasPos() && ShouldFire.MOVE_ENTITY_EVENT;
+        final boolean checkMovementRegions = goodMovementPacket && packetInAccessor.accessor$hasPos() && MovementRegions.isActive();
         final boolean fireRotationEvent = goodMovementPacket && packetInAccessor.accessor$hasRot() && ShouldFire.ROTATE_ENTITY_EVENT;
 
         final ServerPlayer player = (ServerPlayer) this.player;
@@ -309,10 +352,20 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
         boolean cancelMovement = false;
         boolean cancelRotation = false;
         // Call move & rotate event as needed...
-        if (fireMoveEvent) {
+        final List<MovementRegion> crossedRegions = checkMovementRegions
+                ? MovementRegions.crossed(player.world().key(), fromPosition, toPosition)
+                : Collections.emptyList();
+        // Only construct the event if someone listens to all movement, or if the player crossed into or out of a watched region
+        if (fireMoveEvent || !crossedRegions.isEmpty()) {
             final MoveEntityEvent event = SpongeEventFactory.createMoveEntityEvent(PhaseTracker.getCauseStackManager().currentCause(), (ServerPlayer) this.player, fromPosition,
                     toPosition, toPosition);
-            if (SpongeCommon.postEvent(event)) {
+            if (fireMoveEvent) {
+                SpongeCommon.postEvent(event);
+            }
+            if (!crossedRegions.isEmpty()) {
+                MovementRegions.dispatch(event, crossedRegions);
+            }
+            if (event.isCancelled()) {
                 cancelMovement = true;
             } else {
                 toPosition = event.destinationPosition();
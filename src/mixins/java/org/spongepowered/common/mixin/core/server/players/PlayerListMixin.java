@@ -31,6 +31,7 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtUtils;
 import net.minecraft.network.Connection;
 import net.minecraft.network.chat.ChatType;
 import net.minecraft.network.chat.MutableComponent;
@@ -49,6 +50,7 @@
 import net.minecraft.server.players.PlayerList;
 import net.minecraft.server.players.UserBanList;
 import net.minecraft.server.players.UserWhiteList;
+import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.border.BorderChangeListener;
@@ -99,6 +101,7 @@
 import org.spongepowered.common.service.server.ban.SpongeIPBanList;
 import org.spongepowered.common.service.server.ban.SpongeUserBanList;
 import org.spongepowered.common.service.server.whitelist.SpongeUserWhiteList;
+import org.spongepowered.common.user.UserFileIO;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.NetworkUtil;
 import org.spongepowered.common.util.VecHelper;
@@ -107,6 +110,7 @@
 import java.net.InetAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.List;
@@ -234,8 +238,19 @@ public abstract class PlayerListMixin implements PlayerListBridge {
             }
             user.invalidate();
         }
-
-        final CompoundTag compound = this.shadow$load(playerIn);
+        // An offline save may still be queued, vanilla would read the stale file. Hand the queued data to the
+        // player the way vanilla loads the file instead of waiting for the write to hit the disk.
+        final Optional<CompoundTag> pending = UserFileIO.takePendingWrite(playerIn.getUUID());
+        UserFileIO.discard(playerIn.getUUID());
+
+        final CompoundTag compound;
+        if (pending.isPresent() && !playerIn.getName().getString().equals(this.server.getSingleplayerName())) {
+            compound = pending.get();
+            final int version = compound.contains("DataVersion", Constants.NBT.TAG_INT) ? compound.getInt("DataVersion") : -1;
+            playerIn.load(NbtUtils.update(this.server.getFixerUpper(), DataFixTypes.PLAYER, compound, version));
+        } else {
+            compound = this.shadow$load(playerIn);
+        }
         if (compound == null) {
             ((SpongeServer) SpongeCommon.getServer()).getPlayerDataManager().setPlayerInfo(playerIn.getUUID(), Instant.now(), Instant.now());
         }
@@ -530,12 +545,24 @@ public abstract class PlayerListMixin implements PlayerListBridge {
         }
     }
 
+    @Inject(method = "removeAll", at = @At("RETURN"))
+    private void impl$flushUserWritesOnShutdown(final CallbackInfo ci) {
+        // The only place waiting on the I/O thread, the server is stopping and queued saves must not be lost
+        final List<Path> unwritten = UserFileIO.flush().join();
+        if (!unwritten.isEmpty()) {
+            SpongeCommon.getLogger().error("Could not save {} user file(s) before shutting down, their latest changes are lost: {}",
+                unwritten.size(), unwritten);
+        }
+    }
+
     @Inject(method = "remove", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/players/PlayerList;save(Lnet/minecraft/server/level/ServerPlayer;)V"))
     private void impl$invalidateUserOnSave(final net.minecraft.server.level.ServerPlayer player, final CallbackInfo ci) {
         // Just to be safe ignore dirty users that exist on online player
         final User user = ((ServerPlayerBridge) player).bridge$getUser();
         SpongeUser.dirtyUsers.remove(user);
         ((SpongeUser) user).invalidate();
+        // Vanilla is about to write the file, anything read while the player was online is stale
+        UserFileIO.discard(player.getUUID());
     }
 
 }
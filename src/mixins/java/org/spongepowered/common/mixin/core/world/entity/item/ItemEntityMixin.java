@@ -43,7 +43,6 @@
 import org.spongepowered.common.bridge.data.SpongeDataHolderBridge;
 import org.spongepowered.common.bridge.world.entity.item.ItemEntityBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
-import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
 import org.spongepowered.common.data.provider.entity.ItemData;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -66,7 +65,6 @@ public abstract class ItemEntityMixin extends EntityMixin implements ItemEntityB
      * Since the value is configurable, the first time searching for
      * other items, this value is cached.
      */
-    private double impl$cachedRadius = -1;
 
     private int impl$previousPickupDelay = ItemEntityMixin.MAGIC_PREVIOUS;
     private boolean impl$infinitePickupDelay;
@@ -83,11 +81,7 @@ public abstract class ItemEntityMixin extends EntityMixin implements ItemEntityB
         if (this.level.isClientSide || ((WorldBridge) this.level).bridge$isFake()) {
             return originalRadius;
         }
-        if (this.impl$cachedRadius == -1) {
-            final double configRadius = ((PrimaryLevelDataBridge) this.level.getLevelData()).bridge$configAdapter().get().world.itemMergeRadius;
-            this.impl$cachedRadius = configRadius < 0 ? 0 : configRadius;
-        }
-        return this.impl$cachedRadius;
+        return SpongeGameConfigs.getSnapshotForWorld(this.level).itemMergeRadius;
     }
 
     @Override
@@ -132,12 +126,12 @@ public abstract class ItemEntityMixin extends EntityMixin implements ItemEntityB
 
     @Override
     public int bridge$getDespawnDelay() {
-        return SpongeGameConfigs.getForWorld(this.level).get().entity.item.despawnRate - (this.impl$infiniteDespawnDelay ? this.impl$previousDespawnDelay : this.age);
+        return SpongeGameConfigs.getSnapshotForWorld(this.level).itemDespawnRate - (this.impl$infiniteDespawnDelay ? this.impl$previousDespawnDelay : this.age);
     }
 
     @Override
     public void bridge$setDespawnDelay(final int delay, final boolean infinite) {
-        this.age = SpongeGameConfigs.getForWorld(this.level).get().entity.item.despawnRate - delay;
+        this.age = SpongeGameConfigs.getSnapshotForWorld(this.level).itemDespawnRate - delay;
         final boolean previous = this.impl$infiniteDespawnDelay;
         this.impl$infiniteDespawnDelay = infinite;
         if (infinite && !previous) {
@@ -178,12 +172,12 @@ public abstract class ItemEntityMixin extends EntityMixin implements ItemEntityB
 
     @ModifyConstant(method = "isMergable", constant = @Constant(intValue = 6000))
     private int impl$isMergableUseDespawnRateFromConfig(final int originalValue) {
-        return SpongeGameConfigs.getForWorld(this.level).get().entity.item.despawnRate;
+        return SpongeGameConfigs.getSnapshotForWorld(this.level).itemDespawnRate;
     }
 
     @ModifyConstant(method = "tick", constant = @Constant(intValue = 6000))
     private int impl$tickUseDespawnRateFromConfig(final int originalValue) {
-        return SpongeGameConfigs.getForWorld(this.level).get().entity.item.despawnRate;
+        return SpongeGameConfigs.getSnapshotForWorld(this.level).itemDespawnRate;
     }
 
 }
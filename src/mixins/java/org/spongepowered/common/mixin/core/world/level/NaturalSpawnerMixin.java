@@ -34,8 +34,7 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.accessor.world.level.NaturalSpawner_SpawnStateAccessor;
 import org.spongepowered.common.bridge.world.level.NaturalSpawner_SpawnStateBridge;
-import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
-import org.spongepowered.common.config.inheritable.SpawnerCategory;
+import org.spongepowered.common.config.SpongeGameConfigs;
 
 @Mixin(NaturalSpawner.class)
 public abstract class NaturalSpawnerMixin {
@@ -76,20 +75,6 @@ public static void spawnForChunk(ServerLevel world, LevelChunk chunk, NaturalSpa
     }
 
     private static int impl$getSpawningTickRate(final MobCategory classification, final ServerLevel world) {
-        final SpawnerCategory.TickRatesSubCategory tickRates = ((PrimaryLevelDataBridge) world.getLevelData()).bridge$configAdapter().get().spawner.tickRates;
-        switch (classification) {
-            case MONSTER:
-                return tickRates.monster;
-            case CREATURE:
-                return tickRates.creature;
-            case AMBIENT:
-                return tickRates.ambient;
-            case WATER_CREATURE:
-                return tickRates.aquaticCreature;
-            case WATER_AMBIENT:
-                return tickRates.aquaticAmbient;
-            default:
-                throw new IllegalStateException("Unexpected value: " + classification);
-        }
+        return SpongeGameConfigs.getSnapshotForWorld(world).spawnTickRate(classification);
     }
 }
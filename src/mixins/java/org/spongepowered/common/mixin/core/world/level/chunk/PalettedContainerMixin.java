@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.level.chunk;
+
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.bridge.world.level.chunk.PalettedContainerBridge;
+import org.spongepowered.common.world.storage.ChunkSectionSnapshot;
+
+import java.lang.ref.SoftReference;
+
+@Mixin(PalettedContainer.class)
+public abstract class PalettedContainerMixin implements PalettedContainerBridge {
+
+    // Shared by every snapshot taken until the states change again, a soft reference so that
+    // sections nobody is reading any more don't keep a second copy of their states around
+    private @Nullable SoftReference<ChunkSectionSnapshot> impl$snapshot;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChunkSectionSnapshot bridge$snapshot() {
+        final @Nullable ChunkSectionSnapshot previous = this.impl$snapshot == null ? null : this.impl$snapshot.get();
+        // Compared against the current states rather than trusted, a write that bypasses the hooks below can't leak stale states
+        final ChunkSectionSnapshot snapshot = ChunkSectionSnapshot.of((PalettedContainer<BlockState>) (Object) this, previous);
+        if (snapshot != previous) {
+            this.impl$snapshot = new SoftReference<>(snapshot);
+        }
+        return snapshot;
+    }
+
+    // Only release the previous snapshot early, the checked and unchecked public setters both end up here
+    @Inject(method = "getAndSet(ILjava/lang/Object;)Ljava/lang/Object;", at = @At("HEAD"))
+    private void impl$invalidateSnapshotOnReplace(final CallbackInfoReturnable<?> cir) {
+        this.impl$snapshot = null;
+    }
+
+    @Inject(method = {"set(ILjava/lang/Object;)V", "read(Lnet/minecraft/nbt/ListTag;[J)V"}, at = @At("HEAD"))
+    private void impl$invalidateSnapshot(final CallbackInfo ci) {
+        this.impl$snapshot = null;
+    }
+}
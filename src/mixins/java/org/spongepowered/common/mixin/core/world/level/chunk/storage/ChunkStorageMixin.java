@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.level.chunk.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.storage.ChunkStorage;
+import net.minecraft.world.level.chunk.storage.IOWorker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.accessor.world.level.chunk.storage.IOWorkerAccessor;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
+
+@Mixin(ChunkStorage.class)
+public abstract class ChunkStorageMixin implements ChunkStorageBridge {
+
+    // @formatter:off
+    @Shadow @Final private IOWorker worker;
+    @Shadow public abstract void shadow$write(ChunkPos pos, CompoundTag tag);
+    // @formatter:on
+
+    private int impl$holds;
+    // Stored in the order they were first written once released
+    private final Long2ObjectLinkedOpenHashMap<CompoundTag> impl$heldWrites = new Long2ObjectLinkedOpenHashMap<>();
+
+    @Inject(method = "write", at = @At("HEAD"), cancellable = true)
+    private void impl$holdWrite(final ChunkPos pos, final CompoundTag tag, final CallbackInfo ci) {
+        if (this.impl$holds > 0) {
+            this.impl$heldWrites.put(pos.toLong(), tag);
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "read", at = @At("HEAD"), cancellable = true)
+    private void impl$readHeldWrite(final ChunkPos pos, final CallbackInfoReturnable<CompoundTag> cir) {
+        // A chunk unloaded while writes are held has to come back with its latest changes
+        final @Nullable CompoundTag held = this.impl$heldWrites.get(pos.toLong());
+        if (held != null) {
+            cir.setReturnValue(held.copy());
+        }
+    }
+
+    @Override
+    public void bridge$holdWrites() {
+        if (this.impl$holds++ == 0) {
+            // Nothing written before may still be on its way to the region files
+            ((IOWorkerAccessor) this.worker).invoker$synchronize().join();
+        }
+    }
+
+    @Override
+    public void bridge$releaseWrites() {
+        if (this.impl$holds == 0 || --this.impl$holds > 0) {
+            return;
+        }
+        for (final Long2ObjectMap.Entry<CompoundTag> entry : this.impl$heldWrites.long2ObjectEntrySet()) {
+            this.shadow$write(new ChunkPos(entry.getLongKey()), entry.getValue());
+        }
+        this.impl$heldWrites.clear();
+    }
+
+    @Override
+    public boolean bridge$isHoldingWrites() {
+        return this.impl$holds > 0;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.level.chunk.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.storage.RegionFileStorage;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.world.storage.TemplateRegionReader;
+import org.spongepowered.common.world.storage.WorldTemplateOverlays;
+
+import java.io.File;
+import java.io.IOException;
+
+@Mixin(RegionFileStorage.class)
+public abstract class RegionFileStorageMixin {
+
+    // @formatter:off
+    @Shadow @Final private File folder;
+    // @formatter:on
+
+    private @Nullable TemplateRegionReader impl$template;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void impl$findTemplate(final File folder, final boolean sync, final CallbackInfo ci) {
+        this.impl$template = WorldTemplateOverlays.createReader(folder);
+    }
+
+    @Inject(method = "read", at = @At("HEAD"), cancellable = true)
+    private void impl$readTemplateWhenRegionIsUntouched(final ChunkPos pos, final CallbackInfoReturnable<CompoundTag> cir) throws IOException {
+        if (this.impl$template == null) {
+            return;
+        }
+        // Do not let vanilla create an empty region file in the instance just to find out it holds nothing
+        final File regionFile = new File(this.folder, "r." + pos.getRegionX() + "." + pos.getRegionZ() + ".mca");
+        if (!regionFile.exists()) {
+            cir.setReturnValue(this.impl$template.read(pos));
+        }
+    }
+
+    @Inject(method = "read", at = @At("RETURN"), cancellable = true)
+    private void impl$readTemplateWhenChunkIsUntouched(final ChunkPos pos, final CallbackInfoReturnable<CompoundTag> cir) throws IOException {
+        if (this.impl$template != null && cir.getReturnValue() == null) {
+            cir.setReturnValue(this.impl$template.read(pos));
+        }
+    }
+
+    @Inject(method = "close", at = @At("RETURN"))
+    private void impl$closeTemplate(final CallbackInfo ci) throws IOException {
+        if (this.impl$template != null) {
+            this.impl$template.close();
+        }
+    }
+}
@@ -67,6 +67,7 @@
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
 import org.spongepowered.common.config.inheritable.WorldConfig;
+import org.spongepowered.common.config.inheritable.WorldConfigSnapshot;
 import org.spongepowered.common.server.BootstrapProperties;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.VecHelper;
@@ -101,6 +102,7 @@ public abstract class PrimaryLevelDataMixin implements WorldData, PrimaryLevelDa
     private UUID impl$uniqueId = UUID.randomUUID();
     private Boolean impl$pvp;
     private InheritableConfigHandle<WorldConfig> impl$configAdapter;
+    private volatile WorldConfigSnapshot impl$configSnapshot;
 
     private boolean impl$customDifficulty = false, impl$customGameType = false, impl$customSpawnPosition = false, impl$loadOnStartup,
         impl$performsSpawnLogic;
@@ -260,6 +262,17 @@ public abstract class PrimaryLevelDataMixin implements WorldData, PrimaryLevelDa
     @Override
     public void bridge$configAdapter(final InheritableConfigHandle<WorldConfig> adapter) {
         this.impl$configAdapter = adapter;
+        this.bridge$refreshConfigSnapshot();
+    }
+
+    @Override
+    public WorldConfigSnapshot bridge$configSnapshot() {
+        return this.impl$configSnapshot;
+    }
+
+    @Override
+    public void bridge$refreshConfigSnapshot() {
+        this.impl$configSnapshot = new WorldConfigSnapshot(this.impl$configAdapter.get());
     }
 
     @Override
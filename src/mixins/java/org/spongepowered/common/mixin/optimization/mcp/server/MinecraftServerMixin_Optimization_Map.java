@@ -22,44 +22,24 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.invalid.optimization.mcp.server;
+package org.spongepowered.common.mixin.optimization.mcp.server;
 
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.world.storage.MapData;
-import net.minecraft.world.storage.WorldSavedData;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.SpongeCommon;
-import org.spongepowered.common.SpongeImplHooks;
-import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
+import org.spongepowered.common.map.MapTicker;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.BooleanSupplier;
 
 @Mixin(MinecraftServer.class)
 public abstract class MinecraftServerMixin_Optimization_Map {
 
-    // Sponge re-uses the same MapStorage for all worlds, so we only
-    // need to tick it once per server tick
-    @Inject(method = "tick", at = @At(value = "RETURN"))
-    private void mapOptimization$onEndTickMapOptimization(CallbackInfo ci) {
-
-        final List<WorldSavedData> data;
-
-        // Mods, such as TwilightForest, may add themselves to this list when ticking which will cause a CME.
-        if (!SpongeImplHooks.isVanilla()) {
-            data = new ArrayList<>(
-                ((MapStorageAccessor) (SpongeCommon.getWorldManager().getDefaultWorld().getMapStorage())).accessor$getLoadedDataList());
-        }
-        else {
-            data = ((MapStorageAccessor) (SpongeCommon.getWorldManager().getDefaultWorld().getMapStorage())).accessor$getLoadedDataList();
-        }
-
-        data
-            .stream()
-            .filter(wsd -> wsd instanceof MapData)
-            .forEach(wsd -> ((OptimizedMapDataBridge) wsd).mapOptimizationBridge$tickMap());
+    // Maps are shared by every level, so they only need to tick once per server tick,
+    // after the players have ticked their inventories
+    @Inject(method = "tickChildren", at = @At("RETURN"))
+    private void mapOptimization$tickMaps(final BooleanSupplier hasTimeLeft, final CallbackInfo ci) {
+        MapTicker.tick();
     }
 }
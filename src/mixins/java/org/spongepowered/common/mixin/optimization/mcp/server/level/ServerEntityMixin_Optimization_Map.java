@@ -22,14 +22,15 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.invalid.optimization.entity;
+package org.spongepowered.common.mixin.optimization.mcp.server.level;
 
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityTrackerEntry;
-import net.minecraft.entity.item.ItemFrameEntity;
-import net.minecraft.item.FilledMapItem;
-import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
+import net.minecraft.server.level.ServerEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.item.MapItem;
+import net.minecraft.world.level.saveddata.maps.MapItemSavedData;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -37,32 +38,34 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
 
-import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
 
-@Mixin(EntityTrackerEntry.class)
-public abstract class EntityTrackerEntryMixin_MapOptimization {
+@Mixin(ServerEntity.class)
+public abstract class ServerEntityMixin_Optimization_Map {
 
-    @Shadow @Final private Entity trackedEntity;
+    // @formatter:off
+    @Shadow @Final private Entity entity;
+    // @formatter:on
 
     /**
-     * When processing an EntitYItemFrame containing an ItemMap, we call
-     * bridge$updateItemFrameDecoration on its correspoding MapDAta
+     * Vanilla ticks the map of an item frame for every player in the level,
+     * every time the frame is tracked. The frame is reported to its map once
+     * instead, which then updates the players in that level when it ticks.
      *
-     * <p>We always return 'null' here in order to prevent the original 'if' block from executing.</p>
-     * @param itemStack
-     * @return
+     * <p>No players are returned, so that the Vanilla loop does nothing.</p>
      */
-    @Nullable
-    @Redirect(method = "updatePlayerList",
+    @Redirect(method = "sendChanges",
         at = @At(
             value = "INVOKE",
-            target = "Lnet/minecraft/item/ItemStack;getItem()Lnet/minecraft/item/Item;",
+            target = "Lnet/minecraft/server/level/ServerLevel;players()Ljava/util/List;",
             ordinal = 0))
-    private Item mapOptimization$onGetItem(final ItemStack itemStack) {
-        if (itemStack.getItem() instanceof FilledMapItem) {
-            ((OptimizedMapDataBridge) ((FilledMapItem) itemStack.getItem()).getMapData(itemStack, this.trackedEntity.world)).mapOptimizationBridge$updateItemFrameDecoration((ItemFrameEntity) this.trackedEntity);
+    private List<ServerPlayer> mapOptimization$updateItemFrameOnce(final ServerLevel level) {
+        final ItemFrame frame = (ItemFrame) this.entity;
+        final MapItemSavedData mapData = MapItem.getOrCreateSavedData(frame.getItem(), level);
+        if (mapData != null) {
+            ((OptimizedMapDataBridge) mapData).mapOptimizationBridge$updateItemFrameDecoration(frame);
         }
-        return null;
+        return Collections.emptyList();
     }
-
 }
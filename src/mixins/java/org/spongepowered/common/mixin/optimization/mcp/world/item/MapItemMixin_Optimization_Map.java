@@ -24,13 +24,17 @@
  */
 package org.spongepowered.common.mixin.optimization.mcp.world.item;
 
+import net.minecraft.network.protocol.Packet;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.MapItem;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.saveddata.maps.MapItemSavedData;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
 
 @Mixin(MapItem.class)
@@ -43,4 +47,14 @@ public abstract class MapItemMixin_Optimization_Map {
     private void mapOptimization$onUpdateVisiblePlayers(final MapItemSavedData mapData, final Player player, final ItemStack itemStack) {
         ((OptimizedMapDataBridge) mapData).mapOptimizationBridge$updatePlayer(player, itemStack);
     }
+
+    /**
+     * @reason Map updates are sent once per tick to every viewer at once by
+     * {@link OptimizedMapDataBridge#mapOptimizationBridge$tickMap()}.
+     */
+    @Inject(method = "getUpdatePacket", at = @At("HEAD"), cancellable = true)
+    private void mapOptimization$sentByMapTick(final ItemStack stack, final Level level, final Player player,
+            final CallbackInfoReturnable<Packet<?>> cir) {
+        cir.setReturnValue(null);
+    }
 }
@@ -0,0 +1,283 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.mcp.world.level.saveddata.maps;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundMapItemDataPacket;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.maps.MapDecoration;
+import net.minecraft.world.level.saveddata.maps.MapItemSavedData;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.optimization.OptimizedMapDataBridge;
+import org.spongepowered.common.bridge.optimization.OptimizedMapInfoBridge;
+import org.spongepowered.common.bridge.world.storage.MapItemSavedDataBridge;
+import org.spongepowered.common.map.MapDirtyRegion;
+import org.spongepowered.common.map.MapTicker;
+import org.spongepowered.common.util.Constants;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Mixin(MapItemSavedData.class)
+public abstract class MapItemSavedDataMixin_Optimization_Map extends SavedData implements OptimizedMapDataBridge {
+
+    private static final int FRAME_UPDATE_INTERVAL = 10;
+    private static final int DECORATION_UPDATE_INTERVAL = 5;
+
+    // @formatter:off
+    @Shadow public ResourceKey<Level> dimension;
+    @Shadow public boolean trackingPosition;
+    @Shadow public byte scale;
+    @Shadow public byte[] colors;
+    @Shadow public boolean locked;
+    @Shadow @Final public List<MapItemSavedData.HoldingPlayer> carriedBy;
+    @Shadow @Final private Map<Player, MapItemSavedData.HoldingPlayer> carriedByPlayers;
+    @Shadow @Final public Map<String, MapDecoration> decorations;
+
+    @Shadow protected abstract void shadow$addDecoration(MapDecoration.Type type, @Nullable LevelAccessor level, String id, double x,
+            double z, double rotation, @Nullable Component name);
+    @Shadow public abstract MapItemSavedData.HoldingPlayer shadow$getHoldingPlayer(Player player);
+    // @formatter:on
+
+    // Changes since the last tick, sent to the players carrying the map
+    private final MapDirtyRegion mapOptimization$tickChanges = new MapDirtyRegion();
+    // Changes since the last frame update, sent to every player in a level with the map on display
+    private final MapDirtyRegion mapOptimization$frameChanges = new MapDirtyRegion();
+    private Set<ResourceKey<Level>> mapOptimization$framedLevels = new HashSet<>();
+    private Set<ResourceKey<Level>> mapOptimization$pendingFramedLevels = new HashSet<>();
+
+    public MapItemSavedDataMixin_Optimization_Map(final String name) {
+        super(name);
+    }
+
+    /**
+     * @reason Vanilla grows a dirty rectangle for every single viewer. The
+     * change is recorded once instead, and sent to all viewers by
+     * {@link #mapOptimizationBridge$tickMap()}.
+     */
+    @Inject(method = "setDirty(II)V", at = @At("HEAD"), cancellable = true)
+    private void mapOptimization$markPixelDirty(final int x, final int z, final CallbackInfo ci) {
+        this.setDirty();
+        this.mapOptimization$tickChanges.mark(x, z);
+        this.mapOptimization$frameChanges.mark(x, z);
+        ci.cancel();
+    }
+
+    @Override
+    public void mapOptimizationBridge$markAllDirty() {
+        this.setDirty();
+        this.mapOptimization$tickChanges.markAll();
+        this.mapOptimization$frameChanges.markAll();
+    }
+
+    /**
+     * Performs the important logic of {@link MapItemSavedData#tickCarriedBy(Player, ItemStack)}
+     * once per tick, rather than once per viewer for every player holding
+     * the map and every item frame it is placed in.
+     *
+     * <p>Before this method is called, all players have their inventories
+     * ticked, and every carried map marks its holder as valid in
+     * {@link #mapOptimizationBridge$updatePlayer(Player, ItemStack)}. Holders
+     * that were not marked no longer carry the map and are dropped, unless
+     * they are in a level where the map is on display in an item frame.</p>
+     *
+     * <p>The packets sent are built once and shared by every viewer. Players
+     * carrying the map receive the changes of the last tick, while every
+     * player in a level with the map on display receives the changes since
+     * the last frame update every {@link #FRAME_UPDATE_INTERVAL} ticks, like
+     * Vanilla does.</p>
+     */
+    @Override
+    public boolean mapOptimizationBridge$tickMap() {
+        final int tick = SpongeCommon.getServer().getTickCount();
+        final boolean frameTick = tick % MapItemSavedDataMixin_Optimization_Map.FRAME_UPDATE_INTERVAL == 0;
+        final boolean decorationTick = tick % MapItemSavedDataMixin_Optimization_Map.DECORATION_UPDATE_INTERVAL == 0;
+        try {
+            if (frameTick) {
+                final Set<ResourceKey<Level>> framed = this.mapOptimization$framedLevels;
+                this.mapOptimization$framedLevels = this.mapOptimization$pendingFramedLevels;
+                this.mapOptimization$pendingFramedLevels = framed;
+                framed.clear();
+                // Vanilla sends maps on display to every player in the level of the item frame
+                for (final ResourceKey<Level> key : this.mapOptimization$framedLevels) {
+                    final @Nullable ServerLevel level = SpongeCommon.getServer().getLevel(key);
+                    if (level != null) {
+                        for (final ServerPlayer player : level.players()) {
+                            this.shadow$getHoldingPlayer(player);
+                        }
+                    }
+                }
+            }
+
+            final Iterator<MapItemSavedData.HoldingPlayer> it = this.carriedBy.iterator();
+            while (it.hasNext()) {
+                final MapItemSavedData.HoldingPlayer holder = it.next();
+                final OptimizedMapInfoBridge info = (OptimizedMapInfoBridge) holder;
+                final String name = holder.player.getName().getString();
+                if (info.mapOptimizationBridge$isValid()) {
+                    if (this.trackingPosition && holder.player.level.dimension() == this.dimension) {
+                        this.shadow$addDecoration(MapDecoration.Type.PLAYER, holder.player.level, name, holder.player.getX(),
+                            holder.player.getZ(), holder.player.yRot, null);
+                    }
+                    continue;
+                }
+                this.decorations.remove(name);
+                if (holder.player.removed || !this.mapOptimization$framedLevels.contains(holder.player.level.dimension())) {
+                    it.remove();
+                    this.carriedByPlayers.remove(holder.player);
+                }
+            }
+
+            this.mapOptimization$sendUpdates(frameTick, decorationTick);
+
+            // Carried maps mark their holder as valid again when they next tick
+            for (final MapItemSavedData.HoldingPlayer holder : this.carriedBy) {
+                ((OptimizedMapInfoBridge) holder).mapOptimizationBridge$setValid(false);
+            }
+        } catch (final Exception e) {
+            SpongeCommon.getLogger().error("Exception ticking map data!", e);
+        }
+        this.mapOptimization$tickChanges.clear();
+        if (frameTick) {
+            this.mapOptimization$frameChanges.clear();
+        }
+        return !this.carriedBy.isEmpty() || !this.mapOptimization$framedLevels.isEmpty() || !this.mapOptimization$pendingFramedLevels.isEmpty();
+    }
+
+    private void mapOptimization$sendUpdates(final boolean frameTick, final boolean decorationTick) {
+        ClientboundMapItemDataPacket[] full = null;
+        ClientboundMapItemDataPacket[] tickUpdate = null;
+        ClientboundMapItemDataPacket[] frameUpdate = null;
+        for (final MapItemSavedData.HoldingPlayer holder : this.carriedBy) {
+            if (!(holder.player instanceof ServerPlayer)) {
+                continue;
+            }
+            final OptimizedMapInfoBridge info = (OptimizedMapInfoBridge) holder;
+            final ClientboundMapItemDataPacket[] packets;
+            if (!info.mapOptimizationBridge$isSynced()) {
+                if (full == null) {
+                    full = new ClientboundMapItemDataPacket[] {this.mapOptimization$createPacket(0, 0, Constants.Map.MAP_PIXELS,
+                        Constants.Map.MAP_PIXELS)};
+                }
+                packets = full;
+                info.mapOptimizationBridge$setSynced(true);
+            } else if (frameTick && this.mapOptimization$framedLevels.contains(holder.player.level.dimension())) {
+                // Also covers any changes a player that only just picked the map back up has missed
+                if (frameUpdate == null) {
+                    frameUpdate = this.mapOptimization$createPackets(this.mapOptimization$frameChanges, true);
+                }
+                packets = frameUpdate;
+            } else if (info.mapOptimizationBridge$isValid()) {
+                if (tickUpdate == null) {
+                    tickUpdate = this.mapOptimization$createPackets(this.mapOptimization$tickChanges, decorationTick);
+                }
+                packets = tickUpdate;
+            } else {
+                continue;
+            }
+            for (final ClientboundMapItemDataPacket packet : packets) {
+                ((ServerPlayer) holder.player).connection.send(packet);
+            }
+        }
+    }
+
+    private ClientboundMapItemDataPacket[] mapOptimization$createPackets(final MapDirtyRegion changes, final boolean sendDecorations) {
+        if (!changes.isDirty()) {
+            if (sendDecorations) {
+                return new ClientboundMapItemDataPacket[] {this.mapOptimization$createPacket(0, 0, 0, 0)};
+            }
+            return new ClientboundMapItemDataPacket[0];
+        }
+        final int[] rectangles = changes.rectangles();
+        final ClientboundMapItemDataPacket[] packets = new ClientboundMapItemDataPacket[rectangles.length / 4];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = this.mapOptimization$createPacket(rectangles[i * 4], rectangles[i * 4 + 1], rectangles[i * 4 + 2], rectangles[i * 4 + 3]);
+        }
+        return packets;
+    }
+
+    // Every packet carries the decorations, as the client replaces its own with them
+    private ClientboundMapItemDataPacket mapOptimization$createPacket(final int x, final int y, final int width, final int height) {
+        return new ClientboundMapItemDataPacket(((MapItemSavedDataBridge) this).bridge$getMapId(), this.scale, this.trackingPosition,
+            this.locked, this.decorations.values(), this.colors, x, y, width, height);
+    }
+
+    @Override
+    public void mapOptimizationBridge$updatePlayer(final Player player, final ItemStack mapStack) {
+        final MapItemSavedData.HoldingPlayer holder = this.shadow$getHoldingPlayer(player);
+        ((OptimizedMapInfoBridge) holder).mapOptimizationBridge$setValid(true);
+        MapTicker.activate(this);
+
+        final @Nullable CompoundTag tag = mapStack.getTag();
+        if (tag != null && tag.contains("Decorations", Constants.NBT.TAG_LIST)) {
+            final ListTag list = tag.getList("Decorations", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < list.size(); ++i) {
+                final CompoundTag decoration = list.getCompound(i);
+                if (!this.decorations.containsKey(decoration.getString("id"))) {
+                    this.shadow$addDecoration(MapDecoration.Type.byIcon(decoration.getByte("type")), player.level, decoration.getString("id"),
+                        decoration.getDouble("x"), decoration.getDouble("z"), decoration.getDouble("rot"), null);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void mapOptimizationBridge$updateItemFrameDecoration(final ItemFrame frame) {
+        this.mapOptimization$pendingFramedLevels.add(frame.level.dimension());
+        MapTicker.activate(this);
+        if (this.trackingPosition) {
+            final BlockPos pos = frame.getPos();
+            this.shadow$addDecoration(MapDecoration.Type.FRAME, frame.level, "frame-" + frame.getId(), pos.getX(), pos.getZ(),
+                frame.getDirection().get2DDataValue() * 90, null);
+        }
+    }
+
+    @Override
+    public void mapOptimizationBridge$removeItemFrame(final ItemFrame frame) {
+        this.decorations.remove("frame-" + frame.getId());
+    }
+}
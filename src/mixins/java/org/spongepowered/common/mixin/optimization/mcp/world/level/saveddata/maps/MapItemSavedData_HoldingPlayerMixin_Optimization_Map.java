@@ -32,6 +32,7 @@
 public abstract class MapItemSavedData_HoldingPlayerMixin_Optimization_Map implements OptimizedMapInfoBridge {
 
     private boolean mapOptimization$valid;
+    private boolean mapOptimization$synced;
 
     @Override
     public void mapOptimizationBridge$setValid(final boolean valid) {
@@ -43,4 +44,14 @@ public abstract class MapItemSavedData_HoldingPlayerMixin_Optimization_Map imple
         return this.mapOptimization$valid;
     }
 
+    @Override
+    public void mapOptimizationBridge$setSynced(final boolean synced) {
+        this.mapOptimization$synced = synced;
+    }
+
+    @Override
+    public boolean mapOptimizationBridge$isSynced() {
+        return this.mapOptimization$synced;
+    }
+
 }
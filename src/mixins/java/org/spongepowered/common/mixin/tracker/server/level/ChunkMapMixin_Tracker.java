@@ -28,10 +28,12 @@
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.LevelChunk;
 import org.apache.logging.log4j.Level;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -49,12 +51,18 @@
 import org.spongepowered.common.event.tracking.PhasePrinter;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
+import org.spongepowered.common.jfr.SpongeFlightEvents;
+import org.spongepowered.common.util.metric.SpongeMetrics;
 
 @Mixin(ChunkMap.class)
 public abstract class ChunkMapMixin_Tracker {
 
     @Shadow @Final private ServerLevel level;
 
+    private @Nullable ChunkPos tracker$loadingChunk;
+    private @Nullable Object tracker$loadFlightEvent;
+    private long tracker$loadStartNanos;
+
     @Redirect(method = "addEntity(Lnet/minecraft/world/entity/Entity;)V",
         at = @At(value = "NEW", args = "class=java/lang/IllegalStateException", remap = false))
     private IllegalStateException tracker$reportEntityAlreadyTrackedWithWorld(final String string, final Entity entityIn) {
@@ -124,6 +132,11 @@ public abstract class ChunkMapMixin_Tracker {
         if (PhaseTracker.getInstance().getCurrentState() == GenerationPhase.State.CHUNK_REGENERATING_LOAD_EXISTING) {
             return;
         }
+        if (this.tracker$loadingChunk == null) {
+            this.tracker$loadingChunk = chunk.getPos();
+            this.tracker$loadFlightEvent = SpongeFlightEvents.CHUNK.begin();
+            this.tracker$loadStartNanos = SpongeMetrics.isEnabled() ? System.nanoTime() : 0L;
+        }
         GenerationPhase.State.CHUNK_LOADING.createPhaseContext(PhaseTracker.getInstance())
                 .source(chunk)
                 .world((ServerLevel) chunk.getLevel())
@@ -146,6 +159,20 @@ public abstract class ChunkMapMixin_Tracker {
             }
             // IF we're not on the main thread,
             PhaseTracker.getInstance().getPhaseContext().close();
+            // Loads nested within this one are not recorded separately
+            if (chunk.getPos().equals(this.tracker$loadingChunk)) {
+                if (this.tracker$loadStartNanos != 0L) {
+                    SpongeMetrics.CHUNK_LOAD.record(System.nanoTime() - this.tracker$loadStartNanos);
+                }
+                final @Nullable Object flightEvent = this.tracker$loadFlightEvent;
+                if (flightEvent != null) {
+                    SpongeFlightEvents.CHUNK.commit(flightEvent, this.level.dimension().location().toString(), chunk.getPos().x,
+                        chunk.getPos().z, SpongeFlightEvents.CHUNK_STAGE_LOAD);
+                }
+                this.tracker$loadingChunk = null;
+                this.tracker$loadFlightEvent = null;
+                this.tracker$loadStartNanos = 0L;
+            }
         }
     }
 
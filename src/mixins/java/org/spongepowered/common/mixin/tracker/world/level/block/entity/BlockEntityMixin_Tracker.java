@@ -38,11 +38,6 @@ public class BlockEntityMixin_Tracker implements TrackableBridge, TrackableBlock
     @Shadow @Final private BlockEntityType<?> type;
     // @formatter:on
 
-    // Used by tracker config
-    private boolean tracker$allowsBlockBulkCapture = true;
-    private boolean tracker$allowsEntityBulkCapture = true;
-    private boolean tracker$allowsBlockEventCreation = true;
-    private boolean tracker$allowsEntityEventCreation = true;
     private boolean tracker$isCaptured = false;
 
     @Override
@@ -79,52 +74,47 @@ public class BlockEntityMixin_Tracker implements TrackableBridge, TrackableBlock
 
 
     @Override
-    public void bridge$setAllowsBlockBulkCaptures(final boolean allowsBlockBulkCaptures) {
-
+    public boolean bridge$allowsBlockBulkCaptures() {
+        return ((TrackableBridge) this.type).bridge$allowsBlockBulkCaptures();
     }
 
     @Override
-    public void bridge$setAllowsBlockEventCreation(final boolean allowsBlockEventCreation) {
-
+    public void bridge$setAllowsBlockBulkCaptures(final boolean allowsBlockBulkCaptures) {
+        ((TrackableBridge) this.type).bridge$setAllowsBlockBulkCaptures(allowsBlockBulkCaptures);
     }
+
     @Override
-    public boolean bridge$allowsBlockBulkCaptures() {
-        return this.tracker$allowsBlockBulkCapture;
+    public boolean bridge$allowsBlockEventCreation() {
+        return ((TrackableBridge) this.type).bridge$allowsBlockEventCreation();
     }
 
     @Override
-    public boolean bridge$allowsBlockEventCreation() {
-        return this.tracker$allowsBlockEventCreation;
+    public void bridge$setAllowsBlockEventCreation(final boolean allowsBlockEventCreation) {
+        ((TrackableBridge) this.type).bridge$setAllowsBlockEventCreation(allowsBlockEventCreation);
     }
 
     @Override
     public boolean bridge$allowsEntityBulkCaptures() {
-        return this.tracker$allowsEntityBulkCapture;
+        return ((TrackableBridge) this.type).bridge$allowsEntityBulkCaptures();
     }
 
-
     @Override
     public void bridge$setAllowsEntityBulkCaptures(final boolean allowsEntityBulkCaptures) {
-
+        ((TrackableBridge) this.type).bridge$setAllowsEntityBulkCaptures(allowsEntityBulkCaptures);
     }
 
     @Override
     public boolean bridge$allowsEntityEventCreation() {
-        return this.tracker$allowsEntityEventCreation;
+        return ((TrackableBridge) this.type).bridge$allowsEntityEventCreation();
     }
 
     @Override
     public void bridge$setAllowsEntityEventCreation(final boolean allowsEntityEventCreation) {
-
+        ((TrackableBridge) this.type).bridge$setAllowsEntityEventCreation(allowsEntityEventCreation);
     }
 
     @Override
     public void bridge$refreshTrackerStates() {
-        if (this.type instanceof TrackableBridge) {
-            this.tracker$allowsBlockBulkCapture = ((TrackableBridge) this.type).bridge$allowsBlockBulkCaptures();
-            this.tracker$allowsEntityBulkCapture = ((TrackableBridge) this.type).bridge$allowsEntityBulkCaptures();
-            this.tracker$allowsBlockEventCreation = ((TrackableBridge) this.type).bridge$allowsBlockEventCreation();
-            this.tracker$allowsEntityEventCreation = ((TrackableBridge) this.type).bridge$allowsEntityEventCreation();
-        }
+        ((TrackableBridge) this.type).bridge$refreshTrackerStates();
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command.manager;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class CommandCompletionExecutorTest {
+
+    private final ScheduledExecutorService pool = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        this.pool.shutdownNow();
+    }
+
+    private static CompletableFuture<Suggestions> suggest(final String text) {
+        return new SuggestionsBuilder("", 0).suggest(text).buildFuture();
+    }
+
+    private static String first(final Suggestions suggestions) {
+        return suggestions.getList().get(0).getText();
+    }
+
+    @Test
+    void testRequestsWithinDebounceAreCoalesced() throws Exception {
+        final CommandCompletionExecutor executor = new CommandCompletionExecutor(this.pool, 100, TimeUnit.MILLISECONDS);
+        final CommandCompletionExecutor.Session session = new CommandCompletionExecutor.Session();
+        final AtomicInteger computed = new AtomicInteger();
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        for (final String input : new String[] {"a", "ab", "abc"}) {
+            executor.submit(session, () -> {
+                computed.incrementAndGet();
+                return CommandCompletionExecutorTest.suggest(input);
+            }, null, suggestions -> {
+                sent.add(CommandCompletionExecutorTest.first(suggestions));
+                done.countDown();
+            });
+        }
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Assertions.assertEquals(1, computed.get());
+        Assertions.assertEquals(1, sent.size());
+        Assertions.assertEquals("abc", sent.get(0));
+        Assertions.assertEquals(3, executor.requests());
+        Assertions.assertEquals(2, executor.dropped());
+        Assertions.assertEquals(1, executor.completions());
+    }
+
+    @Test
+    void testSupersededResultIsNotSent() throws Exception {
+        final CommandCompletionExecutor executor = new CommandCompletionExecutor(this.pool, 0, TimeUnit.MILLISECONDS);
+        final CommandCompletionExecutor.Session session = new CommandCompletionExecutor.Session();
+        final CompletableFuture<Suggestions> slow = new CompletableFuture<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        executor.submit(session, () -> {
+            started.countDown();
+            return slow;
+        }, null, suggestions -> sent.add(CommandCompletionExecutorTest.first(suggestions)));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executor.submit(session, () -> CommandCompletionExecutorTest.suggest("new"), null, suggestions -> {
+            sent.add(CommandCompletionExecutorTest.first(suggestions));
+            done.countDown();
+        });
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        slow.complete(CommandCompletionExecutorTest.suggest("old").join());
+
+        Assertions.assertEquals(1, sent.size());
+        Assertions.assertEquals("new", sent.get(0));
+        Assertions.assertEquals(1, executor.dropped());
+    }
+
+    @Test
+    void testServerThreadRequestsHop() throws Exception {
+        final CommandCompletionExecutor executor = new CommandCompletionExecutor(this.pool, 0, TimeUnit.MILLISECONDS);
+        final CommandCompletionExecutor.Session session = new CommandCompletionExecutor.Session();
+        final AtomicInteger hops = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        executor.submit(session, () -> CommandCompletionExecutorTest.suggest("world"), task -> {
+            hops.incrementAndGet();
+            task.run();
+        }, suggestions -> done.countDown());
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, hops.get());
+        Assertions.assertEquals(1, executor.serverThreadCompletions());
+    }
+
+    @Test
+    void testFailureSendsEmptySuggestions() throws Exception {
+        final CommandCompletionExecutor executor = new CommandCompletionExecutor(this.pool, 0, TimeUnit.MILLISECONDS);
+        final CommandCompletionExecutor.Session session = new CommandCompletionExecutor.Session();
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Suggestions> sent = new CopyOnWriteArrayList<>();
+
+        executor.submit(session, () -> {
+            throw new IllegalStateException("Expected");
+        }, null, suggestions -> {
+            sent.add(suggestions);
+            done.countDown();
+        });
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(sent.get(0).isEmpty());
+        Assertions.assertEquals(1, executor.failures());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.chunk;
+
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.ResourceKey;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ChunkLifecycleBatchesTest {
+
+    // The batches never look at the key, so there is no need for a real implementation
+    private static final ResourceKey WORLD = (ResourceKey) Proxy.newProxyInstance(ChunkLifecycleBatchesTest.class.getClassLoader(),
+        new Class<?>[] {ResourceKey.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "minecraft:overworld";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+    @Test
+    void testChurnIsBatchedPerDispatch() {
+        final List<ChunkLifecycleBatch> batches = new ArrayList<>();
+        final ChunkLifecycleListener listener = batches::add;
+        ChunkLifecycleBatches.subscribe(listener);
+        try {
+            Assertions.assertTrue(ChunkLifecycleBatches.isActive());
+            final ChunkLifecycleBatches.Collector collector = new ChunkLifecycleBatches.Collector(ChunkLifecycleBatchesTest.WORLD);
+
+            // A player flying along the x axis, one column of chunks comes in and another goes out every step
+            for (int step = 0; step < 100; step++) {
+                for (int z = -10; z <= 10; z++) {
+                    if (step % 2 == 0) {
+                        collector.generated(new ChunkPos(step + 10, z));
+                    }
+                    collector.loaded(new ChunkPos(step + 10, z));
+                    collector.unloaded(new ChunkPos(step - 10, z));
+                }
+                if (step % 10 == 9) {
+                    collector.dispatch();
+                }
+            }
+
+            Assertions.assertEquals(10, batches.size());
+            for (int i = 0; i < batches.size(); i++) {
+                final ChunkLifecycleBatch batch = batches.get(i);
+                Assertions.assertSame(ChunkLifecycleBatchesTest.WORLD, batch.world());
+                Assertions.assertEquals(5 * 21, batch.generated().size());
+                Assertions.assertEquals(10 * 21, batch.loaded().size());
+                Assertions.assertEquals(10 * 21, batch.unloaded().size());
+                // In the order the chunks changed in
+                Assertions.assertEquals(ChunkPos.asLong(i * 10 + 10, -10), batch.loaded().getLong(0));
+                Assertions.assertEquals(ChunkPos.asLong(i * 10 - 10, -10), batch.unloaded().getLong(0));
+                Assertions.assertEquals(ChunkPos.asLong(i * 10 + 19, 10), batch.loaded().getLong(batch.loaded().size() - 1));
+            }
+        } finally {
+            ChunkLifecycleBatches.unsubscribe(listener);
+        }
+        Assertions.assertFalse(ChunkLifecycleBatches.isActive());
+    }
+
+    @Test
+    void testReloadedChunkIsInBothLists() {
+        final List<ChunkLifecycleBatch> batches = new ArrayList<>();
+        final ChunkLifecycleListener listener = batches::add;
+        ChunkLifecycleBatches.subscribe(listener);
+        try {
+            final ChunkLifecycleBatches.Collector collector = new ChunkLifecycleBatches.Collector(ChunkLifecycleBatchesTest.WORLD);
+            final ChunkPos pos = new ChunkPos(3, -7);
+            collector.unloaded(pos);
+            collector.loaded(pos);
+            collector.dispatch();
+
+            Assertions.assertEquals(1, batches.size());
+            Assertions.assertTrue(batches.get(0).generated().isEmpty());
+            Assertions.assertEquals(pos.toLong(), batches.get(0).unloaded().getLong(0));
+            Assertions.assertEquals(pos.toLong(), batches.get(0).loaded().getLong(0));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> batches.get(0).loaded().add(0L));
+        } finally {
+            ChunkLifecycleBatches.unsubscribe(listener);
+        }
+    }
+
+    @Test
+    void testNothingIsDispatchedWithoutChanges() {
+        final List<ChunkLifecycleBatch> batches = new ArrayList<>();
+        final ChunkLifecycleListener listener = batches::add;
+        ChunkLifecycleBatches.subscribe(listener);
+        try {
+            final ChunkLifecycleBatches.Collector collector = new ChunkLifecycleBatches.Collector(ChunkLifecycleBatchesTest.WORLD);
+            collector.dispatch();
+            collector.loaded(new ChunkPos(0, 0));
+            collector.dispatch();
+            collector.dispatch();
+
+            Assertions.assertEquals(1, batches.size());
+        } finally {
+            ChunkLifecycleBatches.unsubscribe(listener);
+        }
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopDispatch() {
+        final List<ChunkLifecycleBatch> batches = new ArrayList<>();
+        final ChunkLifecycleListener failing = batch -> {
+            throw new IllegalStateException("listener failure");
+        };
+        final ChunkLifecycleListener listener = batches::add;
+        ChunkLifecycleBatches.subscribe(failing);
+        ChunkLifecycleBatches.subscribe(listener);
+        try {
+            final ChunkLifecycleBatches.Collector collector = new ChunkLifecycleBatches.Collector(ChunkLifecycleBatchesTest.WORLD);
+            collector.unloaded(new ChunkPos(1, 1));
+            collector.dispatch();
+
+            Assertions.assertEquals(1, batches.size());
+            Assertions.assertEquals(1, batches.get(0).unloaded().size());
+        } finally {
+            ChunkLifecycleBatches.unsubscribe(failing);
+            ChunkLifecycleBatches.unsubscribe(listener);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.movement;
+
+import org.spongepowered.api.ResourceKey;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The standalone harness behind the numbers quoted for the movement region
+ * index. JMH is not part of this build, run the main method directly with
+ * the number of regions, default 1000 and 10000.
+ *
+ * <p>Players walk randomly through a 4096 block square scattered with
+ * regions. Every move is checked against the index and against a linear
+ * scan of all regions, which must report the same crossings.</p>
+ */
+final class MovementRegionIndexBenchmark {
+
+    private static final int PLAYERS = 200;
+    private static final int MOVES = 2_000_000;
+    private static final int SIZE = 4096;
+    private static final int ROUNDS = 5;
+
+    private static final ResourceKey WORLD = (ResourceKey) Proxy.newProxyInstance(MovementRegionIndexBenchmark.class.getClassLoader(),
+        new Class<?>[] {ResourceKey.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return "minecraft:overworld";
+            }
+        });
+
+    private MovementRegionIndexBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int[] counts = args.length == 0 ? new int[] {1000, 10000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            counts[i] = Integer.parseInt(args[i]);
+        }
+        for (final int count : counts) {
+            MovementRegionIndexBenchmark.run(count);
+        }
+    }
+
+    private static void run(final int count) {
+        final Random random = new Random(count);
+        final MovementRegionIndex index = new MovementRegionIndex();
+        final MovementRegion[] regions = new MovementRegion[count];
+        for (int i = 0; i < count; i++) {
+            final double x = random.nextInt(MovementRegionIndexBenchmark.SIZE);
+            final double y = random.nextInt(128);
+            final double z = random.nextInt(MovementRegionIndexBenchmark.SIZE);
+            regions[i] = new MovementRegion(MovementRegionIndexBenchmark.WORLD, x, y, z, x + 4 + random.nextInt(28), y + 4 + random.nextInt(28),
+                z + 4 + random.nextInt(28), (event, region, entered) -> { });
+            index.add(regions[i]);
+        }
+        final double[] from = new double[MovementRegionIndexBenchmark.MOVES * 3];
+        final double[] to = new double[MovementRegionIndexBenchmark.MOVES * 3];
+        final double[] players = new double[MovementRegionIndexBenchmark.PLAYERS * 3];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = random.nextDouble() * (i % 3 == 1 ? 128 : MovementRegionIndexBenchmark.SIZE);
+        }
+        for (int move = 0; move < MovementRegionIndexBenchmark.MOVES; move++) {
+            final int player = move % MovementRegionIndexBenchmark.PLAYERS * 3;
+            for (int axis = 0; axis < 3; axis++) {
+                from[move * 3 + axis] = players[player + axis];
+                players[player + axis] += (random.nextDouble() - 0.5) * (axis == 1 ? 0.2 : 0.6);
+                to[move * 3 + axis] = players[player + axis];
+            }
+        }
+
+        long indexNanos = Long.MAX_VALUE;
+        long scanNanos = Long.MAX_VALUE;
+        int crossings = 0;
+        for (int round = 0; round < MovementRegionIndexBenchmark.ROUNDS; round++) {
+            long start = System.nanoTime();
+            int indexed = 0;
+            for (int move = 0; move < MovementRegionIndexBenchmark.MOVES; move++) {
+                final int i = move * 3;
+                if (!index.crossed(from[i], from[i + 1], from[i + 2], to[i], to[i + 1], to[i + 2]).isEmpty()) {
+                    indexed++;
+                }
+            }
+            indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int scanned = 0;
+            for (int move = 0; move < MovementRegionIndexBenchmark.MOVES; move++) {
+                final int i = move * 3;
+                if (!MovementRegionIndexBenchmark.scan(regions, from[i], from[i + 1], from[i + 2], to[i], to[i + 1], to[i + 2]).isEmpty()) {
+                    scanned++;
+                }
+            }
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+            if (indexed != scanned) {
+                throw new IllegalStateException("The index found " + indexed + " crossing moves, the scan found " + scanned);
+            }
+            crossings = indexed;
+        }
+        System.out.printf("%d regions: %.1f ns per move indexed, %.1f ns per move scanned, an event was needed for %.2f%% of moves%n",
+            count, indexNanos / (double) MovementRegionIndexBenchmark.MOVES, scanNanos / (double) MovementRegionIndexBenchmark.MOVES,
+            crossings * 100.0 / MovementRegionIndexBenchmark.MOVES);
+    }
+
+    private static List<MovementRegion> scan(final MovementRegion[] regions, final double fromX, final double fromY, final double fromZ,
+            final double toX, final double toY, final double toZ) {
+        List<MovementRegion> crossed = null;
+        for (final MovementRegion region : regions) {
+            if (region.contains(fromX, fromY, fromZ) != region.contains(toX, toY, toZ)) {
+                if (crossed == null) {
+                    crossed = new ArrayList<>(2);
+                }
+                crossed.add(region);
+            }
+        }
+        return crossed == null ? new ArrayList<>(0) : crossed;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.movement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.ResourceKey;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+final class MovementRegionIndexTest {
+
+    // The index never looks at the key, so there is no need for a real implementation
+    private static final ResourceKey WORLD = (ResourceKey) Proxy.newProxyInstance(MovementRegionIndexTest.class.getClassLoader(),
+        new Class<?>[] {ResourceKey.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "minecraft:overworld";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+    private static MovementRegion region(final double minX, final double minY, final double minZ, final double maxX, final double maxY,
+            final double maxZ) {
+        return new MovementRegion(MovementRegionIndexTest.WORLD, minX, minY, minZ, maxX, maxY, maxZ, (event, region, entered) -> { });
+    }
+
+    @Test
+    void testCrossingWithinChunk() {
+        final MovementRegionIndex index = new MovementRegionIndex();
+        final MovementRegion region = MovementRegionIndexTest.region(4, 0, 4, 8, 256, 8);
+        index.add(region);
+
+        Assertions.assertTrue(index.crossed(1, 64, 1, 2, 64, 2).isEmpty());
+        Assertions.assertTrue(index.crossed(5, 64, 5, 6, 64, 6).isEmpty());
+
+        final List<MovementRegion> entered = index.crossed(3.5, 64, 5, 4.5, 64, 5);
+        Assertions.assertEquals(1, entered.size());
+        Assertions.assertSame(region, entered.get(0));
+        Assertions.assertEquals(1, index.crossed(5, 64, 5, 5, 300, 5).size());
+    }
+
+    @Test
+    void testCrossingChunkBorder() {
+        final MovementRegionIndex index = new MovementRegionIndex();
+        // Spans chunks 0 to 2 on both axes, and must only be reported once
+        final MovementRegion large = MovementRegionIndexTest.region(10, 0, 10, 40, 256, 40);
+        // Lies entirely in chunk (-1, 0)
+        final MovementRegion small = MovementRegionIndexTest.region(-8, 0, 0, -1, 256, 15);
+        index.add(large);
+        index.add(small);
+
+        Assertions.assertEquals(1, index.crossed(9.5, 64, 12, 10.5, 64, 12).size());
+        Assertions.assertTrue(index.crossed(15.5, 64, 12, 16.5, 64, 12).isEmpty());
+
+        final List<MovementRegion> crossed = index.crossed(-0.5, 64, 5, 0.5, 64, 5);
+        Assertions.assertEquals(1, crossed.size());
+        Assertions.assertSame(small, crossed.get(0));
+
+        Assertions.assertTrue(index.remove(small));
+        Assertions.assertFalse(index.remove(small));
+        Assertions.assertTrue(index.crossed(-0.5, 64, 5, 0.5, 64, 5).isEmpty());
+        Assertions.assertEquals(1, index.size());
+    }
+
+    @Test
+    void testChunkSubscription() {
+        final MovementRegion region = MovementRegions.subscribeChunk(MovementRegionIndexTest.WORLD, 1, -1, (event, r, entered) -> { });
+        try {
+            Assertions.assertTrue(MovementRegions.isActive());
+            Assertions.assertTrue(region.contains(16, -500, -16));
+            Assertions.assertTrue(region.contains(31.9, 1000, -0.1));
+            Assertions.assertFalse(region.contains(32, 64, -8));
+            Assertions.assertFalse(region.contains(20, 64, 0));
+            Assertions.assertTrue(region.coversChunk(1, -1));
+            Assertions.assertFalse(region.coversChunk(2, -1));
+        } finally {
+            region.unsubscribe();
+        }
+        Assertions.assertFalse(MovementRegions.isActive());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+final class MapDirtyRegionTest {
+
+    private static void assertCovered(final MapDirtyRegion region, final int[] rectangles) {
+        Assertions.assertEquals(0, rectangles.length % 4);
+        final boolean[] covered = new boolean[128 * 128];
+        for (int i = 0; i < rectangles.length; i += 4) {
+            Assertions.assertTrue(rectangles[i + 2] > 0 && rectangles[i + 3] > 0);
+            Assertions.assertTrue(rectangles[i] + rectangles[i + 2] <= 128 && rectangles[i + 1] + rectangles[i + 3] <= 128);
+            for (int y = rectangles[i + 1]; y < rectangles[i + 1] + rectangles[i + 3]; y++) {
+                for (int x = rectangles[i]; x < rectangles[i] + rectangles[i + 2]; x++) {
+                    covered[y * 128 + x] = true;
+                }
+            }
+        }
+        for (int y = 0; y < 128; y++) {
+            for (int x = 0; x < 128; x++) {
+                if (region.isMarked(x, y)) {
+                    Assertions.assertTrue(covered[y * 128 + x], "Pixel " + x + ", " + y + " was not covered");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        final MapDirtyRegion region = new MapDirtyRegion();
+        Assertions.assertFalse(region.isDirty());
+        Assertions.assertEquals(0, region.rectangles().length);
+    }
+
+    @Test
+    void testSinglePixelAndClear() {
+        final MapDirtyRegion region = new MapDirtyRegion();
+        region.mark(63, 64);
+        region.mark(200, -1);
+        Assertions.assertArrayEquals(new int[] {63, 64, 1, 1}, region.rectangles());
+        region.clear();
+        Assertions.assertFalse(region.isDirty());
+        Assertions.assertFalse(region.isMarked(63, 64));
+    }
+
+    @Test
+    void testWholeMap() {
+        final MapDirtyRegion region = new MapDirtyRegion();
+        region.markAll();
+        Assertions.assertArrayEquals(new int[] {0, 0, 128, 128}, region.rectangles());
+    }
+
+    @Test
+    void testDistantCornersAreSentSeparately() {
+        final MapDirtyRegion region = new MapDirtyRegion();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                region.mark(x, y);
+                region.mark(120 + x, 120 + y);
+            }
+        }
+        final int[] rectangles = region.rectangles();
+        Assertions.assertEquals(8, rectangles.length);
+        MapDirtyRegionTest.assertCovered(region, rectangles);
+    }
+
+    @Test
+    void testAdjacentChangesAreMerged() {
+        final MapDirtyRegion region = new MapDirtyRegion();
+        // A rectangle crossing the boundary between the two words of a row, with a pixel missing
+        for (int y = 10; y < 20; y++) {
+            for (int x = 60; x < 70; x++) {
+                if (x != 65 || y != 15) {
+                    region.mark(x, y);
+                }
+            }
+        }
+        Assertions.assertArrayEquals(new int[] {60, 10, 10, 10}, region.rectangles());
+    }
+
+    @Test
+    void testRandomChangesAreCovered() {
+        final Random random = new Random(42L);
+        for (int round = 0; round < 200; round++) {
+            final MapDirtyRegion region = new MapDirtyRegion();
+            final int changes = 1 + random.nextInt(round < 100 ? 20 : 2000);
+            for (int i = 0; i < changes; i++) {
+                final int x = random.nextInt(128);
+                final int y = random.nextInt(128);
+                final int size = random.nextInt(12);
+                for (int dy = 0; dy < size; dy++) {
+                    for (int dx = 0; dx < size; dx++) {
+                        region.mark(x + dx, y + dy);
+                    }
+                }
+                region.mark(x, y);
+            }
+            MapDirtyRegionTest.assertCovered(region, region.rectangles());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.color;
+
+import java.util.Random;
+
+/**
+ * The standalone harness behind the numbers quoted for the map color
+ * palette. JMH is not part of this build, run the main method directly.
+ *
+ * <p>Builds a palette of 244 random colors, 4 of them transparent like the
+ * vanilla palette, and converts random 128 by 128 tiles with and without
+ * dithering, comparing them with a linear search of the palette for every
+ * pixel.</p>
+ */
+final class MapColorPaletteBenchmark {
+
+    private static final int COLORS = 244;
+    private static final int TILE = 128;
+    private static final int TILES = 200;
+    private static final int ROUNDS = 5;
+
+    private MapColorPaletteBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final Random random = new Random(42L);
+        final byte[] colors = new byte[MapColorPaletteBenchmark.COLORS];
+        final int[] rgbs = new int[MapColorPaletteBenchmark.COLORS];
+        for (int i = 0; i < MapColorPaletteBenchmark.COLORS; i++) {
+            colors[i] = (byte) i;
+            rgbs[i] = i < 4 ? 0 : random.nextInt(0x1000000);
+        }
+        long start = System.nanoTime();
+        final MapColorPalette palette = new MapColorPalette(colors, rgbs);
+        System.out.printf("Built the palette in %.1f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+
+        final int[] pixels = new int[MapColorPaletteBenchmark.TILE * MapColorPaletteBenchmark.TILE];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        final byte[] out = new byte[pixels.length];
+        long plain = Long.MAX_VALUE;
+        long dithered = Long.MAX_VALUE;
+        long linear = Long.MAX_VALUE;
+        int sink = 0;
+        for (int round = 0; round < MapColorPaletteBenchmark.ROUNDS; round++) {
+            start = System.nanoTime();
+            for (int tile = 0; tile < MapColorPaletteBenchmark.TILES; tile++) {
+                palette.quantize(pixels, 0, MapColorPaletteBenchmark.TILE, MapColorPaletteBenchmark.TILE, MapColorPaletteBenchmark.TILE, out,
+                    MapColorPaletteBenchmark.TILE, false);
+                sink += out[tile];
+            }
+            plain = Math.min(plain, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int tile = 0; tile < MapColorPaletteBenchmark.TILES; tile++) {
+                palette.quantize(pixels, 0, MapColorPaletteBenchmark.TILE, MapColorPaletteBenchmark.TILE, MapColorPaletteBenchmark.TILE, out,
+                    MapColorPaletteBenchmark.TILE, true);
+                sink += out[tile];
+            }
+            dithered = Math.min(dithered, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int tile = 0; tile < MapColorPaletteBenchmark.TILES / 10; tile++) {
+                for (int i = 0; i < pixels.length; i++) {
+                    out[i] = MapColorPaletteBenchmark.linear(palette, pixels[i]);
+                }
+                sink += out[tile];
+            }
+            linear = Math.min(linear, (System.nanoTime() - start) * 10);
+        }
+        final double tiles = MapColorPaletteBenchmark.TILES * 1_000_000.0;
+        System.out.printf("Per tile: %.2f ms plain, %.2f ms dithered, %.2f ms with a linear search (%d)%n", plain / tiles, dithered / tiles,
+            linear / tiles, sink & 1);
+    }
+
+    private static byte linear(final MapColorPalette palette, final int rgb) {
+        final int red = (rgb >> 16) & 0xFF;
+        final int green = (rgb >> 8) & 0xFF;
+        final int blue = rgb & 0xFF;
+        long best = Long.MAX_VALUE;
+        int color = 0;
+        for (int i = 4; i < MapColorPaletteBenchmark.COLORS; i++) {
+            final long distance = MapColorPalette.distance(palette.rgb((byte) i), red, green, blue);
+            if (distance < best) {
+                best = distance;
+                color = i;
+            }
+        }
+        return (byte) color;
+    }
+}
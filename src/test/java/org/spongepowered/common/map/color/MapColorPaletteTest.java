@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.color;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+final class MapColorPaletteTest {
+
+    private static final int COLORS = 64;
+    // Redmean weighs each channel by at most 4, and a cell spans 4 values of every channel
+    private static final double CELL_DIAGONAL = Math.sqrt(3 * 4.0 * 4 * 4);
+
+    private static MapColorPalette createPalette() {
+        final Random random = new Random(42L);
+        final byte[] colors = new byte[MapColorPaletteTest.COLORS];
+        final int[] rgbs = new int[MapColorPaletteTest.COLORS];
+        for (int i = 0; i < MapColorPaletteTest.COLORS; i++) {
+            colors[i] = (byte) i;
+            // The first four colors are the transparent shades
+            rgbs[i] = i < 4 ? 0 : random.nextInt(0x1000000);
+        }
+        return new MapColorPalette(colors, rgbs);
+    }
+
+    private static int bruteForce(final MapColorPalette palette, final int rgb) {
+        long best = Long.MAX_VALUE;
+        int color = -1;
+        for (int i = 4; i < MapColorPaletteTest.COLORS; i++) {
+            final long distance = MapColorPalette.distance(palette.rgb((byte) i), (rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+            if (distance < best) {
+                best = distance;
+                color = i;
+            }
+        }
+        return color;
+    }
+
+    @Test
+    void testExact() {
+        final MapColorPalette palette = MapColorPaletteTest.createPalette();
+        for (int i = 4; i < MapColorPaletteTest.COLORS; i++) {
+            Assertions.assertEquals(i, palette.exact(palette.rgb((byte) i)));
+            Assertions.assertEquals(i, palette.exact(0xFF000000 | palette.rgb((byte) i)));
+            Assertions.assertEquals(i, palette.nearest(palette.rgb((byte) i)));
+        }
+        int missing = 0x123456;
+        while (palette.exact(missing) != -1) {
+            missing++;
+        }
+        Assertions.assertEquals(-1, palette.exact(missing));
+    }
+
+    @Test
+    void testNearest() {
+        final MapColorPalette palette = MapColorPaletteTest.createPalette();
+        final Random random = new Random(7L);
+        for (int i = 0; i < 10000; i++) {
+            final int rgb = random.nextInt(0x1000000);
+            final int nearest = palette.nearest(rgb) & 0xFF;
+            Assertions.assertTrue(nearest >= 4, "A transparent color was chosen");
+            final int expected = MapColorPaletteTest.bruteForce(palette, rgb);
+            if (nearest == expected) {
+                continue;
+            }
+            // The table resolves cells of four values per channel, the choice may only be off by twice the size of a cell
+            final long chosen = MapColorPalette.distance(palette.rgb((byte) nearest), (rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+            final long best = MapColorPalette.distance(palette.rgb((byte) expected), (rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+            Assertions.assertTrue(Math.sqrt(chosen) <= Math.sqrt(best) + 2 * MapColorPaletteTest.CELL_DIAGONAL, "Chose " + nearest + " over " + expected + " for " + Integer.toHexString(rgb));
+        }
+    }
+
+    @Test
+    void testQuantizeTransparent() {
+        final MapColorPalette palette = MapColorPaletteTest.createPalette();
+        final int[] pixels = {0x00FFFFFF, 0x7F123456, 0x80000000 | palette.rgb((byte) 10), 0xFF000000 | palette.rgb((byte) 11)};
+        final byte[] out = new byte[pixels.length];
+        palette.quantize(pixels, 0, 2, 2, 2, out, 2, false);
+        Assertions.assertArrayEquals(new byte[] {MapColorPalette.TRANSPARENT, MapColorPalette.TRANSPARENT, 10, 11}, out);
+        palette.quantize(pixels, 0, 2, 2, 2, out, 2, true);
+        Assertions.assertArrayEquals(new byte[] {MapColorPalette.TRANSPARENT, MapColorPalette.TRANSPARENT, 10, 11}, out);
+    }
+
+    @Test
+    void testDitherKeepsAverage() {
+        final byte[] colors = {0, 1, 2, 3, 4, 5};
+        final int[] rgbs = {0, 0, 0, 0, 0x000000, 0xFFFFFF};
+        final MapColorPalette palette = new MapColorPalette(colors, rgbs);
+        final int size = 64;
+        final int[] pixels = new int[size * size];
+        Arrays.fill(pixels, 0xFF404040);
+        final byte[] out = new byte[pixels.length];
+
+        palette.quantize(pixels, 0, size, size, size, out, size, false);
+        for (final byte color : out) {
+            Assertions.assertEquals(4, color);
+        }
+
+        palette.quantize(pixels, 0, size, size, size, out, size, true);
+        int white = 0;
+        for (final byte color : out) {
+            if (color == 5) {
+                white++;
+            }
+        }
+        // 0x40 is a quarter of the way to white
+        Assertions.assertEquals(0.25, white / (double) out.length, 0.02);
+    }
+
+    @Test
+    void testQuantizeRegion() {
+        final MapColorPalette palette = MapColorPaletteTest.createPalette();
+        final int[] pixels = new int[4 * 4];
+        Arrays.fill(pixels, 0xFF000000 | palette.rgb((byte) 20));
+        pixels[1 * 4 + 2] = 0xFF000000 | palette.rgb((byte) 30);
+        final byte[] out = new byte[3 * 3];
+        palette.quantize(pixels, 1 * 4 + 1, 4, 2, 2, out, 3, false);
+        Assertions.assertArrayEquals(new byte[] {20, 30, 0, 20, 20, 0, 0, 0, 0}, out);
+    }
+}
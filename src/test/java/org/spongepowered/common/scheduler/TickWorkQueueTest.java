@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.metric.LabeledCounter;
+import org.spongepowered.common.util.metric.MetricRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class TickWorkQueueTest {
+
+    // Every piece of work takes one unit of time
+    private long now;
+
+    private final MetricRegistry registry = new MetricRegistry();
+    private final LabeledCounter<TickWorkQueue.Priority> executed = this.registry.labeledCounter("executed", "", "priority", Enum::name);
+    private final LabeledCounter<TickWorkQueue.Priority> deferred = this.registry.labeledCounter("deferred", "", "priority", Enum::name);
+    private final LabeledCounter<TickWorkQueue.Priority> forced = this.registry.labeledCounter("forced", "", "priority", Enum::name);
+    private final TickWorkQueue queue = new TickWorkQueue(() -> this.now, this.executed, this.deferred, this.forced);
+    private final List<String> ran = new ArrayList<>();
+
+    private void submit(final TickWorkQueue.Priority priority, final String name) {
+        this.queue.submit(priority, () -> {
+            this.ran.add(name);
+            this.now++;
+        });
+    }
+
+    @Test
+    void testBudget() {
+        this.submit(TickWorkQueue.Priority.LOW, "low");
+        this.submit(TickWorkQueue.Priority.NORMAL, "normal1");
+        this.submit(TickWorkQueue.Priority.NORMAL, "normal2");
+        this.submit(TickWorkQueue.Priority.HIGH, "high");
+
+        this.queue.drain(this.now + 3);
+        Assertions.assertEquals(3, this.ran.size());
+        Assertions.assertEquals("high", this.ran.get(0));
+        Assertions.assertEquals("normal1", this.ran.get(1));
+        Assertions.assertEquals("normal2", this.ran.get(2));
+        Assertions.assertEquals(1, this.queue.size(TickWorkQueue.Priority.LOW));
+        Assertions.assertEquals(1, this.deferred.value(TickWorkQueue.Priority.LOW));
+        Assertions.assertEquals(2, this.executed.value(TickWorkQueue.Priority.NORMAL));
+
+        this.queue.drain(this.now + 3);
+        Assertions.assertEquals(4, this.ran.size());
+        Assertions.assertEquals(0, this.queue.size());
+        Assertions.assertEquals(0, this.forced.total());
+    }
+
+    @Test
+    void testStarvation() {
+        this.queue.setMaxDeferredTicks(TickWorkQueue.Priority.LOW, 2);
+        this.submit(TickWorkQueue.Priority.LOW, "low1");
+        this.submit(TickWorkQueue.Priority.LOW, "low2");
+
+        // The ticks are over budget before any work is started
+        this.queue.drain(this.now);
+        this.submit(TickWorkQueue.Priority.LOW, "low3");
+        this.queue.drain(this.now);
+        Assertions.assertTrue(this.ran.isEmpty());
+        Assertions.assertEquals(5, this.deferred.value(TickWorkQueue.Priority.LOW));
+
+        this.queue.drain(this.now);
+        Assertions.assertEquals(2, this.ran.size());
+        Assertions.assertEquals(2, this.forced.value(TickWorkQueue.Priority.LOW));
+
+        this.queue.drain(this.now);
+        Assertions.assertEquals(3, this.ran.size());
+        Assertions.assertEquals(3, this.executed.value(TickWorkQueue.Priority.LOW));
+    }
+
+    @Test
+    void testNeverDeferred() {
+        this.queue.setMaxDeferredTicks(TickWorkQueue.Priority.HIGH, 0);
+        this.submit(TickWorkQueue.Priority.HIGH, "high");
+        this.submit(TickWorkQueue.Priority.LOW, "low");
+
+        this.queue.drain(this.now);
+        Assertions.assertEquals(1, this.ran.size());
+        Assertions.assertEquals("high", this.ran.get(0));
+        Assertions.assertEquals(1, this.queue.size());
+    }
+
+    @Test
+    void testDrainAll() {
+        this.queue.submit(TickWorkQueue.Priority.LOW, () -> this.submit(TickWorkQueue.Priority.HIGH, "resubmitted"));
+
+        this.queue.drainAll();
+        Assertions.assertEquals(1, this.ran.size());
+        Assertions.assertEquals(0, this.queue.size());
+    }
+}
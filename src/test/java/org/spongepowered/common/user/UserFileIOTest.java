@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.user;
+
+import net.minecraft.nbt.CompoundTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+final class UserFileIOTest {
+
+    @TempDir
+    Path directory;
+
+    private static CompoundTag compound(final int value) {
+        final CompoundTag compound = new CompoundTag();
+        compound.putInt("Value", value);
+        return compound;
+    }
+
+    @Test
+    void testWritesAreBatchedAndServedWhilePending() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve(uniqueId + ".dat");
+        final long writes = UserFileIO.writes();
+
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(1));
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(2));
+        Assertions.assertTrue(UserFileIO.hasPendingWrite(uniqueId));
+        final Optional<CompoundTag> pending = UserFileIO.load(uniqueId, file).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, pending.get().getInt("Value"));
+
+        UserFileIO.flush().get(10, TimeUnit.SECONDS);
+        Assertions.assertFalse(UserFileIO.hasPendingWrite(uniqueId));
+        Assertions.assertEquals(writes + 1, UserFileIO.writes());
+        Assertions.assertTrue(Files.exists(file));
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertEquals(1, files.count(), "Temporary files must be renamed over the original");
+        }
+
+        final Optional<CompoundTag> loaded = UserFileIO.load(uniqueId, file).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, loaded.get().getInt("Value"));
+    }
+
+    @Test
+    void testPreloadAndDiscard() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve(uniqueId + ".dat");
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(3));
+        UserFileIO.flush().get(10, TimeUnit.SECONDS);
+
+        UserFileIO.preload(uniqueId, file).get(10, TimeUnit.SECONDS);
+        final long hits = UserFileIO.warmHits();
+        Assertions.assertEquals(3, UserFileIO.load(uniqueId, file).get(10, TimeUnit.SECONDS).get().getInt("Value"));
+        Assertions.assertEquals(hits + 1, UserFileIO.warmHits());
+
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(4));
+        UserFileIO.discard(uniqueId).get(10, TimeUnit.SECONDS);
+        UserFileIO.flush().get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, UserFileIO.load(uniqueId, file).get(10, TimeUnit.SECONDS).get().getInt("Value"));
+        Assertions.assertFalse(UserFileIO.load(uniqueId, this.directory.resolve("missing.dat")).get(10, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    void testLoadNowAndTakePendingWrite() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve(uniqueId + ".dat");
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(5));
+        UserFileIO.flush().get(10, TimeUnit.SECONDS);
+
+        final long loads = UserFileIO.loads();
+        Assertions.assertEquals(5, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+        Assertions.assertEquals(loads + 1, UserFileIO.loads());
+
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(6));
+        Assertions.assertEquals(6, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+        Assertions.assertEquals(6, UserFileIO.takePendingWrite(uniqueId).get().getInt("Value"));
+        Assertions.assertFalse(UserFileIO.hasPendingWrite(uniqueId));
+        Assertions.assertFalse(UserFileIO.takePendingWrite(uniqueId).isPresent());
+        UserFileIO.flush().get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(5, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+    }
+
+    @Test
+    void testFailedWriteStaysQueued() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        // A file in place of the directory makes every write fail until it is gone
+        final Path blocker = Files.createFile(this.directory.resolve("playerdata"));
+        final Path file = blocker.resolve(uniqueId + ".dat");
+        final long failedWrites = UserFileIO.failedWrites();
+
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(7));
+        final List<Path> unwritten = UserFileIO.flush().get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(Collections.singletonList(file), unwritten);
+        Assertions.assertEquals(failedWrites + 1, UserFileIO.failedWrites());
+        Assertions.assertTrue(UserFileIO.hasPendingWrite(uniqueId));
+        Assertions.assertEquals(7, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+
+        // A newer save replaces the failed one instead of being written after it
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(8));
+        Files.delete(blocker);
+        Assertions.assertTrue(UserFileIO.flush().get(10, TimeUnit.SECONDS).isEmpty());
+        Assertions.assertFalse(UserFileIO.hasPendingWrite(uniqueId));
+        Assertions.assertEquals(8, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+    }
+
+    @Test
+    void testFailedWriteIsRetried() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        final Path blocker = Files.createFile(this.directory.resolve("playerdata"));
+        final Path file = blocker.resolve(uniqueId + ".dat");
+
+        UserFileIO.queueWrite(uniqueId, file, UserFileIOTest.compound(9));
+        Assertions.assertEquals(1, UserFileIO.flush().get(10, TimeUnit.SECONDS).size());
+        Files.delete(blocker);
+
+        // Picked up by the batch scheduled for the retry, without anything queueing it again
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (UserFileIO.hasPendingWrite(uniqueId) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertFalse(UserFileIO.hasPendingWrite(uniqueId));
+        Assertions.assertEquals(9, UserFileIO.loadNow(uniqueId, file).get().getInt("Value"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+final class LatencyHistogramTest {
+
+    private static LatencyHistogram histogram() {
+        return new MetricRegistry().histogram("test_seconds", "Test");
+    }
+
+    @Test
+    void testBucketsAreContiguous() {
+        Assertions.assertEquals(0, LatencyHistogram.lowestValue(0));
+        for (int i = 1; i < LatencyHistogram.BUCKETS; i++) {
+            Assertions.assertEquals(LatencyHistogram.highestValue(i - 1) + 1, LatencyHistogram.lowestValue(i), "bucket " + i);
+            Assertions.assertEquals(i, LatencyHistogram.index(LatencyHistogram.lowestValue(i)));
+            Assertions.assertEquals(i, LatencyHistogram.index(LatencyHistogram.highestValue(i)));
+        }
+        Assertions.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testRelativeError() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 100_000; i++) {
+            final long value = random.nextLong() >>> (1 + random.nextInt(63));
+            final int index = LatencyHistogram.index(value);
+            final long low = LatencyHistogram.lowestValue(index);
+            final long high = LatencyHistogram.highestValue(index);
+            Assertions.assertTrue(low <= value && value <= high);
+            Assertions.assertTrue(high - low <= Math.max(0, value / (LatencyHistogram.SUB_BUCKETS - 1)), "value " + value);
+        }
+    }
+
+    @Test
+    void testQuantiles() {
+        final LatencyHistogram histogram = LatencyHistogramTest.histogram();
+        final long[] values = new long[10_000];
+        final Random random = new Random(7L);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = TimeUnit.MICROSECONDS.toNanos(100) + (long) (random.nextGaussian() * 20_000 + 40_000_000 * random.nextDouble());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        Assertions.assertEquals(values.length, histogram.count());
+        Assertions.assertEquals(values[values.length - 1], histogram.max());
+        Assertions.assertEquals(values[values.length - 1], histogram.quantile(1.0));
+        for (final double quantile : new double[] {0.01, 0.5, 0.9, 0.99, 0.999}) {
+            final long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            final long estimate = histogram.quantile(quantile);
+            Assertions.assertTrue(estimate >= exact, "p" + quantile);
+            Assertions.assertTrue(estimate - exact <= exact / (LatencyHistogram.SUB_BUCKETS - 1), "p" + quantile);
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        final LatencyHistogram histogram = LatencyHistogramTest.histogram();
+        Assertions.assertEquals(0, histogram.quantile(0.5));
+        Assertions.assertEquals(0, histogram.max());
+        histogram.record(-5);
+        Assertions.assertEquals(1, histogram.count());
+        Assertions.assertEquals(0, histogram.quantile(0.5));
+    }
+
+    @Test
+    void testCumulativeBuckets() {
+        final MetricRegistry registry = new MetricRegistry();
+        final LatencyHistogram histogram = registry.histogram("test_seconds", "Test",
+            new long[] {TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(10)});
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(6));
+        histogram.record(TimeUnit.SECONDS.toNanos(2));
+
+        final String text = registry.write();
+        Assertions.assertTrue(text.contains("test_seconds_bucket{le=\"0.001\"} 1\n"), text);
+        Assertions.assertTrue(text.contains("test_seconds_bucket{le=\"0.01\"} 3\n"), text);
+        Assertions.assertTrue(text.contains("test_seconds_bucket{le=\"+Inf\"} 4\n"), text);
+        Assertions.assertTrue(text.contains("test_seconds_sum 2.0115\n"), text);
+        Assertions.assertTrue(text.contains("test_seconds_count 4\n"), text);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class MetricRegistryTest {
+
+    @Test
+    void testExposition() {
+        final MetricRegistry registry = new MetricRegistry();
+        final Counter counter = registry.counter("test_requests_total", "Requests handled");
+        final AtomicLong pending = new AtomicLong(3);
+        registry.gauge("test_pending", "Pending requests", pending::get);
+        final LabeledCounter<Integer> bytes = registry.labeledCounter("test_bytes_total", "Bytes by channel", "channel", id -> "ch\"" + id);
+        counter.increment();
+        counter.add(4);
+        bytes.add(1, 10);
+        bytes.add(1, 5);
+
+        Assertions.assertEquals(
+            "# HELP test_bytes_total Bytes by channel\n"
+                + "# TYPE test_bytes_total counter\n"
+                + "test_bytes_total{channel=\"ch\\\"1\"} 15\n"
+                + "# HELP test_pending Pending requests\n"
+                + "# TYPE test_pending gauge\n"
+                + "test_pending 3.0\n"
+                + "# HELP test_requests_total Requests handled\n"
+                + "# TYPE test_requests_total counter\n"
+                + "test_requests_total 5\n",
+            registry.write());
+        Assertions.assertEquals(15, bytes.total());
+    }
+
+    @Test
+    void testLabeledGauge() {
+        final MetricRegistry registry = new MetricRegistry();
+        final LabeledGauge gauge = registry.labeledGauge("test_entities", "Entities", "world");
+        final Map<String, Integer> values = new HashMap<>();
+        values.put("minecraft:overworld", 12);
+        gauge.update(values);
+        Assertions.assertTrue(registry.write().contains("test_entities{world=\"minecraft:overworld\"} 12\n"));
+        gauge.update(new HashMap<>());
+        Assertions.assertFalse(registry.write().contains("minecraft:overworld"));
+
+        gauge.beginUpdate();
+        gauge.set("minecraft:overworld", 3);
+        gauge.set("minecraft:the_nether", 4);
+        gauge.endUpdate();
+        gauge.beginUpdate();
+        gauge.set("minecraft:overworld", 5);
+        gauge.endUpdate();
+        Assertions.assertEquals(Collections.singletonMap("minecraft:overworld", 5L), gauge.values());
+        Assertions.assertTrue(registry.write().contains("test_entities{world=\"minecraft:overworld\"} 5\n"));
+    }
+
+    @Test
+    void testRegistration() {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.counter("test_total", "Test");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.counter("test_total", "Test"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.counter("test-total", "Test"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.labeledGauge("test_gauge", "Test", "not valid"));
+        Assertions.assertNotNull(registry.get("test_total"));
+    }
+}
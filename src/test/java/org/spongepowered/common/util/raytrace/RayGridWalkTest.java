@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+final class RayGridWalkTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static RayGridWalk walk(final double startX, final double startY, final double startZ, final double x, final double y,
+        final double z) {
+        final double length = Math.sqrt(x * x + y * y + z * z);
+        return new RayGridWalk(startX, startY, startZ, x / length, y / length, z / length);
+    }
+
+    private static List<List<Integer>> blocks(final RayGridWalk walk, final double length) {
+        final List<List<Integer>> blocks = new ArrayList<>();
+        while (true) {
+            blocks.add(Arrays.asList(walk.x, walk.y, walk.z));
+            if (walk.exit() > length) {
+                return blocks;
+            }
+            walk.advance();
+        }
+    }
+
+    @Test
+    void testStepsAlongAnAxis() {
+        final RayGridWalk walk = RayGridWalkTest.walk(0.5, 0.5, 0.5, 1, 0, 0);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(i, walk.x);
+            Assertions.assertEquals(0, walk.y);
+            Assertions.assertEquals(0, walk.z);
+            Assertions.assertEquals(i == 0 ? 0 : i - 0.5, walk.enter, RayGridWalkTest.EPSILON);
+            Assertions.assertEquals(i + 0.5, walk.exit(), RayGridWalkTest.EPSILON);
+            walk.advance();
+        }
+    }
+
+    @Test
+    void testStartsBehindABoundaryWhenGoingBackwards() {
+        final RayGridWalk walk = RayGridWalkTest.walk(2, 0.5, -3, -1, 0, 0);
+        Assertions.assertEquals(1, walk.x);
+        Assertions.assertEquals(-3, walk.z);
+        Assertions.assertEquals(1, walk.exit(), RayGridWalkTest.EPSILON);
+        walk.advance();
+        Assertions.assertEquals(0, walk.x);
+    }
+
+    @Test
+    void testStartsAheadOfABoundaryWhenGoingForwards() {
+        final RayGridWalk walk = RayGridWalkTest.walk(2, 0.5, 0.5, 1, 0, 0);
+        Assertions.assertEquals(2, walk.x);
+        Assertions.assertEquals(1, walk.exit(), RayGridWalkTest.EPSILON);
+    }
+
+    @Test
+    void testStepsEveryAxisThroughACorner() {
+        final RayGridWalk walk = RayGridWalkTest.walk(0.5, 0.5, 0.5, 1, 1, 1);
+        Assertions.assertEquals(Math.sqrt(0.75), walk.exit(), RayGridWalkTest.EPSILON);
+        walk.advance();
+        Assertions.assertEquals(1, walk.x);
+        Assertions.assertEquals(1, walk.y);
+        Assertions.assertEquals(1, walk.z);
+    }
+
+    @Test
+    void testStepsEachAxisWithItsOwnSign() {
+        // The z axis used to be stepped by the x step
+        final RayGridWalk walk = RayGridWalkTest.walk(0.5, 0.5, 0.5, 1, 0, -1);
+        walk.advance();
+        Assertions.assertEquals(1, walk.x);
+        Assertions.assertEquals(-1, walk.z);
+    }
+
+    @Test
+    void testVisitsTheSameBlocksAsSampling() {
+        final Random random = new Random(50);
+        for (int ray = 0; ray < 200; ray++) {
+            final double startX = random.nextDouble() * 32 - 16;
+            final double startY = random.nextDouble() * 32 - 16;
+            final double startZ = random.nextDouble() * 32 - 16;
+            final double x = random.nextGaussian();
+            final double y = random.nextGaussian();
+            final double z = random.nextGaussian();
+            final double norm = Math.sqrt(x * x + y * y + z * z);
+            final double length = 1 + random.nextDouble() * 20;
+
+            final List<List<Integer>> sampled = new ArrayList<>();
+            for (double t = 0; t <= length; t += 1e-3) {
+                final List<Integer> block = Arrays.asList((int) Math.floor(startX + t * x / norm), (int) Math.floor(startY + t * y / norm),
+                    (int) Math.floor(startZ + t * z / norm));
+                if (sampled.isEmpty() || !sampled.get(sampled.size() - 1).equals(block)) {
+                    sampled.add(block);
+                }
+            }
+            final List<List<Integer>> walked = RayGridWalkTest.blocks(new RayGridWalk(startX, startY, startZ, x / norm, y / norm, z / norm),
+                length);
+            // Adjacent blocks only ever differ by a single step on any axis
+            for (int i = 1; i < walked.size(); i++) {
+                for (int axis = 0; axis < 3; axis++) {
+                    Assertions.assertTrue(Math.abs(walked.get(i).get(axis) - walked.get(i - 1).get(axis)) <= 1);
+                }
+            }
+            // Sampling may skip past a block the ray only clips, so every sampled block is walked, in order
+            int next = 0;
+            for (final List<Integer> block : sampled) {
+                final int index = walked.subList(next, walked.size()).indexOf(block);
+                Assertions.assertTrue(index >= 0, () -> "Ray from " + startX + ", " + startY + ", " + startZ + " missed " + block);
+                next += index;
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.block.BlockState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+final class SchematicStreamReaderTest {
+
+    private static final int WIDTH = 5;
+    private static final int HEIGHT = 3;
+    private static final int LENGTH = 4;
+
+    private final Map<String, BlockState> states = new HashMap<>();
+
+    private BlockState state(final String name) {
+        return this.states.computeIfAbsent(name, key -> (BlockState) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+            new Class<?>[] {BlockState.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return key;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }));
+    }
+
+    private SchematicStreamReader reader() {
+        return new SchematicStreamReader(name -> Optional.of(this.state(name)), name -> Optional.empty());
+    }
+
+    private static String expected(final int x, final int y, final int z) {
+        // Ids above 127 make sure multi byte varints are decoded
+        return "test:block_" + ((x * 37 + y * 11 + z * 131) % 300);
+    }
+
+    private static byte[] blockData() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int y = 0; y < SchematicStreamReaderTest.HEIGHT; y++) {
+            for (int z = 0; z < SchematicStreamReaderTest.LENGTH; z++) {
+                for (int x = 0; x < SchematicStreamReaderTest.WIDTH; x++) {
+                    int value = (x * 37 + y * 11 + z * 131) % 300;
+                    while ((value & ~0x7F) != 0) {
+                        out.write(value & 0x7F | 0x80);
+                        value >>>= 7;
+                    }
+                    out.write(value);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static CompoundTag palette() {
+        final CompoundTag palette = new CompoundTag();
+        for (int i = 0; i < 300; i++) {
+            palette.putInt("test:block_" + i, i);
+        }
+        return palette;
+    }
+
+    private static CompoundTag blockEntity(final boolean v3) {
+        final CompoundTag blockEntity = new CompoundTag();
+        blockEntity.putIntArray("Pos", new int[] {1, 2, 3});
+        blockEntity.putString("Id", "minecraft:chest");
+        final CompoundTag data = v3 ? new CompoundTag() : blockEntity;
+        data.putString("CustomName", "test");
+        if (v3) {
+            blockEntity.put("Data", data);
+        }
+        return blockEntity;
+    }
+
+    private static byte[] compress(final CompoundTag root) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(root, out);
+        return out.toByteArray();
+    }
+
+    private Recorder read(final byte[] schematic) throws IOException {
+        final Recorder recorder = new Recorder();
+        final SchematicStreamResult result = this.reader().read(new ByteArrayInputStream(schematic), recorder);
+        Assertions.assertEquals((long) SchematicStreamReaderTest.WIDTH * SchematicStreamReaderTest.HEIGHT * SchematicStreamReaderTest.LENGTH,
+            result.blocks());
+        Assertions.assertEquals(1, result.blockEntities());
+        return recorder;
+    }
+
+    private void verify(final Recorder recorder, final int offsetX, final int offsetY, final int offsetZ) {
+        Assertions.assertEquals(SchematicStreamReaderTest.WIDTH * SchematicStreamReaderTest.HEIGHT * SchematicStreamReaderTest.LENGTH,
+            recorder.blocks.size());
+        for (final Object[] block : recorder.blocks) {
+            final int x = (int) block[0] + offsetX;
+            final int y = (int) block[1] + offsetY;
+            final int z = (int) block[2] + offsetZ;
+            Assertions.assertEquals(SchematicStreamReaderTest.expected(x, y, z), block[3].toString());
+        }
+        Assertions.assertEquals(1, recorder.blockEntities.size());
+        Assertions.assertEquals("minecraft:chest", recorder.blockEntities.get(0)[3]);
+        Assertions.assertEquals(1 - offsetX, recorder.blockEntities.get(0)[0]);
+        Assertions.assertEquals("test", ((CompoundTag) recorder.blockEntities.get(0)[4]).getString("CustomName"));
+        Assertions.assertTrue(recorder.blocksBeforeBlockEntity);
+    }
+
+    @Test
+    void testVersion2WithDataBeforePalette() throws IOException {
+        // Compounds do not keep insertion order, the data may well arrive before the palette
+        final CompoundTag root = new CompoundTag();
+        final ListTag blockEntities = new ListTag();
+        blockEntities.add(SchematicStreamReaderTest.blockEntity(false));
+        root.put("BlockEntities", blockEntities);
+        root.putByteArray("BlockData", SchematicStreamReaderTest.blockData());
+        root.putInt("Version", 2);
+        root.putShort("Width", (short) SchematicStreamReaderTest.WIDTH);
+        root.putShort("Height", (short) SchematicStreamReaderTest.HEIGHT);
+        root.putShort("Length", (short) SchematicStreamReaderTest.LENGTH);
+        root.putIntArray("Offset", new int[] {2, 0, -1});
+        root.put("Palette", SchematicStreamReaderTest.palette());
+
+        this.verify(this.read(SchematicStreamReaderTest.compress(root)), 2, 0, -1);
+    }
+
+    @Test
+    void testVersion3() throws IOException {
+        final CompoundTag schematic = new CompoundTag();
+        schematic.putInt("Version", 3);
+        schematic.putShort("Width", (short) SchematicStreamReaderTest.WIDTH);
+        schematic.putShort("Height", (short) SchematicStreamReaderTest.HEIGHT);
+        schematic.putShort("Length", (short) SchematicStreamReaderTest.LENGTH);
+        schematic.putIntArray("Offset", new int[] {0, 0, 0});
+        final CompoundTag blocks = new CompoundTag();
+        blocks.put("Palette", SchematicStreamReaderTest.palette());
+        blocks.putByteArray("Data", SchematicStreamReaderTest.blockData());
+        final ListTag blockEntities = new ListTag();
+        blockEntities.add(SchematicStreamReaderTest.blockEntity(true));
+        blocks.put("BlockEntities", blockEntities);
+        schematic.put("Blocks", blocks);
+        final CompoundTag root = new CompoundTag();
+        root.put("Schematic", schematic);
+
+        this.verify(this.read(SchematicStreamReaderTest.compress(root)), 0, 0, 0);
+    }
+
+    @Test
+    void testTruncatedData() throws IOException {
+        final CompoundTag root = new CompoundTag();
+        root.putInt("Version", 2);
+        root.putShort("Width", (short) 1);
+        root.putShort("Height", (short) 1);
+        root.putShort("Length", (short) 1);
+        root.put("Palette", SchematicStreamReaderTest.palette());
+        root.putByteArray("BlockData", new byte[] {1, 2});
+
+        Assertions.assertThrows(IOException.class, () -> this.reader().read(
+            new ByteArrayInputStream(SchematicStreamReaderTest.compress(root)), new Recorder()));
+    }
+
+    private static final class Recorder implements SchematicSink {
+
+        final List<Object[]> blocks = new ArrayList<>();
+        final List<Object[]> blockEntities = new ArrayList<>();
+        boolean blocksBeforeBlockEntity;
+
+        @Override
+        public void block(final int x, final int y, final int z, final BlockState state) {
+            this.blocks.add(new Object[] {x, y, z, state});
+        }
+
+        @Override
+        public void blockEntity(final int x, final int y, final int z, final String id, final CompoundTag data) {
+            this.blocksBeforeBlockEntity = !this.blocks.isEmpty();
+            this.blockEntities.add(new Object[] {x, y, z, id, data});
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.util.BitStorage;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.GlobalPalette;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.Palette;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.Constants;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+final class ChunkSectionSnapshotTest {
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.bootStrap();
+    }
+
+    private static PalettedContainer<BlockState> container() {
+        return new PalettedContainer<>(new GlobalPalette<>(Block.BLOCK_STATE_REGISTRY, Blocks.AIR.defaultBlockState()),
+            Block.BLOCK_STATE_REGISTRY, NbtUtils::readBlockState, NbtUtils::writeBlockState, Blocks.AIR.defaultBlockState());
+    }
+
+    private static Object field(final PalettedContainer<BlockState> container, final String name) throws ReflectiveOperationException {
+        // The accessor mixins are not applied to the test classpath
+        final Field field = PalettedContainer.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(container);
+    }
+
+    private static ChunkSectionSnapshot snapshot(final PalettedContainer<BlockState> container) throws ReflectiveOperationException {
+        return ChunkSectionSnapshotTest.snapshot(container, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChunkSectionSnapshot snapshot(final PalettedContainer<BlockState> container, final @Nullable ChunkSectionSnapshot previous)
+            throws ReflectiveOperationException {
+        return ChunkSectionSnapshot.of((Palette<BlockState>) ChunkSectionSnapshotTest.field(container, "palette"),
+            (int) ChunkSectionSnapshotTest.field(container, "bits"),
+            ((BitStorage) ChunkSectionSnapshotTest.field(container, "storage")).getRaw(), previous);
+    }
+
+    private static void assertSameTag(final PalettedContainer<BlockState> container) throws ReflectiveOperationException {
+        final CompoundTag expected = new CompoundTag();
+        container.write(expected, "Palette", "BlockStates");
+        final CompoundTag actual = new CompoundTag();
+        ChunkSectionSnapshotTest.snapshot(container).write(actual, "Palette", "BlockStates");
+        Assertions.assertEquals(expected, actual);
+    }
+
+    private static void fill(final PalettedContainer<BlockState> container, final int distinctStates) {
+        final Random random = new Random(distinctStates);
+        for (int i = 0; i < 4096; i++) {
+            // Skips air so that every state but the default one is in use
+            final BlockState state = Block.BLOCK_STATE_REGISTRY.byId(1 + random.nextInt(distinctStates));
+            container.getAndSet(i & 15, i >> 8, i >> 4 & 15, state);
+        }
+    }
+
+    @Test
+    void testEmptySection() throws ReflectiveOperationException {
+        ChunkSectionSnapshotTest.assertSameTag(ChunkSectionSnapshotTest.container());
+    }
+
+    @Test
+    void testLinearPalette() throws ReflectiveOperationException {
+        final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+        ChunkSectionSnapshotTest.fill(container, 10);
+        ChunkSectionSnapshotTest.assertSameTag(container);
+    }
+
+    @Test
+    void testHashMapPalette() throws ReflectiveOperationException {
+        final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+        ChunkSectionSnapshotTest.fill(container, 200);
+        ChunkSectionSnapshotTest.assertSameTag(container);
+    }
+
+    @Test
+    void testGlobalPalette() throws ReflectiveOperationException {
+        final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+        ChunkSectionSnapshotTest.fill(container, 2000);
+        ChunkSectionSnapshotTest.assertSameTag(container);
+    }
+
+    @Test
+    void testReadsTheStatesOfTheContainer() throws ReflectiveOperationException {
+        for (final int distinctStates : new int[] {10, 200, 2000}) {
+            final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+            ChunkSectionSnapshotTest.fill(container, distinctStates);
+            final ChunkSectionSnapshot snapshot = ChunkSectionSnapshotTest.snapshot(container);
+            for (int i = 0; i < 4096; i++) {
+                Assertions.assertSame(container.get(i & 15, i >> 8, i >> 4 & 15), snapshot.get(i & 15, i >> 8, i >> 4 & 15));
+            }
+        }
+    }
+
+    @Test
+    void testRoundTripsThroughVanilla() throws ReflectiveOperationException {
+        for (final int distinctStates : new int[] {0, 10, 200, 2000}) {
+            final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+            if (distinctStates > 0) {
+                ChunkSectionSnapshotTest.fill(container, distinctStates);
+            }
+            final CompoundTag written = new CompoundTag();
+            ChunkSectionSnapshotTest.snapshot(container).write(written, "Palette", "BlockStates");
+
+            // Read back the way a chunk is loaded, the result has to be written the same way again
+            final PalettedContainer<BlockState> read = ChunkSectionSnapshotTest.container();
+            read.read(written.getList("Palette", Constants.NBT.TAG_COMPOUND), written.getLongArray("BlockStates"));
+            for (int i = 0; i < 4096; i++) {
+                Assertions.assertSame(container.get(i & 15, i >> 8, i >> 4 & 15), read.get(i & 15, i >> 8, i >> 4 & 15));
+            }
+            final CompoundTag rewritten = new CompoundTag();
+            read.write(rewritten, "Palette", "BlockStates");
+            Assertions.assertEquals(written, rewritten);
+        }
+    }
+
+    @Test
+    void testSnapshotIsDetachedFromTheContainer() throws ReflectiveOperationException {
+        final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+        ChunkSectionSnapshotTest.fill(container, 10);
+        final CompoundTag expected = new CompoundTag();
+        container.write(expected, "Palette", "BlockStates");
+        final ChunkSectionSnapshot snapshot = ChunkSectionSnapshotTest.snapshot(container);
+
+        container.getAndSet(0, 0, 0, Blocks.DIAMOND_BLOCK.defaultBlockState());
+        final CompoundTag actual = new CompoundTag();
+        snapshot.write(actual, "Palette", "BlockStates");
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    void testUnchangedSectionKeepsSnapshot() throws ReflectiveOperationException {
+        final PalettedContainer<BlockState> container = ChunkSectionSnapshotTest.container();
+        ChunkSectionSnapshotTest.fill(container, 10);
+        final ChunkSectionSnapshot snapshot = ChunkSectionSnapshotTest.snapshot(container);
+        Assertions.assertSame(snapshot, ChunkSectionSnapshotTest.snapshot(container, snapshot));
+
+        // A state that was replaced and put back leaves a palette entry behind, but no different states
+        final BlockState previous = container.getAndSet(0, 0, 0, Blocks.DIAMOND_BLOCK.defaultBlockState());
+        container.getAndSet(0, 0, 0, previous);
+        Assertions.assertSame(snapshot, ChunkSectionSnapshotTest.snapshot(container, snapshot));
+    }
+
+    @Test
+    void testCheckedSetterChangesSnapshot() throws ReflectiveOperationException {
+        final LevelChunkSection section = new LevelChunkSection(0);
+        ChunkSectionSnapshotTest.fill(section.getStates(), 10);
+        final ChunkSectionSnapshot before = ChunkSectionSnapshotTest.snapshot(section.getStates());
+        final BlockState replaced = section.getBlockState(1, 2, 3);
+
+        section.setBlockState(1, 2, 3, Blocks.DIAMOND_BLOCK.defaultBlockState());
+        final ChunkSectionSnapshot after = ChunkSectionSnapshotTest.snapshot(section.getStates(), before);
+
+        Assertions.assertNotSame(before, after);
+        Assertions.assertSame(replaced, before.get(1, 2, 3));
+        Assertions.assertSame(Blocks.DIAMOND_BLOCK.defaultBlockState(), after.get(1, 2, 3));
+        ChunkSectionSnapshotTest.assertSameTag(section.getStates());
+    }
+
+    @Test
+    void testUncheckedSetterChangesSnapshot() throws ReflectiveOperationException {
+        final LevelChunkSection section = new LevelChunkSection(0);
+        ChunkSectionSnapshotTest.fill(section.getStates(), 200);
+        final ChunkSectionSnapshot before = ChunkSectionSnapshotTest.snapshot(section.getStates());
+        final BlockState replaced = section.getBlockState(4, 5, 6);
+
+        // Skips the section lock, the way world generation writes its blocks
+        section.setBlockState(4, 5, 6, Blocks.DIAMOND_BLOCK.defaultBlockState(), false);
+        final ChunkSectionSnapshot after = ChunkSectionSnapshotTest.snapshot(section.getStates(), before);
+
+        Assertions.assertNotSame(before, after);
+        Assertions.assertSame(replaced, before.get(4, 5, 6));
+        Assertions.assertSame(Blocks.DIAMOND_BLOCK.defaultBlockState(), after.get(4, 5, 6));
+        ChunkSectionSnapshotTest.assertSameTag(section.getStates());
+    }
+}
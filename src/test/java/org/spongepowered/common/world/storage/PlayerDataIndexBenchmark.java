@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The standalone harness behind the numbers quoted for the player data
+ * index. JMH is not part of this build, run the main method directly:
+ * inserts the given number of players, default 400000, including every
+ * rehash, then reopens the index and times the first lookup.
+ */
+final class PlayerDataIndexBenchmark {
+
+    private PlayerDataIndexBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int players = args.length > 0 ? Integer.parseInt(args[0]) : 400000;
+        final Path directory = Files.createTempDirectory("sponge-player-index");
+        final Path file = directory.resolve("players.index");
+        final Random random = new Random(42L);
+        final UUID probe = new UUID(random.nextLong(), random.nextLong());
+        try {
+            long start = System.nanoTime();
+            try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+                index.put(probe, 1L, 2L);
+                for (int i = 1; i < players; i++) {
+                    index.put(new UUID(random.nextLong(), random.nextLong()), i, i);
+                }
+            }
+            System.out.printf("Inserted %d players in %d ms, the index takes %d MB%n", players,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Files.size(file) >> 20);
+
+            start = System.nanoTime();
+            try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+                if (index.firstJoined(probe) != 1L) {
+                    throw new IllegalStateException("Lost the probed player");
+                }
+                System.out.printf("Reopened and looked up a player in %.2f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class PlayerDataIndexTest {
+
+    private static final int PLAYERS = 50000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPersistsAcrossReopenAndGrowth() throws Exception {
+        final Path file = this.directory.resolve("players.index");
+        final Random random = new Random(42L);
+        final List<UUID> players = new ArrayList<>();
+        try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+            for (int i = 0; i < PlayerDataIndexTest.PLAYERS; i++) {
+                final UUID uniqueId = new UUID(random.nextLong(), random.nextLong());
+                players.add(uniqueId);
+                index.put(uniqueId, i, i * 2L);
+            }
+            Assertions.assertEquals(PlayerDataIndexTest.PLAYERS, index.size());
+            index.put(players.get(0), 100L, 200L);
+            Assertions.assertEquals(PlayerDataIndexTest.PLAYERS, index.size());
+        }
+        Assertions.assertTrue(Files.notExists(this.directory.resolve("players.index.rehash")));
+
+        try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+            Assertions.assertEquals(100L, index.firstJoined(players.get(0)));
+            Assertions.assertEquals(200L, index.lastPlayed(players.get(0)));
+            for (int i = 1; i < players.size(); i++) {
+                Assertions.assertEquals(i, index.firstJoined(players.get(i)));
+                Assertions.assertEquals(i * 2L, index.lastPlayed(players.get(i)));
+            }
+            Assertions.assertEquals(PlayerDataIndex.ABSENT, index.firstJoined(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void testCorruptIndexStartsOver() throws Exception {
+        final Path file = this.directory.resolve("players.index");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29,
+            30, 31, 32, 33});
+        try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+            Assertions.assertEquals(0, index.size());
+            final UUID uniqueId = UUID.randomUUID();
+            index.put(uniqueId, 1L, 2L);
+            Assertions.assertEquals(1L, index.firstJoined(uniqueId));
+        }
+        Assertions.assertTrue(Files.exists(this.directory.resolve("players.index.corrupt")));
+    }
+
+    @Test
+    void testCloseReleasesTheMapping() throws Exception {
+        final Path maps = Paths.get("/proc/self/maps");
+        Assumptions.assumeTrue(Files.isReadable(maps), "Mappings can only be inspected on Linux");
+        final Path file = this.directory.resolve("unmapped.index");
+        try (final PlayerDataIndex index = new PlayerDataIndex(file)) {
+            for (int i = 0; i < 5000; i++) {
+                index.put(new UUID(i + 1, i), i, i);
+            }
+            Assertions.assertTrue(PlayerDataIndexTest.isMapped(maps, file));
+        }
+        Assertions.assertFalse(PlayerDataIndexTest.isMapped(maps, file), "Closing the index must unmap the file");
+    }
+
+    private static boolean isMapped(final Path maps, final Path file) throws Exception {
+        final String name = file.toAbsolutePath().toString();
+        return Files.readAllLines(maps).stream().anyMatch(line -> line.endsWith(name));
+    }
+}
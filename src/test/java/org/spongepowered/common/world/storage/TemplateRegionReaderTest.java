@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DeflaterOutputStream;
+
+final class TemplateRegionReaderTest {
+
+    private static final int SECTOR_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void unregister() {
+        WorldTemplateOverlays.unregister(this.directory.resolve("instance"));
+    }
+
+    private static byte[] compress(final CompoundTag tag) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream stream = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            NbtIo.write(tag, stream);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeRegion(final Path folder, final ChunkPos pos, final CompoundTag tag) throws IOException {
+        final byte[] payload = TemplateRegionReaderTest.compress(tag);
+        final int sectors = (payload.length + 5 + TemplateRegionReaderTest.SECTOR_BYTES - 1) / TemplateRegionReaderTest.SECTOR_BYTES;
+        // The offset table, the timestamp table and the chunk itself
+        final ByteBuffer region = ByteBuffer.allocate((2 + sectors) * TemplateRegionReaderTest.SECTOR_BYTES);
+        region.putInt(4 * ((pos.x & 31) + (pos.z & 31) * 32), 2 << 8 | sectors);
+        region.position(2 * TemplateRegionReaderTest.SECTOR_BYTES);
+        region.putInt(payload.length + 1);
+        region.put((byte) 2);
+        region.put(payload);
+        Files.createDirectories(folder);
+        Files.write(folder.resolve("r." + pos.getRegionX() + "." + pos.getRegionZ() + ".mca"), region.array());
+    }
+
+    @Test
+    void testReadsTemplateChunks() throws IOException {
+        final Path template = this.directory.resolve("template");
+        final ChunkPos pos = new ChunkPos(-3, 37);
+        final CompoundTag tag = new CompoundTag();
+        tag.putInt("DataVersion", 2586);
+        tag.putLongArray("Data", new long[] {1L, -1L, Long.MAX_VALUE});
+        this.writeRegion(template.resolve("region"), pos, tag);
+        final byte[] before = Files.readAllBytes(template.resolve("region").resolve("r.-1.1.mca"));
+
+        try (final TemplateRegionReader reader = new TemplateRegionReader(template.resolve("region"))) {
+            Assertions.assertTrue(reader.hasRegion(pos));
+            Assertions.assertEquals(tag, reader.read(pos));
+            // Same region, but never written
+            Assertions.assertNull(reader.read(new ChunkPos(-4, 37)));
+            Assertions.assertFalse(reader.hasRegion(new ChunkPos(100, 100)));
+            Assertions.assertNull(reader.read(new ChunkPos(100, 100)));
+        }
+        // Reading must never modify the template
+        Assertions.assertArrayEquals(before, Files.readAllBytes(template.resolve("region").resolve("r.-1.1.mca")));
+    }
+
+    @Test
+    void testOverlayRegistration() {
+        final Path template = this.directory.resolve("template");
+        final Path instance = this.directory.resolve("instance");
+        Assertions.assertNull(WorldTemplateOverlays.createReader(instance.resolve("region").toFile()));
+        Assertions.assertFalse(WorldTemplateOverlays.isTemplate(template));
+
+        WorldTemplateOverlays.register(instance, template);
+        Assertions.assertTrue(WorldTemplateOverlays.isInstance(instance));
+        Assertions.assertTrue(WorldTemplateOverlays.isTemplate(template));
+        Assertions.assertFalse(WorldTemplateOverlays.isTemplate(instance));
+
+        final TemplateRegionReader reader = WorldTemplateOverlays.createReader(instance.resolve("poi").toFile());
+        Assertions.assertNotNull(reader);
+        Assertions.assertEquals(template.toAbsolutePath().normalize().resolve("poi"), reader.folder());
+        // Storages outside of the instance are left alone
+        Assertions.assertNull(WorldTemplateOverlays.createReader(template.resolve("region").toFile()));
+
+        WorldTemplateOverlays.unregister(instance);
+        Assertions.assertFalse(WorldTemplateOverlays.isTemplate(template));
+        Assertions.assertNull(WorldTemplateOverlays.createReader(instance.resolve("region").toFile()));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class WorldFileOperationsTest {
+
+    private static final int REGION_RADIUS = 3;
+
+    @TempDir
+    Path directory;
+
+    private long createWorld(final Path world) throws IOException {
+        final Random random = new Random(42L);
+        long bytes = 0;
+        final Path region = Files.createDirectories(world.resolve("region"));
+        for (int x = -WorldFileOperationsTest.REGION_RADIUS; x < WorldFileOperationsTest.REGION_RADIUS; x++) {
+            for (int z = -WorldFileOperationsTest.REGION_RADIUS; z < WorldFileOperationsTest.REGION_RADIUS; z++) {
+                final byte[] data = new byte[8192 + random.nextInt(65536)];
+                random.nextBytes(data);
+                Files.write(region.resolve("r." + x + "." + z + ".mca"), data);
+                bytes += data.length;
+            }
+        }
+        final byte[] level = new byte[512];
+        random.nextBytes(level);
+        Files.write(world.resolve("level.dat"), level);
+        Files.write(world.resolve("level.dat_old"), level);
+        Files.createDirectories(world.resolve("dimensions").resolve("foo"));
+        Files.write(world.resolve("dimensions").resolve("foo").resolve("level.dat"), level);
+        return bytes + level.length;
+    }
+
+    @Test
+    void testCopy() throws Exception {
+        final Path source = this.directory.resolve("template");
+        final Path target = this.directory.resolve("copy");
+        final long expectedBytes = this.createWorld(source);
+
+        final AtomicInteger files = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        WorldFileOperations.copyDirectory(source, target,
+            dir -> !dir.getFileName().toString().equals("dimensions"),
+            file -> !file.getFileName().toString().equals("level.dat_old"),
+            (completedBytes, totalBytes, completedFiles, totalFiles) -> {
+                Assertions.assertEquals(expectedBytes, totalBytes);
+                files.accumulateAndGet(completedFiles, Math::max);
+                bytes.accumulateAndGet(completedBytes, Math::max);
+            }).get(30, TimeUnit.SECONDS);
+
+        final int regions = (2 * WorldFileOperationsTest.REGION_RADIUS) * (2 * WorldFileOperationsTest.REGION_RADIUS);
+        Assertions.assertEquals(regions + 1, files.get());
+        Assertions.assertEquals(expectedBytes, bytes.get());
+        Assertions.assertTrue(Files.notExists(target.resolve("level.dat_old")));
+        Assertions.assertTrue(Files.notExists(target.resolve("dimensions")));
+        Assertions.assertArrayEquals(Files.readAllBytes(source.resolve("region").resolve("r.-1.2.mca")),
+            Files.readAllBytes(target.resolve("region").resolve("r.-1.2.mca")));
+    }
+
+    @Test
+    void testMoveAndDelete() throws Exception {
+        final Path source = this.directory.resolve("template");
+        final Path target = this.directory.resolve("nested").resolve("moved");
+        this.createWorld(source);
+
+        WorldFileOperations.moveDirectory(source, target).get(30, TimeUnit.SECONDS);
+        Assertions.assertTrue(Files.notExists(source));
+        Assertions.assertTrue(Files.exists(target.resolve("region").resolve("r.0.0.mca")));
+
+        WorldFileOperations.deleteDirectory(target).get(30, TimeUnit.SECONDS);
+        Assertions.assertTrue(Files.notExists(target));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume.buffer.block;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+final class BlockBackingDataTest {
+
+    @Test
+    void testSectionedMatchesChar() {
+        final int sizeX = 37;
+        final int sizeY = 21;
+        final int sizeZ = 18;
+        final int area = sizeX * sizeY * sizeZ;
+        final char[] reference = new char[area];
+        Arrays.fill(reference, (char) 3);
+        final BlockBackingData.SectionedBackingData sectioned = new BlockBackingData.SectionedBackingData(sizeX, sizeY, sizeZ, 3, 3);
+        final Random random = new Random(1234L);
+
+        // Grow the values over time to force sections to be resized
+        for (int i = 0; i < 20_000; i++) {
+            final int index = random.nextInt(area);
+            final int value = random.nextInt(2 + i / 100);
+            reference[index] = (char) value;
+            sectioned.set(index, value);
+        }
+
+        final BlockBackingData.CharBackingData chars = new BlockBackingData.CharBackingData(reference);
+        for (int i = 0; i < area; i++) {
+            Assertions.assertEquals(chars.get(i), sectioned.get(i), "index " + i);
+        }
+        Assertions.assertEquals(sectioned, sectioned.copyOf());
+    }
+
+    @Test
+    void testSectionedStaysSparse() {
+        // 268 million entries, a char array alone would need half a gigabyte
+        final BlockBackingData.SectionedBackingData sectioned = new BlockBackingData.SectionedBackingData(1024, 256, 1024, 0, 0);
+        Assertions.assertEquals(0, sectioned.allocatedSections());
+
+        sectioned.set(0, 0);
+        Assertions.assertEquals(0, sectioned.allocatedSections());
+
+        sectioned.set(5, 7);
+        sectioned.set(15, 1);
+        Assertions.assertEquals(1, sectioned.allocatedSections());
+        Assertions.assertEquals(7, sectioned.get(5));
+        Assertions.assertEquals(1, sectioned.get(15));
+        Assertions.assertEquals(0, sectioned.get(16));
+
+        final int lastIndex = 1024 * 256 * 1024 - 1;
+        sectioned.set(lastIndex, 2);
+        Assertions.assertEquals(2, sectioned.allocatedSections());
+        Assertions.assertEquals(2, sectioned.get(lastIndex));
+    }
+
+    @Test
+    void testPackedSingleValue() {
+        final BlockBackingData.PackedBackingData packed = new BlockBackingData.PackedBackingData(100, 0);
+        packed.set(99, 0);
+        Assertions.assertEquals(0, packed.get(99));
+        packed.set(98, 1);
+        Assertions.assertEquals(1, packed.get(98));
+    }
+}
@@ -25,6 +25,7 @@
 package org.spongepowered.vanilla.world;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -81,6 +82,7 @@
 import org.spongepowered.api.registry.RegistryEntry;
 import org.spongepowered.api.registry.RegistryTypes;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.Ticks;
 import org.spongepowered.api.world.WorldType;
 import org.spongepowered.api.world.server.WorldTemplate;
 import org.spongepowered.api.world.server.storage.ServerWorldProperties;
@@ -88,11 +90,16 @@
 import org.spongepowered.common.SpongeServer;
 import org.spongepowered.common.accessor.server.MinecraftServerAccessor;
 import org.spongepowered.common.accessor.world.gen.DimensionGeneratorSettingsAccessor;
+import org.spongepowered.common.accessor.world.level.chunk.storage.IOWorkerAccessor;
+import org.spongepowered.common.accessor.world.level.chunk.storage.SectionStorageAccessor;
 import org.spongepowered.common.accessor.world.level.storage.LevelStorageSource_LevelStorageAccessAccessor;
 import org.spongepowered.common.accessor.world.level.storage.PrimaryLevelDataAccessor;
+import org.spongepowered.common.applaunch.config.common.WorldCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.ResourceKeyBridge;
 import org.spongepowered.common.bridge.world.level.dimension.LevelStemBridge;
 import org.spongepowered.common.bridge.server.level.ServerLevelBridge;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
 import org.spongepowered.common.bridge.world.level.levelgen.WorldGenSettingsBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
@@ -107,30 +114,34 @@
 import org.spongepowered.common.util.FutureUtil;
 import org.spongepowered.common.world.server.SpongeWorldManager;
 import org.spongepowered.common.world.server.SpongeWorldTemplate;
+import org.spongepowered.common.world.storage.WorldFileOperations;
+import org.spongepowered.common.world.storage.WorldTemplateOverlays;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.file.FileVisitResult;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -139,7 +150,10 @@ public final class VanillaWorldManager implements SpongeWorldManager {
     private final MinecraftServer server;
     private final Path dimensionsDataPackDirectory, defaultWorldDirectory, customWorldsDirectory;
     private final Map<net.minecraft.resources.ResourceKey<Level>, ServerLevel> worlds;
+    private final Map<net.minecraft.resources.ResourceKey<Level>, Path> instances = new ConcurrentHashMap<>();
 
+    private static final int PROGRESS_LOG_FILE_INTERVAL = 64;
+    private static final Set<String> INSTANCE_OVERLAY_DIRECTORIES = ImmutableSet.of("region", "poi");
     private static final TicketType<ResourceLocation> SPAWN_CHUNKS = TicketType.create("spawn_chunks", (i, o) -> i.compareTo(o));
 
     public VanillaWorldManager(final MinecraftServer server) {
@@ -270,6 +284,11 @@ public CompletableFuture<org.spongepowered.api.world.server.ServerWorld> loadWor
             return CompletableFuture.completedFuture((org.spongepowered.api.world.server.ServerWorld) serverWorld);
         }
 
+        if (this.isInstanceTemplate(key)) {
+            return FutureUtil.completedWithException(new IllegalStateException(String.format("World '%s' is the template of loaded instances "
+                + "and cannot be loaded!", key)));
+        }
+
         this.saveTemplate(template);
 
         return this.loadWorld0(registryKey, ((SpongeWorldTemplate) template).asDimension(), ((WorldGenSettings) template.generationConfig()));
@@ -288,6 +307,11 @@ public CompletableFuture<org.spongepowered.api.world.server.ServerWorld> loadWor
             return CompletableFuture.completedFuture((org.spongepowered.api.world.server.ServerWorld) world);
         }
 
+        if (this.isInstanceTemplate(key)) {
+            return FutureUtil.completedWithException(new IllegalStateException(String.format("World '%s' is the template of loaded instances "
+                + "and cannot be loaded!", key)));
+        }
+
         return this.loadTemplate(key).thenCompose(r -> {
             WorldTemplate loadedTemplate = r.orElse(null);
             if (loadedTemplate == null) {
@@ -357,6 +381,10 @@ private CompletableFuture<org.spongepowered.api.world.server.ServerWorld> loadWo
         }
 
         ((PrimaryLevelDataBridge) levelData).bridge$populateFromDimension(template);
+        if (this.instances.containsKey(registryKey)) {
+            // Instances start out with the level data of their template, not its identity
+            ((PrimaryLevelDataBridge) levelData).bridge$setUniqueId(UUID.randomUUID());
+        }
 
         final InheritableConfigHandle<WorldConfig> configAdapter = SpongeGameConfigs.createWorld(worldTypeKey, worldKey);
         ((PrimaryLevelDataBridge) levelData).bridge$configAdapter(configAdapter);
@@ -374,10 +402,77 @@ private CompletableFuture<org.spongepowered.api.world.server.ServerWorld> loadWo
         return SpongeCommon.getAsyncScheduler().submit(() -> this.prepareWorld(world, isDebugGeneration)).thenApply(w -> {
             ((MinecraftServerAccessor) this.server).invoker$forceDifficulty();
             return w;
-        }).thenCompose(w -> this.postWorldLoad(w, false))
+        }).thenCompose(w -> this.postWorldLoad(w))
           .thenApply(w -> (org.spongepowered.api.world.server.ServerWorld) w);
     }
 
+    @Override
+    public CompletableFuture<org.spongepowered.api.world.server.ServerWorld> loadWorldInstance(final ResourceKey templateKey,
+            final ResourceKey instanceKey) {
+        final net.minecraft.resources.ResourceKey<Level> templateRegistryKey = SpongeWorldManager.createRegistryKey(Objects.requireNonNull(templateKey,
+            "templateKey"));
+        final net.minecraft.resources.ResourceKey<Level> instanceRegistryKey = SpongeWorldManager.createRegistryKey(Objects.requireNonNull(instanceKey,
+            "instanceKey"));
+
+        if (this.isVanillaWorld(templateKey) || this.isVanillaWorld(instanceKey)) {
+            return FutureUtil.completedWithException(new IllegalArgumentException("Vanilla worlds cannot be used as templates or instances!"));
+        }
+
+        if (this.worlds.get(templateRegistryKey) != null) {
+            return FutureUtil.completedWithException(new IllegalStateException(String.format("World '%s' must be unloaded to be used as a "
+                + "template!", templateKey)));
+        }
+
+        if (!this.worldExists(templateKey)) {
+            return FutureUtil.completedWithException(new IOException(String.format("World '%s' does not exist!", templateKey)));
+        }
+
+        if (this.worldExists(instanceKey)) {
+            return FutureUtil.completedWithException(new IllegalStateException(String.format("World '%s' already exists!", instanceKey)));
+        }
+
+        final Path templateDirectory = this.customWorldsDirectory.resolve(templateKey.namespace()).resolve(templateKey.value());
+        final Path instanceDirectory = this.customWorldsDirectory.resolve(instanceKey.namespace()).resolve(instanceKey.value());
+
+        return this.loadTemplate(templateKey).thenCompose(r -> {
+            final WorldTemplate template = r.orElse(null);
+            if (template == null) {
+                return FutureUtil.completedWithException(new IOException(String.format("Failed to load a template for '%s'!", templateKey)));
+            }
+
+            final LevelStem scratch = ((SpongeWorldTemplate) template).asDimension();
+            ((ResourceKeyBridge) (Object) scratch).bridge$setKey(instanceKey);
+
+            // Only the level metadata is copied, region data is read through from the template
+            return WorldFileOperations.copyDirectory(templateDirectory, instanceDirectory,
+                dir -> !VanillaWorldManager.INSTANCE_OVERLAY_DIRECTORIES.contains(dir.getFileName().toString()),
+                file -> {
+                    final String fileName = file.getFileName().toString();
+                    return !fileName.equals("session.lock") && !fileName.equals(Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD)
+                        && !fileName.equals(Constants.World.LEVEL_DAT_OLD);
+                }, null)
+                .thenRunAsync(() -> {
+                    try {
+                        Files.write(instanceDirectory.resolve(WorldTemplateOverlays.INSTANCE_MARKER),
+                            templateKey.formatted().getBytes(StandardCharsets.UTF_8));
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, WorldFileOperations.executor())
+                .thenComposeAsync(v -> {
+                    WorldTemplateOverlays.register(instanceDirectory, templateDirectory);
+                    this.instances.put(instanceRegistryKey, instanceDirectory);
+                    return this.loadWorld0(instanceRegistryKey, scratch, (WorldGenSettings) template.generationConfig());
+                }, this.server)
+                .whenCompleteAsync((w, t) -> {
+                    if (t != null && this.instances.remove(instanceRegistryKey) != null) {
+                        WorldTemplateOverlays.unregister(instanceDirectory);
+                        WorldFileOperations.deleteDirectory(instanceDirectory);
+                    }
+                }, this.server);
+        });
+    }
+
     @Override
     public CompletableFuture<Boolean> unloadWorld(final ResourceKey key) {
         final net.minecraft.resources.ResourceKey<Level> registryKey = SpongeWorldManager.createRegistryKey(Objects.requireNonNull(key, "key"));
@@ -543,6 +638,15 @@ public CompletableFuture<Boolean> saveProperties(final ServerWorldProperties pro
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A loaded world keeps running while it is copied, but nothing of it
+     * is written to disk until the copy completes. Its chunk and point of
+     * interest saves are held in memory, level saving is disabled and it
+     * cannot be unloaded in the meantime. Changes made during the copy are
+     * not part of the copy.</p>
+     */
     @Override
     public CompletableFuture<Boolean> copyWorld(final ResourceKey key, final ResourceKey copyKey) {
         final net.minecraft.resources.ResourceKey<Level> registryKey = SpongeWorldManager.createRegistryKey(Objects.requireNonNull(key, "key"));
@@ -567,6 +671,9 @@ public CompletableFuture<Boolean> copyWorld(final ResourceKey key, final Resourc
             disableLevelSaving = loadedWorld.noSave;
             loadedWorld.save(null, true, loadedWorld.noSave);
             loadedWorld.noSave = true;
+            // Unloading chunks would write them out while their region files are being copied
+            ((ChunkStorageBridge) loadedWorld.getChunkSource().chunkMap).bridge$holdWrites();
+            ((IOWorkerAccessor) ((SectionStorageAccessor) loadedWorld.getPoiManager()).accessor$worker()).invoker$synchronize().join();
         }
 
         final boolean isDefaultWorld = this.isDefaultWorld(key);
@@ -582,89 +689,62 @@ public CompletableFuture<Boolean> copyWorld(final ResourceKey key, final Resourc
         final Path copyDirectory = isVanillaCopyWorld ? this.defaultWorldDirectory
                 .resolve(copyDirectoryName) : this.customWorldsDirectory.resolve(copyKey.namespace()).resolve(copyKey.value());
 
-        try {
-            Files.walkFileTree(originalDirectory, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                    // Silly recursion if the default world is being copied
-                    if (dir.getFileName().toString().equals(Constants.Sponge.World.DIMENSIONS_DIRECTORY)) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-
-                    // Silly copying of vanilla sub worlds if the default world is being copied
-                    if (isDefaultWorld && VanillaWorldManager.this.isVanillaSubWorld(dir.getFileName().toString())) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-
-                    final Path relativize = originalDirectory.relativize(dir);
-                    final Path directory = copyDirectory.resolve(relativize);
-                    Files.createDirectories(directory);
-
-                    return FileVisitResult.CONTINUE;
-                }
+        final Path dimensionTemplate = this.getDataPackFile(key);
+        final Path copiedDimensionTemplate = this.getDataPackFile(copyKey);
+        final boolean restoreLevelSaving = disableLevelSaving;
 
-                @Override
-                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-                    final String fileName = file.getFileName().toString();
-                    // Do not copy backups (not relevant anymore)
-                    if (fileName.equals(Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD)) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    if (fileName.equals(Constants.World.LEVEL_DAT_OLD)) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    Files.copy(file, copyDirectory.resolve(originalDirectory.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES,
-                            StandardCopyOption.REPLACE_EXISTING);
+        return WorldFileOperations.copyDirectory(originalDirectory, copyDirectory, dir -> {
+            final String dirName = dir.getFileName().toString();
+            // Silly recursion if the default world is being copied
+            if (dirName.equals(Constants.Sponge.World.DIMENSIONS_DIRECTORY)) {
+                return false;
+            }
 
-                    return FileVisitResult.CONTINUE;
-                }
-            });
-        } catch (final IOException e) {
-            // Bail the whole deal if we hit IO problems!
+            // Silly copying of vanilla sub worlds if the default world is being copied
+            return !isDefaultWorld || !this.isVanillaSubWorld(dirName);
+        }, file -> {
+            final String fileName = file.getFileName().toString();
+            // Do not copy backups (not relevant anymore)
+            return !fileName.equals(Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD) && !fileName.equals(Constants.World.LEVEL_DAT_OLD);
+        }, (completedBytes, totalBytes, completedFiles, totalFiles) -> {
+            if (completedFiles == totalFiles || completedFiles % VanillaWorldManager.PROGRESS_LOG_FILE_INTERVAL == 0) {
+                SpongeCommon.getLogger().debug("Copying world '{}' to '{}': {}/{} files ({}/{} bytes)", key, copyKey, completedFiles, totalFiles,
+                    completedBytes, totalBytes);
+            }
+        }).whenCompleteAsync((v, t) -> {
+            if (loadedWorld != null) {
+                loadedWorld.noSave = restoreLevelSaving;
+                ((ChunkStorageBridge) loadedWorld.getChunkSource().chunkMap).bridge$releaseWrites();
+            }
+        }, this.server).thenApplyAsync(v -> {
             try {
-                Files.deleteIfExists(copyDirectory);
-            } catch (final IOException ignore) {
+                Files.createDirectories(copiedDimensionTemplate.getParent());
+                Files.copy(dimensionTemplate, copiedDimensionTemplate);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
             }
 
-            return FutureUtil.completedWithException(e);
-        }
+            final JsonObject fixedObject;
+            try (final InputStream stream = Files.newInputStream(copiedDimensionTemplate); final InputStreamReader reader = new InputStreamReader(stream)) {
+                final JsonParser parser = new JsonParser();
+                final JsonElement element = parser.parse(reader);
 
-        if (loadedWorld != null) {
-            loadedWorld.noSave = disableLevelSaving;
-        }
-
-        final Path dimensionTemplate = this.getDataPackFile(key);
-        final Path copiedDimensionTemplate = this.getDataPackFile(copyKey);
-
-        try {
-            Files.createDirectories(copiedDimensionTemplate.getParent());
-            Files.copy(dimensionTemplate, copiedDimensionTemplate);
-        } catch (final IOException e) {
-            FutureUtil.completedWithException(e);
-        }
-
-        final JsonObject fixedObject;
-        try (final InputStream stream = Files.newInputStream(copiedDimensionTemplate); final InputStreamReader reader = new InputStreamReader(stream)) {
-            final JsonParser parser = new JsonParser();
-            final JsonElement element = parser.parse(reader);
-
-            final JsonObject root = element.getAsJsonObject();
-            final JsonObject spongeData = root.getAsJsonObject("#sponge");
-            spongeData.remove("unique_id");
-            fixedObject = root;
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
+                final JsonObject root = element.getAsJsonObject();
+                final JsonObject spongeData = root.getAsJsonObject("#sponge");
+                spongeData.remove("unique_id");
+                fixedObject = root;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
 
-        if (fixedObject != null) {
             try (final BufferedWriter writer = Files.newBufferedWriter(copiedDimensionTemplate)) {
                 writer.write(fixedObject.toString());
             } catch (final IOException e) {
-                FutureUtil.completedWithException(e);
+                throw new UncheckedIOException(e);
             }
-        }
 
-        return CompletableFuture.completedFuture(true);
+            return true;
+        }, WorldFileOperations.executor());
     }
 
     @Override
@@ -683,6 +763,11 @@ public CompletableFuture<Boolean> moveWorld(final ResourceKey key, final Resourc
             return CompletableFuture.completedFuture(false);
         }
 
+        // Instances read their chunks from their template
+        if (this.isInstanceTemplate(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
         final ServerLevel loadedWorld = this.worlds.get(registryKey);
         if (loadedWorld != null) {
             try {
@@ -702,14 +787,7 @@ public CompletableFuture<Boolean> moveWorld(final ResourceKey key, final Resourc
         final String moveDirectoryName = this.getDirectoryName(movedKey);
 
         final Path moveDirectory = isVanillaMoveWorld ? this.defaultWorldDirectory
-                .resolve(moveDirectoryName) : this.customWorldsDirectory.resolve(key.namespace()).resolve(key.value());
-
-        try {
-            Files.createDirectories(moveDirectory);
-            Files.move(originalDirectory, moveDirectory, StandardCopyOption.REPLACE_EXISTING);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
+                .resolve(moveDirectoryName) : this.customWorldsDirectory.resolve(movedKey.namespace()).resolve(movedKey.value());
 
         final Path configFile = SpongeCommon.getSpongeConfigDirectory().resolve(SpongeCommon.ECOSYSTEM_ID).resolve("worlds").resolve(key
                 .namespace()).resolve(key.value() + ".conf");
@@ -717,24 +795,21 @@ public CompletableFuture<Boolean> moveWorld(final ResourceKey key, final Resourc
         final Path copiedConfigFile = SpongeCommon.getSpongeConfigDirectory().resolve(SpongeCommon.ECOSYSTEM_ID).resolve("worlds")
                 .resolve(movedKey.namespace()).resolve(movedKey.value() + ".conf");
 
-        try {
-            Files.createDirectories(copiedConfigFile.getParent());
-            Files.move(configFile, copiedConfigFile, StandardCopyOption.REPLACE_EXISTING);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
         final Path dimensionTemplate = this.getDataPackFile(key);
         final Path copiedDimensionTemplate = this.getDataPackFile(movedKey);
 
-        try {
-            Files.createDirectories(copiedDimensionTemplate.getParent());
-            Files.move(dimensionTemplate, copiedDimensionTemplate, StandardCopyOption.REPLACE_EXISTING);
-        } catch (final IOException e) {
-            FutureUtil.completedWithException(e);
-        }
+        return WorldFileOperations.moveDirectory(originalDirectory, moveDirectory).thenApplyAsync(v -> {
+            try {
+                Files.createDirectories(copiedConfigFile.getParent());
+                Files.move(configFile, copiedConfigFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.createDirectories(copiedDimensionTemplate.getParent());
+                Files.move(dimensionTemplate, copiedDimensionTemplate, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
 
-        return CompletableFuture.completedFuture(true);
+            return true;
+        }, WorldFileOperations.executor());
     }
 
     @Override
@@ -749,6 +824,11 @@ public CompletableFuture<Boolean> deleteWorld(final ResourceKey key) {
             return CompletableFuture.completedFuture(false);
         }
 
+        // Instances read their chunks from their template
+        if (this.isInstanceTemplate(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
         final ServerLevel loadedWorld = this.worlds.get(registryKey);
         if (loadedWorld != null) {
             final boolean disableLevelSaving = loadedWorld.noSave;
@@ -766,49 +846,45 @@ public CompletableFuture<Boolean> deleteWorld(final ResourceKey key) {
 
         final Path directory = isVanillaWorld ? this.defaultWorldDirectory.resolve(directoryName) : this.customWorldsDirectory.resolve(key.namespace()).resolve(key.value());
 
-        if (Files.exists(directory)) {
-            try {
-                for (final Path path : Files.walk(directory).sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
-                    Files.deleteIfExists(path);
-                }
-            } catch (final IOException e) {
-                return FutureUtil.completedWithException(e);
-            }
-        }
-
         final Path configFile = SpongeCommon.getSpongeConfigDirectory().resolve(SpongeCommon.ECOSYSTEM_ID).resolve("worlds").resolve(key.namespace()).resolve(key.value() + ".conf");
-
-        try {
-            Files.deleteIfExists(configFile);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
         final Path dimensionTemplate = this.getDataPackFile(key);
 
-        try {
-            Files.deleteIfExists(dimensionTemplate);
-        } catch (final IOException e) {
-            FutureUtil.completedWithException(e);
-        }
+        return WorldFileOperations.deleteDirectory(directory).thenApplyAsync(v -> {
+            try {
+                Files.deleteIfExists(configFile);
+                Files.deleteIfExists(dimensionTemplate);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
 
-        return CompletableFuture.completedFuture(true);
+            return true;
+        }, WorldFileOperations.executor());
     }
 
     @Override
     public void unloadWorld0(final ServerLevel world) throws IOException {
         final net.minecraft.resources.ResourceKey<Level> registryKey = world.dimension();
 
-        if (world.getPlayers(p -> true).size() != 0) {
+        if (world.getPlayers(p -> true).size() != 0 || ((ServerLevelBridge) world).bridge$hasPlayersAwaitingSpawn()) {
             throw new IOException(String.format("World '%s' was told to unload but players remain.", registryKey.location()));
         }
 
+        if (((ChunkStorageBridge) world.getChunkSource().chunkMap).bridge$isHoldingWrites()) {
+            throw new IOException(String.format("World '%s' was told to unload while it is being copied.", registryKey.location()));
+        }
+
         SpongeCommon.getLogger().info("Unloading world '{}' ({})", registryKey.location(), RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) world.dimensionType()));
 
         final BlockPos spawnPoint = world.getSharedSpawnPos();
         world.getChunkSource().removeRegionTicket(VanillaWorldManager.SPAWN_CHUNKS, new ChunkPos(spawnPoint), 11, registryKey.location());
 
-        ((PrimaryLevelDataBridge) world.getLevelData()).bridge$configAdapter().save();
+        final Path instanceDirectory = this.instances.get(registryKey);
+        if (instanceDirectory == null) {
+            ((PrimaryLevelDataBridge) world.getLevelData()).bridge$configAdapter().save();
+        } else {
+            // Nothing an instance wrote is kept, don't bother writing it out
+            world.noSave = true;
+        }
         ((ServerLevelBridge) world).bridge$setManualSave(true);
 
         try {
@@ -821,11 +897,75 @@ public void unloadWorld0(final ServerLevel world) throws IOException {
 
         this.worlds.remove(registryKey);
 
+        if (instanceDirectory != null) {
+            this.instances.remove(registryKey);
+            this.discardWorldInstance((ResourceKey) (Object) registryKey.location(), instanceDirectory);
+        }
+
         SpongeCommon.postEvent(SpongeEventFactory.createUnloadWorldEvent(PhaseTracker.getCauseStackManager().currentCause(), (org.spongepowered.api.world.server.ServerWorld) world));
     }
 
+    @Override
+    public void discardWorldInstances() {
+        final List<CompletableFuture<Void>> discarded = new ArrayList<>();
+        for (final Map.Entry<net.minecraft.resources.ResourceKey<Level>, Path> entry : this.instances.entrySet()) {
+            discarded.add(this.discardWorldInstance((ResourceKey) (Object) entry.getKey().location(), entry.getValue()));
+        }
+        this.instances.clear();
+        // The server is going away, wait for the directories to be gone
+        CompletableFuture.allOf(discarded.toArray(new CompletableFuture<?>[0])).handle((v, t) -> null).join();
+    }
+
+    private CompletableFuture<Void> discardWorldInstance(final ResourceKey key, final Path instanceDirectory) {
+        WorldTemplateOverlays.unregister(instanceDirectory);
+        try {
+            Files.deleteIfExists(SpongeCommon.getSpongeConfigDirectory().resolve(SpongeCommon.ECOSYSTEM_ID).resolve("worlds").resolve(key.namespace())
+                .resolve(key.value() + ".conf"));
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to discard the config of world instance '{}'", key, e);
+        }
+        return WorldFileOperations.deleteDirectory(instanceDirectory).exceptionally(t -> {
+            SpongeCommon.getLogger().error("Failed to discard the directory of world instance '{}'", key, t);
+            return null;
+        });
+    }
+
+    /**
+     * Discards instances which were left behind because the server did not
+     * stop cleanly, their chunks can no longer be read through from their
+     * template.
+     */
+    private void discardStaleWorldInstances() {
+        if (Files.notExists(this.customWorldsDirectory)) {
+            return;
+        }
+        final List<CompletableFuture<Void>> discarded = new ArrayList<>();
+        try (final DirectoryStream<Path> namespaces = Files.newDirectoryStream(this.customWorldsDirectory, Files::isDirectory)) {
+            for (final Path namespace : namespaces) {
+                try (final DirectoryStream<Path> worlds = Files.newDirectoryStream(namespace, Files::isDirectory)) {
+                    for (final Path world : worlds) {
+                        if (Files.exists(world.resolve(WorldTemplateOverlays.INSTANCE_MARKER))) {
+                            final ResourceKey key = ResourceKey.of(namespace.getFileName().toString(), world.getFileName().toString());
+                            SpongeCommon.getLogger().warn("Discarding world instance '{}' left behind by the last run", key);
+                            discarded.add(this.discardWorldInstance(key, world));
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to look for world instances left behind by the last run", e);
+        }
+        CompletableFuture.allOf(discarded.toArray(new CompletableFuture<?>[0])).handle((v, t) -> null).join();
+    }
+
+    private boolean isInstanceTemplate(final ResourceKey key) {
+        return !this.isVanillaWorld(key) && WorldTemplateOverlays.isTemplate(this.customWorldsDirectory.resolve(key.namespace()).resolve(key.value()));
+    }
+
     @Override
     public void loadLevel() {
+        this.discardStaleWorldInstances();
+
         final PrimaryLevelData defaultLevelData = (PrimaryLevelData) this.server.getWorldData();
         final WorldGenSettings defaultGenerationSettings = defaultLevelData.worldGenSettings();
         final LevelSettings defaultLevelSettings = ((PrimaryLevelDataAccessor) defaultLevelData).accessor$settings();
@@ -857,6 +997,7 @@ public void loadLevel() {
                 SpongeCommon.getLogger().warn("World '{}' has been disabled from loading at startup. Skipping...", worldKey);
                 continue;
             }
+            final long loadStart = System.nanoTime();
 
             final String directoryName = this.getDirectoryName(worldKey);
             final boolean isVanillaSubLevel = this.isVanillaSubWorld(directoryName);
@@ -934,17 +1075,13 @@ public void loadLevel() {
             this.worlds.put(registryKey, world);
 
             this.prepareWorld(world, isDebugGeneration);
+            MinecraftServerAccessor.accessor$LOGGER().info("Loaded world '{}' ({}) in {} ms", worldKey, worldTypeKey,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart));
         }
 
         ((MinecraftServerAccessor) this.server).invoker$forceDifficulty();
 
-        for (final Map.Entry<net.minecraft.resources.ResourceKey<Level>, ServerLevel> entry : this.worlds.entrySet()) {
-            try {
-                this.postWorldLoad(entry.getValue(), true).get();
-            } catch (final InterruptedException | ExecutionException e) {
-                throw new IllegalStateException(e);
-            }
-        }
+        this.prepareSpawnAreas();
 
         ((SpongeUserManager) Sponge.server().userManager()).init();
         ((SpongeServer) SpongeCommon.getServer()).getPlayerDataManager().load();
@@ -1011,23 +1148,94 @@ private ServerLevel prepareWorld(final ServerLevel world, final boolean isDebugG
         return world;
     }
 
-    private CompletableFuture<ServerLevel> postWorldLoad(final ServerLevel world, final boolean blocking) {
+    private CompletableFuture<ServerLevel> postWorldLoad(final ServerLevel world) {
         final PrimaryLevelData levelData = (PrimaryLevelData) world.getLevelData();
         final PrimaryLevelDataBridge levelBridge = (PrimaryLevelDataBridge) levelData;
         final boolean isDefaultWorld = this.isDefaultWorld((ResourceKey) (Object) world.dimension().location());
         if (isDefaultWorld || levelBridge.bridge$performsSpawnLogic()) {
             MinecraftServerAccessor.accessor$LOGGER().info("Preparing start region for world '{}' ({})", world.dimension().location(),
                     RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) world.dimensionType()));
-            if (blocking) {
-                this.loadSpawnChunks(world);
-                return CompletableFuture.completedFuture(world); // Chunk are generated
-            } else {
-                return this.loadSpawnChunksAsync(world); // Chunks are NOT generated yet BUT will be when the future returns
-            }
+            return this.loadSpawnChunksAsync(world); // Chunks are NOT generated yet BUT will be when the future returns
         }
         return CompletableFuture.completedFuture(world); // Chunks are NOT generated AND will not generate unless prompted
     }
 
+    /**
+     * Prepares the start regions of every world loaded at startup, overlapping
+     * the chunk generation of up to the configured number of worlds while the
+     * server ticks its chunk sources.
+     */
+    private void prepareSpawnAreas() {
+        final WorldCategory config = SpongeConfigs.getCommon().get().world;
+        final int concurrency = config.spawnPreparationConcurrency <= 0 ? Integer.MAX_VALUE : config.spawnPreparationConcurrency;
+
+        final Deque<ServerLevel> pending = new ArrayDeque<>();
+        for (final ServerLevel world : this.worlds.values()) {
+            final boolean isDefaultWorld = Level.OVERWORLD.equals(world.dimension());
+            if (!isDefaultWorld && !((PrimaryLevelDataBridge) world.getLevelData()).bridge$performsSpawnLogic()) {
+                continue;
+            }
+
+            if (!isDefaultWorld && config.deferSpawnPreparation) {
+                MinecraftServerAccessor.accessor$LOGGER().info("Deferring start region preparation for world '{}' ({}) until a player enters it",
+                        world.dimension().location(), RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) world.dimensionType()));
+                ((ServerLevelBridge) world).bridge$deferSpawnPreparation(() -> this.prepareSpawnArea(world));
+                continue;
+            }
+
+            pending.add(world);
+        }
+
+        final List<SpawnAreaPreparation> active = new ArrayList<>();
+        while (!pending.isEmpty() || !active.isEmpty()) {
+            while (active.size() < concurrency && !pending.isEmpty()) {
+                final ServerLevel world = pending.poll();
+                MinecraftServerAccessor.accessor$LOGGER().info("Preparing start region for world '{}' ({})", world.dimension().location(),
+                        RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) world.dimensionType()));
+                active.add(new SpawnAreaPreparation(world));
+            }
+
+            ((MinecraftServerAccessor) this.server).accessor$nextTickTime(Util.getMillis() + 10L);
+            ((MinecraftServerAccessor) this.server).accessor$waitUntilNextTick();
+
+            active.removeIf(preparation -> preparation.advance(this));
+        }
+    }
+
+    /**
+     * Prepares the start region of a single world while the server keeps
+     * ticking, advancing the preparation once per tick.
+     *
+     * @return The future completing on the server thread once the start region is prepared
+     */
+    private CompletableFuture<Void> prepareSpawnArea(final ServerLevel world) {
+        MinecraftServerAccessor.accessor$LOGGER().info("Preparing start region for world '{}' ({})", world.dimension().location(),
+                RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) world.dimensionType()));
+        final SpawnAreaPreparation preparation = new SpawnAreaPreparation(world);
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        Sponge.server().scheduler().submit(Task.builder().plugin(Launch.getInstance().getPlatformPlugin())
+                .interval(Ticks.single())
+                .execute(task -> {
+                    if (this.worlds.get(world.dimension()) != world) {
+                        task.cancel();
+                        future.cancel(false);
+                        return;
+                    }
+                    try {
+                        if (preparation.advance(this)) {
+                            task.cancel();
+                            future.complete(null);
+                        }
+                    } catch (final Throwable t) {
+                        task.cancel();
+                        future.completeExceptionally(t);
+                    }
+                })
+                .build()
+        );
+        return future;
+    }
+
     private CompletableFuture<ServerLevel> loadSpawnChunksAsync(final ServerLevel world) {
 
         final BlockPos spawnPoint = world.getSharedSpawnPos();
@@ -1067,37 +1275,6 @@ private CompletableFuture<ServerLevel> loadSpawnChunksAsync(final ServerLevel wo
         });
     }
 
-    private void loadSpawnChunks(final ServerLevel world) {
-        final BlockPos spawnPoint = world.getSharedSpawnPos();
-        final ChunkPos chunkPos = new ChunkPos(spawnPoint);
-        final ChunkProgressListener chunkStatusListener = ((ServerLevelBridge) world).bridge$getChunkStatusListener();
-        chunkStatusListener.updateSpawnPos(chunkPos);
-        final ServerChunkCache serverChunkProvider = world.getChunkSource();
-        serverChunkProvider.getLightEngine().setTaskPerBatch(500);
-        ((MinecraftServerAccessor) this.server).accessor$nextTickTime(Util.getMillis());
-        serverChunkProvider.addRegionTicket(VanillaWorldManager.SPAWN_CHUNKS, chunkPos, 11, world.dimension().location());
-
-        while (serverChunkProvider.getTickingGenerated() != 441) {
-            ((MinecraftServerAccessor) this.server).accessor$nextTickTime(Util.getMillis() + 10L);
-            ((MinecraftServerAccessor) this.server).accessor$waitUntilNextTick();
-        }
-
-        ((MinecraftServerAccessor) this.server).accessor$nextTickTime(Util.getMillis() + 10L);
-        ((MinecraftServerAccessor) this.server).accessor$waitUntilNextTick();
-
-        this.updateForcedChunks(world, serverChunkProvider);
-
-        ((MinecraftServerAccessor) this.server).accessor$nextTickTime(Util.getMillis() + 10L);
-        ((MinecraftServerAccessor) this.server).accessor$waitUntilNextTick();
-        chunkStatusListener.stop();
-        serverChunkProvider.getLightEngine().setTaskPerBatch(5);
-
-        // Sponge Start - Release the chunk ticket if spawn is not set to be kept loaded...
-        if (!((PrimaryLevelDataBridge) world.getLevelData()).bridge$performsSpawnLogic()) {
-            serverChunkProvider.removeRegionTicket(VanillaWorldManager.SPAWN_CHUNKS, chunkPos, 11, world.dimension().location());
-        }
-    }
-
     private void updateForcedChunks(final ServerLevel world, final ServerChunkCache serverChunkProvider) {
         final ForcedChunksSavedData forcedChunksSaveData = world.getDataStorage().get(ForcedChunksSavedData::new, "chunks");
         if (forcedChunksSaveData != null) {
@@ -1127,6 +1304,64 @@ private LevelStem loadTemplate0(final net.minecraft.resources.ResourceKey<Level>
         }
     }
 
+    private static final class SpawnAreaPreparation {
+
+        private static final int SPAWN_RADIUS = 11;
+        private static final int SPAWN_CHUNKS = 441;
+
+        private final ServerLevel world;
+        private final ChunkPos chunkPos;
+        private final ChunkProgressListener chunkStatusListener;
+        private final ServerChunkCache serverChunkProvider;
+        private final long startTime;
+        private int stage;
+
+        SpawnAreaPreparation(final ServerLevel world) {
+            this.world = world;
+            this.chunkPos = new ChunkPos(world.getSharedSpawnPos());
+            this.chunkStatusListener = ((ServerLevelBridge) world).bridge$getChunkStatusListener();
+            this.chunkStatusListener.updateSpawnPos(this.chunkPos);
+            this.serverChunkProvider = world.getChunkSource();
+            this.serverChunkProvider.getLightEngine().setTaskPerBatch(500);
+            this.serverChunkProvider.addRegionTicket(VanillaWorldManager.SPAWN_CHUNKS, this.chunkPos, SpawnAreaPreparation.SPAWN_RADIUS,
+                    world.dimension().location());
+            this.startTime = System.nanoTime();
+        }
+
+        /**
+         * Advances the preparation by one server tick.
+         *
+         * @return True if the start region is fully prepared
+         */
+        boolean advance(final VanillaWorldManager manager) {
+            switch (this.stage) {
+                case 0:
+                    if (this.serverChunkProvider.getTickingGenerated() == SpawnAreaPreparation.SPAWN_CHUNKS) {
+                        this.stage++;
+                    }
+                    return false;
+                case 1:
+                    manager.updateForcedChunks(this.world, this.serverChunkProvider);
+                    this.stage++;
+                    return false;
+                default:
+                    this.chunkStatusListener.stop();
+                    this.serverChunkProvider.getLightEngine().setTaskPerBatch(5);
+
+                    // Sponge Start - Release the chunk ticket if spawn is not set to be kept loaded...
+                    if (!((PrimaryLevelDataBridge) this.world.getLevelData()).bridge$performsSpawnLogic()) {
+                        this.serverChunkProvider.removeRegionTicket(VanillaWorldManager.SPAWN_CHUNKS, this.chunkPos, SpawnAreaPreparation.SPAWN_RADIUS,
+                                this.world.dimension().location());
+                    }
+
+                    MinecraftServerAccessor.accessor$LOGGER().info("Done preparing start region for world '{}' ({}) in {} ms",
+                            this.world.dimension().location(), RegistryTypes.WORLD_TYPE.get().valueKey((WorldType) this.world.dimensionType()),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime));
+                    return true;
+            }
+        }
+    }
+
     private static final class SingleTemplateAccess implements RegistryReadOps.ResourceAccess {
 
         private final net.minecraft.resources.ResourceKey<?> key;